@@ -1,52 +1,245 @@
-package com.saltedfish.framework.base;
-
-import com.saltedfish.framework.driver.DriverManager;
-import com.saltedfish.framework.wait.WaitFactory;
-import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.WebElement;
-
-/**
- * BasePage 是所有业务页面对象（Page Object）的父类。
- * 主要职责：
- * 1. 提供 WebDriver 访问入口；
- * 2. 提供常用的高层封装操作（click、type 等），统一加显式等待；
- * 3. 让业务 Page 类只关心“元素 + 业务逻辑”，而不用重复写等待逻辑。
- */
-public abstract class BasePage {
-
-    /**
-     * 获取当前线程绑定的 WebDriver。
-     *
-     * @return 当前线程对应的 WebDriver 实例
-     */
-    protected WebDriver getDriver() {
-        return DriverManager.getDriver();
-    }
-
-    /**
-     * 执行点击操作：
-     * 1. 使用 WaitFactory 等待元素可点击；
-     * 2. 调用 WebElement.click()。
-     *
-     * @param element 需要点击的元素
-     */
-    protected void click(WebElement element) {
-        WebElement clickable = WaitFactory.waitUntilClickable(element);
-        clickable.click();
-    }
-
-    /**
-     * 执行文本输入操作：
-     * 1. 等待元素可见；
-     * 2. 清空原有内容；
-     * 3. 输入新的文本内容。
-     *
-     * @param element 需要输入内容的元素
-     * @param text    要输入的文本内容
-     */
-    protected void type(WebElement element, String text) {
-        WebElement visible = WaitFactory.waitUntilVisible(element);
-        visible.clear();
-        visible.sendKeys(text);
-    }
-}
+package com.saltedfish.framework.base;
+
+import com.saltedfish.framework.config.ConfigManager;
+import com.saltedfish.framework.driver.DriverManager;
+import com.saltedfish.framework.utils.LogUtil;
+import com.saltedfish.framework.wait.WaitFactory;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.PageFactory;
+import org.openqa.selenium.support.ui.Select;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * BasePage 是所有业务页面对象（Page Object）的父类。
+ * 主要职责：
+ * 1. 提供 WebDriver 访问入口；
+ * 2. 提供常用的高层封装操作（click、type 等），统一加显式等待；
+ * 3. 让业务 Page 类只关心“元素 + 业务逻辑”，而不用重复写等待逻辑。
+ */
+public abstract class BasePage {
+
+    /**
+     * 批量填值脚本：通过原生 value setter 赋值（绕过 React 等框架对 value 属性的拦截），
+     * 然后依次触发 input、change 事件并让元素失焦（触发 blur / focusout）。
+     * 不可见、禁用、只读或不支持的元素不处理，返回它们的下标；
+     * 复选框、单选框、文件、日期时间与滑块输入框的 value 不能代表用户操作，同样不处理；
+     * 下拉框没有 value 相同的 option、或赋值后 value 与目标不一致（number / email 等输入框拒绝或规整了该值）时
+     * 恢复原值、不触发事件，同样返回下标。
+     */
+    private static final String FAST_FILL_SCRIPT = """
+            var items = arguments[0], skipped = [];
+            var manualTypes = ['checkbox', 'radio', 'file', 'date', 'datetime-local', 'month', 'week', 'time', 'range'];
+            items.forEach(function (item, index) {
+              var el = item[0], value = item[1];
+              var visible = el && el.isConnected && el.getClientRects().length > 0;
+              if (!visible || el.disabled || el.readOnly) {
+                skipped.push(index);
+                return;
+              }
+              var proto = el instanceof HTMLInputElement ? HTMLInputElement.prototype
+                  : el instanceof HTMLTextAreaElement ? HTMLTextAreaElement.prototype
+                  : el instanceof HTMLSelectElement ? HTMLSelectElement.prototype : null;
+              if ((proto === null && !el.isContentEditable)
+                  || (proto === HTMLInputElement.prototype && manualTypes.indexOf(el.type) >= 0)) {
+                skipped.push(index);
+                return;
+              }
+              if (proto === HTMLSelectElement.prototype
+                  && !Array.prototype.some.call(el.options, function (option) { return option.value === value; })) {
+                skipped.push(index);
+                return;
+              }
+              if (proto !== null) {
+                var setter = Object.getOwnPropertyDescriptor(proto, 'value').set, previous = el.value;
+                setter.call(el, value);
+                if (el.value !== value) {
+                  setter.call(el, previous);
+                  skipped.push(index);
+                  return;
+                }
+              } else {
+                el.textContent = value;
+              }
+              el.focus();
+              el.dispatchEvent(new Event('input', {bubbles: true}));
+              el.dispatchEvent(new Event('change', {bubbles: true}));
+              el.blur();
+            });
+            return skipped;
+            """;
+
+    /**
+     * 获取当前线程绑定的 WebDriver。
+     *
+     * @return 当前线程对应的 WebDriver 实例
+     */
+    protected WebDriver getDriver() {
+        return DriverManager.getDriver();
+    }
+
+    /**
+     * 绑定当前页面中 @FindBy 标注的字段，业务 Page 在构造方法中调用。
+     * 默认使用 PageBinder：
+     *  - 字段与定位器按页面类只解析一次，重复创建页面对象时不再反射解析注解；
+     *  - 元素定位一次后缓存，失效时自动重新定位，避免每次方法调用前都重新 findElement；
+     * 配置 elementCacheEnabled=false 时退回 PageFactory 默认行为。
+     */
+    protected void initElements() {
+        if (Boolean.FALSE.equals(ConfigManager.getConfig().getElementCacheEnabled())) {
+            PageFactory.initElements(getDriver(), this);
+            return;
+        }
+        PageBinder.bind(this, getDriver(), getClass().getSimpleName());
+    }
+
+    /**
+     * 执行点击操作：
+     * 1. 使用 WaitFactory 等待元素可点击；
+     * 2. 调用 WebElement.click()。
+     *
+     * @param element 需要点击的元素
+     */
+    protected void click(WebElement element) {
+        WebElement clickable = WaitFactory.waitUntilClickable(element);
+        clickable.click();
+    }
+
+    /**
+     * 点击 iframe / shadow DOM 中的元素，frame 切换与 shadow root 查找由 ElementPath 缓存复用。
+     *
+     * @param path 元素链路
+     */
+    protected void click(ElementPath path) {
+        path.waitUntilClickable().click();
+    }
+
+    /**
+     * 执行文本输入操作：
+     * 1. 等待元素可见；
+     * 2. 清空原有内容；
+     * 3. 输入新的文本内容。
+     *
+     * @param element 需要输入内容的元素
+     * @param text    要输入的文本内容
+     */
+    protected void type(WebElement element, String text) {
+        WebElement visible = WaitFactory.waitUntilVisible(element);
+        visible.clear();
+        visible.sendKeys(text);
+    }
+
+    /**
+     * 向 iframe / shadow DOM 中的元素输入文本。
+     *
+     * @param path 元素链路
+     * @param text 要输入的文本内容
+     */
+    protected void type(ElementPath path, String text) {
+        WebElement visible = path.waitUntilVisible();
+        visible.clear();
+        visible.sendKeys(text);
+    }
+
+    /**
+     * 切回顶层文档并同步更新 frame 上下文缓存。
+     * 操作完 iframe 内的元素后，需要操作页面字段（顶层文档中的元素）前调用。
+     */
+    protected void switchToDefaultContent() {
+        WebDriver driver = getDriver();
+        driver.switchTo().defaultContent();
+        FrameContext.current(driver).enteredFrames(List.of());
+    }
+
+    /**
+     * 批量填写表单：一次脚本调用为所有字段赋值，并触发 input / change / blur 事件，
+     * 适合字段较多或输入内容较长的表单。
+     *
+     * @param values 字段 -> 要填写的值，建议使用 LinkedHashMap 保持填写顺序
+     */
+    protected void fastFill(Map<WebElement, String> values) {
+        fastFill(values, Set.of());
+    }
+
+    /**
+     * 批量填写表单，指定字段改用真实键盘输入。
+     *
+     * 说明：
+     *  - 依赖逐键事件的字段（例如输入联想、输入掩码、按键校验）放入 keystrokeFields，
+     *    这些字段在脚本填写完成后按顺序调用 type()；字段按对象本身匹配，传入页面中的同一个字段即可；
+     *  - 脚本无法处理的字段（尚不可见、禁用、只读、非输入控件）自动退回 type()，由其负责等待；
+     *  - 文件、日期时间、滑块输入框退回 type()；复选框 / 单选框按值（"true" / "false"）在状态不一致时 click()；
+     *  - 下拉框（select）按 option 的 value 匹配（不是可见文本），脚本与逐个处理两条路径一致，
+     *    没有对应 option 时抛出 NoSuchElementException；
+     *  - 输入框拒绝或规整了目标值（例如 number 输入框填入非数字、email 输入框首尾带空格）时退回 type()，
+     *    结果与用户真实输入一致；
+     *  - 脚本执行时元素已失效（页面重新渲染）或脚本执行出错则全部退回逐个处理。
+     *
+     * @param values          字段 -> 要填写的值，建议使用 LinkedHashMap 保持填写顺序
+     * @param keystrokeFields 需要真实键盘输入的字段
+     */
+    protected void fastFill(Map<WebElement, String> values, Set<WebElement> keystrokeFields) {
+        Set<WebElement> keystrokes = Collections.newSetFromMap(new IdentityHashMap<>());
+        keystrokes.addAll(keystrokeFields);
+
+        List<Map.Entry<WebElement, String>> scripted = new ArrayList<>();
+        List<Map.Entry<WebElement, String>> typed = new ArrayList<>();
+        for (Map.Entry<WebElement, String> entry : values.entrySet()) {
+            String value = entry.getValue() != null ? entry.getValue() : "";
+            (keystrokes.contains(entry.getKey()) ? typed : scripted).add(Map.entry(entry.getKey(), value));
+        }
+
+        List<Map.Entry<WebElement, String>> fallback = new ArrayList<>();
+        if (!scripted.isEmpty()) {
+            List<List<Object>> items = new ArrayList<>();
+            for (Map.Entry<WebElement, String> entry : scripted) {
+                items.add(List.of(entry.getKey(), entry.getValue()));
+            }
+            try {
+                Object skipped = ((JavascriptExecutor) getDriver()).executeScript(FAST_FILL_SCRIPT, items);
+                if (skipped instanceof List<?> indexes) {
+                    for (Object index : indexes) {
+                        fallback.add(scripted.get(((Number) index).intValue()));
+                    }
+                }
+            } catch (StaleElementReferenceException e) {
+                fallback.addAll(scripted);
+            } catch (JavascriptException e) {
+                LogUtil.warn("批量填写脚本执行失败，改为逐个输入：" + e.getRawMessage());
+                fallback.addAll(scripted);
+            }
+        }
+
+        fallback.addAll(typed);
+        for (Map.Entry<WebElement, String> entry : fallback) {
+            fillOne(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * 逐个填写单个字段：复选框 / 单选框按目标状态点击，下拉框按 option 的 value 选择，其余字段调用 type()。
+     */
+    private void fillOne(WebElement element, String value) {
+        if ("select".equalsIgnoreCase(element.getTagName())) {
+            new Select(WaitFactory.waitUntilVisible(element)).selectByValue(value);
+            return;
+        }
+        String inputType = element.getDomProperty("type");
+        if ("checkbox".equals(inputType) || "radio".equals(inputType)) {
+            if (element.isSelected() != Boolean.parseBoolean(value)) {
+                click(element);
+            }
+            return;
+        }
+        type(element, value);
+    }
+}
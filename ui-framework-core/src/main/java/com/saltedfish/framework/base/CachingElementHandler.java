@@ -0,0 +1,58 @@
+package com.saltedfish.framework.base;
+
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * CachingElementHandler 是缓存元素代理的调用处理器。
+ *
+ * 处理逻辑：
+ *  1. 从 CachingElementLocator 取元素（命中缓存时不发送 findElement）；
+ *  2. 调用目标方法；
+ *  3. 如果使用的是缓存元素且抛出 StaleElementReferenceException / NoSuchElementException，
+ *     说明 DOM 已被替换或页面已跳转：让缓存失效、重新定位，并重试一次。
+ */
+class CachingElementHandler implements InvocationHandler {
+
+    private final CachingElementLocator locator;
+
+    CachingElementHandler(CachingElementLocator locator) {
+        this.locator = locator;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        // toString 不触发定位，保持与 PageFactory 代理一致的描述格式（等待耗时历史依赖该格式识别定位器）
+        if ("toString".equals(method.getName()) && method.getParameterCount() == 0) {
+            return "Proxy element for: " + locator;
+        }
+
+        boolean fromCache = locator.isCached();
+        WebElement element = locator.findElement();
+        try {
+            return invokeOn(element, method, args);
+        } catch (StaleElementReferenceException | NoSuchElementException e) {
+            if (!fromCache) {
+                throw e;
+            }
+            locator.invalidate();
+            return invokeOn(locator.findElement(), method, args);
+        }
+    }
+
+    private static Object invokeOn(WebElement element, Method method, Object[] args) throws Throwable {
+        if ("getWrappedElement".equals(method.getName())) {
+            return element;
+        }
+        try {
+            return method.invoke(element, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
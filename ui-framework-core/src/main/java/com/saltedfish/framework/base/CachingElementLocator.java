@@ -0,0 +1,120 @@
+package com.saltedfish.framework.base;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.pagefactory.ElementLocator;
+
+import java.util.List;
+
+/**
+ * CachingElementLocator 缓存第一次定位到的 WebElement，后续调用直接复用，不再发送 findElement 命令。
+ *
+ * 失效方式：
+ *  - 缓存的元素在使用时抛出 StaleElementReferenceException（DOM 被替换）或 NoSuchElementException
+ *    （页面跳转后旧文档的元素引用失效，部分驱动返回该异常）时，由 CachingElementHandler 调用 invalidate()
+ *    并重新定位一次，因此命中缓存时不需要额外的校验命令；
+ *  - 元素列表（List&lt;WebElement&gt;）中的元素不是代理，无法在失效时自动重试，因此列表默认不缓存，每次重新定位；
+ *    列表字段标注 @CacheLookup 时按 PageFactory 的语义缓存第一次定位到的列表。
+ */
+public class CachingElementLocator implements ElementLocator {
+
+    /**
+     * toString() 中所属页面的前缀，等待耗时历史据此把页面名加入 key。
+     */
+    public static final String PAGE_PREFIX = " on ";
+
+    private final SearchContext searchContext;
+    private final By by;
+    private final String pageName;
+    private final boolean cacheList;
+    private WebElement cachedElement;
+    private List<WebElement> cachedElements;
+
+    /**
+     * @param searchContext 查找上下文（通常是 WebDriver）
+     * @param by            元素定位器
+     * @param pageName      所属页面名称，用于命中统计
+     */
+    public CachingElementLocator(SearchContext searchContext, By by, String pageName) {
+        this(searchContext, by, pageName, false);
+    }
+
+    /**
+     * @param searchContext 查找上下文（通常是 WebDriver）
+     * @param by            元素定位器
+     * @param pageName      所属页面名称，用于命中统计
+     * @param cacheList     是否缓存 findElements() 的结果（列表字段标注了 @CacheLookup）
+     */
+    public CachingElementLocator(SearchContext searchContext, By by, String pageName, boolean cacheList) {
+        this.searchContext = searchContext;
+        this.by = by;
+        this.pageName = pageName;
+        this.cacheList = cacheList;
+    }
+
+    @Override
+    public WebElement findElement() {
+        leaveElementPathFrames();
+        WebElement element = cachedElement;
+        if (element != null) {
+            LocatorCacheStats.recordHit(pageName);
+            return element;
+        }
+        element = searchContext.findElement(by);
+        LocatorCacheStats.recordMiss(pageName);
+        cachedElement = element;
+        return element;
+    }
+
+    @Override
+    public List<WebElement> findElements() {
+        leaveElementPathFrames();
+        if (!cacheList) {
+            return searchContext.findElements(by);
+        }
+        List<WebElement> elements = cachedElements;
+        if (elements != null) {
+            LocatorCacheStats.recordHit(pageName);
+            return elements;
+        }
+        elements = searchContext.findElements(by);
+        LocatorCacheStats.recordMiss(pageName);
+        cachedElements = elements;
+        return elements;
+    }
+
+    /**
+     * 页面字段位于顶层文档：ElementPath 把 driver 留在 iframe 中时先切回顶层文档。
+     */
+    private void leaveElementPathFrames() {
+        if (searchContext instanceof WebDriver driver) {
+            FrameContext.leaveElementPathFrames(driver);
+        }
+    }
+
+    /**
+     * 当前是否持有缓存的元素。
+     *
+     * @return true 表示下一次 findElement() 会命中缓存
+     */
+    boolean isCached() {
+        return cachedElement != null;
+    }
+
+    /**
+     * 丢弃缓存的元素，下一次 findElement() 重新定位。
+     */
+    void invalidate() {
+        if (cachedElement != null) {
+            cachedElement = null;
+            LocatorCacheStats.recordInvalidation(pageName);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " '" + by + "'" + PAGE_PREFIX + pageName;
+    }
+}
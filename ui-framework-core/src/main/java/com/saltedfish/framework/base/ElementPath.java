@@ -0,0 +1,334 @@
+package com.saltedfish.framework.base;
+
+import com.saltedfish.framework.driver.DriverManager;
+import com.saltedfish.framework.wait.WaitFactory;
+import org.openqa.selenium.By;
+import org.openqa.selenium.DetachedShadowRootException;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * ElementPath 声明一个元素所在的上下文链路：依次经过哪些 iframe、哪些 shadow host，最后定位目标元素。
+ *
+ * 示例：
+ * <pre>
+ * ElementPath submit = ElementPath.root()
+ *         .frame(By.id("workspace"))
+ *         .frame(By.name("editor"))
+ *         .shadow(By.cssSelector("order-form"))
+ *         .element(By.cssSelector("button[type=submit]"));
+ * submit.waitUntilClickable().click();
+ * </pre>
+ *
+ * 背景：
+ *  - 深层 iframe 与 shadow DOM 中的元素，每次操作都要 defaultContent + 逐层 switchTo().frame + 逐层 getShadowRoot，
+ *    一个三层链路每次就是 7 次往返；
+ *
+ * 做法：
+ *  1. FrameContext 记录当前线程 driver 已经所在的 frame 链路，目标链路相同时不再切换，
+ *     当前链路是目标链路的前缀时只切换剩余层级；
+ *  2. 同一 frame 内解析过的 shadow root 缓存复用，切换到其他 frame 时清空；
+ *  3. 使用缓存的解析失败（页面跳转回到顶层、frame 重新加载、shadow root 脱离文档）时，
+ *     重置上下文并从顶层文档完整切换重试一次；等待期间链路解析成功、只是目标元素尚未出现时不视为失效；
+ *  4. 操作完成后 driver 停留在目标 frame 中，之后的顶层文档定位（WaitFactory 的 By 等待、页面字段）
+ *     会先切回顶层文档，见 FrameContext.leaveElementPathFrames；
+ *  5. 节省的往返次数由 FrameContext.logSummary() 在套件结束时输出。
+ *
+ * ElementPath 是不可变对象，可以作为页面类的常量声明。
+ */
+public final class ElementPath {
+
+    /**
+     * 链路中的一步：进入 iframe，或进入 shadow host 的 shadow root。
+     *
+     * @param kind 步骤类型
+     * @param by   iframe 或 shadow host 的定位器（在上一步的上下文中查找）
+     */
+    public record Step(Kind kind, By by) {
+    }
+
+    /**
+     * 步骤类型。
+     */
+    public enum Kind {
+        FRAME,
+        SHADOW
+    }
+
+    private static final ElementPath ROOT = new ElementPath(List.of(), null);
+
+    private final List<Step> steps;
+
+    /**
+     * 目标元素定位器，为 null 时只表示上下文链路。
+     */
+    private final By target;
+
+    /**
+     * 最后一个 frame 步骤之后的位置：steps[0, frameEnd) 需要切换 frame，之后都是当前 frame 内的 shadow root。
+     */
+    private final int frameEnd;
+
+    private ElementPath(List<Step> steps, By target) {
+        this.steps = steps;
+        this.target = target;
+        int end = 0;
+        for (int i = 0; i < steps.size(); i++) {
+            if (steps.get(i).kind() == Kind.FRAME) {
+                end = i + 1;
+            }
+        }
+        this.frameEnd = end;
+    }
+
+    /**
+     * 顶层文档，作为链路的起点。
+     *
+     * @return 空链路
+     */
+    public static ElementPath root() {
+        return ROOT;
+    }
+
+    /**
+     * 进入 iframe。
+     *
+     * @param frame iframe 元素定位器
+     * @return 新的链路
+     */
+    public ElementPath frame(By frame) {
+        return append(new Step(Kind.FRAME, frame));
+    }
+
+    /**
+     * 进入 shadow host 的 shadow root（仅支持 open 模式）。
+     *
+     * @param host shadow host 元素定位器
+     * @return 新的链路
+     */
+    public ElementPath shadow(By host) {
+        return append(new Step(Kind.SHADOW, host));
+    }
+
+    /**
+     * 指定链路末端的目标元素。
+     * 注意：shadow root 内只支持 CSS 类定位器，不支持 XPath。
+     *
+     * @param locator 目标元素定位器
+     * @return 新的链路
+     */
+    public ElementPath element(By locator) {
+        return new ElementPath(steps, locator);
+    }
+
+    /**
+     * 立即定位目标元素，不等待。
+     *
+     * @return 目标元素
+     */
+    public WebElement find() {
+        By locator = requireTarget();
+        return resolve(context -> context.findElement(locator));
+    }
+
+    /**
+     * 立即定位全部匹配的目标元素，不等待。
+     *
+     * @return 目标元素列表，未找到时为空列表
+     */
+    public List<WebElement> findAll() {
+        By locator = requireTarget();
+        try {
+            return resolve(context -> {
+                List<WebElement> elements = context.findElements(locator);
+                if (elements.isEmpty()) {
+                    // 空结果可能是缓存的上下文已失效，抛出后由 resolve 完整切换重试一次
+                    throw new NoSuchElementException("未找到元素：" + this);
+                }
+                return elements;
+            });
+        } catch (NoSuchElementException e) {
+            return List.of();
+        }
+    }
+
+    /**
+     * 切换到链路所在的 frame，并返回链路末端的查找上下文（driver 或 shadow root）。
+     * 适合在同一上下文中连续操作多个元素。
+     *
+     * @return 查找上下文
+     */
+    public SearchContext enter() {
+        return resolve(context -> context);
+    }
+
+    /**
+     * 等待目标元素可见。
+     *
+     * @return 可见的目标元素
+     */
+    public WebElement waitUntilVisible() {
+        AtomicBoolean polled = new AtomicBoolean();
+        return WaitFactory.waitUntil(driver -> {
+            WebElement element = poll(polled);
+            return element != null && element.isDisplayed() ? element : null;
+        });
+    }
+
+    /**
+     * 等待目标元素可点击（可见且可用）。
+     *
+     * @return 可点击的目标元素
+     */
+    public WebElement waitUntilClickable() {
+        AtomicBoolean polled = new AtomicBoolean();
+        return WaitFactory.waitUntil(driver -> {
+            WebElement element = poll(polled);
+            return element != null && element.isDisplayed() && element.isEnabled() ? element : null;
+        });
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("root");
+        for (Step step : steps) {
+            sb.append(" > ").append(step.kind() == Kind.FRAME ? "frame" : "shadow").append('(').append(step.by()).append(')');
+        }
+        if (target != null) {
+            sb.append(" > ").append(target);
+        }
+        return sb.toString();
+    }
+
+    private ElementPath append(Step step) {
+        if (target != null) {
+            throw new IllegalStateException("已指定目标元素的链路不能继续追加步骤：" + this);
+        }
+        List<Step> next = new ArrayList<>(steps);
+        next.add(step);
+        return new ElementPath(List.copyOf(next), null);
+    }
+
+    private By requireTarget() {
+        if (target == null) {
+            throw new IllegalStateException("链路未指定目标元素：" + this);
+        }
+        return target;
+    }
+
+    /**
+     * 等待中的一次检查：目标元素尚未出现时返回 null。
+     * 使用 findElements 查找目标，链路已解析成功、只是目标还没渲染时不会抛出异常，
+     * 因此不会触发 resolve 的完整切换重试，也不计入缓存失效次数；链路本身解析失败时仍按 resolve 重试一次。
+     *
+     * 顶层页面跳转（driver.get、点击链接、恢复登录态等）后 driver 回到新文档的顶层，缓存的 frame 链路不再成立，
+     * 在其中查找只会得到空结果而不会抛出异常；因此每次等待的第一次检查若沿用了之前缓存的 frame 链路且没有找到目标，
+     * 从顶层文档重新切换确认一次，之后的轮询照常复用上下文。
+     *
+     * @param polled 本次等待是否已经检查过
+     */
+    private WebElement poll(AtomicBoolean polled) {
+        By locator = requireTarget();
+        Function<SearchContext, WebElement> lookup = context -> {
+            List<WebElement> elements = context.findElements(locator);
+            return elements.isEmpty() ? null : elements.get(0);
+        };
+        try {
+            boolean firstPoll = !polled.getAndSet(true);
+            FrameContext context = FrameContext.current(DriverManager.getDriver());
+            List<Step> cachedFrames = context.framePath();
+            WebElement element = resolve(lookup);
+            if (element == null && firstPoll && cachedFrames != null && !cachedFrames.isEmpty()) {
+                FrameContext.recordFallback();
+                context.invalidate();
+                element = resolve(lookup);
+            }
+            return element;
+        } catch (NotFoundException | StaleElementReferenceException | DetachedShadowRootException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 先按缓存的上下文解析；使用了缓存且失败时，重置上下文并完整切换重试一次。
+     */
+    private <T> T resolve(Function<SearchContext, T> lookup) {
+        WebDriver driver = DriverManager.getDriver();
+        FrameContext context = FrameContext.current(driver);
+        boolean cached = context.framePath() != null;
+        try {
+            return resolve(driver, context, lookup);
+        } catch (NotFoundException | StaleElementReferenceException | DetachedShadowRootException e) {
+            if (!cached) {
+                throw e;
+            }
+            FrameContext.recordFallback();
+            context.invalidate();
+            return resolve(driver, context, lookup);
+        }
+    }
+
+    private <T> T resolve(WebDriver driver, FrameContext context, Function<SearchContext, T> lookup) {
+        List<Step> framePath = steps.subList(0, frameEnd);
+        List<Step> current = context.framePath();
+
+        // 完整切换的往返：defaultContent 1 次 + 每一步查找 1 次、切换或 getShadowRoot 1 次
+        long saved = 0;
+        int start = 0;
+        if (current != null && isPrefix(current, framePath)) {
+            start = current.size();
+            saved += 1 + 2L * start;
+        } else {
+            driver.switchTo().defaultContent();
+        }
+
+        SearchContext searchContext = driver;
+        if (start < frameEnd) {
+            context.invalidate();
+            for (int i = start; i < frameEnd; i++) {
+                searchContext = enterStep(driver, searchContext, steps.get(i));
+            }
+        }
+        context.enteredFrames(framePath);
+
+        List<Step> shadowPath = steps.subList(frameEnd, steps.size());
+        if (!shadowPath.isEmpty()) {
+            SearchContext shadowRoot = context.shadowRoot(shadowPath);
+            if (shadowRoot != null) {
+                saved += 2L * shadowPath.size();
+                searchContext = shadowRoot;
+            } else {
+                for (Step step : shadowPath) {
+                    searchContext = enterStep(driver, searchContext, step);
+                }
+                context.rememberShadowRoot(shadowPath, searchContext);
+            }
+        }
+
+        T result = lookup.apply(searchContext);
+        FrameContext.recordResolution(saved);
+        return result;
+    }
+
+    private static SearchContext enterStep(WebDriver driver, SearchContext searchContext, Step step) {
+        WebElement element = searchContext.findElement(step.by());
+        if (step.kind() == Kind.SHADOW) {
+            return element.getShadowRoot();
+        }
+        driver.switchTo().frame(element);
+        return driver;
+    }
+
+    private static boolean isPrefix(List<Step> prefix, List<Step> path) {
+        return prefix.size() <= path.size() && path.subList(0, prefix.size()).equals(prefix);
+    }
+}
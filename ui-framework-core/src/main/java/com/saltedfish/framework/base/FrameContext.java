@@ -0,0 +1,133 @@
+package com.saltedfish.framework.base;
+
+import com.saltedfish.framework.utils.LogUtil;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebDriver;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * FrameContext 记录当前线程的 driver 已经切换到的 frame 链路，以及在该 frame 内解析过的 shadow root，
+ * 供 ElementPath 跳过重复的 switchTo / shadow root 查找。
+ *
+ * 约定：
+ *  - 通过 ElementPath 或 BasePage.switchToDefaultContent() 切换 frame 时缓存会同步更新；
+ *  - 业务代码直接调用 driver.switchTo() 后应调用 reset()，否则缓存可能与实际不符；
+ *    即便不符，ElementPath 在使用缓存失败时也会重置并完整切换一次，只是多一次尝试；
+ *  - driver 变化（新用例拿到新浏览器）时自动重置；
+ *  - 顶层页面跳转后缓存的 frame 链路不再成立：ElementPath 的等待第一次检查在缓存的 frame 内找不到目标时，
+ *    会从顶层文档重新切换确认一次，不会在失效的链路中一直等到超时；
+ *  - ElementPath 操作完成后 driver 停留在目标 frame 中，普通定位（WaitFactory 的 By 等待、页面字段代理）
+ *    之前由 leaveElementPathFrames() 切回顶层文档，已在顶层文档时不发送任何命令。
+ */
+public final class FrameContext {
+
+    private static final ThreadLocal<FrameContext> CURRENT = new ThreadLocal<>();
+
+    private static final LongAdder RESOLUTIONS = new LongAdder();
+    private static final LongAdder SAVED_ROUND_TRIPS = new LongAdder();
+    private static final LongAdder FALLBACKS = new LongAdder();
+
+    private final WebDriver driver;
+
+    /**
+     * 当前所在的 frame 链路（ElementPath 中最后一个 frame 步骤及之前的全部步骤），空列表表示顶层文档。
+     */
+    private List<ElementPath.Step> framePath = List.of();
+
+    /**
+     * 当前 frame 内解析过的 shadow root：步骤链路 -> shadow root。
+     */
+    private final Map<List<ElementPath.Step>, SearchContext> shadowRoots = new HashMap<>();
+
+    private FrameContext(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    /**
+     * 获取当前线程、当前 driver 对应的上下文，driver 变化时重新创建。
+     */
+    static FrameContext current(WebDriver driver) {
+        FrameContext context = CURRENT.get();
+        if (context == null || context.driver != driver) {
+            context = new FrameContext(driver);
+            CURRENT.set(context);
+        }
+        return context;
+    }
+
+    /**
+     * 清空当前线程的上下文缓存，下一次 ElementPath 解析会从顶层文档完整切换。
+     * 业务代码直接调用 driver.switchTo() 或页面整体跳转后调用。
+     */
+    public static void reset() {
+        CURRENT.remove();
+    }
+
+    /**
+     * ElementPath 把 driver 留在 iframe 中（或切换中途失败、位置未知）时切回顶层文档。
+     * 供顶层文档中的普通定位调用；业务代码自行 switchTo().frame() 后没有经过 ElementPath 时不做任何切换。
+     *
+     * @param driver 当前线程的 driver
+     */
+    public static void leaveElementPathFrames(WebDriver driver) {
+        FrameContext context = CURRENT.get();
+        if (context == null || context.driver != driver
+                || (context.framePath != null && context.framePath.isEmpty())) {
+            return;
+        }
+        driver.switchTo().defaultContent();
+        context.enteredFrames(List.of());
+    }
+
+    /**
+     * 输出 frame / shadow root 缓存的统计，通常在套件结束时调用。
+     */
+    public static void logSummary() {
+        if (RESOLUTIONS.sum() == 0) {
+            return;
+        }
+        LogUtil.info("frame / shadow root 上下文缓存统计：解析 " + RESOLUTIONS.sum() + " 次，节省 WebDriver 往返 "
+                + SAVED_ROUND_TRIPS.sum() + " 次，缓存失效后重新切换 " + FALLBACKS.sum() + " 次");
+    }
+
+    /**
+     * 当前所在的 frame 链路，null 表示未知（上一次切换中途失败），需要从顶层文档重新切换。
+     */
+    List<ElementPath.Step> framePath() {
+        return framePath;
+    }
+
+    void enteredFrames(List<ElementPath.Step> framePath) {
+        if (!Objects.equals(this.framePath, framePath)) {
+            this.framePath = List.copyOf(framePath);
+            shadowRoots.clear();
+        }
+    }
+
+    SearchContext shadowRoot(List<ElementPath.Step> steps) {
+        return shadowRoots.get(steps);
+    }
+
+    void rememberShadowRoot(List<ElementPath.Step> steps, SearchContext shadowRoot) {
+        shadowRoots.put(List.copyOf(steps), shadowRoot);
+    }
+
+    void invalidate() {
+        framePath = null;
+        shadowRoots.clear();
+    }
+
+    static void recordResolution(long savedRoundTrips) {
+        RESOLUTIONS.increment();
+        SAVED_ROUND_TRIPS.add(savedRoundTrips);
+    }
+
+    static void recordFallback() {
+        FALLBACKS.increment();
+    }
+}
@@ -0,0 +1,67 @@
+package com.saltedfish.framework.base;
+
+import com.saltedfish.framework.utils.LogUtil;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LocatorCacheStats 按页面统计元素缓存的命中情况。
+ *  - hit：直接复用缓存元素，节省了一次 findElement 命令；
+ *  - miss：实际发送了 findElement 命令（首次定位或失效后重新定位）；
+ *  - invalidation：缓存元素失效（DOM 被替换或页面跳转）的次数。
+ */
+public final class LocatorCacheStats {
+
+    private static final Map<String, Counters> PAGES = new ConcurrentHashMap<>();
+
+    private LocatorCacheStats() {
+        // 工具类禁止实例化
+    }
+
+    static void recordHit(String pageName) {
+        counters(pageName).hits.increment();
+    }
+
+    static void recordMiss(String pageName) {
+        counters(pageName).misses.increment();
+    }
+
+    static void recordInvalidation(String pageName) {
+        counters(pageName).invalidations.increment();
+    }
+
+    /**
+     * 输出各页面的缓存统计，通常在套件结束时调用。
+     */
+    public static void logSummary() {
+        if (PAGES.isEmpty()) {
+            return;
+        }
+        long saved = 0;
+        StringBuilder sb = new StringBuilder("元素缓存统计（命中即节省的 findElement 次数）：");
+        for (Map.Entry<String, Counters> entry : new TreeMap<>(PAGES).entrySet()) {
+            Counters counters = entry.getValue();
+            saved += counters.hits.sum();
+            sb.append(System.lineSeparator())
+                    .append("  ").append(entry.getKey())
+                    .append(" hit=").append(counters.hits.sum())
+                    .append(" miss=").append(counters.misses.sum())
+                    .append(" invalidated=").append(counters.invalidations.sum());
+        }
+        sb.append(System.lineSeparator()).append("  共节省 findElement 命令 ").append(saved).append(" 次");
+        LogUtil.info(sb.toString());
+    }
+
+    private static Counters counters(String pageName) {
+        return PAGES.computeIfAbsent(pageName, key -> new Counters());
+    }
+
+    private static final class Counters {
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder invalidations = new LongAdder();
+    }
+}
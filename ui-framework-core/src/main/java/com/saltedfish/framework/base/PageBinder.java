@@ -0,0 +1,125 @@
+package com.saltedfish.framework.base;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.interactions.Locatable;
+import org.openqa.selenium.support.FindAll;
+import org.openqa.selenium.support.FindBy;
+import org.openqa.selenium.support.FindBys;
+import org.openqa.selenium.support.pagefactory.Annotations;
+import org.openqa.selenium.support.pagefactory.internal.LocatingElementListHandler;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Proxy;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * PageBinder 负责把页面对象中的 WebElement / List&lt;WebElement&gt; 字段绑定为元素代理，作用等同于
+ * PageFactory.initElements，但单个元素定位后缓存（失效时自动重新定位），字段与定位器的解析结果按页面类缓存。
+ *
+ * 背景：
+ *  - PageFactory 每次构造页面都会遍历字段、解析注解、创建定位器，数据驱动用例会创建成千上万个页面对象；
+ *
+ * 做法：
+ *  1. 每个页面类第一次绑定时解析一次：可绑定的字段（已 setAccessible）、注解生成的 By、是否为列表；
+ *  2. 之后每次构造页面只需为每个字段创建定位器和代理并赋值，不再解析注解；
+ *  3. 字段规则与 PageFactory 一致：WebElement 字段都会绑定（无注解时按字段名 id 或 name 定位），
+ *     List&lt;WebElement&gt; 字段只有标注 @FindBy / @FindBys / @FindAll 时才绑定；
+ *  4. @CacheLookup：WebElement 字段默认即缓存；列表字段默认每次重新定位，标注后与 PageFactory 一样
+ *     缓存第一次定位到的列表（列表中的元素失效后不会自动重新定位，只适合页面生命周期内不变的列表）。
+ */
+public final class PageBinder {
+
+    private static final Class<?>[] ELEMENT_INTERFACES = {WebElement.class, WrapsElement.class, Locatable.class};
+    private static final Class<?>[] LIST_INTERFACES = {List.class};
+
+    /**
+     * 页面类 -> 字段绑定元数据，每个类只解析一次。
+     */
+    private static final ClassValue<List<FieldBinding>> METADATA = new ClassValue<>() {
+        @Override
+        protected List<FieldBinding> computeValue(Class<?> type) {
+            return resolve(type);
+        }
+    };
+
+    private PageBinder() {
+        // 工具类禁止实例化
+    }
+
+    /**
+     * 绑定页面对象中的元素字段。
+     *
+     * @param page          页面对象
+     * @param searchContext 查找上下文（通常是 WebDriver）
+     * @param pageName      页面名称，用于元素缓存统计
+     */
+    public static void bind(Object page, SearchContext searchContext, String pageName) {
+        ClassLoader loader = page.getClass().getClassLoader();
+        for (FieldBinding binding : METADATA.get(page.getClass())) {
+            CachingElementLocator locator =
+                    new CachingElementLocator(searchContext, binding.by(), pageName, binding.cacheList());
+            Object proxy = binding.list()
+                    ? Proxy.newProxyInstance(loader, LIST_INTERFACES, new LocatingElementListHandler(locator))
+                    : Proxy.newProxyInstance(loader, ELEMENT_INTERFACES, new CachingElementHandler(locator));
+            try {
+                binding.field().set(page, proxy);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("绑定页面字段失败：" + binding.field(), e);
+            }
+        }
+    }
+
+    /**
+     * 解析页面类（含父类，直到 Object）中可绑定的字段。
+     */
+    private static List<FieldBinding> resolve(Class<?> type) {
+        List<FieldBinding> bindings = new ArrayList<>();
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                boolean element = field.getType() == WebElement.class;
+                boolean list = isElementList(field);
+                if ((!element && !list) || Modifier.isStatic(field.getModifiers())
+                        || Modifier.isFinal(field.getModifiers())) {
+                    continue;
+                }
+                field.setAccessible(true);
+                Annotations annotations = new Annotations(field);
+                boolean cacheList = list && annotations.isLookupCached();
+                bindings.add(new FieldBinding(field, annotations.buildBy(), list, cacheList));
+            }
+        }
+        return List.copyOf(bindings);
+    }
+
+    private static boolean isElementList(Field field) {
+        if (field.getType() != List.class) {
+            return false;
+        }
+        Type generic = field.getGenericType();
+        if (!(generic instanceof ParameterizedType parameterized)
+                || parameterized.getActualTypeArguments()[0] != WebElement.class) {
+            return false;
+        }
+        return field.isAnnotationPresent(FindBy.class)
+                || field.isAnnotationPresent(FindBys.class)
+                || field.isAnnotationPresent(FindAll.class);
+    }
+
+    /**
+     * 单个字段的绑定元数据。
+     *
+     * @param field     字段（已 setAccessible）
+     * @param by        注解生成的定位器
+     * @param list      是否为 List&lt;WebElement&gt; 字段
+     * @param cacheList 列表字段是否标注了 @CacheLookup
+     */
+    private record FieldBinding(Field field, By by, boolean list, boolean cacheList) {
+    }
+}
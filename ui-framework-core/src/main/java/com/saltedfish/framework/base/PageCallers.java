@@ -0,0 +1,45 @@
+package com.saltedfish.framework.base;
+
+import java.util.Iterator;
+
+/**
+ * PageCallers 根据调用栈判断当前操作由哪个页面对象发起，供等待耗时历史、命令耗时统计等按页面归类。
+ */
+public final class PageCallers {
+
+    private static final StackWalker WALKER = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+
+    private PageCallers() {
+        // 工具类禁止实例化
+    }
+
+    /**
+     * 调用栈中最近的 BasePage 子类；不是从页面对象发起的调用，取框架之外最近的调用类。
+     *
+     * @return 类的全限定名，无法判断时返回 "unknown"
+     */
+    public static String nearestPage() {
+        // 只遍历一次调用栈：找到页面对象立即返回，同时记下框架之外最近的调用类作为备选
+        return WALKER.walk(frames -> {
+            String outside = null;
+            for (Iterator<StackWalker.StackFrame> it = frames.iterator(); it.hasNext(); ) {
+                Class<?> type = it.next().getDeclaringClass();
+                if (type != BasePage.class && BasePage.class.isAssignableFrom(type)) {
+                    return type.getName();
+                }
+                if (outside == null && isOutsideFramework(type.getName())) {
+                    outside = type.getName();
+                }
+            }
+            return outside != null ? outside : "unknown";
+        });
+    }
+
+    private static boolean isOutsideFramework(String name) {
+        return !name.startsWith("com.saltedfish.framework.")
+                && !name.startsWith("org.openqa.selenium.")
+                && !name.startsWith("jdk.proxy")
+                && !name.startsWith("java.")
+                && !name.startsWith("jdk.internal.");
+    }
+}
@@ -1,85 +1,297 @@
-package com.saltedfish.framework.components;
-
-import com.saltedfish.framework.wait.WaitFactory;
-import org.openqa.selenium.By;
-import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.ui.Select;
-
-/**
- * Dropdown 组件封装：
- *  - 用于处理标准 HTML <select> 下拉框；
- *  - 对常见操作（按文本/值/索引选择）进行统一封装；
- *  - 内置显式等待，避免元素尚未可见时操作失败。
- *
- * 使用方式通常是：
- *  1. 在 Page 中通过 @FindBy 或 By 定位到 <select> 元素；
- *  2. 包装成 Dropdown 实例；
- *  3. 调用 selectByVisibleText 等方法完成操作。
- */
-public class Dropdown {
-
-    /**
-     * 下拉框对应的根元素（通常是 <select> 标签）。
-     */
-    private final WebElement rootElement;
-
-    /**
-     * 构造函数通过 WebElement 注入。
-     *
-     * @param rootElement 下拉框根元素
-     */
-    public Dropdown(WebElement rootElement) {
-        this.rootElement = rootElement;
-    }
-
-    /**
-     * 构造函数通过 By 定位器注入。
-     * 内部会使用 WaitFactory 等待元素可见。
-     *
-     * @param locator 下拉框定位器
-     */
-    public Dropdown(By locator) {
-        this.rootElement = WaitFactory.waitUntilVisible(locator);
-    }
-
-    /**
-     * 根据可见文本选择下拉选项。
-     *
-     * @param text 选项的可见文本，例如 "启用"
-     */
-    public void selectByVisibleText(String text) {
-        Select select = new Select(rootElement);
-        select.selectByVisibleText(text);
-    }
-
-    /**
-     * 根据 value 属性选择下拉选项。
-     *
-     * @param value 选项的 value 值
-     */
-    public void selectByValue(String value) {
-        Select select = new Select(rootElement);
-        select.selectByValue(value);
-    }
-
-    /**
-     * 根据索引选择下拉选项。
-     *
-     * @param index 选项索引（从 0 开始）
-     */
-    public void selectByIndex(int index) {
-        Select select = new Select(rootElement);
-        select.selectByIndex(index);
-    }
-
-    /**
-     * 获取当前选中选项的可见文本。
-     *
-     * @return 当前选中项的文本
-     */
-    public String getSelectedText() {
-        Select select = new Select(rootElement);
-        return select.getFirstSelectedOption().getText();
-    }
-}
-
+package com.saltedfish.framework.components;
+
+import com.saltedfish.framework.driver.DriverManager;
+import com.saltedfish.framework.wait.WaitFactory;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.Select;
+import org.openqa.selenium.support.ui.UnexpectedTagNameException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dropdown 组件封装：
+ *  - 用于处理标准 HTML <select> 下拉框；
+ *  - 对常见操作（按文本/值/索引选择）进行统一封装；
+ *  - 内置显式等待，避免元素尚未可见时操作失败。
+ *
+ * 使用方式通常是：
+ *  1. 在 Page 中通过 @FindBy 或 By 定位到 <select> 元素；
+ *  2. 包装成 Dropdown 实例；
+ *  3. 调用 selectByVisibleText 等方法完成操作。
+ *
+ * 性能说明：
+ *  - Selenium 的 Select 会逐个读取选项，选项成千上万时单次选择就要数秒；
+ *  - 这里每个操作（选择、多选、读取全部选项）都只执行一次脚本，在浏览器内完成匹配与选中，
+ *    选中后触发 input / change 事件；
+ *  - 语义与 Select 保持一致：文本按去除首尾空白、合并连续空白后精确匹配；单选下拉只选第一个匹配项，
+ *    多选下拉选中全部匹配项；找不到选项、选项或下拉框被禁用时抛出与 Select 相同类型的异常；
+ *  - 一次选择多个值时先校验全部值再选中，校验失败时下拉框保持原状，不会出现选中了一部分却没有触发事件的情况；
+ *  - 当前 driver 不支持执行脚本时退回 Select。
+ */
+public class Dropdown {
+
+    /**
+     * 单次执行的下拉框操作脚本。
+     * 参数：select 元素、操作类型（text / value / index / deselectAll / options / selected）、匹配值列表。
+     */
+    private static final String SCRIPT = """
+            var select = arguments[0], mode = arguments[1], keys = arguments[2];
+            function norm(text) {
+              return (text || '').replace(/\\s+/g, ' ').trim();
+            }
+            if (!select || select.tagName.toLowerCase() !== 'select') {
+              return {status: 'NOT_SELECT', tag: select ? select.tagName.toLowerCase() : null};
+            }
+            var options = select.options;
+            if (mode === 'options') {
+              return {status: 'OK', options: Array.prototype.map.call(options, function (o) {
+                return [o.index, norm(o.text), o.value, o.selected, o.disabled];
+              })};
+            }
+            if (mode === 'selected') {
+              for (var s = 0; s < options.length; s++) {
+                if (options[s].selected) {
+                  return {status: 'OK', text: norm(options[s].text)};
+                }
+              }
+              return {status: 'NONE_SELECTED'};
+            }
+            if (select.disabled) {
+              return {status: 'DISABLED_SELECT'};
+            }
+            var changed = false;
+            if (mode === 'deselectAll') {
+              if (!select.multiple) {
+                return {status: 'NOT_MULTIPLE'};
+              }
+              for (var d = 0; d < options.length; d++) {
+                if (options[d].selected) {
+                  options[d].selected = false;
+                  changed = true;
+                }
+              }
+            } else {
+              // 遍历一次选项收集每个值的匹配项；先校验全部值，任何一个找不到或被禁用时不修改任何选项
+              var matches = new Map();
+              for (var k = 0; k < keys.length; k++) {
+                matches.set(keys[k], []);
+              }
+              for (var i = 0; i < options.length; i++) {
+                var o = options[i];
+                var id = mode === 'text' ? norm(o.text) : mode === 'value' ? o.value : String(o.index);
+                var list = matches.get(id);
+                if (list && (select.multiple || list.length === 0)) {
+                  list.push(o);
+                }
+              }
+              var targets = [];
+              for (var t = 0; t < keys.length; t++) {
+                var matched = matches.get(keys[t]);
+                if (matched.length === 0) {
+                  return {status: 'NOT_FOUND', key: keys[t]};
+                }
+                for (var j = 0; j < matched.length; j++) {
+                  if (matched[j].disabled) {
+                    return {status: 'DISABLED_OPTION', key: keys[t]};
+                  }
+                  targets.push(matched[j]);
+                }
+              }
+              for (var m = 0; m < targets.length; m++) {
+                if (!targets[m].selected) {
+                  targets[m].selected = true;
+                  changed = true;
+                }
+              }
+            }
+            if (changed) {
+              select.dispatchEvent(new Event('input', {bubbles: true}));
+              select.dispatchEvent(new Event('change', {bubbles: true}));
+            }
+            return {status: 'OK'};
+            """;
+
+    /**
+     * 下拉框对应的根元素（通常是 <select> 标签）。
+     */
+    private final WebElement rootElement;
+
+    /**
+     * 构造函数通过 WebElement 注入。
+     *
+     * @param rootElement 下拉框根元素
+     */
+    public Dropdown(WebElement rootElement) {
+        this.rootElement = rootElement;
+    }
+
+    /**
+     * 构造函数通过 By 定位器注入。
+     * 内部会使用 WaitFactory 等待元素可见。
+     *
+     * @param locator 下拉框定位器
+     */
+    public Dropdown(By locator) {
+        this.rootElement = WaitFactory.waitUntilVisible(locator);
+    }
+
+    /**
+     * 根据可见文本选择下拉选项。
+     *
+     * @param text 选项的可见文本，例如 "启用"
+     */
+    public void selectByVisibleText(String text) {
+        selectByVisibleTexts(text);
+    }
+
+    /**
+     * 多选下拉框：一次选中多个可见文本对应的选项（已选中的选项保持选中）。
+     *
+     * @param texts 选项的可见文本
+     */
+    public void selectByVisibleTexts(String... texts) {
+        if (executor() == null) {
+            Select select = new Select(rootElement);
+            Arrays.stream(texts).forEach(select::selectByVisibleText);
+            return;
+        }
+        run("text", Arrays.stream(texts).map(Dropdown::normalize).toList());
+    }
+
+    /**
+     * 根据 value 属性选择下拉选项。
+     *
+     * @param value 选项的 value 值
+     */
+    public void selectByValue(String value) {
+        selectByValues(value);
+    }
+
+    /**
+     * 多选下拉框：一次选中多个 value 对应的选项（已选中的选项保持选中）。
+     *
+     * @param values 选项的 value 值
+     */
+    public void selectByValues(String... values) {
+        if (executor() == null) {
+            Select select = new Select(rootElement);
+            Arrays.stream(values).forEach(select::selectByValue);
+            return;
+        }
+        run("value", List.of(values));
+    }
+
+    /**
+     * 根据索引选择下拉选项。
+     *
+     * @param index 选项索引（从 0 开始）
+     */
+    public void selectByIndex(int index) {
+        if (executor() == null) {
+            new Select(rootElement).selectByIndex(index);
+            return;
+        }
+        run("index", List.of(String.valueOf(index)));
+    }
+
+    /**
+     * 多选下拉框：取消所有选中项。
+     */
+    public void deselectAll() {
+        if (executor() == null) {
+            new Select(rootElement).deselectAll();
+            return;
+        }
+        run("deselectAll", List.of());
+    }
+
+    /**
+     * 获取当前选中选项的可见文本。
+     *
+     * @return 当前选中项的文本
+     */
+    public String getSelectedText() {
+        if (executor() == null) {
+            Select select = new Select(rootElement);
+            return select.getFirstSelectedOption().getText();
+        }
+        return (String) run("selected", List.of()).get("text");
+    }
+
+    /**
+     * 一次读取全部选项的索引、文本、value、选中与禁用状态。
+     *
+     * @return 选项列表，顺序与页面一致
+     */
+    public List<Option> getOptions() {
+        if (executor() == null) {
+            List<Option> options = new ArrayList<>();
+            List<WebElement> elements = new Select(rootElement).getOptions();
+            for (int i = 0; i < elements.size(); i++) {
+                WebElement element = elements.get(i);
+                options.add(new Option(i, element.getText(), element.getAttribute("value"),
+                        element.isSelected(), !element.isEnabled()));
+            }
+            return options;
+        }
+
+        List<Option> options = new ArrayList<>();
+        for (Object raw : (List<?>) run("options", List.of()).get("options")) {
+            List<?> row = (List<?>) raw;
+            options.add(new Option(((Number) row.get(0)).intValue(), (String) row.get(1), (String) row.get(2),
+                    Boolean.TRUE.equals(row.get(3)), Boolean.TRUE.equals(row.get(4))));
+        }
+        return options;
+    }
+
+    /**
+     * 执行一次下拉框脚本，并把失败状态转换为与 Select 一致的异常。
+     */
+    private Map<?, ?> run(String mode, List<String> keys) {
+        if (!(executor().executeScript(SCRIPT, rootElement, mode, keys) instanceof Map<?, ?> result)) {
+            throw new IllegalStateException("下拉框脚本没有返回结果");
+        }
+        String status = String.valueOf(result.get("status"));
+        Object key = result.get("key");
+        return switch (status) {
+            case "OK" -> result;
+            case "NOT_SELECT" -> throw new UnexpectedTagNameException("select", String.valueOf(result.get("tag")));
+            case "NONE_SELECTED" -> throw new NoSuchElementException("No options are selected");
+            case "DISABLED_SELECT" -> throw new UnsupportedOperationException(
+                    "You may not select an option in disabled select");
+            case "DISABLED_OPTION" -> throw new UnsupportedOperationException("You may not select a disabled option");
+            case "NOT_MULTIPLE" -> throw new UnsupportedOperationException(
+                    "You may only deselect all options of a multi-select");
+            case "NOT_FOUND" -> throw new NoSuchElementException("Cannot locate option with " + mode + ": " + key);
+            default -> throw new IllegalStateException("未知的下拉框脚本结果：" + result);
+        };
+    }
+
+    private static JavascriptExecutor executor() {
+        WebDriver driver = DriverManager.getDriver();
+        return driver instanceof JavascriptExecutor executor ? executor : null;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.replaceAll("\\s+", " ").trim();
+    }
+
+    /**
+     * 下拉选项数据。
+     *
+     * @param index    选项索引（从 0 开始）
+     * @param text     可见文本（已合并空白）
+     * @param value    value 属性
+     * @param selected 是否选中
+     * @param disabled 是否禁用
+     */
+    public record Option(int index, String text, String value, boolean selected, boolean disabled) {
+    }
+}
@@ -0,0 +1,452 @@
+package com.saltedfish.framework.components;
+
+import com.saltedfish.framework.driver.DriverManager;
+import com.saltedfish.framework.wait.WaitFactory;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Table 组件封装：按行批量读取表格 / 数据网格，以惰性 Stream 形式返回。
+ *
+ * 读取方式：
+ *  - 每次脚本调用读取一批行（默认 500 行）的全部单元格文本，不再逐个单元格 findElement；
+ *  - 同一页读完后，配置了翻页按钮（paginatedBy）则点击下一页，等待出现与上一页签名不同的非空页面后继续读取；
+ *    通过定位器创建的表格在翻页后整体重新渲染（根元素失效）时会重新定位根元素；
+ *  - 虚拟滚动表格（virtualScroll）每次滚动一屏，读取当前渲染的行，并按行标识去重；
+ *  - Stream 是惰性的，内存中只保留当前一批行，10 万行的表格也不会一次性加载到 Java 端。
+ *
+ * 使用示例：
+ * <pre>
+ * List&lt;Order&gt; orders = new Table(By.id("orders"))
+ *         .paginatedBy(By.cssSelector(".pagination .next"))
+ *         .rows(row -&gt; new Order(row.get("订单号"), row.get("金额")))
+ *         .filter(order -&gt; order.amount().startsWith("-"))
+ *         .toList();
+ * </pre>
+ */
+public class Table {
+
+    /**
+     * 读取一批行：返回单元格文本以及用于判断翻页完成的页面签名。
+     */
+    private static final String READ_ROWS = """
+            var root = arguments[0], rowSelector = arguments[1], cellSelector = arguments[2];
+            var offset = arguments[3], limit = arguments[4];
+            function norm(text) {
+              return (text || '').replace(/\\s+/g, ' ').trim();
+            }
+            var rows = root.querySelectorAll(rowSelector), data = [];
+            for (var i = offset; i < rows.length && data.length < limit; i++) {
+              data.push(Array.prototype.map.call(rows[i].querySelectorAll(cellSelector), function (cell) {
+                return norm(cell.innerText);
+              }));
+            }
+            return {rows: data, total: rows.length,
+                    signature: rows.length + '|' + (rows.length ? norm(rows[0].innerText) : '')};
+            """;
+
+    /**
+     * 虚拟滚动：scroll 为 true 时先把滚动容器向下滚动一屏，等待两帧渲染后读取当前渲染的全部行。
+     */
+    private static final String SCROLL_AND_READ = """
+            var root = arguments[0], rowSelector = arguments[1], cellSelector = arguments[2];
+            var container = arguments[3] || root, scroll = arguments[4], settleMillis = arguments[5];
+            var done = arguments[arguments.length - 1];
+            function norm(text) {
+              return (text || '').replace(/\\s+/g, ' ').trim();
+            }
+            var before = container.scrollTop, moved = true;
+            if (scroll) {
+              container.scrollTop = before + Math.max(1, container.clientHeight * 0.9);
+              moved = container.scrollTop > before;
+            }
+            function read() {
+              var rows = root.querySelectorAll(rowSelector), data = [], keys = [];
+              for (var i = 0; i < rows.length; i++) {
+                data.push(Array.prototype.map.call(rows[i].querySelectorAll(cellSelector), function (cell) {
+                  return norm(cell.innerText);
+                }));
+                keys.push(rows[i].getAttribute('aria-rowindex') || rows[i].getAttribute('data-row-key')
+                    || rows[i].getAttribute('data-index'));
+              }
+              done({rows: data, keys: keys, atEnd: !moved});
+            }
+            if (!moved) {
+              read();
+              return;
+            }
+            requestAnimationFrame(function () {
+              requestAnimationFrame(function () { setTimeout(read, settleMillis); });
+            });
+            """;
+
+    /**
+     * 虚拟滚动后等待渲染的额外时间（毫秒）。
+     */
+    private static final long SETTLE_MILLIS = 50;
+
+    private static final String READ_HEADERS = """
+            return Array.prototype.map.call(arguments[0].querySelectorAll(arguments[1]), function (cell) {
+              return (cell.innerText || '').replace(/\\s+/g, ' ').trim();
+            });
+            """;
+
+    /**
+     * 判断翻页按钮是否可用：可见、未禁用、没有 aria-disabled 或 disabled 样式。
+     */
+    private static final String NEXT_AVAILABLE = """
+            var next = arguments[0];
+            if (!next || !next.isConnected || next.getClientRects().length === 0) {
+              return false;
+            }
+            var disabled = next.disabled || next.getAttribute('aria-disabled') === 'true'
+                || /(^|\\s)(disabled|is-disabled)(\\s|$)/.test(next.className || '');
+            return !disabled;
+            """;
+
+    private final By rootLocator;
+    private WebElement root;
+    private String rowSelector = ":scope > tbody > tr";
+    private String cellSelector = ":scope > td, :scope > th";
+    private String headerSelector = ":scope > thead th";
+    private int chunkSize = 500;
+    private By nextPageLocator;
+    private boolean networkIdleOnPageChange;
+    private boolean virtualScroll;
+    private By scrollContainerLocator;
+
+    /**
+     * 通过表格根元素创建。翻页时会整体重新渲染表格的页面请使用 Table(By)，根元素失效后才能重新定位。
+     *
+     * @param root 表格根元素（例如 &lt;table&gt; 或数据网格的根节点）
+     */
+    public Table(WebElement root) {
+        this.root = root;
+        this.rootLocator = null;
+    }
+
+    /**
+     * 通过定位器创建，内部会等待表格可见；根元素失效时按该定位器重新定位。
+     *
+     * @param locator 表格根元素定位器
+     */
+    public Table(By locator) {
+        this.root = WaitFactory.waitUntilVisible(locator);
+        this.rootLocator = locator;
+    }
+
+    /**
+     * 自定义行与单元格选择器（相对根元素的 CSS），用于 div 结构的数据网格。
+     *
+     * @param rowSelector  行选择器，默认 ":scope > tbody > tr"
+     * @param cellSelector 单元格选择器（相对行），默认 ":scope > td, :scope > th"
+     * @return 当前 Table，便于链式调用
+     */
+    public Table withSelectors(String rowSelector, String cellSelector) {
+        this.rowSelector = rowSelector;
+        this.cellSelector = cellSelector;
+        return this;
+    }
+
+    /**
+     * 自定义表头单元格选择器（相对根元素的 CSS）。
+     *
+     * @param headerSelector 表头选择器，默认 ":scope > thead th"
+     * @return 当前 Table，便于链式调用
+     */
+    public Table withHeaderSelector(String headerSelector) {
+        this.headerSelector = headerSelector;
+        return this;
+    }
+
+    /**
+     * 每次脚本调用读取的最大行数，同时也是 Java 端缓存的行数上限。
+     *
+     * @param chunkSize 每批行数，默认 500
+     * @return 当前 Table，便于链式调用
+     */
+    public Table withChunkSize(int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize 必须大于 0");
+        }
+        this.chunkSize = chunkSize;
+        return this;
+    }
+
+    /**
+     * 分页表格：当前页读完后点击“下一页”按钮继续读取，按钮不存在或不可用时结束。
+     *
+     * @param nextPageLocator “下一页”按钮定位器
+     * @return 当前 Table，便于链式调用
+     */
+    public Table paginatedBy(By nextPageLocator) {
+        return paginatedBy(nextPageLocator, false);
+    }
+
+    /**
+     * 分页表格，可选在翻页后先等待网络空闲，适合翻页时先清空表格、数据返回后再渲染的单页应用。
+     *
+     * @param nextPageLocator         “下一页”按钮定位器
+     * @param networkIdleOnPageChange 点击下一页后是否先调用 WaitFactory.waitUntilNetworkIdle()
+     * @return 当前 Table，便于链式调用
+     */
+    public Table paginatedBy(By nextPageLocator, boolean networkIdleOnPageChange) {
+        this.nextPageLocator = nextPageLocator;
+        this.networkIdleOnPageChange = networkIdleOnPageChange;
+        return this;
+    }
+
+    /**
+     * 虚拟滚动表格：每次滚动一屏读取当前渲染的行，滚动到底时结束。
+     * 行优先按 aria-rowindex / data-row-key / data-index 去重，没有这些属性时按整行文本去重。
+     *
+     * @param scrollContainerLocator 滚动容器定位器，为 null 时滚动表格根元素本身
+     * @return 当前 Table，便于链式调用
+     */
+    public Table virtualScroll(By scrollContainerLocator) {
+        this.virtualScroll = true;
+        this.scrollContainerLocator = scrollContainerLocator;
+        return this;
+    }
+
+    /**
+     * 读取表头文本。
+     *
+     * @return 表头单元格文本列表
+     */
+    @SuppressWarnings("unchecked")
+    public List<String> headers() {
+        return (List<String>) executor().executeScript(READ_HEADERS, root, headerSelector);
+    }
+
+    /**
+     * 以惰性 Stream 读取全部行。
+     *
+     * @return 行数据 Stream
+     */
+    public Stream<Row> rows() {
+        List<String> headers = headers();
+        Map<String, Integer> headerIndex = new HashMap<>();
+        for (int i = 0; i < headers.size(); i++) {
+            headerIndex.putIfAbsent(headers.get(i), i);
+        }
+        Spliterator<Row> spliterator = virtualScroll
+                ? new VirtualScrollRows(headerIndex)
+                : new PagedRows(headerIndex);
+        return StreamSupport.stream(spliterator, false);
+    }
+
+    /**
+     * 以惰性 Stream 读取全部行，并映射为业务对象（例如 record）。
+     *
+     * @param mapper 行映射函数
+     * @param <T>    业务对象类型
+     * @return 业务对象 Stream
+     */
+    public <T> Stream<T> rows(Function<Row, T> mapper) {
+        return rows().map(mapper);
+    }
+
+    private static JavascriptExecutor executor() {
+        return (JavascriptExecutor) DriverManager.getDriver();
+    }
+
+    /**
+     * 读取一批行；根元素失效（表格整体重新渲染）且表格通过定位器创建时，重新定位根元素后再读一次。
+     */
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> readRows(int offset, int limit) {
+        try {
+            return (Map<String, Object>) executor().executeScript(READ_ROWS, root, rowSelector, cellSelector,
+                    offset, limit);
+        } catch (StaleElementReferenceException e) {
+            if (rootLocator == null) {
+                // 等待默认忽略该异常，转换后立即失败，避免一直等到超时
+                throw new IllegalStateException("表格根元素已失效（页面重新渲染了整个表格），"
+                        + "请通过 new Table(By) 创建以便自动重新定位", e);
+            }
+            root = DriverManager.getDriver().findElement(rootLocator);
+            return (Map<String, Object>) executor().executeScript(READ_ROWS, root, rowSelector, cellSelector,
+                    offset, limit);
+        }
+    }
+
+    /**
+     * 普通表格与分页表格：按批读取当前页，读完后翻页。
+     */
+    private final class PagedRows extends Spliterators.AbstractSpliterator<Row> {
+
+        private final Map<String, Integer> headerIndex;
+        private final Deque<Row> buffer = new ArrayDeque<>();
+        private long nextIndex;
+        private int offsetInPage;
+        private String pageSignature;
+        private boolean finished;
+
+        private PagedRows(Map<String, Integer> headerIndex) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.headerIndex = headerIndex;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Row> action) {
+            while (buffer.isEmpty() && !finished) {
+                fetch();
+            }
+            Row row = buffer.poll();
+            if (row == null) {
+                return false;
+            }
+            action.accept(row);
+            return true;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void fetch() {
+            Map<String, Object> result = readRows(offsetInPage, chunkSize);
+            List<List<String>> rows = (List<List<String>>) result.get("rows");
+            pageSignature = (String) result.get("signature");
+            for (List<String> cells : rows) {
+                buffer.add(new Row(nextIndex++, cells, headerIndex));
+            }
+            offsetInPage += rows.size();
+            if (offsetInPage < ((Number) result.get("total")).intValue()) {
+                return;
+            }
+            if (!nextPage()) {
+                finished = true;
+            }
+        }
+
+        /**
+         * 点击下一页并等待新页面渲染完成：行数大于 0 且签名（行数 + 首行文本）与上一页不同。
+         * 翻页时表格先清空再渲染、或加载中显示占位行的情况下，空页面不会被误认为新页面；
+         * 根元素在等待期间失效时按定位器重新定位（见 readRows）。
+         *
+         * @return false 表示没有下一页
+         */
+        private boolean nextPage() {
+            if (nextPageLocator == null) {
+                return false;
+            }
+            List<WebElement> next = DriverManager.getDriver().findElements(nextPageLocator);
+            if (next.isEmpty() || !Boolean.TRUE.equals(executor().executeScript(NEXT_AVAILABLE, next.get(0)))) {
+                return false;
+            }
+            String previous = pageSignature;
+            next.get(0).click();
+            if (networkIdleOnPageChange) {
+                WaitFactory.waitUntilNetworkIdle();
+            }
+            WaitFactory.waitUntil(driver -> {
+                Map<String, Object> probe = readRows(0, 0);
+                return ((Number) probe.get("total")).intValue() > 0 && !previous.equals(probe.get("signature"));
+            });
+            offsetInPage = 0;
+            return true;
+        }
+    }
+
+    /**
+     * 虚拟滚动表格：每次滚动一屏读取当前渲染的行，与上一屏的行标识比对去重。
+     */
+    private final class VirtualScrollRows extends Spliterators.AbstractSpliterator<Row> {
+
+        private final Map<String, Integer> headerIndex;
+        private final Deque<Row> buffer = new ArrayDeque<>();
+        private final WebElement container;
+        private Set<String> previousKeys = Set.of();
+        private long nextIndex;
+        private boolean started;
+        private boolean finished;
+
+        private VirtualScrollRows(Map<String, Integer> headerIndex) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.headerIndex = headerIndex;
+            this.container = scrollContainerLocator != null
+                    ? DriverManager.getDriver().findElement(scrollContainerLocator)
+                    : null;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Row> action) {
+            while (buffer.isEmpty() && !finished) {
+                fetch();
+            }
+            Row row = buffer.poll();
+            if (row == null) {
+                return false;
+            }
+            action.accept(row);
+            return true;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void fetch() {
+            Map<String, Object> result = (Map<String, Object>) executor().executeAsyncScript(SCROLL_AND_READ,
+                    root, rowSelector, cellSelector, container, started, SETTLE_MILLIS);
+            started = true;
+            List<List<String>> rows = (List<List<String>>) result.get("rows");
+            List<String> keys = (List<String>) result.get("keys");
+
+            // 只与上一屏比对：相邻两屏之间可能重叠，更早的行已经滚出视口，不会再次出现
+            Set<String> currentKeys = new HashSet<>();
+            for (int i = 0; i < rows.size(); i++) {
+                String key = keys.get(i) != null ? keys.get(i) : String.join("\u0001", rows.get(i));
+                currentKeys.add(key);
+                if (!previousKeys.contains(key)) {
+                    buffer.add(new Row(nextIndex++, rows.get(i), headerIndex));
+                }
+            }
+            previousKeys = currentKeys;
+            finished = Boolean.TRUE.equals(result.get("atEnd"));
+        }
+    }
+
+    /**
+     * 一行数据。
+     *
+     * @param index       行号（从 0 开始，跨页连续）
+     * @param cells       单元格文本
+     * @param headerIndex 表头文本 -> 列下标
+     */
+    public record Row(long index, List<String> cells, Map<String, Integer> headerIndex) {
+
+        /**
+         * 按列下标取值。
+         *
+         * @param column 列下标（从 0 开始）
+         * @return 单元格文本，列不存在时返回 null
+         */
+        public String get(int column) {
+            return column >= 0 && column < cells.size() ? cells.get(column) : null;
+        }
+
+        /**
+         * 按表头文本取值。
+         *
+         * @param header 表头文本
+         * @return 单元格文本，表头或列不存在时返回 null
+         */
+        public String get(String header) {
+            Integer column = headerIndex.get(header);
+            return column != null ? get(column) : null;
+        }
+    }
+}
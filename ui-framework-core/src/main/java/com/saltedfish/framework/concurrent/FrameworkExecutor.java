@@ -0,0 +1,143 @@
+package com.saltedfish.framework.concurrent;
+
+import com.saltedfish.framework.config.ConfigManager;
+import com.saltedfish.framework.utils.LogUtil;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * FrameworkExecutor 是框架“旁路工作”的共享执行器：截图落盘、文件写入、通知发送等
+ * 不影响用例结果、但会阻塞用例线程的操作。
+ *
+ * 设计：
+ *  1. 每个任务一个虚拟线程（Java 21），阻塞 IO 不占用平台线程，用例线程提交后立即返回继续驱动浏览器；
+ *  2. 按资源类型（Resource）用信号量限制并发，避免大量截图同时写盘、或同时向机器人接口发起请求被限流；
+ *  3. 任务异常只记录日志，不影响用例；
+ *  4. SuiteListener 在套件结束时调用 awaitAll()，等待所有已提交的任务完成，保证截图与通知不会丢失。
+ *
+ * 配置 asyncSideWorkEnabled=false 时任务直接在调用线程同步执行，便于本地调试。
+ */
+public final class FrameworkExecutor {
+
+    /**
+     * 旁路工作的资源类型及其最大并发数。
+     */
+    public enum Resource {
+        /**
+         * 本地文件写入（截图、报告附件等）。
+         */
+        FILE_IO(4),
+        /**
+         * 外部 HTTP 调用（企业微信 / 钉钉通知等）。
+         */
+        NETWORK(2);
+
+        private final int maxConcurrency;
+
+        Resource(int maxConcurrency) {
+            this.maxConcurrency = maxConcurrency;
+        }
+    }
+
+    private static final Map<Resource, Semaphore> PERMITS = new ConcurrentHashMap<>();
+
+    /**
+     * 已提交、尚未完成的任务。
+     */
+    private static final Set<CompletableFuture<Void>> PENDING = ConcurrentHashMap.newKeySet();
+
+    private static final ExecutorService EXECUTOR =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("saltedfish-side-", 0).factory());
+
+    private FrameworkExecutor() {
+        // 工具类禁止实例化
+    }
+
+    /**
+     * 提交一个旁路任务。
+     *
+     * @param resource    任务占用的资源类型
+     * @param description 任务描述，用于失败日志，例如 "写入截图 target/screenshots/xxx.png"
+     * @param task        任务内容
+     * @return 任务完成时结束的 Future（异常已被记录，不会以异常结束）
+     */
+    public static CompletableFuture<Void> submit(Resource resource, String description, Runnable task) {
+        if (!isAsync()) {
+            run(description, task);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        Semaphore permits = PERMITS.computeIfAbsent(resource, key -> new Semaphore(key.maxConcurrency));
+        CompletableFuture<Void> future = CompletableFuture.runAsync(() -> {
+            permits.acquireUninterruptibly();
+            try {
+                run(description, task);
+            } finally {
+                permits.release();
+            }
+        }, EXECUTOR);
+        PENDING.add(future);
+        future.whenComplete((ignored, error) -> PENDING.remove(future));
+        return future;
+    }
+
+    /**
+     * 等待所有已提交的任务完成（包括等待期间新提交的任务），超时后记录未完成的任务数并返回。
+     *
+     * @param timeout 最长等待时间
+     * @return true 表示全部完成
+     */
+    public static boolean awaitAll(Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (!PENDING.isEmpty()) {
+            long remaining = deadline - System.nanoTime();
+            try {
+                CompletableFuture.allOf(PENDING.toArray(new CompletableFuture<?>[0]))
+                        .get(Math.max(0, remaining), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                LogUtil.warn("等待旁路任务超时，仍有 " + PENDING.size() + " 个任务未完成。");
+                return false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                LogUtil.warn("等待旁路任务时被中断，仍有 " + PENDING.size() + " 个任务未完成。");
+                return false;
+            } catch (ExecutionException e) {
+                // 任务内部已捕获异常，不会走到这里
+                LogUtil.error("旁路任务执行异常。", e);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 使用配置的超时时间（sideWorkAwaitTimeoutSec，默认 60 秒）等待所有任务完成。
+     *
+     * @return true 表示全部完成
+     */
+    public static boolean awaitAll() {
+        Integer timeoutSec = ConfigManager.getConfig().getSideWorkAwaitTimeoutSec();
+        return awaitAll(Duration.ofSeconds(timeoutSec != null && timeoutSec > 0 ? timeoutSec : 60));
+    }
+
+    private static void run(String description, Runnable task) {
+        try {
+            task.run();
+        } catch (RuntimeException e) {
+            LogUtil.error("旁路任务执行失败：" + description, e);
+        }
+    }
+
+    private static boolean isAsync() {
+        return !Boolean.FALSE.equals(ConfigManager.getConfig().getAsyncSideWorkEnabled());
+    }
+}
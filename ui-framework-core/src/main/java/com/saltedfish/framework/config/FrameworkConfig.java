@@ -1,144 +1,656 @@
-package com.saltedfish.framework.config;
-
-/**
- * FrameworkConfig 用于承载框架的运行时配置。
- *
- * 典型配置项包括：
- *  - baseUrl：被测系统基础地址；
- *  - browser：浏览器类型，例如 CHROME / EDGE；
- *  - headless：是否启用无头模式；
- *  - weComWebhookUrl：企业微信机器人 WebHook 地址；
- *  - dingTalkWebhookUrl：钉钉机器人 WebHook 地址；
- *  - explicitWaitSec：默认显式等待时间（秒）；
- *  - implicitWaitSec：默认隐式等待时间（秒）；
- *  - pageLoadTimeoutSec：页面加载超时时间（秒）。
- */
-public class FrameworkConfig {
-
-    /**
-     * 被测系统的基础 URL，例如 https://test.xxx.com
-     */
-    private String baseUrl;
-
-    /**
-     * 浏览器类型，与 DriverType 枚举对应，例如 "CHROME"、"EDGE" 等。
-     */
-    private String browser;
-
-    /**
-     * 是否使用无头模式（true 表示开启，false 表示不开启）。
-     */
-    private Boolean headless;
-
-    /**
-     * 企业微信机器人 WebHook 地址。
-     * 如果为空，则不发送企业微信通知。
-     */
-    private String weComWebhookUrl;
-
-    /**
-     * 钉钉机器人 WebHook 地址。
-     * 如果为空，则不发送钉钉通知。
-     */
-    private String dingTalkWebhookUrl;
-
-    /**
-     * 默认显式等待时间（秒）。
-     * 建议 5~15 之间，根据系统响应速度调整。
-     */
-    private Integer explicitWaitSec;
-
-    /**
-     * 默认隐式等待时间（秒）。
-     * 建议保持较低值（例如 0~3），仅作兜底。
-     */
-    private Integer implicitWaitSec;
-
-    /**
-     * 页面加载超时时间（秒）。
-     * 用于控制 driver.get() / 页面跳转的超时。
-     */
-    private Integer pageLoadTimeoutSec;
-
-    /**
-     * 【可选】自定义 ChromeDriver 路径。
-     *  - 场景：某些机器上 Selenium Manager 或 PATH 管理驱动有问题，
-     *          希望强制使用指定位置的 chromedriver.exe。
-     *  - 为空或空字符串时，DriverFactory 中可以选择交给 Selenium Manager 自动处理。
-     */
-    private String chromeDriverPath;
-
-    // --- getter / setter ---
-
-    public String getBaseUrl() {
-        return baseUrl;
-    }
-
-    public void setBaseUrl(String baseUrl) {
-        this.baseUrl = baseUrl;
-    }
-
-    public String getBrowser() {
-        return browser;
-    }
-
-    public void setBrowser(String browser) {
-        this.browser = browser;
-    }
-
-    public Boolean getHeadless() {
-        return headless;
-    }
-
-    public void setHeadless(Boolean headless) {
-        this.headless = headless;
-    }
-
-    public String getWeComWebhookUrl() {
-        return weComWebhookUrl;
-    }
-
-    public void setWeComWebhookUrl(String weComWebhookUrl) {
-        this.weComWebhookUrl = weComWebhookUrl;
-    }
-
-    public String getDingTalkWebhookUrl() {
-        return dingTalkWebhookUrl;
-    }
-
-    public void setDingTalkWebhookUrl(String dingTalkWebhookUrl) {
-        this.dingTalkWebhookUrl = dingTalkWebhookUrl;
-    }
-
-    public Integer getExplicitWaitSec() {
-        return explicitWaitSec;
-    }
-
-    public void setExplicitWaitSec(Integer explicitWaitSec) {
-        this.explicitWaitSec = explicitWaitSec;
-    }
-
-    public Integer getImplicitWaitSec() {
-        return implicitWaitSec;
-    }
-
-    public void setImplicitWaitSec(Integer implicitWaitSec) {
-        this.implicitWaitSec = implicitWaitSec;
-    }
-
-    public Integer getPageLoadTimeoutSec() {
-        return pageLoadTimeoutSec;
-    }
-
-    public String getChromeDriverPath() {
-        return chromeDriverPath;
-    }
-
-    public void setChromeDriverPath(String chromeDriverPath) {
-        this.chromeDriverPath = chromeDriverPath;
-    }
-
-    public void setPageLoadTimeoutSec(Integer pageLoadTimeoutSec) {
-        this.pageLoadTimeoutSec = pageLoadTimeoutSec;
-    }
-}
+package com.saltedfish.framework.config;
+
+import java.util.List;
+
+/**
+ * FrameworkConfig 用于承载框架的运行时配置。
+ *
+ * 典型配置项包括：
+ *  - baseUrl：被测系统基础地址；
+ *  - browser：浏览器类型，例如 CHROME / EDGE；
+ *  - headless：是否启用无头模式；
+ *  - weComWebhookUrl：企业微信机器人 WebHook 地址；
+ *  - dingTalkWebhookUrl：钉钉机器人 WebHook 地址；
+ *  - explicitWaitSec：默认显式等待时间（秒）；
+ *  - implicitWaitSec：隐式等待时间（秒），已固定为 0，仅保留兼容；
+ *  - pageLoadTimeoutSec：页面加载超时时间（秒）。
+ */
+public class FrameworkConfig {
+
+    /**
+     * 被测系统的基础 URL，例如 https://test.xxx.com
+     */
+    private String baseUrl;
+
+    /**
+     * 浏览器类型，与 DriverType 枚举对应，例如 "CHROME"、"EDGE" 等。
+     */
+    private String browser;
+
+    /**
+     * 是否使用无头模式（true 表示开启，false 表示不开启）。
+     */
+    private Boolean headless;
+
+    /**
+     * 企业微信机器人 WebHook 地址。
+     * 如果为空，则不发送企业微信通知。
+     */
+    private String weComWebhookUrl;
+
+    /**
+     * 钉钉机器人 WebHook 地址。
+     * 如果为空，则不发送钉钉通知。
+     */
+    private String dingTalkWebhookUrl;
+
+    /**
+     * 默认显式等待时间（秒）。
+     * 建议 5~15 之间，根据系统响应速度调整。
+     */
+    private Integer explicitWaitSec;
+
+    /**
+     * 隐式等待时间（秒）。
+     * 隐式等待会与显式等待叠加，并拖慢 waitUntilInvisible 等“否定”判断，
+     * 框架现已统一使用显式等待，DriverFactory 固定把隐式等待设置为 0；
+     * 配置为大于 0 的值时只打印警告，不再生效。
+     */
+    private Integer implicitWaitSec;
+
+    /**
+     * 页面加载超时时间（秒）。
+     * 用于控制 driver.get() / 页面跳转的超时。
+     */
+    private Integer pageLoadTimeoutSec;
+
+    /**
+     * 【可选】自定义 ChromeDriver 路径。
+     *  - 场景：某些机器上 Selenium Manager 或 PATH 管理驱动有问题，
+     *          希望强制使用指定位置的 chromedriver.exe。
+     *  - 为空或空字符串时，交给 Selenium Manager 自动处理，解析结果由 DriverBinaryCache 缓存；
+     *  - 只对 CHROME 生效，EDGE / FIREFOX 不受影响。
+     */
+    private String chromeDriverPath;
+
+    /**
+     * 是否启用 WebDriver 会话池（DriverPool）。
+     *  - true：用例结束后浏览器不退出，重置状态后归还到池中，供下一个用例复用；
+     *  - false 或为空：保持原有行为，每个用例新建并退出浏览器。
+     */
+    private Boolean driverPoolEnabled;
+
+    /**
+     * 会话池中最多保留的空闲会话数量（按浏览器类型分别计算）。
+     * 并行执行时建议不小于并发线程数，为空时默认 2。
+     */
+    private Integer driverPoolMaxSize;
+
+    /**
+     * 空闲会话最长保留时间（秒），超过后会被退出回收，为空时默认 300。
+     */
+    private Integer driverPoolMaxIdleSec;
+
+    /**
+     * 单个会话最多被租用的次数，达到后不再归还而是直接退出，
+     * 避免长时间复用导致的内存膨胀或状态残留，为空时默认 20。
+     */
+    private Integer driverPoolMaxUsesPerSession;
+
+    /**
+     * 是否启用浏览器流水线预启动（DriverProvisioner）。
+     * 启用后，当前用例执行期间会在后台提前启动下一个浏览器，隐藏启动耗时。
+     */
+    private Boolean driverPipelineEnabled;
+
+    /**
+     * 每种浏览器类型保持的预启动数量，为空时默认 1。
+     * 数值越大隐藏效果越好，但同时占用的浏览器进程也越多。
+     */
+    private Integer driverPipelineDepth;
+
+    /**
+     * 是否缓存 Selenium Manager 解析出的驱动与浏览器路径（DriverBinaryCache）。
+     * 为空时默认启用；设置为 false 时每次创建浏览器都重新解析。
+     */
+    private Boolean driverCacheEnabled;
+
+    /**
+     * 驱动缓存文件路径，为空时使用 ${user.home}/.saltedfish/driver-cache.json。
+     * 多个并行执行的 JVM 指向同一个文件即可共享解析结果。
+     */
+    private String driverCacheFile;
+
+    /**
+     * 驱动缓存有效期（小时），超过后重新解析，用于跟上浏览器自动升级，为空时默认 24。
+     */
+    private Integer driverCacheTtlHours;
+
+    /**
+     * 是否为 Chrome / Edge 启用预热 profile 模板（BrowserProfileTemplate）。
+     * 启用后每次运行只初始化一次 profile，之后每个会话从模板复制一份使用，缩短冷启动时间。
+     */
+    private Boolean profileTemplateEnabled;
+
+    /**
+     * 浏览器启动档位，与 LaunchProfile 枚举对应："DEFAULT" 或 "FAST"。
+     * 可以在不同环境的配置文件中分别设置，为空时为 DEFAULT。
+     */
+    private String launchProfile;
+
+    /**
+     * 页面加载策略："normal" / "eager" / "none"。
+     * 为空时 DEFAULT 档位使用浏览器默认值（normal），FAST 档位使用 eager。
+     */
+    private String pageLoadStrategy;
+
+    /**
+     * FAST 档位使用的固定窗口宽度（像素），为空时默认 1920。
+     */
+    private Integer windowWidth;
+
+    /**
+     * FAST 档位使用的固定窗口高度（像素），为空时默认 1080。
+     */
+    private Integer windowHeight;
+
+    /**
+     * 网络请求拦截规则（NetworkBlocker），用于屏蔽统计、广告、字体等测试不关心的资源。
+     * 为空或空列表时不做拦截，目前仅对 Chrome / Edge 生效。
+     */
+    private List<NetworkBlockRule> networkBlockRules;
+
+    /**
+     * 显式等待的初始轮询间隔（毫秒），为空时默认 50。
+     */
+    private Integer waitPollingMillis;
+
+    /**
+     * 显式等待轮询间隔的退避倍数，每次轮询失败后间隔乘以该值，为空时默认 1.5；
+     * 配置为 1 时退化为固定间隔轮询。
+     */
+    private Double waitBackoffMultiplier;
+
+    /**
+     * 显式等待轮询间隔的上限（毫秒），为空时默认 500。
+     */
+    private Integer waitMaxPollingMillis;
+
+    /**
+     * 显式等待期间额外忽略的异常类型（全限定类名）。
+     * NoSuchElementException 等 NotFoundException 始终被忽略，无需配置；
+     * 为空时默认忽略 org.openqa.selenium.StaleElementReferenceException。
+     */
+    private List<String> waitIgnoredExceptions;
+
+    /**
+     * 是否按定位器历史耗时自适应调整轮询节奏（LocatorLatencyHistory），为空时默认关闭。
+     */
+    private Boolean waitAdaptivePollingEnabled;
+
+    /**
+     * 等待耗时历史文件路径，为空时使用 ${user.home}/.saltedfish/wait-history.json。
+     * CI 中可指向缓存目录，让后续构建复用之前的历史。
+     */
+    private String waitHistoryFile;
+
+    /**
+     * 显式等待模式："POLLING"（默认）或 "EVENT"。
+     * EVENT 模式通过 MutationObserver 在浏览器内等待 By 定位器相关的条件，减少 WebDriver 往返。
+     */
+    private String waitMode;
+
+    /**
+     * 网络空闲判定窗口（毫秒）：持续这么久没有进行中的 fetch / XHR 请求即视为空闲，为空时默认 500。
+     */
+    private Integer networkIdleQuietMillis;
+
+    /**
+     * BasePage.initElements 是否使用元素缓存（PageBinder），为空时默认启用；关闭时退回 PageFactory。
+     */
+    private Boolean elementCacheEnabled;
+
+    /**
+     * 是否记录每条 WebDriver 命令的耗时（CommandProfiler），为空时默认关闭。
+     * 开启后按命令、页面、用例输出耗时直方图，并作为 Allure 附件挂到每个用例上。
+     */
+    private Boolean commandProfilerEnabled;
+
+    /**
+     * 并行模式（ParallelScheduler）：classes / tests / instances / none，为空时沿用 testng.xml 中的设置。
+     * methods 按 classes 执行：测试类在实例字段中保存用例状态（例如 @BeforeMethod 中创建的 Flow / Page），
+     * 而 methods 模式下同一个实例的方法会被多个线程同时执行。
+     */
+    private String parallelMode;
+
+    /**
+     * 并行线程数上限，为空或 0 时按 CPU 核数与可用内存自动计算。
+     */
+    private Integer parallelMaxThreads;
+
+    /**
+     * 估算单个浏览器占用的内存（MB），用于按可用内存计算并行线程数，为空时默认 600。
+     */
+    private Integer browserMemoryMb;
+
+    /**
+     * 为操作系统、测试 JVM 等预留的内存（MB）：按内存计算并行线程数时使用“总内存 - 预留”，为空时默认 2048。
+     * 总内存在容器中取 cgroup 限制。
+     */
+    private Integer memoryReserveMb;
+
+    /**
+     * 每种浏览器类型同时被用例使用的最大实例数（BrowserSlots），为空或 0 时不限制。
+     * 超出时 DriverManager.initDriver 阻塞等待其他用例释放浏览器。
+     * 会话池中的空闲会话与流水线预启动的浏览器不计数，同一时刻存活的浏览器最多可达
+     * maxBrowsersPerType + driverPoolMaxSize（启用 driverPipelineEnabled 时每种类型再多一个预启动的浏览器）。
+     */
+    private Integer maxBrowsersPerType;
+
+    /**
+     * 截图落盘、通知发送等旁路工作是否交给 FrameworkExecutor 异步执行，为空时默认启用。
+     */
+    private Boolean asyncSideWorkEnabled;
+
+    /**
+     * 套件结束时等待旁路工作完成的最长时间（秒），为空时默认 60。
+     */
+    private Integer sideWorkAwaitTimeoutSec;
+
+    /**
+     * 非分片运行结束时是否把本次用例耗时写回历史文件（DurationRecorder），为空时默认关闭。
+     * 开启后 LongestFirstOrdering 与 TestSharder 才有历史可用；分片运行由 ShardMerger 统一写回，不受此开关影响。
+     */
+    private Boolean testDurationHistoryEnabled;
+
+    /**
+     * 用例耗时历史文件路径（TestDurationHistory），为空时默认 ~/.saltedfish/test-durations.json。
+     * 分片运行时各分片需要读到同一份文件。
+     */
+    private String testDurationHistoryFile;
+
+    /**
+     * 前置流程（Prerequisites）连续失败多少次后熔断，为空时默认 2，0 或负数表示不熔断。
+     */
+    private Integer prerequisiteFailureThreshold;
+
+    /**
+     * 是否缓存登录后的会话状态（SessionSnapshotCache），为空时默认启用。
+     */
+    private Boolean sessionSnapshotEnabled;
+
+    /**
+     * 会话快照有效期（分钟），为空时默认 30。
+     */
+    private Integer sessionSnapshotTtlMin;
+
+    // --- getter / setter ---
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public void setBaseUrl(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    public String getBrowser() {
+        return browser;
+    }
+
+    public void setBrowser(String browser) {
+        this.browser = browser;
+    }
+
+    public Boolean getHeadless() {
+        return headless;
+    }
+
+    public void setHeadless(Boolean headless) {
+        this.headless = headless;
+    }
+
+    public String getWeComWebhookUrl() {
+        return weComWebhookUrl;
+    }
+
+    public void setWeComWebhookUrl(String weComWebhookUrl) {
+        this.weComWebhookUrl = weComWebhookUrl;
+    }
+
+    public String getDingTalkWebhookUrl() {
+        return dingTalkWebhookUrl;
+    }
+
+    public void setDingTalkWebhookUrl(String dingTalkWebhookUrl) {
+        this.dingTalkWebhookUrl = dingTalkWebhookUrl;
+    }
+
+    public Integer getExplicitWaitSec() {
+        return explicitWaitSec;
+    }
+
+    public void setExplicitWaitSec(Integer explicitWaitSec) {
+        this.explicitWaitSec = explicitWaitSec;
+    }
+
+    public Integer getImplicitWaitSec() {
+        return implicitWaitSec;
+    }
+
+    public void setImplicitWaitSec(Integer implicitWaitSec) {
+        this.implicitWaitSec = implicitWaitSec;
+    }
+
+    public Integer getPageLoadTimeoutSec() {
+        return pageLoadTimeoutSec;
+    }
+
+    public String getChromeDriverPath() {
+        return chromeDriverPath;
+    }
+
+    public void setChromeDriverPath(String chromeDriverPath) {
+        this.chromeDriverPath = chromeDriverPath;
+    }
+
+    public void setPageLoadTimeoutSec(Integer pageLoadTimeoutSec) {
+        this.pageLoadTimeoutSec = pageLoadTimeoutSec;
+    }
+
+    public Boolean getDriverPoolEnabled() {
+        return driverPoolEnabled;
+    }
+
+    public void setDriverPoolEnabled(Boolean driverPoolEnabled) {
+        this.driverPoolEnabled = driverPoolEnabled;
+    }
+
+    public Integer getDriverPoolMaxSize() {
+        return driverPoolMaxSize;
+    }
+
+    public void setDriverPoolMaxSize(Integer driverPoolMaxSize) {
+        this.driverPoolMaxSize = driverPoolMaxSize;
+    }
+
+    public Integer getDriverPoolMaxIdleSec() {
+        return driverPoolMaxIdleSec;
+    }
+
+    public void setDriverPoolMaxIdleSec(Integer driverPoolMaxIdleSec) {
+        this.driverPoolMaxIdleSec = driverPoolMaxIdleSec;
+    }
+
+    public Integer getDriverPoolMaxUsesPerSession() {
+        return driverPoolMaxUsesPerSession;
+    }
+
+    public void setDriverPoolMaxUsesPerSession(Integer driverPoolMaxUsesPerSession) {
+        this.driverPoolMaxUsesPerSession = driverPoolMaxUsesPerSession;
+    }
+
+    public Boolean getDriverPipelineEnabled() {
+        return driverPipelineEnabled;
+    }
+
+    public void setDriverPipelineEnabled(Boolean driverPipelineEnabled) {
+        this.driverPipelineEnabled = driverPipelineEnabled;
+    }
+
+    public Integer getDriverPipelineDepth() {
+        return driverPipelineDepth;
+    }
+
+    public void setDriverPipelineDepth(Integer driverPipelineDepth) {
+        this.driverPipelineDepth = driverPipelineDepth;
+    }
+
+    public Boolean getDriverCacheEnabled() {
+        return driverCacheEnabled;
+    }
+
+    public void setDriverCacheEnabled(Boolean driverCacheEnabled) {
+        this.driverCacheEnabled = driverCacheEnabled;
+    }
+
+    public String getDriverCacheFile() {
+        return driverCacheFile;
+    }
+
+    public void setDriverCacheFile(String driverCacheFile) {
+        this.driverCacheFile = driverCacheFile;
+    }
+
+    public Integer getDriverCacheTtlHours() {
+        return driverCacheTtlHours;
+    }
+
+    public void setDriverCacheTtlHours(Integer driverCacheTtlHours) {
+        this.driverCacheTtlHours = driverCacheTtlHours;
+    }
+
+    public Boolean getProfileTemplateEnabled() {
+        return profileTemplateEnabled;
+    }
+
+    public void setProfileTemplateEnabled(Boolean profileTemplateEnabled) {
+        this.profileTemplateEnabled = profileTemplateEnabled;
+    }
+
+    public String getLaunchProfile() {
+        return launchProfile;
+    }
+
+    public void setLaunchProfile(String launchProfile) {
+        this.launchProfile = launchProfile;
+    }
+
+    public String getPageLoadStrategy() {
+        return pageLoadStrategy;
+    }
+
+    public void setPageLoadStrategy(String pageLoadStrategy) {
+        this.pageLoadStrategy = pageLoadStrategy;
+    }
+
+    public Integer getWindowWidth() {
+        return windowWidth;
+    }
+
+    public void setWindowWidth(Integer windowWidth) {
+        this.windowWidth = windowWidth;
+    }
+
+    public Integer getWindowHeight() {
+        return windowHeight;
+    }
+
+    public void setWindowHeight(Integer windowHeight) {
+        this.windowHeight = windowHeight;
+    }
+
+    public List<NetworkBlockRule> getNetworkBlockRules() {
+        return networkBlockRules;
+    }
+
+    public void setNetworkBlockRules(List<NetworkBlockRule> networkBlockRules) {
+        this.networkBlockRules = networkBlockRules;
+    }
+
+    public Integer getWaitPollingMillis() {
+        return waitPollingMillis;
+    }
+
+    public void setWaitPollingMillis(Integer waitPollingMillis) {
+        this.waitPollingMillis = waitPollingMillis;
+    }
+
+    public Double getWaitBackoffMultiplier() {
+        return waitBackoffMultiplier;
+    }
+
+    public void setWaitBackoffMultiplier(Double waitBackoffMultiplier) {
+        this.waitBackoffMultiplier = waitBackoffMultiplier;
+    }
+
+    public Integer getWaitMaxPollingMillis() {
+        return waitMaxPollingMillis;
+    }
+
+    public void setWaitMaxPollingMillis(Integer waitMaxPollingMillis) {
+        this.waitMaxPollingMillis = waitMaxPollingMillis;
+    }
+
+    public List<String> getWaitIgnoredExceptions() {
+        return waitIgnoredExceptions;
+    }
+
+    public void setWaitIgnoredExceptions(List<String> waitIgnoredExceptions) {
+        this.waitIgnoredExceptions = waitIgnoredExceptions;
+    }
+
+    public Boolean getWaitAdaptivePollingEnabled() {
+        return waitAdaptivePollingEnabled;
+    }
+
+    public void setWaitAdaptivePollingEnabled(Boolean waitAdaptivePollingEnabled) {
+        this.waitAdaptivePollingEnabled = waitAdaptivePollingEnabled;
+    }
+
+    public String getWaitHistoryFile() {
+        return waitHistoryFile;
+    }
+
+    public void setWaitHistoryFile(String waitHistoryFile) {
+        this.waitHistoryFile = waitHistoryFile;
+    }
+
+    public String getWaitMode() {
+        return waitMode;
+    }
+
+    public void setWaitMode(String waitMode) {
+        this.waitMode = waitMode;
+    }
+
+    public Integer getNetworkIdleQuietMillis() {
+        return networkIdleQuietMillis;
+    }
+
+    public void setNetworkIdleQuietMillis(Integer networkIdleQuietMillis) {
+        this.networkIdleQuietMillis = networkIdleQuietMillis;
+    }
+
+    public Boolean getElementCacheEnabled() {
+        return elementCacheEnabled;
+    }
+
+    public void setElementCacheEnabled(Boolean elementCacheEnabled) {
+        this.elementCacheEnabled = elementCacheEnabled;
+    }
+
+    public Boolean getCommandProfilerEnabled() {
+        return commandProfilerEnabled;
+    }
+
+    public void setCommandProfilerEnabled(Boolean commandProfilerEnabled) {
+        this.commandProfilerEnabled = commandProfilerEnabled;
+    }
+
+    public String getParallelMode() {
+        return parallelMode;
+    }
+
+    public void setParallelMode(String parallelMode) {
+        this.parallelMode = parallelMode;
+    }
+
+    public Integer getParallelMaxThreads() {
+        return parallelMaxThreads;
+    }
+
+    public void setParallelMaxThreads(Integer parallelMaxThreads) {
+        this.parallelMaxThreads = parallelMaxThreads;
+    }
+
+    public Integer getBrowserMemoryMb() {
+        return browserMemoryMb;
+    }
+
+    public void setBrowserMemoryMb(Integer browserMemoryMb) {
+        this.browserMemoryMb = browserMemoryMb;
+    }
+
+    public Integer getMemoryReserveMb() {
+        return memoryReserveMb;
+    }
+
+    public void setMemoryReserveMb(Integer memoryReserveMb) {
+        this.memoryReserveMb = memoryReserveMb;
+    }
+
+    public Integer getMaxBrowsersPerType() {
+        return maxBrowsersPerType;
+    }
+
+    public void setMaxBrowsersPerType(Integer maxBrowsersPerType) {
+        this.maxBrowsersPerType = maxBrowsersPerType;
+    }
+
+    public Boolean getAsyncSideWorkEnabled() {
+        return asyncSideWorkEnabled;
+    }
+
+    public void setAsyncSideWorkEnabled(Boolean asyncSideWorkEnabled) {
+        this.asyncSideWorkEnabled = asyncSideWorkEnabled;
+    }
+
+    public Integer getSideWorkAwaitTimeoutSec() {
+        return sideWorkAwaitTimeoutSec;
+    }
+
+    public void setSideWorkAwaitTimeoutSec(Integer sideWorkAwaitTimeoutSec) {
+        this.sideWorkAwaitTimeoutSec = sideWorkAwaitTimeoutSec;
+    }
+
+    public Boolean getTestDurationHistoryEnabled() {
+        return testDurationHistoryEnabled;
+    }
+
+    public void setTestDurationHistoryEnabled(Boolean testDurationHistoryEnabled) {
+        this.testDurationHistoryEnabled = testDurationHistoryEnabled;
+    }
+
+    public String getTestDurationHistoryFile() {
+        return testDurationHistoryFile;
+    }
+
+    public void setTestDurationHistoryFile(String testDurationHistoryFile) {
+        this.testDurationHistoryFile = testDurationHistoryFile;
+    }
+
+    public Integer getPrerequisiteFailureThreshold() {
+        return prerequisiteFailureThreshold;
+    }
+
+    public void setPrerequisiteFailureThreshold(Integer prerequisiteFailureThreshold) {
+        this.prerequisiteFailureThreshold = prerequisiteFailureThreshold;
+    }
+
+    public Boolean getSessionSnapshotEnabled() {
+        return sessionSnapshotEnabled;
+    }
+
+    public void setSessionSnapshotEnabled(Boolean sessionSnapshotEnabled) {
+        this.sessionSnapshotEnabled = sessionSnapshotEnabled;
+    }
+
+    public Integer getSessionSnapshotTtlMin() {
+        return sessionSnapshotTtlMin;
+    }
+
+    public void setSessionSnapshotTtlMin(Integer sessionSnapshotTtlMin) {
+        this.sessionSnapshotTtlMin = sessionSnapshotTtlMin;
+    }
+}
@@ -0,0 +1,48 @@
+package com.saltedfish.framework.config;
+
+import java.util.List;
+
+/**
+ * NetworkBlockRule 描述一条网络请求拦截规则，配置在 FrameworkConfig.networkBlockRules 中。
+ *
+ * 示例（framework-config.json）：
+ * <pre>
+ * "networkBlockRules": [
+ *   { "urlPattern": "*google-analytics.com*" },
+ *   { "urlPattern": "*", "resourceTypes": ["Font", "Media"] }
+ * ]
+ * </pre>
+ *
+ * 字段说明：
+ *  - urlPattern：URL 通配符，支持 * 与 ?，为空时等同于 "*"；
+ *  - resourceTypes：资源类型（CDP ResourceType 名称，例如 Image、Font、Script、Stylesheet、Media），
+ *    为空时表示匹配所有类型。
+ */
+public class NetworkBlockRule {
+
+    /**
+     * URL 通配符，例如 "*doubleclick.net*"。
+     */
+    private String urlPattern;
+
+    /**
+     * 需要拦截的资源类型列表，为空表示所有类型。
+     */
+    private List<String> resourceTypes;
+
+    public String getUrlPattern() {
+        return urlPattern;
+    }
+
+    public void setUrlPattern(String urlPattern) {
+        this.urlPattern = urlPattern;
+    }
+
+    public List<String> getResourceTypes() {
+        return resourceTypes;
+    }
+
+    public void setResourceTypes(List<String> resourceTypes) {
+        this.resourceTypes = resourceTypes;
+    }
+}
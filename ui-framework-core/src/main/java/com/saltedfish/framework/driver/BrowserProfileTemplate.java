@@ -0,0 +1,299 @@
+package com.saltedfish.framework.driver;
+
+import com.saltedfish.framework.config.ConfigManager;
+import com.saltedfish.framework.utils.LogUtil;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeDriverService;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.chromium.ChromiumOptions;
+import org.openqa.selenium.edge.EdgeDriver;
+import org.openqa.selenium.edge.EdgeDriverService;
+import org.openqa.selenium.edge.EdgeOptions;
+import org.openqa.selenium.remote.service.DriverService;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * BrowserProfileTemplate 为 Chrome / Edge 提供“预热 profile 模板 + 按会话复制”的启动方式。
+ *
+ * 背景：
+ *  - 每个新会话默认使用全新的临时 profile，首次运行初始化、组件更新、缓存预热每次都要重做；
+ *
+ * 做法：
+ *  1. 每次运行、每种浏览器只启动一次浏览器，生成一份预热过的 profile 模板；
+ *  2. 之后每个会话从模板复制一份独立的 profile（--user-data-dir）：
+ *     优先使用写时复制（Linux cp --reflink=auto、macOS cp -c），不支持时退化为普通复制；
+ *  3. 会话退出时删除对应的 profile 副本，JVM 退出时删除模板。
+ *
+ * 注意：
+ *  - 不使用硬链接：Chrome 会原地修改 Cookies / History 等 SQLite 文件，硬链接会把改动写回模板；
+ *  - 是否启用由 FrameworkConfig.profileTemplateEnabled 决定，Firefox 不受影响。
+ */
+public final class BrowserProfileTemplate {
+
+    /**
+     * 模板与副本所在根目录，每次运行独立，避免多个 JVM 互相干扰。
+     */
+    private static final Path ROOT = Paths.get(System.getProperty("java.io.tmpdir"),
+            "saltedfish-profiles", "run-" + ProcessHandle.current().pid());
+
+    /**
+     * Chrome 运行时创建的单例锁文件，复制时需要跳过。
+     */
+    private static final Set<String> SKIPPED_FILES = Set.of("SingletonLock", "SingletonSocket", "SingletonCookie");
+
+    /**
+     * 浏览器类型 -> 模板构建结果。
+     */
+    private static final Map<DriverType, CompletableFuture<Path>> TEMPLATES = new ConcurrentHashMap<>();
+
+    /**
+     * 浏览器实例 -> 其使用的 profile 副本目录。
+     */
+    private static final Map<WebDriver, Path> SESSION_COPIES = Collections.synchronizedMap(new IdentityHashMap<>());
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> deleteRecursively(ROOT), "profile-template-cleanup"));
+    }
+
+    private BrowserProfileTemplate() {
+        // 工具类禁止实例化
+    }
+
+    /**
+     * 指定浏览器类型是否使用 profile 模板。
+     *
+     * @param type 浏览器类型
+     * @return true 表示启用且该浏览器类型支持
+     */
+    public static boolean isEnabled(DriverType type) {
+        return (type == DriverType.CHROME || type == DriverType.EDGE)
+                && Boolean.TRUE.equals(ConfigManager.getConfig().getProfileTemplateEnabled());
+    }
+
+    /**
+     * 为一个新会话准备 profile 副本目录，必要时先构建模板。
+     *
+     * @param type 浏览器类型（CHROME / EDGE）
+     * @return 可直接用于 --user-data-dir 的目录
+     */
+    public static Path copyFor(DriverType type) {
+        Path template = templateFor(type);
+        Path target = ROOT.resolve(type.name().toLowerCase(Locale.ROOT) + "-" + UUID.randomUUID());
+        if (!cloneWithCp(template, target)) {
+            copyTree(template, target);
+        }
+        return target;
+    }
+
+    /**
+     * 记录某个浏览器使用的 profile 副本，退出时据此清理。
+     *
+     * @param driver     WebDriver 实例
+     * @param profileDir profile 副本目录
+     */
+    public static void register(WebDriver driver, Path profileDir) {
+        SESSION_COPIES.put(driver, profileDir);
+    }
+
+    /**
+     * 删除某个浏览器的 profile 副本，应在 driver.quit() 之后调用。
+     *
+     * @param driver WebDriver 实例
+     */
+    public static void release(WebDriver driver) {
+        Path dir = SESSION_COPIES.remove(driver);
+        if (dir != null) {
+            deleteRecursively(dir);
+        }
+    }
+
+    /**
+     * 删除一个尚未关联到 driver 的副本目录（例如会话创建失败时）。
+     *
+     * @param profileDir profile 副本目录
+     */
+    public static void discard(Path profileDir) {
+        deleteRecursively(profileDir);
+    }
+
+    /**
+     * 获取（必要时构建）指定浏览器的 profile 模板。
+     * 每种浏览器只构建一次：第一个调用方负责构建，同类型的其他调用方等待同一个结果，
+     * 不同浏览器类型的构建互不阻塞；构建失败时移除记录，下一次调用重新尝试。
+     */
+    private static Path templateFor(DriverType type) {
+        CompletableFuture<Path> created = new CompletableFuture<>();
+        CompletableFuture<Path> existing = TEMPLATES.putIfAbsent(type, created);
+        if (existing != null) {
+            try {
+                return existing.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+
+        try {
+            Path template = buildTemplate(type);
+            created.complete(template);
+            return template;
+        } catch (RuntimeException e) {
+            TEMPLATES.remove(type, created);
+            created.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * 构建方式：用模板目录启动一次浏览器，打开空白页后正常退出，让浏览器完成首次运行初始化。
+     * 无头模式与驱动路径与正式会话保持一致（headless、chromeDriverPath）。
+     */
+    private static Path buildTemplate(DriverType type) {
+        Path template = ROOT.resolve("template-" + type.name().toLowerCase(Locale.ROOT));
+        long start = System.nanoTime();
+        try {
+            Files.createDirectories(template);
+        } catch (IOException e) {
+            throw new UncheckedIOException("创建 profile 模板目录失败：" + template, e);
+        }
+
+        WebDriver driver;
+        if (type == DriverType.EDGE) {
+            EdgeOptions options = templateOptions(new EdgeOptions(), template);
+            EdgeDriverService service = EdgeDriverService.createDefaultService();
+            applyDriverPath(type, service, options);
+            driver = new EdgeDriver(service, options);
+        } else {
+            ChromeOptions options = templateOptions(new ChromeOptions(), template);
+            ChromeDriverService service = ChromeDriverService.createDefaultService();
+            applyDriverPath(type, service, options);
+            driver = new ChromeDriver(service, options);
+        }
+        try {
+            driver.get("about:blank");
+        } finally {
+            driver.quit();
+        }
+
+        LogUtil.info(type + " profile 模板构建完成，耗时 "
+                + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms：" + template);
+        return template;
+    }
+
+    private static <T extends ChromiumOptions<?>> T templateOptions(T options, Path template) {
+        if (Boolean.TRUE.equals(ConfigManager.getConfig().getHeadless())) {
+            options.addArguments("--headless=new");
+        }
+        options.addArguments("--no-first-run", "--no-default-browser-check",
+                "--user-data-dir=" + template.toAbsolutePath());
+        return options;
+    }
+
+    /**
+     * 与 DriverFactory 相同的驱动解析规则：Chrome 配置了 chromeDriverPath 时直接使用，否则通过 DriverBinaryCache 解析。
+     */
+    private static void applyDriverPath(DriverType type, DriverService service, ChromiumOptions<?> options) {
+        String chromeDriverPath = ConfigManager.getConfig().getChromeDriverPath();
+        if (type == DriverType.CHROME && chromeDriverPath != null && !chromeDriverPath.isBlank()) {
+            service.setExecutable(chromeDriverPath);
+            return;
+        }
+        DriverBinaryCache.CachedBinary binary = DriverBinaryCache.resolve(type, service, options);
+        service.setExecutable(binary.driverPath());
+        if (binary.browserPath() != null) {
+            options.setBinary(binary.browserPath());
+        }
+    }
+
+    /**
+     * 尝试使用系统 cp 命令做写时复制（reflink / clonefile），失败时返回 false。
+     */
+    private static boolean cloneWithCp(Path source, Path target) {
+        String os = System.getProperty("os.name").toLowerCase(Locale.ROOT);
+        String[] command;
+        if (os.contains("linux")) {
+            command = new String[]{"cp", "-R", "--reflink=auto", source.toString(), target.toString()};
+        } else if (os.contains("mac")) {
+            command = new String[]{"cp", "-c", "-R", source.toString(), target.toString()};
+        } else {
+            return false;
+        }
+
+        try {
+            Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+            process.getInputStream().transferTo(OutputStream.nullOutputStream());
+            if (process.waitFor() == 0) {
+                return true;
+            }
+        } catch (IOException e) {
+            LogUtil.warn("写时复制 profile 失败，改用普通复制：" + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        deleteRecursively(target);
+        return false;
+    }
+
+    private static void copyTree(Path source, Path target) {
+        try {
+            Files.walkFileTree(source, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                    Files.createDirectories(target.resolve(source.relativize(dir)));
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                    if (!SKIPPED_FILES.contains(file.getFileName().toString())) {
+                        Files.copy(file, target.resolve(source.relativize(file)),
+                                StandardCopyOption.COPY_ATTRIBUTES, LinkOption.NOFOLLOW_LINKS);
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("复制 profile 模板失败：" + source, e);
+        }
+    }
+
+    private static void deleteRecursively(Path dir) {
+        if (dir == null || !Files.exists(dir, LinkOption.NOFOLLOW_LINKS)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> {
+                try {
+                    Files.deleteIfExists(path);
+                } catch (IOException e) {
+                    // 浏览器进程可能尚未完全退出，个别文件删除失败不影响后续用例
+                }
+            });
+        } catch (IOException | UncheckedIOException e) {
+            LogUtil.warn("清理 profile 目录失败：" + dir);
+        }
+    }
+}
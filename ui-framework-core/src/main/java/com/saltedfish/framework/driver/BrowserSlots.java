@@ -0,0 +1,102 @@
+package com.saltedfish.framework.driver;
+
+import com.saltedfish.framework.config.ConfigManager;
+import com.saltedfish.framework.utils.LogUtil;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+/**
+ * BrowserSlots 限制每种浏览器类型同时存在的实例数。
+ *
+ * 背景：
+ *  - 并行执行时线程数按 CPU 与内存估算，但不同浏览器的资源占用差异很大（例如 Edge / Chrome 同机并行），
+ *    或者远程 Grid 对每种浏览器有独立的配额；
+ *
+ * 做法：
+ *  1. 每个 DriverType 一个公平信号量，许可数为配置项 maxBrowsersPerType；
+ *  2. DriverManager.initDriver 在获取浏览器前占用许可，超出上限时阻塞等待；
+ *  3. DriverManager.quitDriver 在释放浏览器后归还许可；
+ *  4. 当前线程持有的许可记录在 ThreadLocal 中，重复归还不会多释放；
+ *  5. 等待许可的阻塞时间按线程累计，供 ParallelScheduler 从“串行耗时”中扣除（见 takeWaitedMillis）。
+ *
+ * 注意：只有绑定到用例线程的浏览器才计数。流水线预启动（DriverProvisioner）在后台准备的浏览器、
+ * 归还到会话池（DriverPool）中的空闲会话都不占用许可，存活的浏览器总数可能超过上限（见 maxBrowsersPerType 的说明）。
+ */
+public final class BrowserSlots {
+
+    private static final Map<DriverType, Semaphore> SLOTS = new ConcurrentHashMap<>();
+
+    /**
+     * 当前线程持有许可的浏览器类型，没有持有时为 null。
+     */
+    private static final ThreadLocal<DriverType> HELD = new ThreadLocal<>();
+
+    /**
+     * 当前线程等待许可的累计阻塞时间（纳秒），takeWaitedMillis 读取后清零。
+     */
+    private static final ThreadLocal<long[]> WAITED_NANOS = ThreadLocal.withInitial(() -> new long[1]);
+
+    private BrowserSlots() {
+        // 工具类禁止实例化
+    }
+
+    /**
+     * 为当前线程占用一个浏览器许可，未配置上限时直接返回。
+     *
+     * @param type 浏览器类型
+     */
+    public static void acquire(DriverType type) {
+        int limit = limit();
+        if (limit <= 0) {
+            return;
+        }
+        Semaphore semaphore = SLOTS.computeIfAbsent(type, key -> new Semaphore(limit, true));
+        if (!semaphore.tryAcquire()) {
+            LogUtil.info(type + " 浏览器已达到并行上限 " + limit + "，等待其他用例释放。");
+            long start = System.nanoTime();
+            try {
+                semaphore.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("等待 " + type + " 浏览器许可时被中断", e);
+            } finally {
+                WAITED_NANOS.get()[0] += System.nanoTime() - start;
+            }
+        }
+        HELD.set(type);
+    }
+
+    /**
+     * 归还当前线程持有的浏览器许可，没有持有时忽略。
+     */
+    public static void release() {
+        DriverType type = HELD.get();
+        if (type == null) {
+            return;
+        }
+        HELD.remove();
+        Semaphore semaphore = SLOTS.get(type);
+        if (semaphore != null) {
+            semaphore.release();
+        }
+    }
+
+    /**
+     * 读取并清零当前线程自上次调用以来等待许可的阻塞时间。
+     *
+     * @return 阻塞时间（毫秒）
+     */
+    public static long takeWaitedMillis() {
+        long[] waited = WAITED_NANOS.get();
+        long millis = waited[0] / 1_000_000;
+        waited[0] = 0;
+        return millis;
+    }
+
+    private static int limit() {
+        Integer limit = ConfigManager.getConfig().getMaxBrowsersPerType();
+        return limit != null ? limit : 0;
+    }
+}
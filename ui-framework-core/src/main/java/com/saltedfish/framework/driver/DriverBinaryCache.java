@@ -0,0 +1,266 @@
+package com.saltedfish.framework.driver;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.saltedfish.framework.config.ConfigManager;
+import com.saltedfish.framework.config.FrameworkConfig;
+import com.saltedfish.framework.utils.LogUtil;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.remote.service.DriverFinder;
+import org.openqa.selenium.remote.service.DriverService;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * DriverBinaryCache 缓存 Selenium Manager 解析出的驱动与浏览器路径。
+ *
+ * 背景：
+ *  - 未配置 chromeDriverPath 时，每次创建浏览器都会调用 Selenium Manager 解析驱动，
+ *    这一步需要启动外部进程，往往耗时数百毫秒甚至数秒；
+ *  - 同一台机器上同一浏览器版本的解析结果几乎不会变化。
+ *
+ * 做法：
+ *  1. 按“浏览器类型 + 浏览器版本 + 操作系统/架构”作为 key，每个 JVM 内只解析一次；
+ *  2. 解析结果连同驱动文件的 SHA-256 校验和持久化到本地缓存文件，后续 JVM 直接复用；
+ *  3. 读取缓存时校验文件存在、校验和一致且未超过有效期，否则重新解析；
+ *  4. 读写缓存文件期间持有文件锁，多个并行 JVM 之间安全共享，并且只有一个进程去执行解析。
+ */
+public final class DriverBinaryCache {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /**
+     * 当前 JVM 内已经校验通过的缓存项，命中后不再访问磁盘。
+     */
+    private static final Map<String, CachedBinary> VERIFIED = new ConcurrentHashMap<>();
+
+    /**
+     * 同一 JVM 内对缓存文件加锁前先获取该锁，避免 OverlappingFileLockException。
+     */
+    private static final Object JVM_LOCK = new Object();
+
+    private DriverBinaryCache() {
+        // 工具类禁止实例化
+    }
+
+    /**
+     * 是否启用缓存，配置为空时默认启用。
+     *
+     * @return true 表示启用
+     */
+    public static boolean isEnabled() {
+        return !Boolean.FALSE.equals(ConfigManager.getConfig().getDriverCacheEnabled());
+    }
+
+    /**
+     * 解析驱动与浏览器路径，优先使用缓存。
+     *
+     * @param type    浏览器类型
+     * @param service 尚未设置驱动路径的驱动服务
+     * @param options 浏览器选项
+     * @return 解析结果
+     */
+    public static CachedBinary resolve(DriverType type, DriverService service, Capabilities options) {
+        return resolve(type, options, () -> resolveFresh(service, options));
+    }
+
+    /**
+     * 解析驱动与浏览器路径，缓存未命中或失效时通过 fresh 重新解析。
+     */
+    static CachedBinary resolve(DriverType type, Capabilities options, Supplier<CachedBinary> fresh) {
+        if (!isEnabled()) {
+            return fresh.get();
+        }
+
+        String key = cacheKey(type, options);
+        CachedBinary verified = VERIFIED.get(key);
+        if (verified != null) {
+            return verified;
+        }
+
+        synchronized (JVM_LOCK) {
+            verified = VERIFIED.get(key);
+            if (verified != null) {
+                return verified;
+            }
+
+            Path file = cacheFile();
+            CachedBinary entry;
+            try {
+                Files.createDirectories(file.toAbsolutePath().getParent());
+                try (FileChannel channel = FileChannel.open(lockFile(file),
+                        StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                    // 通道关闭时文件锁随之释放
+                    channel.lock();
+                    Map<String, CachedBinary> all = read(file);
+                    entry = all.get(key);
+                    if (entry != null && isValid(entry)) {
+                        LogUtil.info("命中驱动缓存：" + key + " -> " + entry.driverPath());
+                    } else {
+                        entry = fresh.get();
+                        all.put(key, entry);
+                        write(file, all);
+                        LogUtil.info("驱动解析结果已写入缓存：" + key + " -> " + entry.driverPath());
+                    }
+                }
+            } catch (IOException e) {
+                LogUtil.warn("读写驱动缓存文件失败，本次直接解析：" + e.getMessage());
+                entry = fresh.get();
+            }
+
+            VERIFIED.put(key, entry);
+            return entry;
+        }
+    }
+
+    /**
+     * 让某个浏览器类型的缓存失效，例如浏览器自动升级后驱动不再匹配。
+     *
+     * @param type    浏览器类型
+     * @param options 浏览器选项
+     * @return true 表示确实清理了缓存项（调用方可据此决定是否重试）
+     */
+    public static boolean invalidate(DriverType type, Capabilities options) {
+        if (!isEnabled()) {
+            return false;
+        }
+
+        String key = cacheKey(type, options);
+        synchronized (JVM_LOCK) {
+            boolean removed = VERIFIED.remove(key) != null;
+            Path file = cacheFile();
+            if (!Files.exists(file)) {
+                return removed;
+            }
+            try (FileChannel channel = FileChannel.open(lockFile(file),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                // 通道关闭时文件锁随之释放
+                channel.lock();
+                Map<String, CachedBinary> all = read(file);
+                if (all.remove(key) != null) {
+                    write(file, all);
+                    removed = true;
+                }
+            } catch (IOException e) {
+                LogUtil.warn("清理驱动缓存失败：" + e.getMessage());
+            }
+            if (removed) {
+                LogUtil.warn("驱动缓存已失效：" + key);
+            }
+            return removed;
+        }
+    }
+
+    /**
+     * 通过 DriverFinder（必要时调用 Selenium Manager）解析驱动与浏览器路径，并计算校验和。
+     */
+    private static CachedBinary resolveFresh(DriverService service, Capabilities options) {
+        DriverFinder finder = new DriverFinder(service, options);
+        String driverPath = finder.getDriverPath();
+        String browserPath = finder.hasBrowserPath() ? finder.getBrowserPath() : null;
+        return new CachedBinary(driverPath, browserPath, sha256(Paths.get(driverPath)), System.currentTimeMillis());
+    }
+
+    /**
+     * 校验缓存项：未过期、驱动与浏览器文件仍存在、驱动文件校验和一致。
+     */
+    private static boolean isValid(CachedBinary entry) {
+        long ttlMillis = ttlHours() * 3600_000L;
+        if (System.currentTimeMillis() - entry.resolvedAt() > ttlMillis) {
+            return false;
+        }
+        if (entry.driverPath() == null || !Files.isRegularFile(Paths.get(entry.driverPath()))) {
+            return false;
+        }
+        if (entry.browserPath() != null && !Files.exists(Paths.get(entry.browserPath()))) {
+            return false;
+        }
+        return entry.sha256() != null && entry.sha256().equals(sha256(Paths.get(entry.driverPath())));
+    }
+
+    private static Map<String, CachedBinary> read(Path file) {
+        if (!Files.exists(file)) {
+            return new HashMap<>();
+        }
+        try {
+            return MAPPER.readValue(file.toFile(), new TypeReference<HashMap<String, CachedBinary>>() {
+            });
+        } catch (IOException e) {
+            LogUtil.warn("驱动缓存文件已损坏，将重新生成：" + file);
+            return new HashMap<>();
+        }
+    }
+
+    /**
+     * 先写临时文件再原子替换，避免其他进程读到写了一半的内容。
+     */
+    private static void write(Path file, Map<String, CachedBinary> all) throws IOException {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        MAPPER.writerWithDefaultPrettyPrinter().writeValue(tmp.toFile(), all);
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    static String sha256(Path path) {
+        try (InputStream in = Files.newInputStream(path)) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[64 * 1024];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (IOException | NoSuchAlgorithmException e) {
+            return null;
+        }
+    }
+
+    static String cacheKey(DriverType type, Capabilities options) {
+        String version = options.getBrowserVersion();
+        if (version == null || version.isBlank()) {
+            version = "default";
+        }
+        return type + "|" + version + "|" + System.getProperty("os.name") + "/" + System.getProperty("os.arch");
+    }
+
+    private static Path cacheFile() {
+        String configured = ConfigManager.getConfig().getDriverCacheFile();
+        if (configured != null && !configured.isBlank()) {
+            return Paths.get(configured);
+        }
+        return Paths.get(System.getProperty("user.home"), ".saltedfish", "driver-cache.json");
+    }
+
+    private static Path lockFile(Path file) {
+        return file.resolveSibling(file.getFileName() + ".lock");
+    }
+
+    private static int ttlHours() {
+        FrameworkConfig config = ConfigManager.getConfig();
+        return config.getDriverCacheTtlHours() != null ? config.getDriverCacheTtlHours() : 24;
+    }
+
+    /**
+     * 一条驱动解析结果。
+     *
+     * @param driverPath  驱动可执行文件路径
+     * @param browserPath 浏览器可执行文件路径（Selenium Manager 未提供时为 null）
+     * @param sha256      驱动文件的 SHA-256 校验和
+     * @param resolvedAt  解析时间（毫秒时间戳）
+     */
+    public record CachedBinary(String driverPath, String browserPath, String sha256, long resolvedAt) {
+    }
+}
@@ -1,124 +1,347 @@
-package com.saltedfish.framework.driver;
-
-import com.saltedfish.framework.config.ConfigManager;
-import com.saltedfish.framework.config.FrameworkConfig;
-import com.saltedfish.framework.utils.LogUtil;
-import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
-import org.openqa.selenium.edge.EdgeDriver;
-import org.openqa.selenium.edge.EdgeOptions;
-import org.openqa.selenium.firefox.FirefoxDriver;
-import org.openqa.selenium.firefox.FirefoxOptions;
-
-import java.time.Duration;
-
-/**
- * DriverFactory 负责根据配置创建不同类型的 WebDriver 实例。
- * 新增点：
- *  - 隐式等待时间从配置读取（implicitWaitSec）；
- *  - 页面加载超时时间从配置读取（pageLoadTimeoutSec）；
- *  - 浏览器类型与是否 headless 从配置读取；
- *  - 未来可扩展远程驱动 / 多浏览器类型。
- */
-public class DriverFactory {
-
-    /**
-     * 使用配置中的 browser 字段创建默认浏览器实例。
-     *
-     * @return WebDriver 实例
-     */
-    public WebDriver createDefaultDriver() {
-        FrameworkConfig config = ConfigManager.getConfig();
-        String browser = config.getBrowser();
-        DriverType type;
-
-        if (browser == null || browser.isBlank()) {
-            type = DriverType.CHROME;
-        } else {
-            type = DriverType.valueOf(browser.trim().toUpperCase());
-        }
-
-        return createDriver(type);
-    }
-
-    /**
-     * 根据指定浏览器类型创建 WebDriver 实例，并统一设置等待与超时。
-     *
-     * @param type 浏览器类型
-     * @return WebDriver 实例
-     */
-    public WebDriver createDriver(DriverType type) {
-        FrameworkConfig config = ConfigManager.getConfig();
-        String chromeDriverPath = config.getChromeDriverPath();
-
-        if (chromeDriverPath != null && !chromeDriverPath.isBlank()) {
-            System.setProperty("webdriver.chrome.driver", chromeDriverPath);
-            LogUtil.info("使用自定义 ChromeDriver 路径: " + chromeDriverPath);
-        } else {
-            LogUtil.info("未配置自定义 ChromeDriver 路径，交由 Selenium Manager 处理。");
-        }
-
-        WebDriver driver;
-
-        switch (type) {
-            case EDGE -> {
-                LogUtil.info("正在创建 Edge 浏览器实例...");
-                EdgeOptions options = new EdgeOptions();
-
-                if (Boolean.TRUE.equals(config.getHeadless())) {
-                    // Edge 的无头模式参数与 Chrome 一致
-                    options.addArguments("--headless=new");
-                }
-                options.addArguments("--start-maximized");
-
-                // 使用 Selenium Manager 自动管理 EdgeDriver，无需手动设置路径
-                driver = new EdgeDriver(options);
-            }
-            case FIREFOX -> {
-                LogUtil.info("正在创建 Firefox 浏览器实例...");
-                FirefoxOptions options = new FirefoxOptions();
-
-                if (Boolean.TRUE.equals(config.getHeadless())) {
-                    options.addArguments("--headless");
-                }
-                // Firefox 没有 "--start-maximized"，一般用下面两种方式之一：
-                // 1）通过窗口大小参数控制；2）后续在用例中调用 driver.manage().window().maximize()
-                // 在 BaseTest.setUp() 中统一处理。
-                driver = new FirefoxDriver(options);
-            }
-            case CHROME -> {
-                LogUtil.info("正在创建 Chrome 浏览器实例...");
-                ChromeOptions options = new ChromeOptions();
-
-                if (Boolean.TRUE.equals(config.getHeadless())) {
-                    options.addArguments("--headless=new");
-                }
-                options.addArguments("--start-maximized");
-
-                driver = new ChromeDriver(options);
-            }
-            default -> throw new IllegalArgumentException("不支持的浏览器类型: " + type);
-        }
-
-        // 从配置中读取等待时间，如果为空则使用默认值
-        int implicitWaitSec = config.getImplicitWaitSec() != null
-                ? config.getImplicitWaitSec()
-                : 2;
-        int pageLoadTimeoutSec = config.getPageLoadTimeoutSec() != null
-                ? config.getPageLoadTimeoutSec()
-                : 30;
-
-        LogUtil.info("设置隐式等待时间为 " + implicitWaitSec + " 秒");
-        driver.manage()
-                .timeouts()
-                .implicitlyWait(Duration.ofSeconds(implicitWaitSec));
-
-        LogUtil.info("设置页面加载超时时间为 " + pageLoadTimeoutSec + " 秒");
-        driver.manage()
-                .timeouts()
-                .pageLoadTimeout(Duration.ofSeconds(pageLoadTimeoutSec));
-
-        return driver;
-    }
-}
+package com.saltedfish.framework.driver;
+
+import com.saltedfish.framework.config.ConfigManager;
+import com.saltedfish.framework.config.FrameworkConfig;
+import com.saltedfish.framework.utils.LogUtil;
+import com.saltedfish.framework.metrics.CommandProfiler;
+import com.saltedfish.framework.metrics.StartupMetrics;
+import com.saltedfish.framework.network.InFlightTracker;
+import com.saltedfish.framework.network.NetworkBlocker;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeDriverService;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.chromium.ChromiumOptions;
+import org.openqa.selenium.edge.EdgeDriver;
+import org.openqa.selenium.edge.EdgeDriverService;
+import org.openqa.selenium.edge.EdgeOptions;
+import org.openqa.selenium.firefox.FirefoxDriver;
+import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.firefox.GeckoDriverService;
+import org.openqa.selenium.remote.AbstractDriverOptions;
+import org.openqa.selenium.remote.service.DriverService;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * DriverFactory 负责根据配置创建不同类型的 WebDriver 实例。
+ * 新增点：
+ *  - 隐式等待固定为 0，等待统一交给 WaitFactory 的显式等待；
+ *  - 页面加载超时时间从配置读取（pageLoadTimeoutSec）；
+ *  - 浏览器类型与是否 headless 从配置读取；
+ *  - 启动档位（LaunchProfile）从配置读取，FAST 档位使用 eager 加载策略与精简的启动参数；
+ *  - 未来可扩展远程驱动 / 多浏览器类型。
+ */
+public class DriverFactory {
+
+    /**
+     * 使用配置中的 browser 字段创建默认浏览器实例。
+     *
+     * @return WebDriver 实例
+     */
+    public WebDriver createDefaultDriver() {
+        return createDriver(resolveDefaultType());
+    }
+
+    /**
+     * 根据配置中的 browser 字段解析默认浏览器类型，未配置时为 CHROME。
+     *
+     * @return 默认浏览器类型
+     */
+    public DriverType resolveDefaultType() {
+        FrameworkConfig config = ConfigManager.getConfig();
+        String browser = config.getBrowser();
+
+        if (browser == null || browser.isBlank()) {
+            return DriverType.CHROME;
+        }
+        return DriverType.valueOf(browser.trim().toUpperCase());
+    }
+
+    /**
+     * 根据指定浏览器类型创建 WebDriver 实例，并统一设置等待与超时。
+     * 各启动阶段（驱动解析、驱动进程启动、会话创建、超时设置）的耗时会记录到 StartupMetrics。
+     *
+     * @param type 浏览器类型
+     * @return WebDriver 实例
+     */
+    public WebDriver createDriver(DriverType type) {
+        try {
+            return doCreateDriver(type);
+        } catch (SessionNotCreatedException e) {
+            // 最常见的原因是浏览器自动升级后缓存的驱动版本不再匹配：清理缓存后重新解析一次
+            if (DriverBinaryCache.invalidate(type, defaultOptions(type))) {
+                LogUtil.warn("使用缓存的驱动创建会话失败，已清理缓存并重试：" + e.getMessage());
+                return doCreateDriver(type);
+            }
+            throw e;
+        }
+    }
+
+    private WebDriver doCreateDriver(DriverType type) {
+        FrameworkConfig config = ConfigManager.getConfig();
+
+        // 本次启动的阶段明细，按执行顺序记录
+        Map<String, Long> phases = new LinkedHashMap<>();
+        WebDriver driver;
+
+        switch (type) {
+            case EDGE -> {
+                LogUtil.info("正在创建 Edge 浏览器实例...");
+                EdgeOptions options = new EdgeOptions();
+
+                if (Boolean.TRUE.equals(config.getHeadless())) {
+                    // Edge 的无头模式参数与 Chrome 一致
+                    options.addArguments("--headless=new");
+                }
+                applyLaunchProfile(options, config);
+
+                // 使用 Selenium Manager 自动管理 EdgeDriver，无需手动设置路径
+                EdgeDriverService service = EdgeDriverService.createDefaultService();
+                String browserPath = prepareService(type, service, options, phases);
+                if (browserPath != null) {
+                    options.setBinary(browserPath);
+                }
+                Path profile = prepareProfile(type, options, phases);
+                driver = startSession(type, phases, profile, () -> new EdgeDriver(service, options));
+            }
+            case FIREFOX -> {
+                LogUtil.info("正在创建 Firefox 浏览器实例...");
+                FirefoxOptions options = new FirefoxOptions();
+
+                if (Boolean.TRUE.equals(config.getHeadless())) {
+                    options.addArguments("--headless");
+                }
+                // Firefox 没有 "--start-maximized"，一般用下面两种方式之一：
+                // 1）通过窗口大小参数控制；2）后续在用例中调用 driver.manage().window().maximize()
+                // DEFAULT 档位在 BaseTest.setUp() 中统一最大化，FAST 档位使用固定窗口大小。
+                applyLaunchProfile(options, config);
+                GeckoDriverService service = GeckoDriverService.createDefaultService();
+                String browserPath = prepareService(type, service, options, phases);
+                if (browserPath != null) {
+                    options.setBinary(browserPath);
+                }
+                driver = StartupMetrics.time(type, "newSession", phases, () -> new FirefoxDriver(service, options));
+            }
+            case CHROME -> {
+                LogUtil.info("正在创建 Chrome 浏览器实例...");
+                ChromeOptions options = new ChromeOptions();
+
+                if (Boolean.TRUE.equals(config.getHeadless())) {
+                    options.addArguments("--headless=new");
+                }
+                applyLaunchProfile(options, config);
+
+                ChromeDriverService service = ChromeDriverService.createDefaultService();
+                String browserPath = prepareService(type, service, options, phases);
+                if (browserPath != null) {
+                    options.setBinary(browserPath);
+                }
+                Path profile = prepareProfile(type, options, phases);
+                driver = startSession(type, phases, profile, () -> new ChromeDriver(service, options));
+            }
+            default -> throw new IllegalArgumentException("不支持的浏览器类型: " + type);
+        }
+
+        // 隐式等待会与显式等待叠加，这里固定为 0，配置了大于 0 的值时仅提示
+        if (config.getImplicitWaitSec() != null && config.getImplicitWaitSec() > 0) {
+            LogUtil.warn("implicitWaitSec=" + config.getImplicitWaitSec()
+                    + " 已不再生效，隐式等待固定为 0，请改用 WaitFactory 显式等待。");
+        }
+        int pageLoadTimeoutSec = config.getPageLoadTimeoutSec() != null
+                ? config.getPageLoadTimeoutSec()
+                : 30;
+
+        // 配置了网络拦截规则时，在会话创建后立即安装，保证第一次 driver.get() 就生效
+        NetworkBlocker.install(driver);
+        // Chrome / Edge 在每个新文档中预先注入请求统计脚本，供 WaitFactory.waitUntilNetworkIdle 使用
+        InFlightTracker.install(driver);
+
+        StartupMetrics.time(type, "timeouts", phases, () -> {
+            driver.manage()
+                    .timeouts()
+                    .implicitlyWait(Duration.ZERO);
+
+            LogUtil.info("设置页面加载超时时间为 " + pageLoadTimeoutSec + " 秒");
+            driver.manage()
+                    .timeouts()
+                    .pageLoadTimeout(Duration.ofSeconds(pageLoadTimeoutSec));
+            return null;
+        });
+
+        // 命令耗时统计通过装饰器实现，放在所有 CDP 初始化之后，返回给调用方的是装饰后的 driver
+        WebDriver result = CommandProfiler.isEnabled() ? CommandProfiler.decorate(driver) : driver;
+
+        StartupMetrics.attachCreationPhases(result, phases);
+        LogUtil.info(type + " 浏览器启动阶段耗时：" + phases);
+        return result;
+    }
+
+    /**
+     * 按启动档位设置 Chrome / Edge 参数：
+     *  - DEFAULT：最大化窗口；
+     *  - FAST：固定窗口大小，关闭图片解码、扩展、后台网络与后台节流。
+     */
+    private void applyLaunchProfile(ChromiumOptions<?> options, FrameworkConfig config) {
+        applyPageLoadStrategy(options, config);
+        if (LaunchProfile.current() != LaunchProfile.FAST) {
+            options.addArguments("--start-maximized");
+            return;
+        }
+        options.addArguments(
+                "--window-size=" + windowWidth(config) + "," + windowHeight(config),
+                "--blink-settings=imagesEnabled=false",
+                "--disable-extensions",
+                "--disable-background-networking",
+                "--disable-background-timer-throttling",
+                "--disable-backgrounding-occluded-windows",
+                "--disable-renderer-backgrounding");
+    }
+
+    /**
+     * 按启动档位设置 Firefox 参数，含义与 Chromium 版本一致，通过 about:config 首选项实现。
+     */
+    private void applyLaunchProfile(FirefoxOptions options, FrameworkConfig config) {
+        applyPageLoadStrategy(options, config);
+        if (LaunchProfile.current() != LaunchProfile.FAST) {
+            return;
+        }
+        options.addArguments("--width=" + windowWidth(config), "--height=" + windowHeight(config));
+        // 2 表示禁止加载图片
+        options.addPreference("permissions.default.image", 2);
+        options.addPreference("extensions.update.enabled", false);
+        options.addPreference("app.update.auto", false);
+        options.addPreference("network.prefetch-next", false);
+        options.addPreference("network.dns.disablePrefetch", true);
+        options.addPreference("browser.safebrowsing.malware.enabled", false);
+        options.addPreference("browser.safebrowsing.phishing.enabled", false);
+        // 取消后台标签页的定时器节流
+        options.addPreference("dom.min_background_timeout_value", 0);
+    }
+
+    /**
+     * 页面加载策略：配置了 pageLoadStrategy 时以配置为准，否则 FAST 档位使用 eager。
+     */
+    private void applyPageLoadStrategy(AbstractDriverOptions<?> options, FrameworkConfig config) {
+        String configured = config.getPageLoadStrategy();
+        PageLoadStrategy strategy;
+        if (configured != null && !configured.isBlank()) {
+            strategy = PageLoadStrategy.fromString(configured.trim().toLowerCase());
+        } else {
+            strategy = LaunchProfile.current() == LaunchProfile.FAST ? PageLoadStrategy.EAGER : null;
+        }
+        if (strategy != null) {
+            options.setPageLoadStrategy(strategy);
+        }
+    }
+
+    private int windowWidth(FrameworkConfig config) {
+        return config.getWindowWidth() != null ? config.getWindowWidth() : 1920;
+    }
+
+    private int windowHeight(FrameworkConfig config) {
+        return config.getWindowHeight() != null ? config.getWindowHeight() : 1080;
+    }
+
+    /**
+     * 显式完成驱动解析与驱动进程启动，使这两个阶段可以单独计时。
+     *  - resolveDriver：Chrome 配置了 chromeDriverPath 时直接使用，
+     *    否则通过 DriverBinaryCache 解析（缓存未命中时才调用 Selenium Manager）；
+     *  - startService：启动驱动进程并等待其可用。
+     * 之后 XxxDriver 构造函数发现驱动路径已设置、进程已启动，就不会重复这两步。
+     *
+     * @param type    浏览器类型
+     * @param service 驱动服务
+     * @param options 浏览器选项
+     * @param phases  阶段明细
+     * @return Selenium Manager 解析出的浏览器路径；未解析出时返回 null
+     */
+    private String prepareService(DriverType type, DriverService service, Capabilities options,
+                                  Map<String, Long> phases) {
+        String chromeDriverPath = ConfigManager.getConfig().getChromeDriverPath();
+        String browserPath = StartupMetrics.time(type, "resolveDriver", phases, () -> {
+            if (type == DriverType.CHROME && chromeDriverPath != null && !chromeDriverPath.isBlank()) {
+                LogUtil.info("使用自定义 ChromeDriver 路径: " + chromeDriverPath);
+                service.setExecutable(chromeDriverPath);
+                return null;
+            }
+            DriverBinaryCache.CachedBinary binary = DriverBinaryCache.resolve(type, service, options);
+            service.setExecutable(binary.driverPath());
+            return binary.browserPath();
+        });
+        StartupMetrics.time(type, "startService", phases, () -> {
+            service.start();
+            return null;
+        });
+        return browserPath;
+    }
+
+    /**
+     * 启用 profile 模板时，为 Chrome / Edge 准备一份从模板复制出的 profile 目录。
+     *
+     * @return profile 副本目录；未启用时返回 null
+     */
+    private Path prepareProfile(DriverType type, ChromiumOptions<?> options, Map<String, Long> phases) {
+        if (!BrowserProfileTemplate.isEnabled(type)) {
+            return null;
+        }
+        Path profile = StartupMetrics.time(type, "copyProfile", phases, () -> BrowserProfileTemplate.copyFor(type));
+        options.addArguments("--user-data-dir=" + profile.toAbsolutePath(), "--no-first-run", "--no-default-browser-check");
+        return profile;
+    }
+
+    /**
+     * 创建会话（newSession 阶段），并把 profile 副本与 driver 关联起来；创建失败时清理副本。
+     */
+    private WebDriver startSession(DriverType type, Map<String, Long> phases, Path profile,
+                                   Callable<WebDriver> creator) {
+        try {
+            WebDriver driver = StartupMetrics.time(type, "newSession", phases, creator);
+            if (profile != null) {
+                BrowserProfileTemplate.register(driver, profile);
+            }
+            return driver;
+        } catch (RuntimeException e) {
+            if (profile != null) {
+                BrowserProfileTemplate.discard(profile);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 退出浏览器并清理与之关联的临时资源（例如 CDP 连接、从模板复制出的 profile 目录）。
+     * 框架内部所有真正退出浏览器的地方都应通过本方法，而不是直接调用 quit()。
+     *
+     * @param driver 需要退出的 WebDriver
+     */
+    public static void destroyDriver(WebDriver driver) {
+        // profile 副本按原始 driver 登记，启用命令耗时统计时需要先取出被装饰的 driver
+        WebDriver original = driver instanceof WrapsDriver wraps ? wraps.getWrappedDriver() : driver;
+        try {
+            NetworkBlocker.release(driver);
+            driver.quit();
+        } finally {
+            BrowserProfileTemplate.release(original);
+        }
+    }
+
+    /**
+     * 构造与 doCreateDriver 中版本相关配置一致的默认选项，仅用于计算驱动缓存的 key。
+     */
+    private Capabilities defaultOptions(DriverType type) {
+        return switch (type) {
+            case EDGE -> new EdgeOptions();
+            case FIREFOX -> new FirefoxOptions();
+            case CHROME -> new ChromeOptions();
+        };
+    }
+}
@@ -0,0 +1,375 @@
+package com.saltedfish.framework.driver;
+
+import com.saltedfish.framework.config.ConfigManager;
+import com.saltedfish.framework.config.FrameworkConfig;
+import com.saltedfish.framework.utils.LogUtil;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WindowType;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.net.URI;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * DriverPool 维护一组“热”的 WebDriver 会话，避免每个用例都冷启动浏览器。
+ *
+ * 工作方式：
+ *  1. lease：优先从空闲队列中取出最近归还的会话，做一次健康检查后交给调用方；
+ *     队列为空时才新建（启用流水线预启动时取 DriverProvisioner 预先启动的实例）；
+ *  2. release：归还时重置浏览器状态，然后放回空闲队列：
+ *     关闭多余窗口；清理 Cookie 与 Web Storage（Chromium 系按本次租用访问过的所有源清理，
+ *     其余浏览器只能清理当前源的 localStorage）；换一个新标签页丢弃各源的 sessionStorage 与浏览历史；
+ *  3. 回收：空闲超时、达到最大租用次数、重置或健康检查失败的会话会被直接退出。
+ *
+ * 注意：
+ *  - 本类只负责会话的复用与回收，是否启用由 FrameworkConfig.driverPoolEnabled 决定；
+ *  - 一般不直接调用，而是通过 DriverManager.initDriver / quitDriver 间接使用。
+ */
+public final class DriverPool {
+
+    /**
+     * 重置 Web Storage 的脚本，某些页面（如 about:blank、data:）访问 storage 会抛异常，需要吞掉。
+     */
+    private static final String CLEAR_STORAGE_SCRIPT =
+            "try { window.localStorage.clear(); } catch (e) {}"
+                    + "try { window.sessionStorage.clear(); } catch (e) {}";
+
+    /**
+     * 按源清理时的存储类型（Storage.clearDataForOrigin），Cookie 另由 Network.clearBrowserCookies 统一清理。
+     */
+    private static final String CLEARED_STORAGE_TYPES =
+            "local_storage,indexeddb,websql,cache_storage,service_workers,file_systems";
+
+    /**
+     * 所有状态都由这把锁保护；浏览器相关的耗时操作都放在锁外执行。
+     */
+    private static final Object LOCK = new Object();
+
+    /**
+     * 按浏览器类型划分的空闲会话队列（后进先出，优先复用最“热”的会话）。
+     */
+    private static final Map<DriverType, Deque<PooledDriver>> IDLE = new EnumMap<>(DriverType.class);
+
+    /**
+     * 当前被租出的会话，用 IdentityHashMap 避免依赖 WebDriver 的 equals 实现。
+     */
+    private static final Map<WebDriver, PooledDriver> LEASED = new IdentityHashMap<>();
+
+    private static int createdCount = 0;
+    private static int reusedCount = 0;
+    private static int evictedCount = 0;
+
+    static {
+        // 兜底：JVM 退出时关闭所有仍在池中的浏览器，避免残留进程
+        Runtime.getRuntime().addShutdownHook(new Thread(DriverPool::shutdown, "driver-pool-shutdown"));
+    }
+
+    private DriverPool() {
+        // 工具类禁止实例化
+    }
+
+    /**
+     * 是否在配置中启用了会话池。
+     *
+     * @return true 表示启用
+     */
+    public static boolean isEnabled() {
+        return Boolean.TRUE.equals(ConfigManager.getConfig().getDriverPoolEnabled());
+    }
+
+    /**
+     * 租用一个指定类型的 WebDriver 会话。
+     *
+     * @param type 浏览器类型
+     * @return 可直接使用的 WebDriver（处于 about:blank 页面）
+     */
+    public static WebDriver lease(DriverType type) {
+        return lease(type, DriverProvisioner::obtain);
+    }
+
+    /**
+     * 租用会话，池中没有可用会话时通过 creator 新建。
+     */
+    static WebDriver lease(DriverType type, Function<DriverType, WebDriver> creator) {
+        while (true) {
+            PooledDriver candidate;
+            synchronized (LOCK) {
+                evictExpiredIdle();
+                Deque<PooledDriver> idle = IDLE.get(type);
+                candidate = idle == null ? null : idle.pollFirst();
+            }
+
+            if (candidate == null) {
+                break;
+            }
+
+            if (isHealthy(candidate.driver)) {
+                synchronized (LOCK) {
+                    LEASED.put(candidate.driver, candidate);
+                    reusedCount++;
+                }
+                LogUtil.info("从会话池复用 " + type + " 浏览器，已使用次数：" + candidate.uses);
+                return candidate.driver;
+            }
+
+            LogUtil.warn("会话池中的 " + type + " 浏览器健康检查失败，丢弃并尝试下一个。");
+            destroy(candidate);
+        }
+
+        WebDriver driver = creator.apply(type);
+        synchronized (LOCK) {
+            LEASED.put(driver, new PooledDriver(driver, type));
+            createdCount++;
+        }
+        return driver;
+    }
+
+    /**
+     * 归还一个会话。
+     * 如果该 driver 不是从池中租出的，则不做任何处理并返回 false，由调用方自行 quit。
+     *
+     * @param driver 需要归还的 WebDriver
+     * @return true 表示已由池接管（复用或回收）；false 表示不是池化会话
+     */
+    public static boolean release(WebDriver driver) {
+        PooledDriver pooled;
+        synchronized (LOCK) {
+            pooled = LEASED.remove(driver);
+        }
+        if (pooled == null) {
+            return false;
+        }
+
+        pooled.uses++;
+        if (pooled.uses >= maxUsesPerSession()) {
+            LogUtil.info(pooled.type + " 浏览器已达到最大租用次数 " + pooled.uses + "，退出回收。");
+            destroy(pooled);
+            return true;
+        }
+
+        if (!resetState(pooled.driver)) {
+            destroy(pooled);
+            return true;
+        }
+
+        boolean accepted;
+        synchronized (LOCK) {
+            Deque<PooledDriver> idle = IDLE.computeIfAbsent(pooled.type, t -> new ArrayDeque<>());
+            accepted = idle.size() < maxSize();
+            if (accepted) {
+                pooled.lastReturnedAt = System.currentTimeMillis();
+                idle.addFirst(pooled);
+            }
+        }
+        if (!accepted) {
+            destroy(pooled);
+        }
+        return true;
+    }
+
+    /**
+     * 判断一个 driver 当前是否由会话池租出。
+     *
+     * @param driver WebDriver 实例
+     * @return true 表示是池化会话
+     */
+    public static boolean isLeased(WebDriver driver) {
+        synchronized (LOCK) {
+            return LEASED.containsKey(driver);
+        }
+    }
+
+    /**
+     * 关闭池中所有空闲会话，通常在套件结束时调用。
+     * 被租出的会话仍由各自线程在 tearDown 中归还，归还时池已为空会直接复用/回收。
+     */
+    public static void shutdown() {
+        List<PooledDriver> toDestroy = new ArrayList<>();
+        synchronized (LOCK) {
+            IDLE.values().forEach(toDestroy::addAll);
+            IDLE.clear();
+        }
+        toDestroy.forEach(DriverPool::destroy);
+
+        synchronized (LOCK) {
+            if (createdCount > 0) {
+                LogUtil.info("会话池统计：新建 " + createdCount + " 次，复用 " + reusedCount
+                        + " 次，回收 " + evictedCount + " 次。");
+            }
+        }
+    }
+
+    /**
+     * 清理超过最大空闲时间的会话。调用方需持有 LOCK。
+     * 真正的 quit 放到守护线程中执行，避免在锁内做网络调用。
+     */
+    private static void evictExpiredIdle() {
+        long deadline = System.currentTimeMillis() - maxIdleSec() * 1000L;
+        List<PooledDriver> expired = new ArrayList<>();
+        for (Deque<PooledDriver> idle : IDLE.values()) {
+            Iterator<PooledDriver> it = idle.iterator();
+            while (it.hasNext()) {
+                PooledDriver pooled = it.next();
+                if (pooled.lastReturnedAt < deadline) {
+                    it.remove();
+                    expired.add(pooled);
+                }
+            }
+        }
+        if (!expired.isEmpty()) {
+            Thread reaper = new Thread(() -> expired.forEach(DriverPool::destroy), "driver-pool-evict");
+            reaper.setDaemon(true);
+            reaper.start();
+        }
+    }
+
+    /**
+     * 健康检查：能正常拿到窗口句柄即认为会话可用。
+     */
+    private static boolean isHealthy(WebDriver driver) {
+        try {
+            return !driver.getWindowHandles().isEmpty();
+        } catch (WebDriverException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 重置浏览器状态，使下一个用例拿到的会话与新建的会话尽量一致。
+     *
+     * @return true 表示重置成功；false 表示会话已不可用
+     */
+    private static boolean resetState(WebDriver driver) {
+        try {
+            // 1）只保留一个窗口
+            Set<String> handles = driver.getWindowHandles();
+            String keep = handles.iterator().next();
+            for (String handle : handles) {
+                if (!handle.equals(keep)) {
+                    driver.switchTo().window(handle).close();
+                }
+            }
+            driver.switchTo().window(keep);
+            driver.switchTo().defaultContent();
+
+            // 2）清理当前源的 local/session storage（必须在离开页面前执行）
+            if (driver instanceof JavascriptExecutor js) {
+                js.executeScript(CLEAR_STORAGE_SCRIPT);
+            }
+
+            // 3）Chromium 系通过 CDP 清理本次租用访问过的所有源的存储以及所有域的 Cookie，其余浏览器只能清理当前域
+            if (driver instanceof HasCdp cdp) {
+                for (String origin : visitedOrigins(cdp)) {
+                    cdp.executeCdpCommand("Storage.clearDataForOrigin",
+                            Map.of("origin", origin, "storageTypes", CLEARED_STORAGE_TYPES));
+                }
+                cdp.executeCdpCommand("Network.clearBrowserCookies", Map.of());
+            } else {
+                driver.manage().deleteAllCookies();
+            }
+
+            // 4）换到新的空白标签页：sessionStorage 与浏览历史按标签页保存，关闭旧标签页即全部丢弃，
+            //    下一次租用的浏览历史也只包含该次访问过的页面
+            driver.switchTo().newWindow(WindowType.TAB);
+            String fresh = driver.getWindowHandle();
+            driver.switchTo().window(keep).close();
+            driver.switchTo().window(fresh);
+            return true;
+        } catch (WebDriverException e) {
+            LogUtil.warn("重置浏览器状态失败，该会话将被回收：" + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 本次租用访问过的源：当前标签页浏览历史中的页面，以及设置过 Cookie 的域（http 与 https 各一个）。
+     */
+    private static Set<String> visitedOrigins(HasCdp cdp) {
+        Set<String> origins = new LinkedHashSet<>();
+        Object entries = cdp.executeCdpCommand("Page.getNavigationHistory", Map.of()).get("entries");
+        if (entries instanceof List<?> list) {
+            for (Object entry : list) {
+                if (entry instanceof Map<?, ?> map) {
+                    addOrigin(origins, String.valueOf(map.get("url")));
+                }
+            }
+        }
+        Object cookies = cdp.executeCdpCommand("Network.getAllCookies", Map.of()).get("cookies");
+        if (cookies instanceof List<?> list) {
+            for (Object cookie : list) {
+                if (cookie instanceof Map<?, ?> map && map.get("domain") instanceof String domain) {
+                    String host = domain.startsWith(".") ? domain.substring(1) : domain;
+                    addOrigin(origins, "https://" + host);
+                    addOrigin(origins, "http://" + host);
+                }
+            }
+        }
+        return origins;
+    }
+
+    private static void addOrigin(Set<String> origins, String url) {
+        try {
+            URI uri = URI.create(url);
+            String scheme = uri.getScheme();
+            if (uri.getHost() != null && ("http".equals(scheme) || "https".equals(scheme))) {
+                origins.add(scheme + "://" + uri.getHost() + (uri.getPort() >= 0 ? ":" + uri.getPort() : ""));
+            }
+        } catch (IllegalArgumentException e) {
+            // about:blank、data: 等没有源的地址直接忽略
+        }
+    }
+
+    private static void destroy(PooledDriver pooled) {
+        synchronized (LOCK) {
+            evictedCount++;
+        }
+        try {
+            DriverFactory.destroyDriver(pooled.driver);
+        } catch (WebDriverException e) {
+            LogUtil.warn("退出池化浏览器时发生异常：" + e.getMessage());
+        }
+    }
+
+    private static int maxSize() {
+        FrameworkConfig config = ConfigManager.getConfig();
+        return config.getDriverPoolMaxSize() != null ? config.getDriverPoolMaxSize() : 2;
+    }
+
+    private static int maxIdleSec() {
+        FrameworkConfig config = ConfigManager.getConfig();
+        return config.getDriverPoolMaxIdleSec() != null ? config.getDriverPoolMaxIdleSec() : 300;
+    }
+
+    private static int maxUsesPerSession() {
+        FrameworkConfig config = ConfigManager.getConfig();
+        return config.getDriverPoolMaxUsesPerSession() != null ? config.getDriverPoolMaxUsesPerSession() : 20;
+    }
+
+    /**
+     * 池中会话的元数据。
+     */
+    private static final class PooledDriver {
+
+        private final WebDriver driver;
+        private final DriverType type;
+        private int uses;
+        private long lastReturnedAt;
+
+        private PooledDriver(WebDriver driver, DriverType type) {
+            this.driver = driver;
+            this.type = type;
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.saltedfish.framework.driver;
+
+import com.saltedfish.framework.config.ConfigManager;
+import com.saltedfish.framework.config.FrameworkConfig;
+import com.saltedfish.framework.utils.LogUtil;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * DriverProvisioner 实现“流水线式”的浏览器预启动。
+ *
+ * 思路：
+ *  - 测试线程取走一个浏览器的同时，在后台线程提前创建下一个浏览器；
+ *  - 下一个用例开始时，浏览器往往已经启动完成，启动耗时与上一个用例的执行时间重叠；
+ *  - 通过统计“创建耗时”与“测试线程实际等待耗时”的差值，得到被隐藏的启动时间。
+ *
+ * 是否启用由 FrameworkConfig.driverPipelineEnabled 决定；
+ * 一般不直接调用，而是通过 DriverManager / DriverPool 间接使用。
+ */
+public final class DriverProvisioner {
+
+    private static final Object LOCK = new Object();
+
+    /**
+     * 按浏览器类型划分的预启动任务队列（先进先出）。
+     */
+    private static final Map<DriverType, Deque<Future<Provisioned>>> PENDING = new EnumMap<>(DriverType.class);
+
+    /**
+     * 后台创建浏览器的线程池，懒加载，线程均为守护线程。
+     */
+    private static ExecutorService executor;
+
+    private static int takenCount = 0;
+    private static long totalCreateMillis = 0;
+    private static long totalWaitMillis = 0;
+
+    private DriverProvisioner() {
+        // 工具类禁止实例化
+    }
+
+    /**
+     * 是否在配置中启用了流水线预启动。
+     *
+     * @return true 表示启用
+     */
+    public static boolean isEnabled() {
+        return Boolean.TRUE.equals(ConfigManager.getConfig().getDriverPipelineEnabled());
+    }
+
+    /**
+     * 按配置获取一个新的浏览器：启用流水线时取预启动的实例，否则同步创建。
+     *
+     * @param type 浏览器类型
+     * @return 新的 WebDriver 实例
+     */
+    static WebDriver obtain(DriverType type) {
+        return isEnabled() ? take(type) : new DriverFactory().createDriver(type);
+    }
+
+    /**
+     * 取走一个预启动的浏览器，并立即在后台补充下一个。
+     * 如果当前没有预启动任务（例如第一个用例），则本次同步等待创建完成。
+     *
+     * @param type 浏览器类型
+     * @return 已启动完成的 WebDriver
+     */
+    public static WebDriver take(DriverType type) {
+        Future<Provisioned> next;
+        synchronized (LOCK) {
+            Deque<Future<Provisioned>> queue = PENDING.computeIfAbsent(type, t -> new ArrayDeque<>());
+            next = queue.pollFirst();
+            if (next == null) {
+                next = submit(type);
+            }
+            // 先补充后续的预启动任务，再等待当前任务，保证两者并行
+            while (queue.size() < depth()) {
+                queue.addLast(submit(type));
+            }
+        }
+
+        long start = System.nanoTime();
+        Provisioned provisioned;
+        try {
+            provisioned = next.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WebDriverException("等待预启动浏览器时线程被中断", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new WebDriverException("预启动浏览器失败", cause);
+        }
+        long waitMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        synchronized (LOCK) {
+            takenCount++;
+            totalCreateMillis += provisioned.createMillis;
+            totalWaitMillis += waitMillis;
+        }
+        LogUtil.info("取得预启动的 " + type + " 浏览器，启动耗时 " + provisioned.createMillis
+                + " ms，测试线程等待 " + waitMillis + " ms。");
+        return provisioned.driver;
+    }
+
+    /**
+     * 汇总本次运行中被隐藏的启动耗时。
+     *
+     * @return 形如“预启动 N 次，启动总耗时 X ms，等待 Y ms，隐藏 Z ms”的描述
+     */
+    public static String summary() {
+        synchronized (LOCK) {
+            long hidden = Math.max(0, totalCreateMillis - totalWaitMillis);
+            return "浏览器预启动 " + takenCount + " 次，启动总耗时 " + totalCreateMillis
+                    + " ms，测试线程等待 " + totalWaitMillis + " ms，隐藏启动耗时 " + hidden + " ms。";
+        }
+    }
+
+    /**
+     * 套件结束时调用：退出所有尚未被取走的预启动浏览器，并关闭后台线程池。
+     */
+    public static void shutdown() {
+        List<Future<Provisioned>> leftovers = new ArrayList<>();
+        ExecutorService toStop;
+        boolean used;
+        synchronized (LOCK) {
+            used = takenCount > 0;
+            PENDING.values().forEach(leftovers::addAll);
+            PENDING.clear();
+            toStop = executor;
+            executor = null;
+        }
+
+        for (Future<Provisioned> future : leftovers) {
+            try {
+                Provisioned provisioned = future.get(60, TimeUnit.SECONDS);
+                DriverFactory.destroyDriver(provisioned.driver);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException | TimeoutException | WebDriverException e) {
+                LogUtil.warn("清理预启动浏览器失败：" + e.getMessage());
+            }
+        }
+
+        if (toStop != null) {
+            toStop.shutdown();
+        }
+        if (used) {
+            LogUtil.info(summary() + " 未使用的预启动浏览器：" + leftovers.size() + " 个。");
+        }
+    }
+
+    /**
+     * 提交一个后台创建任务。调用方需持有 LOCK。
+     */
+    private static Future<Provisioned> submit(DriverType type) {
+        if (executor == null) {
+            AtomicInteger seq = new AtomicInteger();
+            executor = Executors.newCachedThreadPool(r -> {
+                Thread t = new Thread(r, "driver-provisioner-" + seq.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+        }
+        return executor.submit(() -> {
+            long start = System.nanoTime();
+            WebDriver driver = new DriverFactory().createDriver(type);
+            return new Provisioned(driver, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        });
+    }
+
+    private static int depth() {
+        FrameworkConfig config = ConfigManager.getConfig();
+        return config.getDriverPipelineDepth() != null ? Math.max(1, config.getDriverPipelineDepth()) : 1;
+    }
+
+    /**
+     * 预启动完成的浏览器及其启动耗时。
+     */
+    private record Provisioned(WebDriver driver, long createMillis) {
+    }
+}
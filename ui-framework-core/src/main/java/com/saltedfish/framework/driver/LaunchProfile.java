@@ -0,0 +1,45 @@
+package com.saltedfish.framework.driver;
+
+import com.saltedfish.framework.config.ConfigManager;
+
+/**
+ * 浏览器启动性能档位。
+ * 通过各环境配置文件（framework-config-*.json）中的 launchProfile 字段选择。
+ */
+public enum LaunchProfile {
+
+    /**
+     * 默认档位：保持原有行为（最大化窗口、等待完整 load 事件）。
+     */
+    DEFAULT,
+
+    /**
+     * 快速档位：
+     *  - 页面加载策略默认改为 eager（DOMContentLoaded 即返回），后续就绪判断交给 WaitFactory；
+     *  - 关闭图片解码、扩展、后台网络与后台节流；
+     *  - 使用固定窗口大小代替最大化，省去一次窗口操作。
+     */
+    FAST;
+
+    /**
+     * 从字符串安全转换为 LaunchProfile 枚举。
+     *
+     * @param value 配置中的字符串，例如 "fast" / "FAST"
+     * @return 对应的档位，无法识别时返回 DEFAULT
+     */
+    public static LaunchProfile fromString(String value) {
+        if (value == null || value.isBlank()) {
+            return DEFAULT;
+        }
+        return "FAST".equals(value.trim().toUpperCase()) ? FAST : DEFAULT;
+    }
+
+    /**
+     * 读取当前配置中的启动档位。
+     *
+     * @return 当前档位
+     */
+    public static LaunchProfile current() {
+        return fromString(ConfigManager.getConfig().getLaunchProfile());
+    }
+}
@@ -0,0 +1,174 @@
+package com.saltedfish.framework.metrics;
+
+import com.saltedfish.framework.base.PageCallers;
+import com.saltedfish.framework.config.ConfigManager;
+import com.saltedfish.framework.utils.LogUtil;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * CommandProfiler 基于 Selenium 的 EventFiringDecorator / WebDriverListener 记录每条 WebDriver 命令的耗时，
+ * 按命令类型、页面类、用例三个维度汇总为直方图（LatencyHistogram）。
+ *
+ * 使用方式：
+ *  - 配置 commandProfilerEnabled=true 后，DriverFactory 创建的每个 driver 都会经过 decorate() 包装；
+ *  - BaseTest 在用例开始 / 结束时调用 startTest() / finishTest()，用例明细作为 Allure 附件；
+ *  - SuiteListener 在套件结束时调用 logSummary() 输出整体统计。
+ *
+ * 开销：每条命令只多一次反射代理调用、一次调用栈遍历（判断页面类）与几次原子自增，
+ * 相比毫秒级的 WebDriver 往返可以忽略，适合在 CI 中常开。
+ */
+public final class CommandProfiler implements WebDriverListener {
+
+    /**
+     * 只返回子对象、不产生 WebDriver 往返的方法，不计入统计。
+     */
+    private static final Set<String> LOCAL_METHODS = Set.of(
+            "manage", "navigate", "switchTo", "timeouts", "window", "logs",
+            "getWrappedDriver", "getWrappedElement", "toString", "hashCode", "equals");
+
+    private static final CommandProfiler INSTANCE = new CommandProfiler();
+
+    private static final Map<String, LatencyHistogram> BY_COMMAND = new ConcurrentHashMap<>();
+    private static final Map<String, LatencyHistogram> BY_PAGE = new ConcurrentHashMap<>();
+    private static final Map<String, LatencyHistogram> BY_TEST = new ConcurrentHashMap<>();
+
+    /**
+     * 当前线程正在执行的命令开始时间（装饰后的对象可能嵌套调用，使用栈保存）。
+     */
+    private static final ThreadLocal<Deque<Long>> STARTS = ThreadLocal.withInitial(ArrayDeque::new);
+
+    /**
+     * 当前线程正在执行的用例及其按命令的明细。
+     */
+    private static final ThreadLocal<TestScope> CURRENT_TEST = new ThreadLocal<>();
+
+    private CommandProfiler() {
+    }
+
+    /**
+     * 是否启用命令耗时统计，配置为空时默认关闭。
+     *
+     * @return true 表示启用
+     */
+    public static boolean isEnabled() {
+        return Boolean.TRUE.equals(ConfigManager.getConfig().getCommandProfilerEnabled());
+    }
+
+    /**
+     * 用统计监听器包装 driver。
+     * 注意：应在 CDP 相关初始化（网络拦截、脚本注入）完成后调用，包装后的 driver 与原始 driver 不是同一个对象。
+     *
+     * @param driver 原始 WebDriver
+     * @return 包装后的 WebDriver
+     */
+    public static WebDriver decorate(WebDriver driver) {
+        return new EventFiringDecorator<>(INSTANCE).decorate(driver);
+    }
+
+    /**
+     * 标记当前线程开始执行某个用例。
+     *
+     * @param testName 用例名称，例如 "LoginTest.testLoginSuccess"
+     */
+    public static void startTest(String testName) {
+        CURRENT_TEST.set(new TestScope(testName));
+    }
+
+    /**
+     * 结束当前线程的用例，返回该用例的命令耗时明细。
+     *
+     * @return 明细文本；未启用或没有命令时返回 null
+     */
+    public static String finishTest() {
+        TestScope scope = CURRENT_TEST.get();
+        CURRENT_TEST.remove();
+        if (scope == null || scope.byCommand.isEmpty()) {
+            return null;
+        }
+        return "用例 " + scope.name + " 的 WebDriver 命令耗时：" + System.lineSeparator() + format(scope.byCommand);
+    }
+
+    /**
+     * 输出整个套件按命令、页面、用例汇总的耗时统计。
+     */
+    public static void logSummary() {
+        if (BY_COMMAND.isEmpty()) {
+            return;
+        }
+        LogUtil.info("WebDriver 命令耗时统计（按命令）：" + System.lineSeparator() + format(BY_COMMAND));
+        LogUtil.info("WebDriver 命令耗时统计（按页面）：" + System.lineSeparator() + format(BY_PAGE));
+        LogUtil.info("WebDriver 命令耗时统计（按用例）：" + System.lineSeparator() + format(BY_TEST));
+    }
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        STARTS.get().push(System.nanoTime());
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        finish(method);
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        finish(method);
+    }
+
+    private static void finish(Method method) {
+        Deque<Long> starts = STARTS.get();
+        Long start = starts.poll();
+        if (start == null || LOCAL_METHODS.contains(method.getName())) {
+            return;
+        }
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        String command = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+
+        BY_COMMAND.computeIfAbsent(command, key -> new LatencyHistogram()).record(millis);
+        BY_PAGE.computeIfAbsent(PageCallers.nearestPage(), key -> new LatencyHistogram()).record(millis);
+
+        TestScope scope = CURRENT_TEST.get();
+        if (scope != null) {
+            scope.byCommand.computeIfAbsent(command, key -> new LatencyHistogram()).record(millis);
+            BY_TEST.computeIfAbsent(scope.name, key -> new LatencyHistogram()).record(millis);
+        }
+    }
+
+    /**
+     * 按累计耗时从高到低输出，最耗时的命令排在最前。
+     */
+    private static String format(Map<String, LatencyHistogram> histograms) {
+        StringBuilder sb = new StringBuilder();
+        histograms.entrySet().stream()
+                .sorted(Comparator.comparingLong(
+                        (Map.Entry<String, LatencyHistogram> entry) -> entry.getValue().totalMillis()).reversed())
+                .forEach(entry -> sb.append("  ").append(entry.getKey())
+                        .append(' ').append(entry.getValue())
+                        .append(System.lineSeparator()));
+        return sb.toString();
+    }
+
+    /**
+     * 单个用例的命令明细。
+     */
+    private static final class TestScope {
+
+        private final String name;
+        private final Map<String, LatencyHistogram> byCommand = new ConcurrentHashMap<>();
+
+        private TestScope(String name) {
+            this.name = name;
+        }
+    }
+}
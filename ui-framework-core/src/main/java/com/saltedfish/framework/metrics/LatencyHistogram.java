@@ -0,0 +1,95 @@
+package com.saltedfish.framework.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LatencyHistogram 是固定内存的耗时直方图，用于记录数量很大的样本（例如每条 WebDriver 命令）。
+ *
+ * 说明：
+ *  - 桶按 2 的幂划分：[0,1)、[1,2)、[2,4)、[4,8) ... 毫秒，最后一个桶收纳超过 32 秒的样本；
+ *  - 记录只做原子自增，不加锁，适合在命令热路径上常开；
+ *  - 分位数取所在桶的上界，精度为 2 倍以内，用于定位“哪类命令最耗时”已经足够；
+ *    样本量与用例数同级别、需要精确分位数时使用 TimingStats。
+ */
+public class LatencyHistogram {
+
+    private static final int BUCKETS = 17;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalMillis = new LongAdder();
+    private final LongAccumulator maxMillis = new LongAccumulator(Math::max, 0);
+
+    /**
+     * 记录一个耗时样本。
+     *
+     * @param millis 耗时（毫秒）
+     */
+    public void record(long millis) {
+        long value = Math.max(0, millis);
+        int bucket = value == 0 ? 0 : Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(value));
+        buckets.incrementAndGet(bucket);
+        count.increment();
+        totalMillis.add(value);
+        maxMillis.accumulate(value);
+    }
+
+    /**
+     * @return 样本数量
+     */
+    public long count() {
+        return count.sum();
+    }
+
+    /**
+     * @return 累计耗时（毫秒）
+     */
+    public long totalMillis() {
+        return totalMillis.sum();
+    }
+
+    /**
+     * 估算指定分位数。
+     *
+     * @param percentile 分位数，取值 0~100，例如 50、95
+     * @return 分位数所在桶的上界（毫秒）；没有样本时返回 0
+     */
+    public long percentile(double percentile) {
+        long total = count();
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += buckets.get(i);
+            if (seen >= rank) {
+                return Math.min(upperBound(i), maxMillis.get());
+            }
+        }
+        return maxMillis.get();
+    }
+
+    /**
+     * 输出形如 "n=120 total=3400ms avg=28ms p50≤32ms p95≤128ms max=310ms" 的摘要。
+     *
+     * @return 统计摘要
+     */
+    @Override
+    public String toString() {
+        long n = count();
+        long total = totalMillis();
+        return "n=" + n + " total=" + total + "ms avg=" + (n == 0 ? 0 : total / n)
+                + "ms p50≤" + percentile(50) + "ms p95≤" + percentile(95) + "ms max=" + maxMillis.get() + "ms";
+    }
+
+    private static long upperBound(int bucket) {
+        // 最后一个桶没有上界，分位数落在其中时取最大值
+        if (bucket == BUCKETS - 1) {
+            return Long.MAX_VALUE;
+        }
+        return bucket == 0 ? 1 : 1L << bucket;
+    }
+}
@@ -0,0 +1,141 @@
+package com.saltedfish.framework.metrics;
+
+import com.saltedfish.framework.driver.DriverType;
+import com.saltedfish.framework.utils.LogUtil;
+import org.openqa.selenium.WebDriverException;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * StartupMetrics 汇总浏览器启动各阶段的耗时，便于定位启动变慢的原因。
+ *
+ * 典型阶段：
+ *  - resolveDriver：Selenium Manager / 系统属性解析驱动与浏览器路径；
+ *  - startService：启动 chromedriver / msedgedriver / geckodriver 进程；
+ *  - newSession：创建会话（包含浏览器进程启动与协议握手）；
+ *  - timeouts：设置隐式等待、页面加载超时等后续调用；
+ *  - acquire / maximize / navigate：BaseTest.setUp 中获取浏览器、最大化与打开 baseUrl。
+ *
+ * 统计按 DriverType + 阶段分别计算 p50 / p95 / max，在套件结束时输出到日志。
+ */
+public final class StartupMetrics {
+
+    /**
+     * 浏览器类型 -> 阶段 -> 耗时统计。
+     */
+    private static final Map<DriverType, Map<String, TimingStats>> STATS = new EnumMap<>(DriverType.class);
+
+    /**
+     * 浏览器实例 -> 创建阶段明细，供 BaseTest 在用例附件中展示。
+     * 使用弱引用，避免未被取走的明细阻止 driver 被回收。
+     */
+    private static final Map<Object, Map<String, Long>> CREATION_PHASES =
+            Collections.synchronizedMap(new WeakHashMap<>());
+
+    private StartupMetrics() {
+        // 工具类禁止实例化
+    }
+
+    /**
+     * 记录一个阶段的耗时。
+     *
+     * @param type   浏览器类型
+     * @param phase  阶段名称
+     * @param millis 耗时（毫秒）
+     */
+    public static void record(DriverType type, String phase, long millis) {
+        TimingStats stats;
+        synchronized (STATS) {
+            stats = STATS.computeIfAbsent(type, t -> new LinkedHashMap<>())
+                    .computeIfAbsent(phase, p -> new TimingStats());
+        }
+        stats.record(millis);
+    }
+
+    /**
+     * 执行并计时一个阶段，耗时同时写入统计和调用方提供的明细表。
+     *
+     * @param type      浏览器类型
+     * @param phase     阶段名称
+     * @param breakdown 当前这次启动的阶段明细（按执行顺序）
+     * @param action    阶段逻辑
+     * @return 阶段逻辑的返回值
+     */
+    public static <T> T time(DriverType type, String phase, Map<String, Long> breakdown, Callable<T> action) {
+        long start = System.nanoTime();
+        try {
+            return action.call();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new WebDriverException("浏览器启动阶段执行失败：" + phase, e);
+        } finally {
+            long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            breakdown.put(phase, millis);
+            record(type, phase, millis);
+        }
+    }
+
+    /**
+     * 保存某个 driver 的创建阶段明细。
+     *
+     * @param driver    已创建的 WebDriver
+     * @param breakdown 阶段明细
+     */
+    public static void attachCreationPhases(Object driver, Map<String, Long> breakdown) {
+        CREATION_PHASES.put(driver, breakdown);
+    }
+
+    /**
+     * 取走某个 driver 的创建阶段明细（只能取一次，复用的会话返回空表）。
+     *
+     * @param driver WebDriver 实例
+     * @return 阶段明细，可能为空但不会为 null
+     */
+    public static Map<String, Long> takeCreationPhases(Object driver) {
+        Map<String, Long> phases = CREATION_PHASES.remove(driver);
+        return phases != null ? phases : Map.of();
+    }
+
+    /**
+     * 将一次启动的阶段明细与当前累计统计格式化为文本，用于日志或报告附件。
+     *
+     * @param type      浏览器类型
+     * @param breakdown 本次启动的阶段明细
+     * @return 多行文本
+     */
+    public static String format(DriverType type, Map<String, Long> breakdown) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("浏览器类型：").append(type).append('\n');
+        breakdown.forEach((phase, millis) ->
+                sb.append("  ").append(phase).append(" = ").append(millis).append(" ms\n"));
+        sb.append("累计统计：\n").append(summary(type));
+        return sb.toString();
+    }
+
+    /**
+     * 输出所有浏览器类型的阶段统计到日志，通常在套件结束时调用。
+     */
+    public static void logSummary() {
+        synchronized (STATS) {
+            for (DriverType type : STATS.keySet()) {
+                LogUtil.info("浏览器启动耗时统计（" + type + "）：\n" + summary(type));
+            }
+        }
+    }
+
+    private static String summary(DriverType type) {
+        StringBuilder sb = new StringBuilder();
+        synchronized (STATS) {
+            STATS.getOrDefault(type, Map.of()).forEach((phase, stats) ->
+                    sb.append("  ").append(phase).append(": ").append(stats).append('\n'));
+        }
+        return sb.toString();
+    }
+}
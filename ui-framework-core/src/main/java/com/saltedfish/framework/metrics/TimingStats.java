@@ -0,0 +1,72 @@
+package com.saltedfish.framework.metrics;
+
+import java.util.Arrays;
+
+/**
+ * TimingStats 记录一组耗时样本（毫秒），并计算 p50 / p95 / max 等统计值。
+ *
+ * 说明：
+ *  - 线程安全，所有方法都通过 synchronized 保护；
+ *  - 样本量通常与用例数同级别，直接保存原始样本，计算分位数时排序一次即可。
+ */
+public class TimingStats {
+
+    private long[] samples = new long[16];
+    private int count = 0;
+
+    /**
+     * 记录一个耗时样本。
+     *
+     * @param millis 耗时（毫秒）
+     */
+    public synchronized void record(long millis) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+        samples[count++] = millis;
+    }
+
+    /**
+     * @return 样本数量
+     */
+    public synchronized int count() {
+        return count;
+    }
+
+    /**
+     * 计算指定分位数（最近秩法）。
+     *
+     * @param percentile 分位数，取值 0~100，例如 50、95
+     * @return 对应分位的耗时；没有样本时返回 0
+     */
+    public synchronized long percentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(percentile / 100.0 * count);
+        return sorted[Math.min(Math.max(rank, 1), count) - 1];
+    }
+
+    /**
+     * @return 最大耗时；没有样本时返回 0
+     */
+    public synchronized long max() {
+        long max = 0;
+        for (int i = 0; i < count; i++) {
+            max = Math.max(max, samples[i]);
+        }
+        return max;
+    }
+
+    /**
+     * 输出形如 "n=10 p50=120ms p95=300ms max=350ms" 的摘要。
+     *
+     * @return 统计摘要
+     */
+    @Override
+    public String toString() {
+        return "n=" + count() + " p50=" + percentile(50) + "ms p95=" + percentile(95) + "ms max=" + max() + "ms";
+    }
+}
@@ -0,0 +1,249 @@
+package com.saltedfish.framework.network;
+
+import com.saltedfish.framework.utils.LogUtil;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.ScriptTimeoutException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * InFlightTracker 在页面内统计进行中的 fetch / XHR 请求与待执行的动画帧，
+ * 用于判断单页应用（SPA）是否已经“网络空闲 / 就绪”。
+ *
+ * 工作方式：
+ *  1. Chrome / Edge 创建会话后通过 CDP Page.addScriptToEvaluateOnNewDocument 注入统计脚本，
+ *     每个新文档在任何业务脚本之前完成注入，页面一开始发出的请求也能统计到；
+ *  2. 其他浏览器在第一次等待时由等待脚本补装，只能统计此后发出的请求；
+ *  3. 等待时执行一次异步脚本，在页面内循环判断“无进行中请求且持续 quiet 时长”，满足后立即返回；
+ *     单次脚本最多等待 MAX_SCRIPT_WAIT（低于会话默认的 30 秒脚本超时），更长的等待分多次调用；
+ *     等待期间页面跳转导致脚本中断（文档被卸载）时，在剩余时间内重新发起等待；
+ *     会话失效、脚本被 CSP 拦截、脚本执行出错等其他异常立即抛出。
+ */
+public final class InFlightTracker {
+
+    /**
+     * 页面内的统计脚本：包装 fetch、XMLHttpRequest 与 requestAnimationFrame，重复执行无副作用。
+     */
+    private static final String TRACKER = """
+            (function () {
+              if (window.__sfNet) {
+                return;
+              }
+              var net = window.__sfNet = {inflight: 0, last: Date.now(), pending: {}, seq: 0, frames: {}};
+              function begin(url) {
+                var id = ++net.seq;
+                net.inflight++;
+                net.pending[id] = String(url);
+                net.last = Date.now();
+                return id;
+              }
+              function end(id) {
+                if (net.pending.hasOwnProperty(id)) {
+                  delete net.pending[id];
+                  net.inflight--;
+                  net.last = Date.now();
+                }
+              }
+              if (window.fetch) {
+                var originalFetch = window.fetch;
+                window.fetch = function (input) {
+                  var id = begin(input && input.url ? input.url : input);
+                  try {
+                    return originalFetch.apply(this, arguments).then(
+                      function (response) { end(id); return response; },
+                      function (error) { end(id); throw error; });
+                  } catch (e) {
+                    end(id);
+                    throw e;
+                  }
+                };
+              }
+              if (window.XMLHttpRequest) {
+                var open = XMLHttpRequest.prototype.open, send = XMLHttpRequest.prototype.send;
+                XMLHttpRequest.prototype.open = function (method, url) {
+                  this.__sfUrl = url;
+                  return open.apply(this, arguments);
+                };
+                XMLHttpRequest.prototype.send = function () {
+                  var id = begin(this.__sfUrl);
+                  this.addEventListener('loadend', function () { end(id); });
+                  try {
+                    return send.apply(this, arguments);
+                  } catch (e) {
+                    end(id);
+                    throw e;
+                  }
+                };
+              }
+              if (window.requestAnimationFrame) {
+                var raf = window.requestAnimationFrame, caf = window.cancelAnimationFrame;
+                window.requestAnimationFrame = function (callback) {
+                  var handle = raf.call(window, function (time) {
+                    delete net.frames[handle];
+                    callback(time);
+                  });
+                  net.frames[handle] = true;
+                  return handle;
+                };
+                window.cancelAnimationFrame = function (handle) {
+                  delete net.frames[handle];
+                  return caf.call(window, handle);
+                };
+              }
+            })();
+            """;
+
+    /**
+     * 异步等待脚本：quiet 时长内没有进行中的请求即视为空闲；
+     * appReady 模式额外要求文档已解析完成，并在空闲后等待已排队的动画帧执行完毕（最多两帧）。
+     */
+    private static final String AWAIT_QUIET = TRACKER + """
+            var quiet = arguments[0], timeout = arguments[1], appReady = arguments[2];
+            var done = arguments[arguments.length - 1];
+            var net = window.__sfNet, start = Date.now();
+            function settleFrames(callback) {
+              var settled = false;
+              function finish() {
+                if (!settled) {
+                  settled = true;
+                  callback();
+                }
+              }
+              // 页面在后台时动画帧不会执行，用定时器兜底
+              setTimeout(finish, 100);
+              window.requestAnimationFrame(function () { window.requestAnimationFrame(finish); });
+            }
+            function tick() {
+              var now = Date.now();
+              var parsed = !appReady || document.readyState !== 'loading';
+              if (parsed && net.inflight === 0 && now - net.last >= quiet) {
+                if (appReady) {
+                  settleFrames(function () { done({idle: true}); });
+                } else {
+                  done({idle: true});
+                }
+                return;
+              }
+              if (now - start >= timeout) {
+                var urls = [];
+                for (var id in net.pending) {
+                  if (urls.length < 10) {
+                    urls.push(net.pending[id]);
+                  }
+                }
+                done({idle: false, inflight: net.inflight, pending: urls, frames: Object.keys(net.frames).length});
+                return;
+              }
+              setTimeout(tick, Math.max(10, Math.min(50, quiet)));
+            }
+            tick();
+            """;
+
+    /**
+     * 单次异步脚本在页面内的最长等待时间，保证不触发会话默认的脚本超时（W3C 默认 30 秒）。
+     */
+    private static final Duration MAX_SCRIPT_WAIT = Duration.ofSeconds(20);
+
+    private InFlightTracker() {
+        // 工具类禁止实例化
+    }
+
+    /**
+     * 在新建的 Chrome / Edge 会话上注册统计脚本，之后每个新文档都会自动注入。
+     * 应在 DriverFactory 创建会话后、第一次 driver.get() 之前调用；其他浏览器直接跳过。
+     *
+     * @param driver 新建的 WebDriver
+     */
+    public static void install(WebDriver driver) {
+        if (!(driver instanceof HasCdp cdp)) {
+            return;
+        }
+        try {
+            cdp.executeCdpCommand("Page.addScriptToEvaluateOnNewDocument", Map.of("source", TRACKER));
+        } catch (WebDriverException e) {
+            LogUtil.warn("注册请求统计脚本失败，网络空闲等待将只统计等待开始后的请求：" + e.getMessage());
+        }
+    }
+
+    /**
+     * 等待页面网络空闲：持续 quiet 时长没有进行中的 fetch / XHR 请求。
+     *
+     * @param driver   WebDriver 实例（需要支持 JavascriptExecutor）
+     * @param quiet    空闲窗口
+     * @param timeout  等待上限
+     * @param appReady true 时额外要求文档解析完成并等待动画帧执行
+     * @throws TimeoutException 超时仍有请求未完成时抛出，异常信息包含部分进行中的请求地址
+     * @throws WebDriverException 会话失效、脚本执行失败等与页面跳转无关的异常，原样立即抛出
+     */
+    public static void awaitQuiet(WebDriver driver, Duration quiet, Duration timeout, boolean appReady) {
+        if (!(driver instanceof JavascriptExecutor executor)) {
+            throw new UnsupportedOperationException("当前 driver 不支持执行脚本，无法等待网络空闲");
+        }
+
+        long deadline = System.nanoTime() + timeout.toNanos();
+        Map<?, ?> lastState = null;
+        WebDriverException lastError = null;
+        while (true) {
+            long remaining = (deadline - System.nanoTime()) / 1_000_000;
+            if (remaining <= 0) {
+                throw timedOut(timeout, lastState, lastError);
+            }
+            try {
+                Object result = executor.executeAsyncScript(AWAIT_QUIET, quiet.toMillis(),
+                        Math.min(remaining, MAX_SCRIPT_WAIT.toMillis()), appReady);
+                if (result instanceof Map<?, ?> state) {
+                    if (Boolean.TRUE.equals(state.get("idle"))) {
+                        return;
+                    }
+                    // 本次脚本已等满单次上限：总时间未到时继续下一次，否则在循环开头抛出超时
+                    lastState = state;
+                }
+            } catch (WebDriverException e) {
+                if (!isInterruptedByNavigation(e)) {
+                    throw e;
+                }
+                // 页面跳转会中断异步脚本，新文档加载后在剩余时间内重新等待
+                lastError = e;
+                sleepQuietly(50);
+            }
+        }
+    }
+
+    /**
+     * 异步脚本是否因文档卸载（页面跳转、刷新）而中断：
+     * Chrome / Edge 报 JavascriptException "document unloaded while waiting for result"，
+     * Firefox 报 "Document was unloaded"（部分版本以 ScriptTimeoutException 的形式返回）。
+     */
+    static boolean isInterruptedByNavigation(WebDriverException e) {
+        if (!(e instanceof JavascriptException) && !(e instanceof ScriptTimeoutException)) {
+            return false;
+        }
+        String message = e.getRawMessage();
+        return message != null && message.toLowerCase(Locale.ROOT).contains("unloaded");
+    }
+
+    private static TimeoutException timedOut(Duration timeout, Map<?, ?> state, WebDriverException lastError) {
+        if (state == null) {
+            return new TimeoutException("等待网络空闲超时（" + timeout.toSeconds() + " 秒），期间页面持续跳转", lastError);
+        }
+        return new TimeoutException("等待网络空闲超时（" + timeout.toSeconds() + " 秒），进行中请求数："
+                + state.get("inflight") + "，部分请求：" + state.get("pending")
+                + "，待执行动画帧：" + state.get("frames"));
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WebDriverException("等待网络空闲时线程被中断", e);
+        }
+    }
+}
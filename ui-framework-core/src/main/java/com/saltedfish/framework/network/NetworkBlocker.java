@@ -0,0 +1,211 @@
+package com.saltedfish.framework.network;
+
+import com.saltedfish.framework.config.ConfigManager;
+import com.saltedfish.framework.config.NetworkBlockRule;
+import com.saltedfish.framework.utils.LogUtil;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * NetworkBlocker 通过 CDP Fetch 域拦截测试不关心的网络请求（统计、广告、字体、第三方组件等），
+ * 缩短 driver.get() 等待完整加载的时间。
+ *
+ * 工作方式：
+ *  1. 把 FrameworkConfig.networkBlockRules 转换为 Fetch.enable 的 patterns，
+ *     只有命中规则的请求才会被浏览器暂停，其余请求不受影响；
+ *  2. 收到 Fetch.requestPaused 后立即 Fetch.failRequest(BlockedByClient)，请求不会真正发出；
+ *  3. 同时监听 Network.loadingFinished 统计放行请求的传输字节数，
+ *     与拦截数量一起按用例输出，便于评估规则效果。
+ *
+ * 注意：
+ *  - 仅支持 Chrome / Edge（需要 CDP），其他浏览器会打印警告并跳过；
+ *  - 被拦截的请求不会发出，浏览器无法得知其响应大小，因此“节省的字节数”无法精确测量，
+ *    统计中给出的是拦截次数（按资源类型）与放行请求的实际传输字节数。
+ */
+public final class NetworkBlocker {
+
+    private static final Event<Map<String, Object>> REQUEST_PAUSED = mapEvent("Fetch.requestPaused");
+    private static final Event<Map<String, Object>> LOADING_FINISHED = mapEvent("Network.loadingFinished");
+
+    /**
+     * 浏览器实例 -> 拦截器状态。
+     */
+    private static final Map<WebDriver, Session> SESSIONS = Collections.synchronizedMap(new IdentityHashMap<>());
+
+    private NetworkBlocker() {
+        // 工具类禁止实例化
+    }
+
+    /**
+     * 是否配置了拦截规则。
+     *
+     * @return true 表示存在至少一条规则
+     */
+    public static boolean isEnabled() {
+        List<NetworkBlockRule> rules = ConfigManager.getConfig().getNetworkBlockRules();
+        return rules != null && !rules.isEmpty();
+    }
+
+    /**
+     * 在新建的浏览器上安装拦截规则。
+     * 应在 DriverFactory 创建会话后、对外返回 driver 之前调用。
+     *
+     * @param driver 新建的 WebDriver
+     */
+    public static void install(WebDriver driver) {
+        if (!isEnabled()) {
+            return;
+        }
+        if (!(driver instanceof HasCdp) || !(driver instanceof HasDevTools hasDevTools)) {
+            LogUtil.warn("当前浏览器不支持 CDP，网络拦截规则不生效：" + driver.getClass().getSimpleName());
+            return;
+        }
+
+        try {
+            DevTools devTools = hasDevTools.getDevTools();
+            devTools.createSessionIfThereIsNotOne();
+            Session session = new Session(devTools);
+
+            devTools.addListener(REQUEST_PAUSED, event -> {
+                session.recordBlocked(String.valueOf(event.get("resourceType")));
+                Map<String, Object> params = new LinkedHashMap<>();
+                params.put("requestId", event.get("requestId"));
+                params.put("errorReason", "BlockedByClient");
+                devTools.send(new Command<>("Fetch.failRequest", params));
+            });
+            devTools.addListener(LOADING_FINISHED, event -> {
+                if (event.get("encodedDataLength") instanceof Number length) {
+                    session.recordTransferred(length.longValue());
+                }
+            });
+
+            devTools.send(new Command<>("Network.enable", Map.of()));
+            devTools.send(new Command<>("Fetch.enable", Map.of("patterns", toPatterns())));
+            SESSIONS.put(driver, session);
+            LogUtil.info("已安装网络拦截规则，共 " + ConfigManager.getConfig().getNetworkBlockRules().size() + " 条。");
+        } catch (WebDriverException e) {
+            LogUtil.warn("安装网络拦截规则失败，本会话不做拦截：" + e.getMessage());
+        }
+    }
+
+    /**
+     * 清零某个浏览器的统计，通常在每个用例开始时调用。
+     *
+     * @param driver WebDriver 实例
+     */
+    public static void resetStats(WebDriver driver) {
+        Session session = SESSIONS.get(unwrap(driver));
+        if (session != null) {
+            session.reset();
+        }
+    }
+
+    /**
+     * 输出某个浏览器自上次清零以来的拦截统计。
+     *
+     * @param driver WebDriver 实例
+     * @return 统计文本；未安装拦截器时返回 null
+     */
+    public static String describeStats(WebDriver driver) {
+        Session session = SESSIONS.get(unwrap(driver));
+        return session != null ? session.describe() : null;
+    }
+
+    /**
+     * 浏览器退出时释放拦截器状态。
+     *
+     * @param driver WebDriver 实例
+     */
+    public static void release(WebDriver driver) {
+        Session session = SESSIONS.remove(unwrap(driver));
+        if (session != null) {
+            try {
+                session.devTools.close();
+            } catch (WebDriverException e) {
+                // 浏览器已退出时关闭连接可能失败，忽略即可
+            }
+        }
+    }
+
+    /**
+     * 把配置规则转换为 Fetch.enable 的 RequestPattern 列表：
+     * 一条规则有多个资源类型时，拆分为多个 pattern。
+     */
+    private static List<Map<String, Object>> toPatterns() {
+        List<Map<String, Object>> patterns = new ArrayList<>();
+        for (NetworkBlockRule rule : ConfigManager.getConfig().getNetworkBlockRules()) {
+            String urlPattern = rule.getUrlPattern() == null || rule.getUrlPattern().isBlank()
+                    ? "*"
+                    : rule.getUrlPattern().trim();
+            List<String> types = rule.getResourceTypes();
+            if (types == null || types.isEmpty()) {
+                patterns.add(Map.of("urlPattern", urlPattern, "requestStage", "Request"));
+            } else {
+                for (String type : types) {
+                    patterns.add(Map.of("urlPattern", urlPattern, "resourceType", type, "requestStage", "Request"));
+                }
+            }
+        }
+        return patterns;
+    }
+
+    /**
+     * 拦截器按原始 driver 登记；启用命令耗时统计时外部拿到的是装饰后的 driver，需要先取出原始对象。
+     */
+    private static WebDriver unwrap(WebDriver driver) {
+        return driver instanceof WrapsDriver wraps ? wraps.getWrappedDriver() : driver;
+    }
+
+    private static Event<Map<String, Object>> mapEvent(String method) {
+        return new Event<>(method, input -> input.read(Json.MAP_TYPE));
+    }
+
+    /**
+     * 单个浏览器的拦截统计。
+     */
+    private static final class Session {
+
+        private final DevTools devTools;
+        private final Map<String, Integer> blockedByType = new LinkedHashMap<>();
+        private int blockedTotal;
+        private long transferredBytes;
+
+        private Session(DevTools devTools) {
+            this.devTools = devTools;
+        }
+
+        private synchronized void recordBlocked(String resourceType) {
+            blockedTotal++;
+            blockedByType.merge(resourceType, 1, Integer::sum);
+        }
+
+        private synchronized void recordTransferred(long bytes) {
+            transferredBytes += bytes;
+        }
+
+        private synchronized void reset() {
+            blockedByType.clear();
+            blockedTotal = 0;
+            transferredBytes = 0;
+        }
+
+        private synchronized String describe() {
+            return "拦截请求数：" + blockedTotal + "，按资源类型：" + blockedByType
+                    + "，放行请求传输字节数：" + transferredBytes;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.saltedfish.framework.notification;
+
+import com.saltedfish.framework.concurrent.FrameworkExecutor;
+import com.saltedfish.framework.config.ConfigManager;
+import com.saltedfish.framework.config.FrameworkConfig;
+import com.saltedfish.framework.utils.LogUtil;
+
+/**
+ * Notifiers 按配置把同一条消息发送到所有已配置的渠道（企业微信、钉钉）。
+ *
+ * 发送交给 FrameworkExecutor 异步执行，调用方在进程退出前需要调用 FrameworkExecutor.awaitAll()。
+ */
+public final class Notifiers {
+
+    private Notifiers() {
+        // 工具类禁止实例化
+    }
+
+    /**
+     * 发送文本消息到所有已配置的渠道，未配置 WebHook 的渠道跳过。
+     *
+     * @param title   消息标题
+     * @param content 消息正文
+     */
+    public static void sendToConfigured(String title, String content) {
+        FrameworkConfig config = ConfigManager.getConfig();
+
+        // 企业微信通知
+        if (config.getWeComWebhookUrl() != null && !config.getWeComWebhookUrl().isBlank()) {
+            Notifier notifier = new WeComNotifier(config.getWeComWebhookUrl());
+            FrameworkExecutor.submit(FrameworkExecutor.Resource.NETWORK, "发送企业微信通知",
+                    () -> notifier.sendText(title, content));
+        } else {
+            LogUtil.info("未配置企业微信 WebHook，跳过企业微信通知。");
+        }
+
+        // 钉钉通知
+        if (config.getDingTalkWebhookUrl() != null && !config.getDingTalkWebhookUrl().isBlank()) {
+            Notifier notifier = new DingTalkNotifier(config.getDingTalkWebhookUrl());
+            FrameworkExecutor.submit(FrameworkExecutor.Resource.NETWORK, "发送钉钉通知",
+                    () -> notifier.sendText(title, content));
+        } else {
+            LogUtil.info("未配置钉钉 WebHook，跳过钉钉通知。");
+        }
+    }
+}
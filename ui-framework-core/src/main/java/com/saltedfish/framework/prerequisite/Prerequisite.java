@@ -0,0 +1,24 @@
+package com.saltedfish.framework.prerequisite;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 声明用例依赖的前置业务流程（例如 "login"），名称与流程中 Prerequisites.guard 使用的名称一致。
+ *
+ * 标注在用例方法或用例类上：前置流程的熔断器已触发时，BaseTest 在启动浏览器之前直接跳过该用例。
+ * 未标注的用例在第一次调用 guard 时会被自动记住，之后的重试与数据驱动调用同样会提前跳过。
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface Prerequisite {
+
+    /**
+     * 前置流程名称。
+     *
+     * @return 流程名称列表
+     */
+    String[] value();
+}
@@ -0,0 +1,26 @@
+package com.saltedfish.framework.prerequisite;
+
+/**
+ * 前置流程的熔断器已触发，依赖它的用例不再执行。
+ * TestNG 适配层会把该异常转换为跳过（SKIP），而不是失败。
+ */
+public class PrerequisiteUnavailableException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String prerequisite;
+
+    public PrerequisiteUnavailableException(String prerequisite, String message) {
+        super(message);
+        this.prerequisite = prerequisite;
+    }
+
+    /**
+     * 获取已熔断的前置流程名称。
+     *
+     * @return 流程名称
+     */
+    public String getPrerequisite() {
+        return prerequisite;
+    }
+}
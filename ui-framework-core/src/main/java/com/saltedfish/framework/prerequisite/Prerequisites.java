@@ -0,0 +1,183 @@
+package com.saltedfish.framework.prerequisite;
+
+import com.saltedfish.framework.config.ConfigManager;
+import com.saltedfish.framework.utils.LogUtil;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Prerequisites 是前置业务流程（登录、切换租户等）的熔断器。
+ *
+ * 背景：
+ *  - 登录坏掉时，每个调用 loginAs 的用例仍会启动浏览器、等满显式等待超时、再经过一次重试，
+ *    整个套件在注定失败的用例上浪费几十分钟；
+ *
+ * 做法：
+ *  1. 流程通过 guard(name, ...) 执行：同一流程连续失败达到阈值（prerequisiteFailureThreshold，默认 2）后熔断，
+ *     成功一次则清零连续失败计数；
+ *  2. 熔断后再调用 guard 直接抛出 PrerequisiteUnavailableException，TestNG 适配层将其转换为跳过并注明原因；
+ *  3. 用例通过 @Prerequisite 声明依赖，或在调用 guard 时被自动记住，之后在启动浏览器之前即可判断是否跳过；
+ *  4. 因已熔断流程失败的用例不再重试。
+ *
+ * 阈值配置为 0 或负数时不熔断，guard 只执行流程。
+ */
+public final class Prerequisites {
+
+    /**
+     * 流程名称 -> 连续失败次数。
+     */
+    private static final Map<String, AtomicInteger> CONSECUTIVE_FAILURES = new ConcurrentHashMap<>();
+
+    /**
+     * 已熔断的流程名称 -> 熔断原因。
+     */
+    private static final Map<String, String> TRIPPED = new ConcurrentHashMap<>();
+
+    /**
+     * 用例 key -> 运行中自动记住的前置流程。
+     */
+    private static final Map<String, Set<String>> LEARNED = new ConcurrentHashMap<>();
+
+    /**
+     * 流程名称 -> 因熔断而跳过的次数。
+     */
+    private static final Map<String, LongAdder> SKIPPED = new ConcurrentHashMap<>();
+
+    /**
+     * 当前线程正在执行的用例 key。
+     */
+    private static final ThreadLocal<String> CURRENT_TEST = new ThreadLocal<>();
+
+    /**
+     * 当前线程的用例中失败过的流程名称。
+     */
+    private static final ThreadLocal<String> CURRENT_FAILURE = new ThreadLocal<>();
+
+    private Prerequisites() {
+        // 工具类禁止实例化
+    }
+
+    /**
+     * 在熔断器保护下执行一个前置流程。
+     *
+     * @param name 流程名称，例如 "login"
+     * @param flow 流程内容
+     * @param <T>  流程返回值类型
+     * @return 流程返回值
+     */
+    public static <T> T guard(String name, Supplier<T> flow) {
+        learn(name);
+        ensureAvailable(name);
+        try {
+            T result = flow.get();
+            AtomicInteger failures = CONSECUTIVE_FAILURES.get(name);
+            if (failures != null) {
+                failures.set(0);
+            }
+            return result;
+        } catch (RuntimeException | Error e) {
+            recordFailure(name, e);
+            throw e;
+        }
+    }
+
+    /**
+     * 在熔断器保护下执行一个无返回值的前置流程。
+     *
+     * @param name 流程名称
+     * @param flow 流程内容
+     */
+    public static void guard(String name, Runnable flow) {
+        guard(name, () -> {
+            flow.run();
+            return null;
+        });
+    }
+
+    /**
+     * 检查前置流程是否可用，已熔断时抛出 PrerequisiteUnavailableException。
+     *
+     * @param name 流程名称
+     */
+    public static void ensureAvailable(String name) {
+        String reason = TRIPPED.get(name);
+        if (reason != null) {
+            SKIPPED.computeIfAbsent(name, key -> new LongAdder()).increment();
+            throw new PrerequisiteUnavailableException(name, reason);
+        }
+    }
+
+    /**
+     * 用例开始前调用：记录当前用例，并检查其声明的与运行中记住的前置流程。
+     *
+     * @param testKey  用例 key，例如 "com.saltedfish.demo.tests.login.LoginTest.testLoginSuccess"
+     * @param declared 通过 @Prerequisite 声明的流程名称
+     * @return 已熔断时返回跳过原因，否则返回 null
+     */
+    public static String beginTest(String testKey, Collection<String> declared) {
+        CURRENT_TEST.set(testKey);
+        CURRENT_FAILURE.remove();
+        for (String name : declared) {
+            if (TRIPPED.containsKey(name)) {
+                SKIPPED.computeIfAbsent(name, key -> new LongAdder()).increment();
+                return TRIPPED.get(name);
+            }
+        }
+        for (String name : LEARNED.getOrDefault(testKey, Set.of())) {
+            if (TRIPPED.containsKey(name)) {
+                SKIPPED.computeIfAbsent(name, key -> new LongAdder()).increment();
+                return TRIPPED.get(name);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 当前线程的用例是否因已熔断的前置流程失败，供重试策略判断是否放弃重试。
+     *
+     * @return 已熔断的流程名称；不是时返回 null
+     */
+    public static String trippedFailureOfCurrentTest() {
+        String name = CURRENT_FAILURE.get();
+        return name != null && TRIPPED.containsKey(name) ? name : null;
+    }
+
+    /**
+     * 输出熔断统计，通常在套件结束时调用。
+     */
+    public static void logSummary() {
+        TRIPPED.forEach((name, reason) -> LogUtil.warn("前置流程 [" + name + "] 已熔断，跳过依赖用例 "
+                + SKIPPED.getOrDefault(name, new LongAdder()).sum() + " 次。原因：" + reason));
+    }
+
+    private static void learn(String name) {
+        String testKey = CURRENT_TEST.get();
+        if (testKey != null) {
+            LEARNED.computeIfAbsent(testKey, key -> ConcurrentHashMap.newKeySet()).add(name);
+        }
+    }
+
+    private static void recordFailure(String name, Throwable error) {
+        CURRENT_FAILURE.set(name);
+        int threshold = threshold();
+        if (threshold <= 0) {
+            return;
+        }
+        int failures = CONSECUTIVE_FAILURES.computeIfAbsent(name, key -> new AtomicInteger()).incrementAndGet();
+        if (failures >= threshold && TRIPPED.putIfAbsent(name, "前置流程 [" + name + "] 已连续失败 " + failures
+                + " 次，依赖它的用例不再执行。最近一次失败：" + error) == null) {
+            LogUtil.warn("前置流程 [" + name + "] 连续失败 " + failures + " 次，熔断器已触发。");
+        }
+    }
+
+    private static int threshold() {
+        Integer threshold = ConfigManager.getConfig().getPrerequisiteFailureThreshold();
+        return threshold != null ? threshold : 2;
+    }
+}
@@ -0,0 +1,284 @@
+package com.saltedfish.framework.session;
+
+import com.saltedfish.framework.base.FrameContext;
+import com.saltedfish.framework.config.ConfigManager;
+import com.saltedfish.framework.driver.DriverManager;
+import com.saltedfish.framework.utils.LogUtil;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+/**
+ * SessionSnapshotCache 缓存登录后的会话状态（Cookie + localStorage + sessionStorage），
+ * 后续用例直接注入状态，跳过登录界面操作。
+ *
+ * 工作方式：
+ *  1. 缓存 key 为“用户名 @ 环境”（环境取 -Denv / -Dframework.env，未指定时为 default）；
+ *  2. 第一次通过界面登录并验证成功后抓取快照；
+ *  3. 之后的用例先注入快照、刷新页面，再用调用方提供的校验条件（例如首页用户名可见）确认登录态有效；
+ *     校验失败则作废快照，清空注入的状态并退回界面登录；
+ *     校验条件应立即返回、不做显式等待，否则快照失效时每个用例都要先等满超时；
+ *  4. 快照超过有效期（sessionSnapshotTtlMin，默认 30 分钟）或其中的 Cookie 已过期时视为无效；
+ *  5. 并行执行时同一个 key 只允许一个线程做界面登录，其他线程等待后直接复用它抓取的快照。
+ *
+ * 快照只保存在当前 JVM 内存中，不落盘，避免登录凭证写入构建产物。
+ * 配置 sessionSnapshotEnabled=false 时每次都走界面登录。
+ */
+public final class SessionSnapshotCache {
+
+    /**
+     * 抓取当前页面 origin 与 Web Storage 的脚本。
+     */
+    private static final String CAPTURE_SCRIPT = """
+            function dump(storage) {
+              var result = {};
+              try {
+                for (var i = 0; i < storage.length; i++) {
+                  var key = storage.key(i);
+                  result[key] = storage.getItem(key);
+                }
+              } catch (e) {
+              }
+              return result;
+            }
+            return {origin: location.origin, local: dump(window.localStorage), session: dump(window.sessionStorage)};
+            """;
+
+    /**
+     * 注入 Web Storage 的脚本，参数：localStorage 内容、sessionStorage 内容。
+     */
+    private static final String RESTORE_SCRIPT = """
+            function fill(storage, values) {
+              Object.keys(values).forEach(function (key) {
+                storage.setItem(key, values[key]);
+              });
+            }
+            fill(window.localStorage, arguments[0]);
+            fill(window.sessionStorage, arguments[1]);
+            """;
+
+    private static final String CLEAR_SCRIPT = """
+            try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}
+            """;
+
+    private static final Map<String, SessionSnapshot> SNAPSHOTS = new ConcurrentHashMap<>();
+    private static final Map<String, ReentrantLock> LOCKS = new ConcurrentHashMap<>();
+
+    private SessionSnapshotCache() {
+        // 工具类禁止实例化
+    }
+
+    /**
+     * 优先注入缓存的会话状态，无效时执行界面登录并抓取快照。
+     *
+     * @param user    用户名（与环境一起作为缓存 key）
+     * @param uiLogin 界面登录流程
+     * @param probe   登录态校验条件，应立即返回结果，例如“首页用户名元素当前可见”；
+     *                界面登录后同样用它判断是否抓取快照，uiLogin 应等待登录完成后再返回
+     */
+    public static void loginOrRestore(String user, Runnable uiLogin, Predicate<WebDriver> probe) {
+        if (!isEnabled()) {
+            uiLogin.run();
+            return;
+        }
+        String key = keyOf(user);
+        if (restore(key, probe)) {
+            return;
+        }
+
+        // 同一用户同时只有一个线程做界面登录，其他线程等待后复用快照
+        ReentrantLock lock = LOCKS.computeIfAbsent(key, ignored -> new ReentrantLock());
+        lock.lock();
+        try {
+            if (restore(key, probe)) {
+                return;
+            }
+            uiLogin.run();
+            WebDriver driver = DriverManager.getDriver();
+            if (probe.test(driver)) {
+                capture(key, driver);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 作废某个用户在当前环境下的快照，例如用例中修改了密码或登出。
+     *
+     * @param user 用户名
+     */
+    public static void invalidate(String user) {
+        SNAPSHOTS.remove(keyOf(user));
+    }
+
+    private static boolean restore(String key, Predicate<WebDriver> probe) {
+        SessionSnapshot snapshot = SNAPSHOTS.get(key);
+        if (snapshot == null) {
+            return false;
+        }
+        if (snapshot.isExpired(ttlMillis())) {
+            SNAPSHOTS.remove(key, snapshot);
+            LogUtil.info("会话快照已过期，重新登录：" + key);
+            return false;
+        }
+
+        WebDriver driver = DriverManager.getDriver();
+        try {
+            // 存储要写入顶层文档；跳转与刷新之后 driver 回到顶层，ElementPath 缓存的 frame 链路随之作废
+            FrameContext.leaveElementPathFrames(driver);
+            FrameContext.reset();
+            if (!snapshot.origin().equals(originOf(driver.getCurrentUrl()))) {
+                driver.get(snapshot.origin());
+            }
+            driver.manage().deleteAllCookies();
+            for (SessionSnapshot.CookieData cookie : snapshot.cookies()) {
+                driver.manage().addCookie(cookie.toCookie());
+            }
+            ((JavascriptExecutor) driver).executeScript(RESTORE_SCRIPT, snapshot.localStorage(),
+                    snapshot.sessionStorage());
+            driver.navigate().refresh();
+            if (probe.test(driver)) {
+                LogUtil.info("已注入会话快照，跳过界面登录：" + key);
+                return true;
+            }
+            LogUtil.warn("会话快照校验失败，作废后重新登录：" + key);
+        } catch (WebDriverException e) {
+            LogUtil.warn("注入会话快照失败，作废后重新登录：" + key + "，" + e.getMessage());
+        }
+
+        SNAPSHOTS.remove(key, snapshot);
+        clearState(driver);
+        return false;
+    }
+
+    private static void capture(String key, WebDriver driver) {
+        try {
+            if (!(((JavascriptExecutor) driver).executeScript(CAPTURE_SCRIPT) instanceof Map<?, ?> state)) {
+                LogUtil.warn("抓取会话快照失败：" + key + "，页面脚本未返回存储内容。");
+                return;
+            }
+            List<SessionSnapshot.CookieData> cookies = new ArrayList<>();
+            for (Cookie cookie : driver.manage().getCookies()) {
+                cookies.add(SessionSnapshot.CookieData.of(cookie));
+            }
+            SNAPSHOTS.put(key, new SessionSnapshot(String.valueOf(state.get("origin")), cookies,
+                    toStringMap(state.get("local")), toStringMap(state.get("session")), System.currentTimeMillis()));
+            LogUtil.info("已缓存会话快照：" + key + "（Cookie " + cookies.size() + " 个）");
+        } catch (WebDriverException e) {
+            LogUtil.warn("抓取会话快照失败：" + key + "，" + e.getMessage());
+        }
+    }
+
+    /**
+     * 清除注入失败留下的部分状态，保证随后的界面登录从干净的状态开始。
+     */
+    private static void clearState(WebDriver driver) {
+        try {
+            driver.manage().deleteAllCookies();
+            ((JavascriptExecutor) driver).executeScript(CLEAR_SCRIPT);
+            driver.navigate().refresh();
+        } catch (WebDriverException e) {
+            LogUtil.warn("清理会话状态失败：" + e.getMessage());
+        }
+    }
+
+    private static Map<String, String> toStringMap(Object raw) {
+        Map<String, String> values = new LinkedHashMap<>();
+        if (raw instanceof Map<?, ?> map) {
+            map.forEach((key, value) -> values.put(String.valueOf(key), value == null ? null : String.valueOf(value)));
+        }
+        return values;
+    }
+
+    private static String originOf(String url) {
+        try {
+            URI uri = URI.create(url);
+            if (uri.getScheme() == null || uri.getHost() == null) {
+                return "";
+            }
+            return uri.getScheme() + "://" + uri.getHost() + (uri.getPort() >= 0 ? ":" + uri.getPort() : "");
+        } catch (IllegalArgumentException e) {
+            return "";
+        }
+    }
+
+    private static String keyOf(String user) {
+        String env = System.getProperty("env");
+        if (env == null || env.isBlank()) {
+            env = System.getProperty("framework.env");
+        }
+        return user + "@" + (env == null || env.isBlank() ? "default" : env.trim());
+    }
+
+    private static boolean isEnabled() {
+        return !Boolean.FALSE.equals(ConfigManager.getConfig().getSessionSnapshotEnabled());
+    }
+
+    private static long ttlMillis() {
+        Integer ttl = ConfigManager.getConfig().getSessionSnapshotTtlMin();
+        return (ttl != null && ttl > 0 ? ttl : 30) * 60_000L;
+    }
+
+    /**
+     * 一次登录后的会话状态。
+     *
+     * @param origin         抓取时页面的 origin，注入前需要先打开同源页面
+     * @param cookies        Cookie 列表
+     * @param localStorage   localStorage 内容
+     * @param sessionStorage sessionStorage 内容
+     * @param capturedAt     抓取时间（毫秒时间戳）
+     */
+    record SessionSnapshot(String origin, List<CookieData> cookies, Map<String, String> localStorage,
+                           Map<String, String> sessionStorage, long capturedAt) {
+
+        boolean isExpired(long ttlMillis) {
+            long now = System.currentTimeMillis();
+            if (now - capturedAt > ttlMillis) {
+                return true;
+            }
+            return cookies.stream().anyMatch(cookie -> cookie.expiry() != null && cookie.expiry() <= now);
+        }
+
+        /**
+         * Cookie 的字段副本，注入时重新构造 Selenium Cookie。
+         */
+        record CookieData(String name, String value, String domain, String path, Long expiry,
+                          boolean secure, boolean httpOnly, String sameSite) {
+
+            static CookieData of(Cookie cookie) {
+                return new CookieData(cookie.getName(), cookie.getValue(), cookie.getDomain(), cookie.getPath(),
+                        cookie.getExpiry() != null ? cookie.getExpiry().getTime() : null,
+                        cookie.isSecure(), cookie.isHttpOnly(), cookie.getSameSite());
+            }
+
+            Cookie toCookie() {
+                Cookie.Builder builder = new Cookie.Builder(name, value)
+                        .path(path)
+                        .isSecure(secure)
+                        .isHttpOnly(httpOnly);
+                if (domain != null) {
+                    builder.domain(domain);
+                }
+                if (expiry != null) {
+                    builder.expiresOn(new Date(expiry));
+                }
+                if (sameSite != null) {
+                    builder.sameSite(sameSite);
+                }
+                return builder.build();
+            }
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.saltedfish.framework.wait;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.Sleeper;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * BackoffWait 是带指数退避轮询的 WebDriverWait。
+ *
+ * 轮询节奏：
+ *  - 第一次检查失败后等待 initialPollingMillis，之后每次乘以 backoffMultiplier，直到 maxPollingMillis；
+ *  - 每次 until() 开始时重置为初始间隔，因此同一个实例可以被同一线程反复复用。
+ *
+ * 与默认 WebDriverWait（固定 500ms）相比：元素很快出现时能更早检测到，
+ * 等待时间较长时又不会频繁发送 WebDriver 命令。
+ *
+ * 自适应轮询（untilTracked）：
+ *  - 有历史耗时 E 时（见 LocatorLatencyHistory），0.7E 之前稀疏轮询（间隔不超过 maxPollingMillis），
+ *    0.7E ~ 1.5E 之间按 initialPollingMillis 密集轮询，超过 1.5E 仍未就绪则回到普通退避；
+ *  - 等待成功后把实际耗时写回历史。
+ *
+ * 注意：实例内部保存轮询状态，不是线程安全的，由 WaitFactory 按线程缓存。
+ */
+final class BackoffWait extends WebDriverWait {
+
+    private final WebDriver driver;
+    private final BackoffSleeper sleeper;
+
+    private BackoffWait(WebDriver driver, WaitSettings settings, BackoffSleeper sleeper) {
+        super(driver, settings.timeout(), Duration.ofMillis(settings.initialPollingMillis()),
+                Clock.systemDefaultZone(), sleeper);
+        this.driver = driver;
+        this.sleeper = sleeper;
+        if (!settings.ignoredExceptions().isEmpty()) {
+            ignoreAll(settings.ignoredExceptions());
+        }
+    }
+
+    /**
+     * 按等待参数为指定 driver 创建实例。
+     *
+     * @param driver   WebDriver 实例
+     * @param settings 等待参数
+     * @return BackoffWait 实例
+     */
+    static BackoffWait create(WebDriver driver, WaitSettings settings) {
+        return new BackoffWait(driver, settings, new BackoffSleeper(settings));
+    }
+
+    /**
+     * 当前实例绑定的 driver，用于判断线程缓存是否需要重建。
+     *
+     * @return WebDriver 实例
+     */
+    WebDriver driver() {
+        return driver;
+    }
+
+    @Override
+    public <V> V until(Function<? super WebDriver, V> isTrue) {
+        sleeper.reset(-1);
+        return super.until(isTrue);
+    }
+
+    /**
+     * 按定位器的历史耗时调整轮询节奏，并在成功后记录本次耗时。
+     *
+     * @param historyKey 历史 key，为 null 时等同于 until()
+     * @param isTrue     等待条件
+     * @param <V>        条件返回值类型
+     * @return 条件满足时的返回值
+     */
+    <V> V untilTracked(String historyKey, Function<? super WebDriver, V> isTrue) {
+        if (historyKey == null) {
+            return until(isTrue);
+        }
+        long start = System.nanoTime();
+        sleeper.reset(LocatorLatencyHistory.expectedMillis(historyKey));
+        V result = super.until(isTrue);
+        LocatorLatencyHistory.record(historyKey, (System.nanoTime() - start) / 1_000_000);
+        return result;
+    }
+
+    /**
+     * 忽略 FluentWait 传入的固定间隔，按退避节奏（或历史耗时）休眠。
+     */
+    private static final class BackoffSleeper implements Sleeper {
+
+        private final long initialMillis;
+        private final double multiplier;
+        private final long maxMillis;
+        private long nextMillis;
+        private long expectedMillis;
+        private long startNanos;
+
+        private BackoffSleeper(WaitSettings settings) {
+            this.initialMillis = settings.initialPollingMillis();
+            this.multiplier = settings.backoffMultiplier();
+            this.maxMillis = settings.maxPollingMillis();
+            this.nextMillis = initialMillis;
+            this.expectedMillis = -1;
+        }
+
+        /**
+         * 开始新一轮等待。
+         *
+         * @param expectedMillis 历史预期耗时，-1 表示没有历史
+         */
+        private void reset(long expectedMillis) {
+            this.nextMillis = initialMillis;
+            this.expectedMillis = expectedMillis;
+            this.startNanos = System.nanoTime();
+        }
+
+        @Override
+        public void sleep(Duration ignored) throws InterruptedException {
+            Thread.sleep(nextSleepMillis());
+        }
+
+        private long nextSleepMillis() {
+            if (expectedMillis >= 0) {
+                long elapsed = (System.nanoTime() - startNanos) / 1_000_000;
+                long windowStart = (long) (expectedMillis * 0.7);
+                long windowEnd = (long) (expectedMillis * 1.5) + initialMillis;
+                if (elapsed < windowStart) {
+                    // 预期时间之前：直接睡到窗口起点，但单次不超过上限，避免历史偏大时错过元素
+                    return Math.max(initialMillis, Math.min(maxMillis, windowStart - elapsed));
+                }
+                if (elapsed <= windowEnd) {
+                    return initialMillis;
+                }
+            }
+            long current = nextMillis;
+            nextMillis = Math.min(maxMillis, (long) Math.ceil(current * multiplier));
+            return current;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.saltedfish.framework.wait;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * EventWait 在浏览器内等待条件成立：通过 executeAsyncScript 注入 MutationObserver，
+ * DOM 变化时在页面内重新判断，条件成立后立即回调，一次等待只需要一次 WebDriver 往返。
+ *
+ * 说明：
+ *  - 样式动画、过渡等不一定产生 DOM 变化，脚本内另有 100ms 的定时检查兜底（不产生 WebDriver 往返）；
+ *  - 单次脚本在页面内最多等待 MAX_SCRIPT_WAIT，低于会话默认的 30 秒脚本超时，
+ *    更长的等待分成多次调用，不需要修改会话的脚本超时；
+ *  - 页面内的可见性判断是近似实现，条件成立后由 WaitFactory 再用 ExpectedConditions 确认一次；
+ *  - 浏览器不支持异步脚本、定位器无法在浏览器端表达、等待过程中页面跳转等情况返回 UNSUPPORTED，
+ *    调用方退回轮询等待。
+ */
+final class EventWait {
+
+    private static final String SCRIPT = LocatorScripts.FUNCTIONS + """
+            var using = arguments[0], value = arguments[1], condition = arguments[2], timeoutMs = arguments[3];
+            var done = arguments[arguments.length - 1];
+            function check() {
+              var elements = sfFind(using, value);
+              if (elements === null) {
+                return null;
+              }
+              if (condition === 'PRESENT') {
+                return elements.length > 0;
+              }
+              if (condition === 'VISIBLE') {
+                return elements.length > 0 && sfVisible(elements[0]);
+              }
+              if (condition === 'ALL_VISIBLE') {
+                return elements.length > 0 && elements.every(sfVisible);
+              }
+              if (condition === 'INVISIBLE') {
+                return elements.length === 0 || !sfVisible(elements[0]);
+              }
+              return null;
+            }
+            var first = check();
+            if (first === null) {
+              done('UNSUPPORTED');
+              return;
+            }
+            if (first) {
+              done('SATISFIED');
+              return;
+            }
+            var finished = false, observer, interval, timer;
+            function finish(outcome) {
+              if (finished) {
+                return;
+              }
+              finished = true;
+              observer.disconnect();
+              clearInterval(interval);
+              clearTimeout(timer);
+              done(outcome);
+            }
+            function recheck() {
+              try {
+                if (check()) {
+                  finish('SATISFIED');
+                }
+              } catch (e) {
+                finish('UNSUPPORTED');
+              }
+            }
+            observer = new MutationObserver(recheck);
+            observer.observe(document, {childList: true, subtree: true, attributes: true});
+            interval = setInterval(recheck, 100);
+            timer = setTimeout(function () { finish('TIMED_OUT'); }, timeoutMs);
+            """;
+
+    /**
+     * 单次异步脚本在页面内的最长等待时间，保证不触发会话默认的脚本超时（W3C 默认 30 秒）。
+     */
+    private static final Duration MAX_SCRIPT_WAIT = Duration.ofSeconds(20);
+
+    private EventWait() {
+        // 工具类禁止实例化
+    }
+
+    /**
+     * 在浏览器内等待定位器满足指定条件。
+     *
+     * @param driver    WebDriver 实例
+     * @param locator   元素定位器
+     * @param condition 等待条件
+     * @param timeout   等待上限
+     * @return 等待结果
+     */
+    static Outcome await(WebDriver driver, By locator, Condition condition, Duration timeout) {
+        List<String> arguments = LocatorScripts.argumentsOf(locator);
+        if (arguments == null || !(driver instanceof JavascriptExecutor executor)) {
+            return Outcome.UNSUPPORTED;
+        }
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (true) {
+            long remaining = Math.max(0, (deadline - System.nanoTime()) / 1_000_000);
+            Outcome outcome;
+            try {
+                Object result = executor.executeAsyncScript(SCRIPT, arguments.get(0), arguments.get(1),
+                        condition.name(), Math.min(remaining, MAX_SCRIPT_WAIT.toMillis()));
+                outcome = result != null ? Outcome.valueOf(result.toString()) : Outcome.UNSUPPORTED;
+            } catch (WebDriverException | IllegalArgumentException e) {
+                // 页面跳转导致脚本中断、脚本超时、选择器非法等，交给轮询等待处理并给出标准异常
+                return Outcome.UNSUPPORTED;
+            }
+            if (outcome != Outcome.TIMED_OUT || System.nanoTime() >= deadline) {
+                return outcome;
+            }
+        }
+    }
+
+    /**
+     * 浏览器端可以表达的等待条件，语义与对应的 ExpectedConditions 一致（均以第一个匹配元素为准，ALL_VISIBLE 除外）。
+     */
+    enum Condition {
+        PRESENT,
+        VISIBLE,
+        ALL_VISIBLE,
+        INVISIBLE
+    }
+
+    /**
+     * 事件等待的结果。
+     */
+    enum Outcome {
+        /**
+         * 条件已成立。
+         */
+        SATISFIED,
+        /**
+         * 超时仍未成立。
+         */
+        TIMED_OUT,
+        /**
+         * 无法在浏览器内等待，需要退回轮询。
+         */
+        UNSUPPORTED
+    }
+}
@@ -0,0 +1,237 @@
+package com.saltedfish.framework.wait;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.saltedfish.framework.base.CachingElementLocator;
+import com.saltedfish.framework.config.ConfigManager;
+import com.saltedfish.framework.utils.LogUtil;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * LocatorLatencyHistory 记录每个定位器从开始等待到就绪（可见 / 可点击 / 出现）的实际耗时，
+ * 供 BackoffWait 按历史耗时调整轮询节奏。
+ *
+ * 记录方式：
+ *  - key 为定位器签名：By.toString() 或 @FindBy 代理元素中的定位描述，计算时不访问调用栈；
+ *    页面字段（BasePage 绑定的代理元素）的 key 带上所属页面，例如 "LoginPage | By.id: kw"，
+ *    不同页面上同名的定位器分别记录；直接传入 By 的等待没有所属页面，只按定位器记录；
+ *  - 耗时按 EWMA（指数加权移动平均，权重 0.3）平滑，避免单次抖动影响过大；
+ *  - 持久化到 waitHistoryFile（为空时为 ${user.home}/.saltedfish/wait-history.json），
+ *    套件结束或 JVM 退出时写回，下一次运行（包括 CI 上的后续构建）直接复用。
+ *
+ * 默认关闭，通过 waitAdaptivePollingEnabled=true 启用。
+ * 无法识别定位器的元素（例如直接 findElement 得到、toString 中没有定位描述）不做记录。
+ */
+public final class LocatorLatencyHistory {
+
+    /**
+     * EWMA 中新样本的权重。
+     */
+    private static final double ALPHA = 0.3;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /**
+     * 页面字段 key 中页面名与定位器之间的分隔符。
+     */
+    private static final String PAGE_SEPARATOR = " | ";
+
+    /**
+     * 内存中的历史数据，首次使用时从文件加载。
+     */
+    private static final Map<String, Latency> HISTORY = new ConcurrentHashMap<>();
+
+    /**
+     * 本次运行中更新过的 key，写回文件时只覆盖这些条目，保留其他 JVM 写入的数据。
+     */
+    private static final Set<String> DIRTY = ConcurrentHashMap.newKeySet();
+
+    private static volatile boolean loaded;
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(LocatorLatencyHistory::flush, "wait-history-flush"));
+    }
+
+    private LocatorLatencyHistory() {
+        // 工具类禁止实例化
+    }
+
+    /**
+     * 是否启用自适应轮询，配置为空时默认关闭。
+     *
+     * @return true 表示启用
+     */
+    public static boolean isEnabled() {
+        return Boolean.TRUE.equals(ConfigManager.getConfig().getWaitAdaptivePollingEnabled());
+    }
+
+    /**
+     * 计算 By 定位器的历史 key。
+     *
+     * @param locator 元素定位器
+     * @return key；未启用时返回 null
+     */
+    static String keyOf(By locator) {
+        if (!isEnabled() || locator == null) {
+            return null;
+        }
+        return locator.toString();
+    }
+
+    /**
+     * 计算元素的历史 key，支持 PageFactory 代理元素与 findElement 返回的远程元素。
+     *
+     * @param element 目标元素
+     * @return key；未启用或无法识别定位器时返回 null
+     */
+    static String keyOf(WebElement element) {
+        if (!isEnabled() || element == null) {
+            return null;
+        }
+        return signatureOf(element.toString());
+    }
+
+    /**
+     * 查询某个 key 的预期就绪耗时。
+     *
+     * @param key 历史 key
+     * @return 预期耗时（毫秒），没有历史时返回 -1
+     */
+    static long expectedMillis(String key) {
+        if (key == null) {
+            return -1;
+        }
+        ensureLoaded();
+        Latency latency = HISTORY.get(key);
+        return latency != null ? Math.round(latency.ewmaMillis()) : -1;
+    }
+
+    /**
+     * 记录一次成功等待的实际耗时。
+     *
+     * @param key           历史 key
+     * @param elapsedMillis 从开始等待到条件满足的耗时（毫秒）
+     */
+    static void record(String key, long elapsedMillis) {
+        if (key == null) {
+            return;
+        }
+        ensureLoaded();
+        HISTORY.merge(key, new Latency(elapsedMillis, 1, System.currentTimeMillis()),
+                (old, sample) -> new Latency(old.ewmaMillis() + ALPHA * (sample.ewmaMillis() - old.ewmaMillis()),
+                        old.samples() + 1, sample.updatedAt()));
+        DIRTY.add(key);
+    }
+
+    /**
+     * 把本次运行更新过的条目写回历史文件。
+     * 由 SuiteListener 在套件结束时调用，JVM 退出时也会兜底调用一次。
+     */
+    public static synchronized void flush() {
+        if (DIRTY.isEmpty()) {
+            return;
+        }
+        Path file = historyFile();
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            try (FileChannel channel = FileChannel.open(file.resolveSibling(file.getFileName() + ".lock"),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                // 通道关闭时文件锁随之释放
+                channel.lock();
+                Map<String, Latency> all = read(file);
+                for (String key : DIRTY) {
+                    all.put(key, HISTORY.get(key));
+                }
+                Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+                MAPPER.writerWithDefaultPrettyPrinter().writeValue(tmp.toFile(), all);
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+            LogUtil.info("等待耗时历史已写入 " + file + "，本次更新 " + DIRTY.size() + " 条。");
+            DIRTY.clear();
+        } catch (IOException e) {
+            LogUtil.warn("写入等待耗时历史失败：" + e.getMessage());
+        }
+    }
+
+    private static void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (LocatorLatencyHistory.class) {
+            if (!loaded) {
+                read(historyFile()).forEach(HISTORY::putIfAbsent);
+                loaded = true;
+            }
+        }
+    }
+
+    private static Map<String, Latency> read(Path file) {
+        if (!Files.exists(file)) {
+            return new HashMap<>();
+        }
+        try {
+            return MAPPER.readValue(file.toFile(), new TypeReference<HashMap<String, Latency>>() {
+            });
+        } catch (IOException e) {
+            LogUtil.warn("等待耗时历史文件已损坏，将重新生成：" + file);
+            return new HashMap<>();
+        }
+    }
+
+    private static Path historyFile() {
+        String configured = ConfigManager.getConfig().getWaitHistoryFile();
+        if (configured != null && !configured.isBlank()) {
+            return Paths.get(configured);
+        }
+        return Paths.get(System.getProperty("user.home"), ".saltedfish", "wait-history.json");
+    }
+
+    /**
+     * 从元素的 toString() 中提取定位描述：
+     *  - 页面字段代理："Proxy element for: CachingElementLocator 'By.id: kw' on LoginPage" -> "LoginPage | By.id: kw"；
+     *  - PageFactory 代理："Proxy element for: DefaultElementLocator 'By.id: kw'" -> "By.id: kw"；
+     *  - 远程元素："[[ChromeDriver: chrome on linux (会话 id)] -> id: kw]" -> "id: kw"（去掉会话信息）。
+     */
+    private static String signatureOf(String description) {
+        if (description == null) {
+            return null;
+        }
+        int firstQuote = description.indexOf('\'');
+        int lastQuote = description.lastIndexOf('\'');
+        if (description.startsWith("Proxy element for:") && firstQuote >= 0 && lastQuote > firstQuote) {
+            String signature = description.substring(firstQuote + 1, lastQuote);
+            String rest = description.substring(lastQuote + 1);
+            return rest.startsWith(CachingElementLocator.PAGE_PREFIX)
+                    ? rest.substring(CachingElementLocator.PAGE_PREFIX.length()) + PAGE_SEPARATOR + signature
+                    : signature;
+        }
+        int arrow = description.indexOf("] -> ");
+        if (arrow >= 0 && description.endsWith("]")) {
+            return description.substring(arrow + 5, description.length() - 1);
+        }
+        return null;
+    }
+
+    /**
+     * 一个定位器的历史耗时。
+     *
+     * @param ewmaMillis 平滑后的就绪耗时（毫秒）
+     * @param samples    累计样本数
+     * @param updatedAt  最近更新时间（毫秒时间戳）
+     */
+    public record Latency(double ewmaMillis, int samples, long updatedAt) {
+    }
+}
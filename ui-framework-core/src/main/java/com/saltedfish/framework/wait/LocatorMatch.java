@@ -0,0 +1,13 @@
+package com.saltedfish.framework.wait;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+
+/**
+ * WaitFactory.waitForFirst 的返回结果：先满足条件的定位器及其元素。
+ *
+ * @param locator 满足条件的定位器
+ * @param element 该定位器的第一个可见元素
+ */
+public record LocatorMatch(By locator, WebElement element) {
+}
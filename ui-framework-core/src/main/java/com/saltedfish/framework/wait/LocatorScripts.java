@@ -0,0 +1,101 @@
+package com.saltedfish.framework.wait;
+
+import org.openqa.selenium.By;
+
+import java.util.List;
+
+/**
+ * LocatorScripts 把 By 定位器转换为可在浏览器内执行的查找参数，并提供共用的 JS 函数。
+ *
+ * 转换规则：
+ *  - 使用 Selenium 的 By.Remotable 参数（using + value），id / name / className 会被转换为 css selector；
+ *  - 浏览器端支持 css selector、xpath、tag name、link text、partial link text；
+ *  - 其他自定义 By（例如 ByChained、ByAll）返回 null，由调用方退回轮询。
+ */
+final class LocatorScripts {
+
+    /**
+     * 浏览器端的查找与可见性判断函数，拼接在各等待脚本前面。
+     *  - sfFind(using, value)：返回匹配的元素数组，无法识别的策略返回 null；
+     *  - sfVisible(el)：近似 WebElement.isDisplayed()（不检查祖先透明度，尺寸为 0 的元素视为不可见），
+     *    EventWait 在浏览器内满足条件后由 Java 端 ExpectedConditions 确认最终结果。
+     */
+    static final String FUNCTIONS = """
+            function sfFind(using, value) {
+              if (using === 'css selector') {
+                return Array.prototype.slice.call(document.querySelectorAll(value));
+              }
+              if (using === 'tag name') {
+                return Array.prototype.slice.call(document.getElementsByTagName(value));
+              }
+              if (using === 'xpath') {
+                var snapshot = document.evaluate(value, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);
+                var nodes = [];
+                for (var i = 0; i < snapshot.snapshotLength; i++) {
+                  if (snapshot.snapshotItem(i).nodeType === 1) {
+                    nodes.push(snapshot.snapshotItem(i));
+                  }
+                }
+                return nodes;
+              }
+              if (using === 'link text' || using === 'partial link text') {
+                return Array.prototype.filter.call(document.getElementsByTagName('a'), function (a) {
+                  var text = (a.innerText || '').trim();
+                  return using === 'link text' ? text === value : text.indexOf(value) >= 0;
+                });
+              }
+              return null;
+            }
+            function sfVisible(el) {
+              if (!el || !el.isConnected) {
+                return false;
+              }
+              var style = window.getComputedStyle(el);
+              if (style.display === 'none' || style.visibility === 'hidden'
+                  || style.visibility === 'collapse' || parseFloat(style.opacity) === 0) {
+                return false;
+              }
+              var rect = el.getBoundingClientRect();
+              return rect.width > 0 && rect.height > 0;
+            }
+            """;
+
+    private static final List<String> SUPPORTED = List.of(
+            "css selector", "xpath", "tag name", "link text", "partial link text");
+
+    private LocatorScripts() {
+        // 工具类禁止实例化
+    }
+
+    /**
+     * 把定位器转换为浏览器端查找参数。
+     *
+     * @param locator 元素定位器
+     * @return [using, value]；无法在浏览器端表达时返回 null
+     */
+    static List<String> argumentsOf(By locator) {
+        if (!(locator instanceof By.Remotable remotable)) {
+            return null;
+        }
+        By.Remotable.Parameters parameters = remotable.getRemoteParameters();
+        if (parameters == null || parameters.value() == null) {
+            return null;
+        }
+        String value = String.valueOf(parameters.value());
+        // By.id / By.name / By.className 的远程参数保留原始策略，W3C 驱动在发送命令时才转换为 css selector
+        return switch (parameters.using()) {
+            case "id" -> List.of("css selector", "[id=" + cssString(value) + "]");
+            case "name" -> List.of("css selector", "[name=" + cssString(value) + "]");
+            case "class name" -> value.isBlank() || value.contains(" ")
+                    ? null : List.of("css selector", "[class~=" + cssString(value) + "]");
+            default -> SUPPORTED.contains(parameters.using()) ? List.of(parameters.using(), value) : null;
+        };
+    }
+
+    /**
+     * 转换为 css 属性选择器中的带引号字符串。
+     */
+    private static String cssString(String value) {
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+}
@@ -0,0 +1,154 @@
+package com.saltedfish.framework.wait;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * VisibleLocators 是同时检查多个定位器的等待条件：每次轮询只执行一次脚本，
+ * 在浏览器内查找每个定位器已渲染的候选元素，一次性返回全部结果。
+ *
+ * 说明：
+ *  - 结果列表与定位器顺序一一对应，未找到可见元素的位置为 null；
+ *  - 浏览器端只做宽松的预筛选（已渲染且自身未被 visibility 隐藏），不会把 isDisplayed() 认为可见的元素排除，
+ *    例如自身尺寸为 0 但子元素可见的容器；
+ *  - 预筛选结果已能满足条件时，再对候选元素调用 isDisplayed() 确认（祖先透明度等规则以它为准），
+ *    确认后仍满足才返回，因此只有可能满足的那次轮询才有额外的 WebDriver 往返；
+ *  - 浏览器端无法表达的定位器（自定义 By）在 Java 端用 findElements + isDisplayed() 检查。
+ */
+final class VisibleLocators implements ExpectedCondition<List<WebElement>> {
+
+    private static final String SCRIPT = LocatorScripts.FUNCTIONS + """
+            return arguments[0].map(function (locator) {
+              if (locator === null) {
+                return null;
+              }
+              return (sfFind(locator[0], locator[1]) || []).filter(function (el) {
+                if (!el.isConnected || el.getClientRects().length === 0) {
+                  return false;
+                }
+                var visibility = window.getComputedStyle(el).visibility;
+                return visibility !== 'hidden' && visibility !== 'collapse';
+              });
+            });
+            """;
+
+    private final List<By> locators;
+    private final Mode mode;
+
+    /**
+     * 浏览器端查找参数，与 locators 一一对应，无法表达的定位器为 null。
+     */
+    private final List<List<String>> arguments;
+
+    VisibleLocators(Mode mode, By... locators) {
+        if (locators == null || locators.length == 0) {
+            throw new IllegalArgumentException("定位器不能为空");
+        }
+        this.mode = mode;
+        this.locators = List.of(locators);
+        this.arguments = new ArrayList<>();
+        for (By locator : locators) {
+            arguments.add(LocatorScripts.argumentsOf(locator));
+        }
+    }
+
+    /**
+     * 执行一次检查。
+     *
+     * @param driver WebDriver 实例
+     * @return 条件满足时返回与定位器顺序对应的元素列表（可能包含 null），否则返回 null 继续轮询
+     */
+    @Override
+    public List<WebElement> apply(WebDriver driver) {
+        List<List<WebElement>> candidates = candidates(driver);
+        if (!satisfied(candidates.stream().filter(list -> !list.isEmpty()).count())) {
+            return null;
+        }
+        WebElement[] found = new WebElement[candidates.size()];
+        int visible = 0;
+        for (int i = 0; i < found.length; i++) {
+            found[i] = firstDisplayed(candidates.get(i));
+            if (found[i] != null) {
+                visible++;
+            } else if (mode == Mode.ALL) {
+                return null;
+            }
+        }
+        return satisfied(visible) ? Collections.unmodifiableList(Arrays.asList(found)) : null;
+    }
+
+    private boolean satisfied(long visible) {
+        return mode == Mode.ALL ? visible == locators.size() : visible > 0;
+    }
+
+    /**
+     * 每个定位器的候选元素：浏览器端能表达的定位器取脚本预筛选的结果，其他定位器取 findElements 的全部结果。
+     */
+    private List<List<WebElement>> candidates(WebDriver driver) {
+        List<List<WebElement>> candidates = new ArrayList<>();
+        List<?> scripted = List.of();
+        if (driver instanceof JavascriptExecutor executor && arguments.stream().anyMatch(a -> a != null)) {
+            Object result = executor.executeScript(SCRIPT, arguments);
+            if (result instanceof List<?> list) {
+                scripted = list;
+            }
+        }
+        for (int i = 0; i < locators.size(); i++) {
+            if (arguments.get(i) == null || !(driver instanceof JavascriptExecutor)) {
+                candidates.add(driver.findElements(locators.get(i)));
+                continue;
+            }
+            List<WebElement> elements = new ArrayList<>();
+            if (i < scripted.size() && scripted.get(i) instanceof List<?> list) {
+                for (Object item : list) {
+                    if (item instanceof WebElement element) {
+                        elements.add(element);
+                    }
+                }
+            }
+            candidates.add(elements);
+        }
+        return candidates;
+    }
+
+    private static WebElement firstDisplayed(List<WebElement> candidates) {
+        for (WebElement element : candidates) {
+            try {
+                if (element.isDisplayed()) {
+                    return element;
+                }
+            } catch (StaleElementReferenceException e) {
+                // 脚本返回后元素已被移除，视为不可见
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return (mode == Mode.ALL ? "all of " : "any of ") + locators + " to be visible";
+    }
+
+    /**
+     * 组合方式。
+     */
+    enum Mode {
+        /**
+         * 全部定位器都有可见元素。
+         */
+        ALL,
+        /**
+         * 至少一个定位器有可见元素。
+         */
+        ANY
+    }
+}
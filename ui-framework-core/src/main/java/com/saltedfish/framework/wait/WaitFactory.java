@@ -1,122 +1,315 @@
-package com.saltedfish.framework.wait;
-
-import com.saltedfish.framework.config.ConfigManager;
-import com.saltedfish.framework.config.FrameworkConfig;
-import com.saltedfish.framework.driver.DriverManager;
-import org.openqa.selenium.By;
-import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
-
-import java.time.Duration;
-import java.util.List;
-
-/**
- * WaitFactory 封装了常用的显式等待操作。
- *
- * 设计目标：
- *  1. 所有等待逻辑集中管理，便于统一调整超时时间与策略；
- *  2. Page / Test 代码只调用这里的方法，而不直接 new WebDriverWait；
- *  3. 等待时间从框架配置中读取，避免写死常量值。
- *
- * 注意：
- *  - 日志不再在每次等待时打印显式等待时间，避免大量重复日志；
- *  - 显式等待时间只在 ConfigManager 加载配置时确定，必要时可以在启动阶段打印一次。
- */
-public final class WaitFactory {
-
-    private WaitFactory() {
-        // 工具类禁止实例化
-    }
-
-    /**
-     * 根据配置构造一个 WebDriverWait 实例。
-     *
-     * @return WebDriverWait 对象，用于执行显式等待
-     */
-    private static WebDriverWait newWait() {
-        WebDriver driver = DriverManager.getDriver();
-        FrameworkConfig config = ConfigManager.getConfig();
-
-        // 从配置中读取显式等待时间，如果为空则使用 10 秒兜底
-        int explicitWaitSec = config.getExplicitWaitSec() != null
-                ? config.getExplicitWaitSec()
-                : 10;
-
-        return new WebDriverWait(driver, Duration.ofSeconds(explicitWaitSec));
-    }
-
-    /**
-     * 等待元素可点击并返回该元素。
-     *
-     * @param element 目标元素
-     * @return 处于可点击状态的元素
-     */
-    public static WebElement waitUntilClickable(WebElement element) {
-        return newWait().until(ExpectedConditions.elementToBeClickable(element));
-    }
-
-    /**
-     * 等待元素可见并返回该元素。
-     *
-     * @param element 目标元素
-     * @return 处于可见状态的元素
-     */
-    public static WebElement waitUntilVisible(WebElement element) {
-        return newWait().until(ExpectedConditions.visibilityOf(element));
-    }
-
-    /**
-     * 等待定位到的元素可见，并返回该元素。
-     *
-     * @param locator 元素定位器（By）
-     * @return 可见状态的元素
-     */
-    public static WebElement waitUntilVisible(By locator) {
-        return newWait().until(ExpectedConditions.visibilityOfElementLocated(locator));
-    }
-
-    /**
-     * 等待一组元素全部可见，并返回元素列表。
-     *
-     * @param locator 元素定位器（By）
-     * @return 所有可见元素列表，如果超时会抛出 TimeoutException
-     */
-    public static List<WebElement> waitUntilAllVisible(By locator) {
-        return newWait().until(ExpectedConditions.visibilityOfAllElementsLocatedBy(locator));
-    }
-
-    /**
-     * 等待元素出现在 DOM 中（不要求可见）。
-     *
-     * @param locator 元素定位器（By）
-     * @return 出现在 DOM 中的元素
-     */
-    public static WebElement waitUntilPresent(By locator) {
-        return newWait().until(ExpectedConditions.presenceOfElementLocated(locator));
-    }
-
-    /**
-     * 等待元素从页面上消失（例如 loading 遮罩）。
-     *
-     * @param locator 需要等待消失的元素定位器
-     * @return true 表示元素已不可见或不存在；false 表示未在超时时间内消失
-     */
-    public static boolean waitUntilInvisible(By locator) {
-        return newWait().until(ExpectedConditions.invisibilityOfElementLocated(locator));
-    }
-
-    /**
-     * 等待当前 URL 包含指定片段。
-     *
-     * @param fragment URL 中预期出现的子串，例如 "/home"、"/dashboard"
-     * @return true 表示条件满足；false 表示超时
-     */
-    public static boolean waitUntilUrlContains(String fragment) {
-        if (fragment == null || fragment.isBlank()) {
-            throw new IllegalArgumentException("URL 片段不能为空");
-        }
-        return newWait().until(ExpectedConditions.urlContains(fragment));
-    }
-}
+package com.saltedfish.framework.wait;
+
+import com.saltedfish.framework.base.FrameContext;
+import com.saltedfish.framework.config.ConfigManager;
+import com.saltedfish.framework.driver.DriverManager;
+import com.saltedfish.framework.network.InFlightTracker;
+import org.openqa.selenium.By;
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * WaitFactory 封装了常用的显式等待操作。
+ *
+ * 设计目标：
+ *  1. 所有等待逻辑集中管理，便于统一调整超时时间与策略；
+ *  2. Page / Test 代码只调用这里的方法，而不直接 new WebDriverWait；
+ *  3. 等待时间从框架配置中读取，避免写死常量值。
+ *
+ * 实现要点：
+ *  - 每个线程缓存一个 BackoffWait 实例，只有当前线程的 driver 变化时才重建；
+ *  - 轮询间隔从 waitPollingMillis 开始按 waitBackoffMultiplier 递增，直到 waitMaxPollingMillis；
+ *  - 等待期间忽略 NotFoundException 以及 waitIgnoredExceptions 中配置的异常；
+ *  - 启用 waitAdaptivePollingEnabled 时，可见 / 可点击 / 出现类等待会记录定位器的实际耗时（LocatorLatencyHistory），
+ *    下次等待同一定位器时在预期时间附近密集轮询、之前稀疏轮询；
+ *  - waitMode=EVENT 时，By 定位器相关的等待改为在浏览器内监听 DOM 变化（EventWait），
+ *    一次等待只需一次 WebDriver 往返，无法表达的条件自动退回轮询；
+ *  - waitForAll / waitForAny / waitForFirst 同时检查多个定位器，每次轮询只执行一次脚本，可见性最终以 isDisplayed() 为准；
+ *  - waitUntilNetworkIdle / waitUntilAppReady 基于页面内的请求统计（InFlightTracker）判断 SPA 是否就绪；
+ *  - By 定位器与页面字段的等待面向顶层文档，ElementPath 把 driver 留在 iframe 中时先切回顶层文档（FrameContext）；
+ *  - 隐式等待固定为 0（见 DriverFactory），这里的超时就是实际等待上限。
+ *
+ * 注意：
+ *  - 日志不再在每次等待时打印显式等待时间，避免大量重复日志；
+ *  - 等待参数在首次等待时解析一次并打印（见 WaitSettings）。
+ */
+public final class WaitFactory {
+
+    /**
+     * 每个线程缓存的等待实例。
+     */
+    private static final ThreadLocal<BackoffWait> CACHED_WAIT = new ThreadLocal<>();
+
+    private WaitFactory() {
+        // 工具类禁止实例化
+    }
+
+    /**
+     * 获取当前线程可复用的等待实例。
+     * 当前线程的 driver 变化（例如新用例拿到了新的浏览器）时重新创建。
+     *
+     * @return BackoffWait 对象，用于执行显式等待
+     */
+    private static BackoffWait currentWait() {
+        WebDriver driver = DriverManager.getDriver();
+        if (driver == null) {
+            throw new IllegalStateException("当前线程没有可用的 WebDriver，请先调用 DriverManager.initDriver()");
+        }
+
+        BackoffWait wait = CACHED_WAIT.get();
+        if (wait == null || wait.driver() != driver) {
+            wait = BackoffWait.create(driver, WaitSettings.current());
+            CACHED_WAIT.set(wait);
+        }
+        return wait;
+    }
+
+    /**
+     * 清除当前线程缓存的等待实例。
+     * 缓存的实例持有 driver 引用，浏览器退出后应立即清除，避免已退出的 driver 驻留到该线程下次等待；
+     * 由 DriverManager.quitDriver() 调用。
+     */
+    public static void clearCurrentWait() {
+        CACHED_WAIT.remove();
+    }
+
+    /**
+     * 执行 By 定位器相关的等待。
+     * EVENT 模式下先在浏览器内等待（一次往返），条件成立后用 ExpectedConditions 确认并返回结果；
+     * 浏览器端无法表达时退回轮询；POLLING 模式直接轮询。
+     *
+     * @param locator    元素定位器
+     * @param condition  浏览器端等价条件
+     * @param historyKey 耗时历史 key，为 null 时不记录
+     * @param expected   对应的 ExpectedCondition
+     * @param <V>        条件返回值类型
+     * @return 条件满足时的返回值
+     */
+    private static <V> V untilLocated(By locator, EventWait.Condition condition, String historyKey,
+                                      ExpectedCondition<V> expected) {
+        BackoffWait wait = currentWait();
+        FrameContext.leaveElementPathFrames(wait.driver());
+        if (WaitMode.current() == WaitMode.EVENT) {
+            Duration timeout = WaitSettings.current().timeout();
+            long start = System.nanoTime();
+            EventWait.Outcome outcome = EventWait.await(wait.driver(), locator, condition, timeout);
+            if (outcome == EventWait.Outcome.SATISFIED) {
+                LocatorLatencyHistory.record(historyKey, (System.nanoTime() - start) / 1_000_000);
+                // 页面内已确认条件成立，这里通常第一次检查即返回
+                return wait.until(expected);
+            }
+            if (outcome == EventWait.Outcome.TIMED_OUT) {
+                // 页面内已等满超时时间，最后按 Selenium 语义检查一次，避免重复等待
+                V result = applyOnce(expected, wait.driver());
+                if (result != null && !Boolean.FALSE.equals(result)) {
+                    return result;
+                }
+                throw new TimeoutException("Expected condition failed: waiting for " + expected
+                        + " (tried for " + timeout.toSeconds() + " second(s) in event mode)");
+            }
+        }
+        return wait.untilTracked(historyKey, expected);
+    }
+
+    /**
+     * 页面字段代理（@FindBy）定位的是顶层文档中的元素：ElementPath 把 driver 留在 iframe 中时先切回顶层文档。
+     * 直接定位得到的元素（例如 ElementPath.find() 的结果）保持当前 frame 不变。
+     */
+    private static void leaveElementPathFramesFor(WebElement element) {
+        if (Proxy.isProxyClass(element.getClass())) {
+            FrameContext.leaveElementPathFrames(currentWait().driver());
+        }
+    }
+
+    private static <V> V applyOnce(ExpectedCondition<V> expected, WebDriver driver) {
+        try {
+            return expected.apply(driver);
+        } catch (NotFoundException | StaleElementReferenceException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 等待元素可点击并返回该元素。
+     *
+     * @param element 目标元素
+     * @return 处于可点击状态的元素
+     */
+    public static WebElement waitUntilClickable(WebElement element) {
+        leaveElementPathFramesFor(element);
+        return currentWait().untilTracked(LocatorLatencyHistory.keyOf(element),
+                ExpectedConditions.elementToBeClickable(element));
+    }
+
+    /**
+     * 等待元素可见并返回该元素。
+     *
+     * @param element 目标元素
+     * @return 处于可见状态的元素
+     */
+    public static WebElement waitUntilVisible(WebElement element) {
+        leaveElementPathFramesFor(element);
+        return currentWait().untilTracked(LocatorLatencyHistory.keyOf(element),
+                ExpectedConditions.visibilityOf(element));
+    }
+
+    /**
+     * 等待定位到的元素可见，并返回该元素。
+     *
+     * @param locator 元素定位器（By）
+     * @return 可见状态的元素
+     */
+    public static WebElement waitUntilVisible(By locator) {
+        return untilLocated(locator, EventWait.Condition.VISIBLE, LocatorLatencyHistory.keyOf(locator),
+                ExpectedConditions.visibilityOfElementLocated(locator));
+    }
+
+    /**
+     * 等待一组元素全部可见，并返回元素列表。
+     *
+     * @param locator 元素定位器（By）
+     * @return 所有可见元素列表，如果超时会抛出 TimeoutException
+     */
+    public static List<WebElement> waitUntilAllVisible(By locator) {
+        return untilLocated(locator, EventWait.Condition.ALL_VISIBLE, LocatorLatencyHistory.keyOf(locator),
+                ExpectedConditions.visibilityOfAllElementsLocatedBy(locator));
+    }
+
+    /**
+     * 等待多个定位器全部出现可见元素，每次轮询只执行一次脚本。
+     * 适合页面就绪判断需要同时检查多个标志元素的场景。
+     *
+     * @param locators 元素定位器
+     * @return 每个定位器的第一个可见元素，顺序与参数一致
+     */
+    public static List<WebElement> waitForAll(By... locators) {
+        FrameContext.leaveElementPathFrames(currentWait().driver());
+        return currentWait().until(new VisibleLocators(VisibleLocators.Mode.ALL, locators));
+    }
+
+    /**
+     * 等待任意一个定位器出现可见元素，每次轮询只执行一次脚本。
+     *
+     * @param locators 元素定位器
+     * @return 条件满足时各定位器的结果（定位器 -> 第一个可见元素），只包含已可见的定位器，顺序与参数一致
+     */
+    public static Map<By, WebElement> waitForAny(By... locators) {
+        FrameContext.leaveElementPathFrames(currentWait().driver());
+        List<WebElement> found = currentWait().until(new VisibleLocators(VisibleLocators.Mode.ANY, locators));
+        Map<By, WebElement> result = new LinkedHashMap<>();
+        for (int i = 0; i < locators.length; i++) {
+            if (found.get(i) != null) {
+                result.put(locators[i], found.get(i));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 等待第一个出现可见元素的定位器，例如同时等待“成功提示”与“错误提示”，看哪个先出现。
+     * 同一次轮询中多个定位器同时可见时，按参数顺序取第一个。
+     *
+     * @param locators 元素定位器
+     * @return 先满足条件的定位器及其元素
+     */
+    public static LocatorMatch waitForFirst(By... locators) {
+        FrameContext.leaveElementPathFrames(currentWait().driver());
+        List<WebElement> found = currentWait().until(new VisibleLocators(VisibleLocators.Mode.ANY, locators));
+        for (int i = 0; i < locators.length; i++) {
+            if (found.get(i) != null) {
+                return new LocatorMatch(locators[i], found.get(i));
+            }
+        }
+        throw new IllegalStateException("等待条件已满足但没有可见元素：" + Arrays.toString(locators));
+    }
+
+    /**
+     * 等待元素出现在 DOM 中（不要求可见）。
+     *
+     * @param locator 元素定位器（By）
+     * @return 出现在 DOM 中的元素
+     */
+    public static WebElement waitUntilPresent(By locator) {
+        return untilLocated(locator, EventWait.Condition.PRESENT, LocatorLatencyHistory.keyOf(locator),
+                ExpectedConditions.presenceOfElementLocated(locator));
+    }
+
+    /**
+     * 等待元素从页面上消失（例如 loading 遮罩）。
+     *
+     * @param locator 需要等待消失的元素定位器
+     * @return true 表示元素已不可见或不存在；false 表示未在超时时间内消失
+     */
+    public static boolean waitUntilInvisible(By locator) {
+        return untilLocated(locator, EventWait.Condition.INVISIBLE, null,
+                ExpectedConditions.invisibilityOfElementLocated(locator));
+    }
+
+    /**
+     * 等待页面网络空闲：持续 networkIdleQuietMillis（默认 500ms）没有进行中的 fetch / XHR 请求。
+     * 整个等待只需一次异步脚本调用。
+     */
+    public static void waitUntilNetworkIdle() {
+        waitUntilNetworkIdle(networkIdleQuiet());
+    }
+
+    /**
+     * 等待页面网络空闲：持续 quiet 时长没有进行中的 fetch / XHR 请求。
+     *
+     * @param quiet 空闲窗口
+     */
+    public static void waitUntilNetworkIdle(Duration quiet) {
+        InFlightTracker.awaitQuiet(currentWait().driver(), quiet, WaitSettings.current().timeout(), false);
+    }
+
+    /**
+     * 等待单页应用就绪：文档解析完成、网络空闲，并且已排队的动画帧执行完毕。
+     * 适合替代 SPA 页面跳转后的固定等待。
+     */
+    public static void waitUntilAppReady() {
+        InFlightTracker.awaitQuiet(currentWait().driver(), networkIdleQuiet(), WaitSettings.current().timeout(), true);
+    }
+
+    private static Duration networkIdleQuiet() {
+        Integer quietMillis = ConfigManager.getConfig().getNetworkIdleQuietMillis();
+        return Duration.ofMillis(quietMillis != null ? quietMillis : 500);
+    }
+
+    /**
+     * 等待自定义条件成立，供组件（例如 Table 翻页）表达框架未内置的条件。
+     * 与其他等待共用当前线程缓存的等待实例（超时、退避、忽略的异常一致）。
+     *
+     * @param condition 等待条件，返回非 null 且不为 false 时视为成立
+     * @param <V>       条件返回值类型
+     * @return 条件成立时的返回值
+     */
+    public static <V> V waitUntil(Function<? super WebDriver, V> condition) {
+        return currentWait().until(condition);
+    }
+
+    /**
+     * 等待当前 URL 包含指定片段。
+     *
+     * @param fragment URL 中预期出现的子串，例如 "/home"、"/dashboard"
+     * @return true 表示条件满足；false 表示超时
+     */
+    public static boolean waitUntilUrlContains(String fragment) {
+        if (fragment == null || fragment.isBlank()) {
+            throw new IllegalArgumentException("URL 片段不能为空");
+        }
+        return currentWait().until(ExpectedConditions.urlContains(fragment));
+    }
+}
@@ -0,0 +1,42 @@
+package com.saltedfish.framework.wait;
+
+import com.saltedfish.framework.config.ConfigManager;
+
+/**
+ * 显式等待模式，通过配置文件中的 waitMode 字段选择。
+ */
+public enum WaitMode {
+
+    /**
+     * 轮询模式：按 BackoffWait 的节奏反复发送 WebDriver 命令检查条件（默认）。
+     */
+    POLLING,
+
+    /**
+     * 事件模式：By 定位器相关的等待通过注入 MutationObserver 在浏览器内等待，
+     * 条件成立时立即返回；无法在浏览器内表达的等待自动退回轮询模式。
+     */
+    EVENT;
+
+    /**
+     * 从字符串安全转换为 WaitMode 枚举。
+     *
+     * @param value 配置中的字符串，例如 "event" / "EVENT"
+     * @return 对应的模式，无法识别时返回 POLLING
+     */
+    public static WaitMode fromString(String value) {
+        if (value == null || value.isBlank()) {
+            return POLLING;
+        }
+        return "EVENT".equals(value.trim().toUpperCase()) ? EVENT : POLLING;
+    }
+
+    /**
+     * 读取当前配置中的等待模式。
+     *
+     * @return 当前模式
+     */
+    public static WaitMode current() {
+        return fromString(ConfigManager.getConfig().getWaitMode());
+    }
+}
@@ -0,0 +1,90 @@
+package com.saltedfish.framework.wait;
+
+import com.saltedfish.framework.config.ConfigManager;
+import com.saltedfish.framework.config.FrameworkConfig;
+import com.saltedfish.framework.utils.LogUtil;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 显式等待参数，从 FrameworkConfig 解析一次后缓存，避免每次等待都重新读取配置。
+ *
+ * @param timeout            显式等待超时时间
+ * @param initialPollingMillis 初始轮询间隔（毫秒）
+ * @param backoffMultiplier  每次轮询失败后的间隔倍数
+ * @param maxPollingMillis   轮询间隔上限（毫秒）
+ * @param ignoredExceptions  等待期间额外忽略的异常类型
+ */
+record WaitSettings(Duration timeout,
+                    long initialPollingMillis,
+                    double backoffMultiplier,
+                    long maxPollingMillis,
+                    List<Class<? extends Throwable>> ignoredExceptions) {
+
+    private static final String DEFAULT_IGNORED_EXCEPTION = "org.openqa.selenium.StaleElementReferenceException";
+
+    /**
+     * 获取当前配置对应的等待参数。
+     *
+     * @return 等待参数（首次调用时解析配置）
+     */
+    static WaitSettings current() {
+        return Holder.INSTANCE;
+    }
+
+    private static WaitSettings load() {
+        FrameworkConfig config = ConfigManager.getConfig();
+
+        int explicitWaitSec = config.getExplicitWaitSec() != null ? config.getExplicitWaitSec() : 10;
+        long initial = config.getWaitPollingMillis() != null ? config.getWaitPollingMillis() : 50;
+        double multiplier = config.getWaitBackoffMultiplier() != null ? config.getWaitBackoffMultiplier() : 1.5;
+        long max = config.getWaitMaxPollingMillis() != null ? config.getWaitMaxPollingMillis() : 500;
+
+        // 防御非法配置：间隔至少 1ms，倍数不小于 1，上限不小于初始间隔
+        initial = Math.max(1, initial);
+        multiplier = Math.max(1.0, multiplier);
+        max = Math.max(initial, max);
+
+        List<String> names = config.getWaitIgnoredExceptions() != null
+                ? config.getWaitIgnoredExceptions()
+                : List.of(DEFAULT_IGNORED_EXCEPTION);
+
+        WaitSettings settings = new WaitSettings(Duration.ofSeconds(explicitWaitSec), initial, multiplier, max,
+                resolveExceptions(names));
+        LogUtil.info("显式等待参数：超时 " + explicitWaitSec + " 秒，轮询 " + initial + "ms 起、×" + multiplier
+                + " 退避、上限 " + max + "ms，额外忽略异常 " + names);
+        return settings;
+    }
+
+    /**
+     * 把全限定类名解析为异常类型，无法识别的类名打印警告后跳过。
+     */
+    private static List<Class<? extends Throwable>> resolveExceptions(List<String> names) {
+        List<Class<? extends Throwable>> result = new ArrayList<>();
+        for (String name : names) {
+            if (name == null || name.isBlank()) {
+                continue;
+            }
+            try {
+                Class<?> type = Class.forName(name.trim());
+                if (Throwable.class.isAssignableFrom(type)) {
+                    result.add(type.asSubclass(Throwable.class));
+                } else {
+                    LogUtil.warn("waitIgnoredExceptions 中的类型不是异常类，已忽略：" + name);
+                }
+            } catch (ClassNotFoundException e) {
+                LogUtil.warn("waitIgnoredExceptions 中的异常类不存在，已忽略：" + name);
+            }
+        }
+        return List.copyOf(result);
+    }
+
+    /**
+     * 延迟加载持有者，首次访问时才读取配置。
+     */
+    private static final class Holder {
+        private static final WaitSettings INSTANCE = load();
+    }
+}
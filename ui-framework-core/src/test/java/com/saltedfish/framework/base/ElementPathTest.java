@@ -0,0 +1,152 @@
+package com.saltedfish.framework.base;
+
+import com.saltedfish.framework.driver.DriverManager;
+import com.saltedfish.framework.wait.WaitFactory;
+import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ElementPathTest 用记录 switchTo 调用的假 driver 验证 frame 上下文缓存，不需要浏览器：
+ *  - 等待目标元素出现期间不会反复完整切换 frame；
+ *  - ElementPath 留在 iframe 中后，顶层文档的 By 等待会先切回顶层文档，且只切换一次；
+ *  - 顶层页面跳转后不会在失效的 frame 链路中一直等到超时。
+ */
+public class ElementPathTest {
+
+    private static final ElementPath IN_FRAME = ElementPath.root().frame(By.id("frame")).element(By.id("target"));
+
+    private RecordingDriver recorder;
+
+    @BeforeMethod
+    public void bindDriver() {
+        recorder = new RecordingDriver();
+        DriverManager.setDriver(recorder.proxy());
+        FrameContext.reset();
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void unbindDriver() {
+        WaitFactory.clearCurrentWait();
+        FrameContext.reset();
+        DriverManager.setDriver(null);
+    }
+
+    @Test(description = "目标元素稍后才出现时，frame 只切换一次")
+    public void testPollingDoesNotReswitchFrames() {
+        recorder.targetAppearsAfter(3);
+
+        Assert.assertNotNull(IN_FRAME.waitUntilVisible());
+
+        Assert.assertEquals(recorder.calls("frame"), 1, recorder.log.toString());
+        Assert.assertEquals(recorder.calls("defaultContent"), 0, recorder.log.toString());
+    }
+
+    @Test(description = "顶层页面跳转后缓存的 frame 链路失效，等待中第一次找不到目标时从顶层文档重新切换")
+    public void testNavigationInvalidatesCachedFrames() {
+        recorder.targetAppearsAfter(0);
+        IN_FRAME.find();
+        recorder.navigated();
+
+        Assert.assertNotNull(IN_FRAME.waitUntilVisible());
+
+        Assert.assertEquals(recorder.calls("defaultContent"), 1, recorder.log.toString());
+        Assert.assertEquals(recorder.calls("frame"), 2, recorder.log.toString());
+    }
+
+    @Test(description = "ElementPath 之后的顶层 By 等待先切回顶层文档")
+    public void testTopLevelWaitLeavesFrame() {
+        recorder.targetAppearsAfter(0);
+        IN_FRAME.find();
+
+        WaitFactory.waitUntilVisible(By.id("top"));
+        WaitFactory.waitUntilVisible(By.id("top"));
+
+        Assert.assertEquals(recorder.calls("defaultContent"), 1, recorder.log.toString());
+    }
+
+    @Test(description = "没有经过 ElementPath 时不切换 frame")
+    public void testNoSwitchWithoutElementPath() {
+        WaitFactory.waitUntilVisible(By.id("top"));
+
+        Assert.assertEquals(recorder.calls("defaultContent"), 0, recorder.log.toString());
+    }
+
+    /**
+     * 记录 switchTo().frame / defaultContent 调用的假 driver；目标元素在前 N 次查找时不存在。
+     */
+    private static final class RecordingDriver {
+
+        private final List<String> log = new ArrayList<>();
+        private final AtomicInteger targetMisses = new AtomicInteger();
+
+        /**
+         * driver 当前是否在 iframe 中，目标元素只存在于 iframe 内。
+         */
+        private boolean inFrame;
+
+        private void targetAppearsAfter(int misses) {
+            targetMisses.set(misses);
+        }
+
+        /**
+         * 模拟顶层页面跳转：driver 回到新文档的顶层。
+         */
+        private void navigated() {
+            inFrame = false;
+        }
+
+        private int calls(String name) {
+            return (int) log.stream().filter(name::equals).count();
+        }
+
+        private WebDriver proxy() {
+            Object locator = Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[]{WebDriver.TargetLocator.class}, (proxy, method, args) -> {
+                        log.add(method.getName());
+                        inFrame = "frame".equals(method.getName());
+                        return null;
+                    });
+            return (WebDriver) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{WebDriver.class},
+                    (proxy, method, args) -> switch (method.getName()) {
+                        case "switchTo" -> locator;
+                        case "findElement" -> {
+                            if (missing((By) args[0])) {
+                                throw new NoSuchElementException("not yet: " + args[0]);
+                            }
+                            yield element();
+                        }
+                        case "findElements" -> missing((By) args[0]) ? List.of() : List.of(element());
+                        case "toString" -> "RecordingDriver";
+                        case "hashCode" -> System.identityHashCode(proxy);
+                        case "equals" -> proxy == args[0];
+                        default -> throw new UnsupportedOperationException(method.getName());
+                    });
+        }
+
+        private boolean missing(By by) {
+            return By.id("target").equals(by) && (!inFrame || targetMisses.getAndDecrement() > 0);
+        }
+
+        private WebElement element() {
+            return (WebElement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{WebElement.class},
+                    (proxy, method, args) -> switch (method.getName()) {
+                        case "isDisplayed", "isEnabled" -> true;
+                        case "toString" -> "StubElement";
+                        case "hashCode" -> System.identityHashCode(proxy);
+                        case "equals" -> proxy == args[0];
+                        default -> throw new UnsupportedOperationException(method.getName());
+                    });
+        }
+    }
+}
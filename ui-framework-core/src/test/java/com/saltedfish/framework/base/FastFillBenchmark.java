@@ -0,0 +1,99 @@
+package com.saltedfish.framework.base;
+
+import com.saltedfish.framework.driver.DriverManager;
+import com.saltedfish.framework.metrics.TimingStats;
+import com.saltedfish.framework.support.BrowserFixture;
+import com.saltedfish.framework.support.FixtureServer;
+import com.saltedfish.framework.support.MicroBenchmark;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * FastFillBenchmark 比较 fastFill 与逐个 type() 填写 30 个文本框的耗时，
+ * 并确认复选框、日期输入框退回逐个处理后结果正确，需要浏览器。
+ */
+@Test(groups = "benchmark")
+public class FastFillBenchmark {
+
+    private static final int FIELDS = 30;
+    private static final String VALUE = "The quick brown fox jumps over the lazy dog";
+
+    private FixtureServer server;
+
+    @BeforeClass
+    public void startFixture() throws IOException {
+        StringBuilder form = new StringBuilder("<html><body><form>");
+        for (int i = 0; i < FIELDS; i++) {
+            form.append("<input type=\"text\" name=\"f").append(i).append("\">");
+        }
+        form.append("<input type=\"checkbox\" name=\"agree\"><input type=\"date\" name=\"birthday\">");
+        form.append("</form></body></html>");
+        server = FixtureServer.start().page("/form.html", form.toString());
+        BrowserFixture.start();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopFixture() {
+        BrowserFixture.stop();
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    @Test(description = "30 个文本框：fastFill vs 逐个 type()")
+    public void benchmarkFill() {
+        FormPage page = new FormPage();
+        TimingStats typed = MicroBenchmark.run("逐个 type()", 1, 5, 1, () -> page.open().typeAll(page.textFields()));
+        TimingStats filled = MicroBenchmark.run("fastFill", 1, 5, 1, () -> page.open().fastFill(page.textFields()));
+        Assert.assertTrue(filled.percentile(50) < typed.percentile(50),
+                "fastFill 应快于逐个输入：" + filled.percentile(50) + "ns vs " + typed.percentile(50) + "ns");
+    }
+
+    @Test(description = "复选框与日期输入框退回逐个处理")
+    public void testManualTypesFallBack() {
+        FormPage page = new FormPage().open();
+        Map<WebElement, String> values = new LinkedHashMap<>(page.textFields());
+        values.put(page.field("agree"), "true");
+        values.put(page.field("birthday"), "2024-01-31");
+
+        page.fastFill(values);
+
+        Assert.assertTrue(page.field("agree").isSelected());
+        Assert.assertEquals(page.field("birthday").getDomProperty("value"), "2024-01-31");
+        Assert.assertEquals(page.field("f0").getDomProperty("value"), VALUE);
+    }
+
+    private final class FormPage extends BasePage {
+
+        private FormPage open() {
+            getDriver().get(server.url("/form.html"));
+            return this;
+        }
+
+        private WebElement field(String name) {
+            return getDriver().findElement(By.name(name));
+        }
+
+        private Map<WebElement, String> textFields() {
+            WebDriver driver = DriverManager.getDriver();
+            Map<WebElement, String> values = new LinkedHashMap<>();
+            for (int i = 0; i < FIELDS; i++) {
+                values.put(driver.findElement(By.name("f" + i)), VALUE);
+            }
+            return values;
+        }
+
+        private void typeAll(Map<WebElement, String> values) {
+            values.forEach(this::type);
+        }
+    }
+}
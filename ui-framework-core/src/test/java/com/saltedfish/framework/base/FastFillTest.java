@@ -0,0 +1,103 @@
+package com.saltedfish.framework.base;
+
+import com.saltedfish.framework.support.BrowserFixture;
+import com.saltedfish.framework.support.FixtureServer;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.WebElement;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * FastFillTest 用本地夹具页面验证 fastFill 的取值规则，需要浏览器：
+ *  - 下拉框按 option 的 value 匹配，找不到对应 option 时抛出异常，而不是清空选择；
+ *  - number / email 输入框拒绝或规整的值退回 type()，不会被静默丢弃。
+ */
+public class FastFillTest {
+
+    private static final String PAGE = """
+            <html>
+            <body>
+              <select name="city">
+                <option value="sh" selected>上海</option>
+                <option value="bj">北京</option>
+              </select>
+              <input type="number" name="age">
+              <input type="email" name="email">
+              <input type="text" name="name">
+              <script>
+                var changes = 0;
+                document.querySelector('select').addEventListener('change', function () { changes++; });
+              </script>
+            </body>
+            </html>
+            """;
+
+    private FixtureServer server;
+
+    @BeforeClass
+    public void startFixture() throws IOException {
+        server = FixtureServer.start().page("/fill.html", PAGE);
+        BrowserFixture.start();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopFixture() {
+        BrowserFixture.stop();
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    @Test(description = "下拉框按 option 的 value 选择")
+    public void testSelectByOptionValue() {
+        FillPage page = new FillPage().open();
+
+        page.fastFill(Map.of(page.field("city"), "bj", page.field("age"), "42"));
+
+        Assert.assertEquals(page.field("city").getDomProperty("value"), "bj");
+        Assert.assertEquals(page.field("age").getDomProperty("value"), "42");
+    }
+
+    @Test(description = "没有对应 option 的值（例如可见文本）抛出异常，原选择保持不变，也不触发 change")
+    public void testUnknownOptionFailsLoudly() {
+        FillPage page = new FillPage().open();
+
+        Assert.assertThrows(NoSuchElementException.class, () -> page.fastFill(Map.of(page.field("city"), "北京")));
+
+        Assert.assertEquals(page.field("city").getDomProperty("value"), "sh");
+        Assert.assertEquals(page.changes(), 0L);
+    }
+
+    @Test(description = "email 输入框规整掉的首尾空格走 type()，结果与真实输入一致")
+    public void testSanitizedValueFallsBackToTyping() {
+        FillPage page = new FillPage().open();
+
+        page.fastFill(Map.of(page.field("email"), " user@example.com", page.field("name"), "张三"));
+
+        Assert.assertEquals(page.field("email").getDomProperty("value"), "user@example.com");
+        Assert.assertEquals(page.field("name").getDomProperty("value"), "张三");
+    }
+
+    private final class FillPage extends BasePage {
+
+        private FillPage open() {
+            getDriver().get(server.url("/fill.html"));
+            return this;
+        }
+
+        private WebElement field(String name) {
+            return getDriver().findElement(By.name(name));
+        }
+
+        private Object changes() {
+            return ((JavascriptExecutor) getDriver()).executeScript("return changes;");
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.saltedfish.framework.base;
+
+import com.saltedfish.framework.metrics.TimingStats;
+import com.saltedfish.framework.support.MicroBenchmark;
+import com.saltedfish.framework.support.StubDriver;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.FindBy;
+import org.openqa.selenium.support.PageFactory;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+/**
+ * PageBinderBenchmark 比较 PageBinder.bind 与 PageFactory.initElements 绑定一个 20 字段页面的耗时，不需要浏览器。
+ * 两者都只创建代理、不发送命令，差异来自 PageBinder 按页面类缓存了字段与定位器的解析结果。
+ */
+@Test(groups = "benchmark")
+public class PageBinderBenchmark {
+
+    @Test(description = "构造页面对象：PageBinder vs PageFactory")
+    public void benchmarkBind() {
+        WebDriver driver = StubDriver.create();
+        TimingStats factory = MicroBenchmark.run("PageFactory.initElements", 2_000, 50, 200,
+                () -> PageFactory.initElements(driver, new WidePage()));
+        TimingStats binder = MicroBenchmark.run("PageBinder.bind", 2_000, 50, 200,
+                () -> PageBinder.bind(new WidePage(), driver, "WidePage"));
+        Assert.assertTrue(binder.percentile(50) < factory.percentile(50),
+                "PageBinder 应快于 PageFactory：" + binder.percentile(50) + "ns vs " + factory.percentile(50) + "ns");
+    }
+
+    static class WidePage {
+        @FindBy(id = "f01") WebElement f01;
+        @FindBy(id = "f02") WebElement f02;
+        @FindBy(id = "f03") WebElement f03;
+        @FindBy(id = "f04") WebElement f04;
+        @FindBy(id = "f05") WebElement f05;
+        @FindBy(css = "#f06 input") WebElement f06;
+        @FindBy(css = "#f07 input") WebElement f07;
+        @FindBy(css = "#f08 input") WebElement f08;
+        @FindBy(css = "#f09 input") WebElement f09;
+        @FindBy(css = "#f10 input") WebElement f10;
+        @FindBy(xpath = "//div[@id='f11']") WebElement f11;
+        @FindBy(xpath = "//div[@id='f12']") WebElement f12;
+        @FindBy(xpath = "//div[@id='f13']") WebElement f13;
+        @FindBy(xpath = "//div[@id='f14']") WebElement f14;
+        @FindBy(xpath = "//div[@id='f15']") WebElement f15;
+        @FindBy(name = "f16") WebElement f16;
+        @FindBy(name = "f17") WebElement f17;
+        @FindBy(name = "f18") WebElement f18;
+        @FindBy(className = "row") List<WebElement> rows;
+        @FindBy(className = "cell") List<WebElement> cells;
+    }
+}
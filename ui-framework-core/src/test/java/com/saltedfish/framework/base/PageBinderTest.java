@@ -0,0 +1,145 @@
+package com.saltedfish.framework.base;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.CacheLookup;
+import org.openqa.selenium.support.FindBy;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * PageBinderTest 用计数的查找上下文验证字段绑定、元素缓存、失效重试与 @CacheLookup 列表缓存，不需要浏览器。
+ */
+public class PageBinderTest {
+
+    @Test(description = "单个元素定位一次后复用")
+    public void testElementLocatedOnce() {
+        CountingContext context = new CountingContext();
+        SamplePage page = new SamplePage();
+        PageBinder.bind(page, context, "SamplePage");
+
+        Assert.assertEquals(page.title.getText(), "title");
+        Assert.assertEquals(page.title.getText(), "title");
+        Assert.assertEquals(context.finds("title"), 1);
+    }
+
+    @Test(description = "缓存元素失效时重新定位并重试一次")
+    public void testStaleElementRelocated() {
+        CountingContext context = new CountingContext();
+        SamplePage page = new SamplePage();
+        PageBinder.bind(page, context, "SamplePage");
+
+        page.title.getText();
+        context.staleOnce("title");
+
+        Assert.assertEquals(page.title.getText(), "title");
+        Assert.assertEquals(context.finds("title"), 2);
+    }
+
+    @Test(description = "列表默认每次重新定位，标注 @CacheLookup 后只定位一次")
+    public void testListCachedOnlyWithCacheLookup() {
+        CountingContext context = new CountingContext();
+        SamplePage page = new SamplePage();
+        PageBinder.bind(page, context, "SamplePage");
+
+        page.rows.size();
+        page.rows.size();
+        page.menu.size();
+        page.menu.size();
+
+        Assert.assertEquals(context.finds("row"), 2);
+        Assert.assertEquals(context.finds("menu"), 1);
+    }
+
+    @Test(description = "静态与 final 字段不绑定，父类字段一并绑定")
+    public void testFieldRules() {
+        SubPage page = new SubPage();
+        PageBinder.bind(page, new CountingContext(), "SubPage");
+
+        Assert.assertNotNull(page.title);
+        Assert.assertNotNull(page.footer);
+        Assert.assertNull(SamplePage.ignored);
+    }
+
+    static class SamplePage {
+        static WebElement ignored;
+
+        @FindBy(id = "title")
+        WebElement title;
+
+        @FindBy(className = "row")
+        List<WebElement> rows;
+
+        @CacheLookup
+        @FindBy(className = "menu")
+        List<WebElement> menu;
+    }
+
+    static class SubPage extends SamplePage {
+        @FindBy(id = "footer")
+        WebElement footer;
+    }
+
+    /**
+     * 按定位值计数的查找上下文，返回的元素只支持 getText。
+     */
+    private static final class CountingContext implements SearchContext {
+
+        private final Map<String, Integer> finds = new HashMap<>();
+        private final List<String> stale = new ArrayList<>();
+
+        @Override
+        public WebElement findElement(By by) {
+            String key = keyOf(by);
+            finds.merge(key, 1, Integer::sum);
+            boolean[] expired = {false};
+            return (WebElement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{WebElement.class},
+                    (proxy, method, args) -> {
+                        if (stale.remove(key)) {
+                            expired[0] = true;
+                        }
+                        if (expired[0]) {
+                            throw new StaleElementReferenceException("stale: " + key);
+                        }
+                        return switch (method.getName()) {
+                            case "getText" -> key;
+                            case "hashCode" -> System.identityHashCode(proxy);
+                            default -> throw new UnsupportedOperationException(method.getName());
+                        };
+                    });
+        }
+
+        @Override
+        public List<WebElement> findElements(By by) {
+            finds.merge(keyOf(by), 1, Integer::sum);
+            return List.of(findElementUncounted(by), findElementUncounted(by));
+        }
+
+        private WebElement findElementUncounted(By by) {
+            WebElement element = findElement(by);
+            finds.merge(keyOf(by), -1, Integer::sum);
+            return element;
+        }
+
+        private void staleOnce(String key) {
+            stale.add(key);
+        }
+
+        private int finds(String key) {
+            return finds.getOrDefault(key, 0);
+        }
+
+        private static String keyOf(By by) {
+            String text = by.toString();
+            return text.substring(text.indexOf(':') + 1).trim();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.saltedfish.framework.components;
+
+import com.saltedfish.framework.driver.DriverManager;
+import com.saltedfish.framework.metrics.TimingStats;
+import com.saltedfish.framework.support.BrowserFixture;
+import com.saltedfish.framework.support.FixtureServer;
+import com.saltedfish.framework.support.MicroBenchmark;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.Select;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+
+/**
+ * DropdownBenchmark 在 10000 个选项的下拉框上比较 Dropdown 与 Selenium Select 的耗时，需要浏览器。
+ */
+@Test(groups = "benchmark")
+public class DropdownBenchmark {
+
+    private static final int OPTIONS = 10_000;
+    private static final String LAST = "选项 " + (OPTIONS - 1);
+
+    private FixtureServer server;
+
+    @BeforeClass
+    public void startFixture() throws IOException {
+        StringBuilder page = new StringBuilder("<html><body><select id=\"big\">");
+        for (int i = 0; i < OPTIONS; i++) {
+            page.append("<option value=\"v").append(i).append("\">选项 ").append(i).append("</option>");
+        }
+        page.append("</select></body></html>");
+        server = FixtureServer.start().page("/big.html", page.toString());
+        BrowserFixture.start();
+        DriverManager.getDriver().get(server.url("/big.html"));
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopFixture() {
+        BrowserFixture.stop();
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    @Test(description = "按文本选择最后一个选项：Dropdown vs Select")
+    public void benchmarkSelectLast() {
+        WebDriver driver = DriverManager.getDriver();
+        TimingStats select = MicroBenchmark.run("Select.selectByVisibleText", 1, 5, 1,
+                () -> new Select(driver.findElement(By.id("big"))).selectByVisibleText(LAST));
+        TimingStats dropdown = MicroBenchmark.run("Dropdown.selectByVisibleText", 1, 5, 1,
+                () -> new Dropdown(driver.findElement(By.id("big"))).selectByVisibleText(LAST));
+        Assert.assertEquals(new Dropdown(driver.findElement(By.id("big"))).getSelectedText(), LAST);
+        Assert.assertTrue(dropdown.percentile(50) < select.percentile(50),
+                "Dropdown 应快于 Select：" + dropdown.percentile(50) + "ns vs " + select.percentile(50) + "ns");
+    }
+
+    @Test(description = "读取全部选项：Dropdown 一次脚本调用")
+    public void benchmarkGetOptions() {
+        WebDriver driver = DriverManager.getDriver();
+        MicroBenchmark.run("Dropdown.getOptions", 1, 5, 1,
+                () -> Assert.assertEquals(new Dropdown(driver.findElement(By.id("big"))).getOptions().size(), OPTIONS));
+    }
+}
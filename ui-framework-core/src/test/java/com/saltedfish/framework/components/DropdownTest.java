@@ -0,0 +1,92 @@
+package com.saltedfish.framework.components;
+
+import com.saltedfish.framework.driver.DriverManager;
+import com.saltedfish.framework.support.BrowserFixture;
+import com.saltedfish.framework.support.FixtureServer;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+
+/**
+ * DropdownTest 用本地夹具页面验证多选时“先校验后修改”：任何一个值无效时下拉框保持原状，需要浏览器。
+ */
+public class DropdownTest {
+
+    private static final String PAGE = """
+            <html>
+            <body>
+              <select id="multi" multiple>
+                <option value="a">A</option>
+                <option value="b">B</option>
+                <option value="c" disabled>C</option>
+              </select>
+              <script>
+                window.changes = 0;
+                document.getElementById('multi').addEventListener('change', function () { window.changes++; });
+              </script>
+            </body>
+            </html>
+            """;
+
+    private FixtureServer server;
+
+    @BeforeClass
+    public void startFixture() throws IOException {
+        server = FixtureServer.start().page("/multi.html", PAGE);
+        BrowserFixture.start();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopFixture() {
+        BrowserFixture.stop();
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    @BeforeMethod
+    public void openFixture() {
+        DriverManager.getDriver().get(server.url("/multi.html"));
+    }
+
+    @Test(description = "有一个值找不到时不选中任何选项")
+    public void testMissingValueLeavesSelectionUnchanged() {
+        Assert.assertThrows(NoSuchElementException.class, () -> dropdown().selectByValues("a", "missing"));
+
+        Assert.assertTrue(dropdown().getOptions().stream().noneMatch(Dropdown.Option::selected));
+        Assert.assertEquals(changes(), 0L);
+    }
+
+    @Test(description = "有一个选项被禁用时不选中任何选项")
+    public void testDisabledValueLeavesSelectionUnchanged() {
+        Assert.assertThrows(UnsupportedOperationException.class, () -> dropdown().selectByVisibleTexts("A", "C"));
+
+        Assert.assertTrue(dropdown().getOptions().stream().noneMatch(Dropdown.Option::selected));
+        Assert.assertEquals(changes(), 0L);
+    }
+
+    @Test(description = "全部有效时一次选中并只触发一次 change")
+    public void testValidValuesSelectedTogether() {
+        dropdown().selectByValues("a", "b");
+
+        Assert.assertEquals(dropdown().getOptions().stream().filter(Dropdown.Option::selected).count(), 2L);
+        Assert.assertEquals(changes(), 1L);
+    }
+
+    private Dropdown dropdown() {
+        return new Dropdown(DriverManager.getDriver().findElement(By.id("multi")));
+    }
+
+    private long changes() {
+        WebDriver driver = DriverManager.getDriver();
+        return ((Number) ((JavascriptExecutor) driver).executeScript("return window.changes;")).longValue();
+    }
+}
@@ -0,0 +1,72 @@
+package com.saltedfish.framework.components;
+
+import com.saltedfish.framework.driver.DriverManager;
+import com.saltedfish.framework.support.BrowserFixture;
+import com.saltedfish.framework.support.FixtureServer;
+import org.openqa.selenium.By;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * TableTest 用本地夹具页面验证分页读取：翻页时表格先清空、再整体替换为新的表格元素，需要浏览器。
+ */
+public class TableTest {
+
+    private static final String PAGE = """
+            <html>
+            <body>
+              <div id="host"></div>
+              <button id="next">下一页</button>
+              <script>
+                var pages = [['A1', 'A2', 'A3'], ['B1', 'B2'], ['C1']], current = 0;
+                function render() {
+                  var rows = pages[current].map(function (id) { return '<tr><td>' + id + '</td></tr>'; }).join('');
+                  document.getElementById('host').innerHTML =
+                      '<table id="grid"><thead><tr><th>编号</th></tr></thead><tbody>' + rows + '</tbody></table>';
+                  document.getElementById('next').disabled = current === pages.length - 1;
+                }
+                document.getElementById('next').addEventListener('click', function () {
+                  current++;
+                  document.querySelector('#grid tbody').innerHTML = '';
+                  setTimeout(render, 300);
+                });
+                render();
+              </script>
+            </body>
+            </html>
+            """;
+
+    private FixtureServer server;
+
+    @BeforeClass
+    public void startFixture() throws IOException {
+        server = FixtureServer.start().page("/table.html", PAGE);
+        BrowserFixture.start();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopFixture() {
+        BrowserFixture.stop();
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    @Test(description = "翻页后等待新页面渲染，并在表格被整体替换后重新定位")
+    public void testReadsAllPagesAcrossRerender() {
+        DriverManager.getDriver().get(server.url("/table.html"));
+
+        List<String> ids = new Table(By.id("grid"))
+                .paginatedBy(By.id("next"))
+                .withChunkSize(2)
+                .rows(row -> row.get("编号"))
+                .toList();
+
+        Assert.assertEquals(ids, List.of("A1", "A2", "A3", "B1", "B2", "C1"));
+    }
+}
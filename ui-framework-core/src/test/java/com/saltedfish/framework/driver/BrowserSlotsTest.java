@@ -0,0 +1,63 @@
+package com.saltedfish.framework.driver;
+
+import com.saltedfish.framework.config.ConfigManager;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * BrowserSlotsTest 验证许可上限与等待时间的累计，不需要浏览器。
+ */
+public class BrowserSlotsTest {
+
+    private Integer originalLimit;
+
+    @BeforeMethod
+    public void limitToOne() {
+        originalLimit = ConfigManager.getConfig().getMaxBrowsersPerType();
+        ConfigManager.getConfig().setMaxBrowsersPerType(1);
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void restoreLimit() {
+        BrowserSlots.release();
+        BrowserSlots.takeWaitedMillis();
+        ConfigManager.getConfig().setMaxBrowsersPerType(originalLimit);
+    }
+
+    @Test(description = "未阻塞时等待时间为 0")
+    public void testNoWaitWhenSlotFree() {
+        BrowserSlots.acquire(DriverType.FIREFOX);
+
+        Assert.assertEquals(BrowserSlots.takeWaitedMillis(), 0);
+    }
+
+    @Test(description = "阻塞等待的时间记在等待的线程上，读取后清零")
+    public void testWaitedTimeRecordedPerThread() throws InterruptedException {
+        BrowserSlots.acquire(DriverType.FIREFOX);
+
+        CountDownLatch done = new CountDownLatch(1);
+        AtomicLong waited = new AtomicLong(-1);
+        AtomicLong second = new AtomicLong(-1);
+        Thread other = new Thread(() -> {
+            BrowserSlots.acquire(DriverType.FIREFOX);
+            waited.set(BrowserSlots.takeWaitedMillis());
+            second.set(BrowserSlots.takeWaitedMillis());
+            BrowserSlots.release();
+            done.countDown();
+        });
+        other.start();
+        Thread.sleep(300);
+        BrowserSlots.release();
+
+        Assert.assertTrue(done.await(5, TimeUnit.SECONDS));
+        Assert.assertTrue(waited.get() >= 200, "等待时间：" + waited.get());
+        Assert.assertEquals(second.get(), 0);
+        Assert.assertEquals(BrowserSlots.takeWaitedMillis(), 0, "持有许可的线程没有等待");
+    }
+}
@@ -0,0 +1,203 @@
+package com.saltedfish.framework.driver;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.saltedfish.framework.config.ConfigManager;
+import com.saltedfish.framework.config.FrameworkConfig;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * DriverBinaryCacheTest 针对临时缓存文件验证 key 格式、校验和、有效期、失效与并发解析，不调用 Selenium Manager。
+ * 当前 JVM 内的校验结果按 key 缓存，每个用例使用不同的浏览器版本，互不影响。
+ */
+public class DriverBinaryCacheTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private Path dir;
+    private Path cacheFile;
+    private Path driverFile;
+    private String originalCacheFile;
+    private Integer originalTtl;
+
+    @BeforeMethod
+    public void useTempCache() throws IOException {
+        dir = Files.createTempDirectory("driver-cache");
+        cacheFile = dir.resolve("driver-cache.json");
+        driverFile = dir.resolve("chromedriver");
+        Files.writeString(driverFile, "driver v1");
+        FrameworkConfig config = ConfigManager.getConfig();
+        originalCacheFile = config.getDriverCacheFile();
+        originalTtl = config.getDriverCacheTtlHours();
+        config.setDriverCacheFile(cacheFile.toString());
+        config.setDriverCacheTtlHours(24);
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void restore() throws IOException {
+        FrameworkConfig config = ConfigManager.getConfig();
+        config.setDriverCacheFile(originalCacheFile);
+        config.setDriverCacheTtlHours(originalTtl);
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Test(description = "key 由浏览器类型、版本（未指定时为 default）与操作系统/架构组成")
+    public void testCacheKeyFormat() {
+        String platform = System.getProperty("os.name") + "/" + System.getProperty("os.arch");
+
+        Assert.assertEquals(DriverBinaryCache.cacheKey(DriverType.CHROME, new ChromeOptions()),
+                "CHROME|default|" + platform);
+        Assert.assertEquals(DriverBinaryCache.cacheKey(DriverType.EDGE, options("126")), "EDGE|126|" + platform);
+    }
+
+    @Test(description = "缓存项有效时直接命中，不再解析")
+    public void testValidEntryHit() throws IOException {
+        ChromeOptions options = options("hit-" + UUID.randomUUID());
+        DriverBinaryCache.CachedBinary cached = entry(System.currentTimeMillis());
+        writeCache(Map.of(DriverBinaryCache.cacheKey(DriverType.CHROME, options), cached));
+        CountingResolver resolver = new CountingResolver();
+
+        Assert.assertEquals(DriverBinaryCache.resolve(DriverType.CHROME, options, resolver), cached);
+        Assert.assertEquals(resolver.calls.get(), 0);
+    }
+
+    @Test(description = "驱动文件被替换（校验和不一致）时重新解析并写回缓存文件")
+    public void testChecksumMismatchResolvesAgain() throws IOException {
+        ChromeOptions options = options("sha-" + UUID.randomUUID());
+        String key = DriverBinaryCache.cacheKey(DriverType.CHROME, options);
+        writeCache(Map.of(key, entry(System.currentTimeMillis())));
+        Files.writeString(driverFile, "driver v2");
+        CountingResolver resolver = new CountingResolver();
+
+        DriverBinaryCache.CachedBinary resolved = DriverBinaryCache.resolve(DriverType.CHROME, options, resolver);
+
+        Assert.assertEquals(resolver.calls.get(), 1);
+        Assert.assertEquals(readCache().get(key), resolved);
+        Assert.assertEquals(resolved.sha256(), DriverBinaryCache.sha256(driverFile));
+    }
+
+    @Test(description = "超过有效期的缓存项重新解析")
+    public void testExpiredEntryResolvesAgain() throws IOException {
+        ChromeOptions options = options("ttl-" + UUID.randomUUID());
+        writeCache(Map.of(DriverBinaryCache.cacheKey(DriverType.CHROME, options),
+                entry(System.currentTimeMillis() - 25 * 3600_000L)));
+        CountingResolver resolver = new CountingResolver();
+
+        DriverBinaryCache.resolve(DriverType.CHROME, options, resolver);
+
+        Assert.assertEquals(resolver.calls.get(), 1);
+    }
+
+    @Test(description = "损坏的缓存文件被重新生成，加锁写入后通过原子替换落盘")
+    public void testMissingDriverAndCorruptFile() throws IOException {
+        ChromeOptions options = options("corrupt-" + UUID.randomUUID());
+        String key = DriverBinaryCache.cacheKey(DriverType.CHROME, options);
+        Files.writeString(cacheFile, "{not json");
+        CountingResolver resolver = new CountingResolver();
+
+        DriverBinaryCache.resolve(DriverType.CHROME, options, resolver);
+
+        Assert.assertEquals(resolver.calls.get(), 1);
+        Assert.assertTrue(readCache().containsKey(key));
+        // 原子替换后不留下临时文件
+        Assert.assertFalse(Files.exists(dir.resolve("driver-cache.json.tmp")));
+        Assert.assertTrue(Files.exists(dir.resolve("driver-cache.json.lock")));
+    }
+
+    @Test(description = "invalidate 同时清除 JVM 内的结果与缓存文件中的条目，其他条目保留")
+    public void testInvalidate() throws IOException {
+        ChromeOptions options = options("invalidate-" + UUID.randomUUID());
+        writeCache(Map.of("OTHER|1|x", entry(System.currentTimeMillis())));
+        CountingResolver resolver = new CountingResolver();
+        DriverBinaryCache.resolve(DriverType.CHROME, options, resolver);
+
+        Assert.assertTrue(DriverBinaryCache.invalidate(DriverType.CHROME, options));
+
+        Assert.assertEquals(readCache().keySet(), Set.of("OTHER|1|x"));
+        DriverBinaryCache.resolve(DriverType.CHROME, options, resolver);
+        Assert.assertEquals(resolver.calls.get(), 2);
+    }
+
+    @Test(description = "多个线程同时解析同一个 key 时只解析一次")
+    public void testConcurrentResolveOnce() throws InterruptedException {
+        ChromeOptions options = options("concurrent-" + UUID.randomUUID());
+        CountingResolver resolver = new CountingResolver();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                DriverBinaryCache.resolve(DriverType.CHROME, options, resolver);
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join(5_000);
+        }
+
+        Assert.assertEquals(resolver.calls.get(), 1);
+    }
+
+    private static ChromeOptions options(String version) {
+        ChromeOptions options = new ChromeOptions();
+        options.setBrowserVersion(version);
+        return options;
+    }
+
+    private DriverBinaryCache.CachedBinary entry(long resolvedAt) {
+        return new DriverBinaryCache.CachedBinary(driverFile.toString(), null, DriverBinaryCache.sha256(driverFile),
+                resolvedAt);
+    }
+
+    private void writeCache(Map<String, DriverBinaryCache.CachedBinary> entries) throws IOException {
+        MAPPER.writeValue(cacheFile.toFile(), entries);
+    }
+
+    private Map<String, DriverBinaryCache.CachedBinary> readCache() throws IOException {
+        return MAPPER.readValue(cacheFile.toFile(), new TypeReference<HashMap<String, DriverBinaryCache.CachedBinary>>() {
+        });
+    }
+
+    /**
+     * 模拟 Selenium Manager：按驱动文件当前内容生成解析结果，并记录调用次数。
+     */
+    private final class CountingResolver implements Supplier<DriverBinaryCache.CachedBinary> {
+
+        private final AtomicInteger calls = new AtomicInteger();
+
+        @Override
+        public DriverBinaryCache.CachedBinary get() {
+            calls.incrementAndGet();
+            return entry(System.currentTimeMillis());
+        }
+    }
+}
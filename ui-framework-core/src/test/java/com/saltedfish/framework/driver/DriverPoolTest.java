@@ -0,0 +1,238 @@
+package com.saltedfish.framework.driver;
+
+import com.saltedfish.framework.config.ConfigManager;
+import com.saltedfish.framework.config.FrameworkConfig;
+import com.saltedfish.framework.support.StubDriver;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.HasCdp;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * DriverPoolTest 使用 StubDriver 模拟浏览器，验证租用 / 归还、最大租用次数、空闲回收、健康检查与状态重置。
+ */
+public class DriverPoolTest {
+
+    private Integer originalMaxSize;
+    private Integer originalMaxIdleSec;
+    private Integer originalMaxUses;
+
+    private final List<FakeBrowser> created = new ArrayList<>();
+
+    @BeforeMethod
+    public void saveConfig() {
+        FrameworkConfig config = ConfigManager.getConfig();
+        originalMaxSize = config.getDriverPoolMaxSize();
+        originalMaxIdleSec = config.getDriverPoolMaxIdleSec();
+        originalMaxUses = config.getDriverPoolMaxUsesPerSession();
+        config.setDriverPoolMaxSize(2);
+        config.setDriverPoolMaxIdleSec(300);
+        config.setDriverPoolMaxUsesPerSession(20);
+        created.clear();
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void restoreConfig() {
+        DriverPool.shutdown();
+        FrameworkConfig config = ConfigManager.getConfig();
+        config.setDriverPoolMaxSize(originalMaxSize);
+        config.setDriverPoolMaxIdleSec(originalMaxIdleSec);
+        config.setDriverPoolMaxUsesPerSession(originalMaxUses);
+    }
+
+    @Test(description = "归还后再次租用复用同一个会话，归还时重置窗口与 Cookie")
+    public void testReleasedSessionIsReused() {
+        WebDriver first = lease();
+        FakeBrowser browser = created.get(0);
+        browser.windows.add("popup");
+
+        Assert.assertTrue(DriverPool.isLeased(first));
+        Assert.assertTrue(DriverPool.release(first));
+        Assert.assertFalse(DriverPool.isLeased(first));
+        WebDriver second = lease();
+
+        Assert.assertSame(second, first);
+        Assert.assertEquals(created.size(), 1);
+        Assert.assertEquals(browser.windows.size(), 1, "只剩一个新的空白标签页：" + browser.windows);
+        Assert.assertFalse(browser.windows.contains("main"));
+        Assert.assertTrue(browser.calls.contains("deleteAllCookies"));
+        Assert.assertEquals(browser.quits.get(), 0);
+    }
+
+    @Test(description = "不是池中租出的 driver 归还时返回 false，由调用方自行退出")
+    public void testReleaseOfForeignDriverIgnored() {
+        Assert.assertFalse(DriverPool.release(new FakeBrowser(false).driver));
+    }
+
+    @Test(description = "达到最大租用次数的会话在归还时退出")
+    public void testMaxUsesRecyclesSession() {
+        ConfigManager.getConfig().setDriverPoolMaxUsesPerSession(2);
+
+        WebDriver driver = lease();
+        DriverPool.release(driver);
+        Assert.assertSame(lease(), driver);
+        DriverPool.release(driver);
+
+        Assert.assertEquals(created.get(0).quits.get(), 1);
+        Assert.assertNotSame(lease(), driver);
+        Assert.assertEquals(created.size(), 2);
+    }
+
+    @Test(description = "超过最大空闲时间的会话在下次租用时被回收，改为新建")
+    public void testIdleSessionEvicted() throws InterruptedException {
+        ConfigManager.getConfig().setDriverPoolMaxIdleSec(0);
+
+        WebDriver driver = lease();
+        DriverPool.release(driver);
+        Thread.sleep(20);
+
+        Assert.assertNotSame(lease(), driver);
+        FakeBrowser evicted = created.get(0);
+        // 过期会话在后台线程中退出
+        long deadline = System.currentTimeMillis() + 2_000;
+        while (evicted.quits.get() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Assert.assertEquals(evicted.quits.get(), 1);
+    }
+
+    @Test(description = "健康检查失败的空闲会话被丢弃，改为新建")
+    public void testUnhealthySessionDiscarded() {
+        WebDriver driver = lease();
+        DriverPool.release(driver);
+        created.get(0).healthy = false;
+
+        Assert.assertNotSame(lease(), driver);
+        Assert.assertEquals(created.get(0).quits.get(), 1);
+        Assert.assertEquals(created.size(), 2);
+    }
+
+    @Test(description = "Chromium 系按本次租用访问过的所有源清理存储，而不只是当前源")
+    public void testChromiumClearsEveryVisitedOrigin() {
+        WebDriver driver = DriverPool.lease(DriverType.CHROME, type -> track(new FakeBrowser(true)));
+        FakeBrowser browser = created.get(0);
+        browser.history.addAll(List.of("about:blank", "https://sso.example.com/login?next=app",
+                "https://app.example.com:8443/home", "https://app.example.com:8443/orders"));
+        browser.cookieDomains.add(".tracker.example.net");
+
+        DriverPool.release(driver);
+
+        Assert.assertEquals(browser.clearedOrigins, List.of("https://sso.example.com", "https://app.example.com:8443",
+                "https://tracker.example.net", "http://tracker.example.net"));
+        Assert.assertTrue(browser.calls.contains("Network.clearBrowserCookies"));
+        Assert.assertFalse(browser.calls.contains("deleteAllCookies"));
+    }
+
+    @Test(description = "重置失败的会话不放回池中")
+    public void testResetFailureDestroysSession() {
+        WebDriver driver = lease();
+        created.get(0).failScripts = true;
+
+        Assert.assertTrue(DriverPool.release(driver));
+
+        Assert.assertEquals(created.get(0).quits.get(), 1);
+        Assert.assertNotSame(lease(), driver);
+    }
+
+    private WebDriver lease() {
+        return DriverPool.lease(DriverType.FIREFOX, type -> track(new FakeBrowser(false)));
+    }
+
+    private WebDriver track(FakeBrowser browser) {
+        created.add(browser);
+        return browser.driver;
+    }
+
+    /**
+     * 记录调用的模拟浏览器：维护窗口列表、浏览历史与 Cookie 域，chromium 为 true 时实现 HasCdp。
+     */
+    private static final class FakeBrowser {
+
+        private final WebDriver driver;
+        private final List<String> windows = new ArrayList<>(List.of("main"));
+        private final List<String> history = new ArrayList<>();
+        private final List<String> cookieDomains = new ArrayList<>();
+        private final List<String> clearedOrigins = new ArrayList<>();
+        private final List<String> calls = new CopyOnWriteArrayList<>();
+        private final AtomicInteger quits = new AtomicInteger();
+        private String current = "main";
+        private int opened;
+        private volatile boolean healthy = true;
+        private volatile boolean failScripts;
+
+        private FakeBrowser(boolean chromium) {
+            Class<?>[] extra = chromium
+                    ? new Class<?>[]{JavascriptExecutor.class, HasCdp.class}
+                    : new Class<?>[]{JavascriptExecutor.class};
+            driver = StubDriver.create(this::answer, extra);
+        }
+
+        private Object answer(String method, Object[] args) {
+            calls.add(method);
+            return switch (method) {
+                case "getWindowHandles" -> {
+                    if (!healthy) {
+                        throw new WebDriverException("session deleted");
+                    }
+                    yield new LinkedHashSet<>(windows);
+                }
+                case "getWindowHandle" -> current;
+                case "switchTo" -> StubDriver.stub(WebDriver.TargetLocator.class, this::switchTo);
+                case "manage" -> StubDriver.stub(WebDriver.Options.class, (name, ignored) -> {
+                    calls.add(name);
+                    return null;
+                });
+                case "close" -> windows.remove(current);
+                case "executeScript" -> {
+                    if (failScripts) {
+                        throw new WebDriverException("script failed");
+                    }
+                    yield null;
+                }
+                case "executeCdpCommand" -> cdp((String) args[0], args[1]);
+                case "quit" -> quits.incrementAndGet();
+                default -> throw new UnsupportedOperationException(method);
+            };
+        }
+
+        private Object switchTo(String method, Object[] args) {
+            switch (method) {
+                case "window" -> current = (String) args[0];
+                case "newWindow" -> {
+                    current = "tab-" + ++opened;
+                    windows.add(current);
+                }
+                case "defaultContent" -> {
+                }
+                default -> throw new UnsupportedOperationException(method);
+            }
+            return driver;
+        }
+
+        private Map<String, Object> cdp(String command, Object params) {
+            calls.add(command);
+            return switch (command) {
+                case "Page.getNavigationHistory" -> Map.of("entries",
+                        history.stream().map(url -> Map.of("url", url)).toList());
+                case "Network.getAllCookies" -> Map.of("cookies",
+                        cookieDomains.stream().map(domain -> Map.of("domain", domain)).toList());
+                case "Storage.clearDataForOrigin" -> {
+                    clearedOrigins.add(String.valueOf(((Map<?, ?>) params).get("origin")));
+                    yield Map.of();
+                }
+                default -> Map.of();
+            };
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.saltedfish.framework.metrics;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * LatencyHistogramTest 验证直方图的分桶、分位数上界与并发计数。
+ */
+public class LatencyHistogramTest {
+
+    @Test(description = "没有样本时各项统计为 0")
+    public void testEmpty() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        Assert.assertEquals(histogram.count(), 0);
+        Assert.assertEquals(histogram.percentile(95), 0);
+        Assert.assertEquals(histogram.toString(), "n=0 total=0ms avg=0ms p50≤0ms p95≤0ms max=0ms");
+    }
+
+    @Test(description = "分位数取所在桶的上界，且不超过最大值")
+    public void testPercentileUsesBucketUpperBound() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long millis : new long[]{1, 2, 3, 100}) {
+            histogram.record(millis);
+        }
+
+        Assert.assertEquals(histogram.count(), 4);
+        Assert.assertEquals(histogram.totalMillis(), 106);
+        Assert.assertEquals(histogram.percentile(25), 2);
+        Assert.assertEquals(histogram.percentile(50), 4);
+        Assert.assertEquals(histogram.percentile(100), 100, "上界 128 应被最大值 100 截断");
+    }
+
+    @Test(description = "负数按 0 记录，超长耗时落入最后一个桶")
+    public void testOutOfRangeSamples() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+        histogram.record(0);
+        histogram.record(3_600_000);
+
+        Assert.assertEquals(histogram.percentile(50), 1);
+        Assert.assertEquals(histogram.percentile(100), 3_600_000);
+        Assert.assertEquals(histogram.totalMillis(), 3_600_000);
+    }
+
+    @Test(description = "多线程并发记录不丢样本")
+    public void testConcurrentRecord() throws InterruptedException {
+        LatencyHistogram histogram = new LatencyHistogram();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    histogram.record(i % 50);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Assert.assertEquals(histogram.count(), 40_000);
+        Assert.assertEquals(histogram.percentile(100), 49);
+    }
+}
@@ -0,0 +1,48 @@
+package com.saltedfish.framework.metrics;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * TimingStatsTest 验证最近秩法分位数、扩容与摘要输出。
+ */
+public class TimingStatsTest {
+
+    @Test(description = "没有样本时各项统计为 0")
+    public void testEmpty() {
+        TimingStats stats = new TimingStats();
+
+        Assert.assertEquals(stats.count(), 0);
+        Assert.assertEquals(stats.percentile(50), 0);
+        Assert.assertEquals(stats.max(), 0);
+    }
+
+    @Test(description = "最近秩法：rank = ceil(p / 100 × n)，与录入顺序无关")
+    public void testNearestRank() {
+        TimingStats stats = new TimingStats();
+        for (long millis : new long[]{50, 10, 40, 20, 30}) {
+            stats.record(millis);
+        }
+
+        Assert.assertEquals(stats.percentile(0), 10);
+        Assert.assertEquals(stats.percentile(20), 10);
+        Assert.assertEquals(stats.percentile(21), 20);
+        Assert.assertEquals(stats.percentile(50), 30);
+        Assert.assertEquals(stats.percentile(95), 50);
+        Assert.assertEquals(stats.percentile(100), 50);
+        Assert.assertEquals(stats.toString(), "n=5 p50=30ms p95=50ms max=50ms");
+    }
+
+    @Test(description = "样本超过初始容量时自动扩容，不丢样本")
+    public void testGrowsBeyondInitialCapacity() {
+        TimingStats stats = new TimingStats();
+        for (int i = 1; i <= 100; i++) {
+            stats.record(i);
+        }
+
+        Assert.assertEquals(stats.count(), 100);
+        Assert.assertEquals(stats.percentile(50), 50);
+        Assert.assertEquals(stats.percentile(95), 95);
+        Assert.assertEquals(stats.max(), 100);
+    }
+}
@@ -0,0 +1,91 @@
+package com.saltedfish.framework.network;
+
+import com.saltedfish.framework.driver.DriverManager;
+import com.saltedfish.framework.support.BrowserFixture;
+import com.saltedfish.framework.support.FixtureServer;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * InFlightTrackerFixtureTest 用本地夹具页面验证网络空闲等待：慢请求完成后返回，请求一直未完成时超时并报告地址。
+ */
+public class InFlightTrackerFixtureTest {
+
+    private static final String PAGE = """
+            <html>
+            <body>
+              <div id="result"></div>
+              <script>
+                function load(path) {
+                  fetch(path).then(function (r) { return r.text(); })
+                    .then(function (text) { document.getElementById('result').textContent = text; });
+                }
+              </script>
+            </body>
+            </html>
+            """;
+
+    private FixtureServer server;
+
+    @BeforeClass
+    public void startFixture() throws IOException {
+        server = FixtureServer.start()
+                .page("/index.html", PAGE)
+                .route("/slow", "text/plain", "slow-done", 800)
+                .route("/hang", "text/plain", "never", 30_000);
+        BrowserFixture.start();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopFixture() {
+        BrowserFixture.stop();
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    @Test(description = "页面空闲时立即返回")
+    public void testIdlePageReturnsImmediately() {
+        WebDriver driver = openFixture();
+
+        long start = System.nanoTime();
+        InFlightTracker.awaitQuiet(driver, Duration.ofMillis(100), Duration.ofSeconds(5), false);
+        Assert.assertTrue(System.nanoTime() - start < Duration.ofSeconds(2).toNanos());
+    }
+
+    @Test(description = "进行中的请求完成后才返回")
+    public void testWaitsForInFlightRequest() {
+        WebDriver driver = openFixture();
+        ((JavascriptExecutor) driver).executeScript("load('/slow');");
+
+        InFlightTracker.awaitQuiet(driver, Duration.ofMillis(100), Duration.ofSeconds(10), false);
+
+        Assert.assertEquals(server.hits("/slow"), 1);
+        Assert.assertEquals(((JavascriptExecutor) driver)
+                .executeScript("return document.getElementById('result').textContent;"), "slow-done");
+    }
+
+    @Test(description = "请求一直未完成时超时，异常信息包含请求地址")
+    public void testTimeoutReportsHangingRequest() {
+        WebDriver driver = openFixture();
+        ((JavascriptExecutor) driver).executeScript("load('/hang');");
+
+        TimeoutException error = Assert.expectThrows(TimeoutException.class, () ->
+                InFlightTracker.awaitQuiet(driver, Duration.ofMillis(100), Duration.ofSeconds(1), false));
+        Assert.assertTrue(error.getMessage().contains("/hang"), error.getMessage());
+    }
+
+    private WebDriver openFixture() {
+        WebDriver driver = DriverManager.getDriver();
+        driver.get(server.url("/index.html"));
+        return driver;
+    }
+}
@@ -0,0 +1,125 @@
+package com.saltedfish.framework.network;
+
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.ScriptTimeoutException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * InFlightTrackerTest 用脚本化的假 driver 验证 awaitQuiet 的重试与超时规则，不需要浏览器。
+ */
+public class InFlightTrackerTest {
+
+    private static final Map<String, Object> IDLE = Map.of("idle", true);
+    private static final Map<String, Object> BUSY = Map.of("idle", false, "inflight", 1, "pending", List.of("/api/slow"),
+            "frames", 0);
+
+    @Test(description = "页面跳转导致脚本中断时重新等待")
+    public void testRetriesWhenDocumentUnloaded() {
+        ScriptedDriver driver = new ScriptedDriver(
+                new JavascriptException("javascript error: document unloaded while waiting for result"),
+                new ScriptTimeoutException("Document was unloaded"),
+                IDLE);
+
+        InFlightTracker.awaitQuiet(driver.proxy(), Duration.ofMillis(100), Duration.ofSeconds(5), false);
+
+        Assert.assertEquals(driver.calls(), 3);
+    }
+
+    @Test(description = "会话失效立即抛出，不等到超时")
+    public void testDeadSessionFailsFast() {
+        ScriptedDriver driver = new ScriptedDriver(new NoSuchSessionException("invalid session id"));
+
+        long start = System.nanoTime();
+        Assert.assertThrows(NoSuchSessionException.class, () ->
+                InFlightTracker.awaitQuiet(driver.proxy(), Duration.ofMillis(100), Duration.ofSeconds(10), false));
+        Assert.assertTrue(System.nanoTime() - start < Duration.ofSeconds(2).toNanos());
+        Assert.assertEquals(driver.calls(), 1);
+    }
+
+    @Test(description = "脚本执行出错（例如被 CSP 拦截）立即抛出")
+    public void testScriptErrorFailsFast() {
+        ScriptedDriver driver = new ScriptedDriver(
+                new JavascriptException("javascript error: Refused to evaluate a string as JavaScript"));
+
+        Assert.assertThrows(JavascriptException.class, () ->
+                InFlightTracker.awaitQuiet(driver.proxy(), Duration.ofMillis(100), Duration.ofSeconds(10), false));
+        Assert.assertEquals(driver.calls(), 1);
+    }
+
+    @Test(description = "超时时报告进行中的请求，而不是“页面持续跳转”")
+    public void testTimeoutReportsPendingRequests() {
+        ScriptedDriver driver = new ScriptedDriver(BUSY);
+
+        TimeoutException error = Assert.expectThrows(TimeoutException.class, () ->
+                InFlightTracker.awaitQuiet(driver.proxy(), Duration.ofMillis(100), Duration.ofMillis(300), false));
+        Assert.assertTrue(error.getMessage().contains("/api/slow"), error.getMessage());
+        Assert.assertFalse(error.getMessage().contains("页面持续跳转"), error.getMessage());
+    }
+
+    @Test(description = "单次脚本的页面内等待不超过 20 秒")
+    public void testScriptWaitIsBounded() {
+        ScriptedDriver driver = new ScriptedDriver(IDLE);
+
+        InFlightTracker.awaitQuiet(driver.proxy(), Duration.ofMillis(100), Duration.ofMinutes(2), false);
+
+        Assert.assertTrue(((Number) driver.lastArguments()[1]).longValue() <= 20_000);
+    }
+
+    @Test(description = "只有文档卸载类异常被识别为页面跳转")
+    public void testNavigationDetection() {
+        Assert.assertTrue(InFlightTracker.isInterruptedByNavigation(
+                new JavascriptException("javascript error: document unloaded while waiting for result")));
+        Assert.assertFalse(InFlightTracker.isInterruptedByNavigation(new JavascriptException("x is not defined")));
+        Assert.assertFalse(InFlightTracker.isInterruptedByNavigation(new ScriptTimeoutException("script timeout")));
+        Assert.assertFalse(InFlightTracker.isInterruptedByNavigation(new NoSuchSessionException("unloaded")));
+    }
+
+    /**
+     * 按顺序返回预设结果的假 driver：结果为异常时抛出，最后一个结果重复使用。
+     */
+    private static final class ScriptedDriver {
+
+        private final Deque<Object> results;
+        private final List<Object[]> arguments = new ArrayList<>();
+
+        private ScriptedDriver(Object... results) {
+            this.results = new ArrayDeque<>(List.of(results));
+        }
+
+        private WebDriver proxy() {
+            return (WebDriver) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[]{WebDriver.class, JavascriptExecutor.class}, (proxy, method, args) -> {
+                        if (!method.getName().equals("executeAsyncScript")) {
+                            throw new UnsupportedOperationException(method.getName());
+                        }
+                        arguments.add((Object[]) args[1]);
+                        Object result = results.size() > 1 ? results.poll() : results.peek();
+                        if (result instanceof RuntimeException error) {
+                            throw error;
+                        }
+                        return result;
+                    });
+        }
+
+        private int calls() {
+            return arguments.size();
+        }
+
+        private Object[] lastArguments() {
+            return arguments.get(arguments.size() - 1);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.saltedfish.framework.network;
+
+import com.saltedfish.framework.config.ConfigManager;
+import com.saltedfish.framework.config.NetworkBlockRule;
+import com.saltedfish.framework.driver.DriverManager;
+import com.saltedfish.framework.support.BrowserFixture;
+import com.saltedfish.framework.support.FixtureServer;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * NetworkBlockerTest 用本地夹具页面验证拦截规则：命中规则的第三方脚本不会真正发出，其余资源正常加载。
+ */
+public class NetworkBlockerTest {
+
+    private static final String PAGE = """
+            <html>
+            <head>
+              <script src="/app.js"></script>
+              <script src="/third-party/tracker.js"></script>
+            </head>
+            <body>fixture</body>
+            </html>
+            """;
+
+    private FixtureServer server;
+    private List<NetworkBlockRule> originalRules;
+
+    @BeforeClass
+    public void startFixture() throws IOException {
+        server = FixtureServer.start()
+                .page("/index.html", PAGE)
+                .route("/app.js", "application/javascript", "window.appLoaded = true;", 0)
+                .route("/third-party/tracker.js", "application/javascript", "window.trackerLoaded = true;", 0);
+
+        NetworkBlockRule rule = new NetworkBlockRule();
+        rule.setUrlPattern("*/third-party/*");
+        originalRules = ConfigManager.getConfig().getNetworkBlockRules();
+        ConfigManager.getConfig().setNetworkBlockRules(List.of(rule));
+        BrowserFixture.start();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopFixture() {
+        BrowserFixture.stop();
+        ConfigManager.getConfig().setNetworkBlockRules(originalRules);
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    @Test(description = "命中规则的第三方请求被拦截，不会到达服务器")
+    public void testBlockedRequestNeverReachesServer() {
+        WebDriver driver = DriverManager.getDriver();
+        NetworkBlocker.resetStats(driver);
+
+        driver.get(server.url("/index.html"));
+
+        JavascriptExecutor js = (JavascriptExecutor) driver;
+        Assert.assertEquals(js.executeScript("return window.appLoaded === true;"), true, "未命中规则的脚本应正常加载");
+        Assert.assertEquals(js.executeScript("return window.trackerLoaded === undefined;"), true, "被拦截的脚本不应执行");
+        Assert.assertEquals(server.hits("/app.js"), 1);
+        Assert.assertEquals(server.hits("/third-party/tracker.js"), 0, "被拦截的请求不应到达服务器");
+        Assert.assertTrue(NetworkBlocker.describeStats(driver).startsWith("拦截请求数：1"),
+                NetworkBlocker.describeStats(driver));
+    }
+}
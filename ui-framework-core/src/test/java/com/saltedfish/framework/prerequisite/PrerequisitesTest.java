@@ -0,0 +1,87 @@
+package com.saltedfish.framework.prerequisite;
+
+import com.saltedfish.framework.config.ConfigManager;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * PrerequisitesTest 验证熔断器的计数、熔断与跳过判定。
+ * 熔断状态是进程级的，每个用例使用不同的流程名称互不影响。
+ */
+public class PrerequisitesTest {
+
+    private Integer originalThreshold;
+
+    @BeforeMethod
+    public void thresholdTwo() {
+        originalThreshold = ConfigManager.getConfig().getPrerequisiteFailureThreshold();
+        ConfigManager.getConfig().setPrerequisiteFailureThreshold(2);
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void restoreThreshold() {
+        ConfigManager.getConfig().setPrerequisiteFailureThreshold(originalThreshold);
+    }
+
+    @Test(description = "连续失败达到阈值后熔断，之后不再执行流程")
+    public void testTripsAfterConsecutiveFailures() {
+        AtomicInteger runs = new AtomicInteger();
+
+        fail("trip", runs);
+        fail("trip", runs);
+        PrerequisiteUnavailableException e = Assert.expectThrows(PrerequisiteUnavailableException.class,
+                () -> Prerequisites.guard("trip", runs::incrementAndGet));
+
+        Assert.assertEquals(runs.get(), 2);
+        Assert.assertEquals(e.getPrerequisite(), "trip");
+        Assert.assertTrue(e.getMessage().contains("连续失败 2 次"), e.getMessage());
+    }
+
+    @Test(description = "成功一次清零连续失败计数")
+    public void testSuccessResetsCount() {
+        AtomicInteger runs = new AtomicInteger();
+
+        fail("flaky", runs);
+        Prerequisites.guard("flaky", runs::incrementAndGet);
+        fail("flaky", runs);
+
+        Assert.assertEquals(Prerequisites.guard("flaky", runs::incrementAndGet), Integer.valueOf(4));
+    }
+
+    @Test(description = "阈值为 0 时不熔断")
+    public void testZeroThresholdNeverTrips() {
+        ConfigManager.getConfig().setPrerequisiteFailureThreshold(0);
+        AtomicInteger runs = new AtomicInteger();
+
+        for (int i = 0; i < 5; i++) {
+            fail("unguarded", runs);
+        }
+
+        Assert.assertEquals(Prerequisites.guard("unguarded", runs::incrementAndGet), Integer.valueOf(6));
+    }
+
+    @Test(description = "熔断后，声明依赖与运行中记住依赖的用例在开始前即判定跳过")
+    public void testBeginTestSkipsDeclaredAndLearned() {
+        Assert.assertNull(Prerequisites.beginTest("OrderTest.testPay", List.of()));
+        fail("tenant", new AtomicInteger());
+        Assert.assertNull(Prerequisites.trippedFailureOfCurrentTest());
+        fail("tenant", new AtomicInteger());
+        Assert.assertEquals(Prerequisites.trippedFailureOfCurrentTest(), "tenant");
+
+        Assert.assertNotNull(Prerequisites.beginTest("OrderTest.testPay", List.of()));
+        Assert.assertNotNull(Prerequisites.beginTest("OrderTest.testRefund", List.of("tenant")));
+        Assert.assertNull(Prerequisites.beginTest("OrderTest.testList", List.of("other")));
+    }
+
+    private static void fail(String name, AtomicInteger runs) {
+        Assert.assertThrows(IllegalStateException.class, () -> Prerequisites.guard(name, () -> {
+            runs.incrementAndGet();
+            throw new IllegalStateException(name + " 失败");
+        }));
+    }
+}
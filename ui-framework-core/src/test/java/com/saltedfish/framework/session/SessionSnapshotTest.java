@@ -0,0 +1,75 @@
+package com.saltedfish.framework.session;
+
+import org.openqa.selenium.Cookie;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SessionSnapshotTest 验证会话快照的过期判定与 Cookie 字段往返，不需要浏览器。
+ */
+public class SessionSnapshotTest {
+
+    private static final long TTL_MILLIS = 30 * 60_000L;
+
+    @Test(description = "有效期内且 Cookie 未过期时快照有效")
+    public void testFreshSnapshotValid() {
+        long now = System.currentTimeMillis();
+        SessionSnapshotCache.SessionSnapshot snapshot = snapshot(now - 60_000,
+                cookie("token", now + 3_600_000L), cookie("session", null));
+
+        Assert.assertFalse(snapshot.isExpired(TTL_MILLIS));
+    }
+
+    @Test(description = "超过有效期的快照视为过期")
+    public void testExpiredByTtl() {
+        SessionSnapshotCache.SessionSnapshot snapshot = snapshot(System.currentTimeMillis() - TTL_MILLIS - 1_000,
+                cookie("session", null));
+
+        Assert.assertTrue(snapshot.isExpired(TTL_MILLIS));
+    }
+
+    @Test(description = "任意一个 Cookie 已过期时快照视为过期")
+    public void testExpiredByCookie() {
+        long now = System.currentTimeMillis();
+        SessionSnapshotCache.SessionSnapshot snapshot = snapshot(now,
+                cookie("token", now - 1_000), cookie("session", null));
+
+        Assert.assertTrue(snapshot.isExpired(TTL_MILLIS));
+    }
+
+    @Test(description = "Cookie 字段在快照与 Selenium Cookie 之间往返不丢失")
+    public void testCookieRoundTrip() {
+        Cookie original = new Cookie.Builder("token", "abc")
+                .domain("example.com")
+                .path("/app")
+                .expiresOn(new Date(4_102_444_800_000L))
+                .isSecure(true)
+                .isHttpOnly(true)
+                .sameSite("Lax")
+                .build();
+
+        Cookie restored = SessionSnapshotCache.SessionSnapshot.CookieData.of(original).toCookie();
+
+        Assert.assertEquals(restored, original);
+        Assert.assertEquals(restored.getDomain(), "example.com");
+        Assert.assertEquals(restored.getExpiry(), original.getExpiry());
+        Assert.assertTrue(restored.isSecure());
+        Assert.assertTrue(restored.isHttpOnly());
+        Assert.assertEquals(restored.getSameSite(), "Lax");
+    }
+
+    private static SessionSnapshotCache.SessionSnapshot snapshot(long capturedAt,
+                                                                 SessionSnapshotCache.SessionSnapshot.CookieData... cookies) {
+        return new SessionSnapshotCache.SessionSnapshot("https://example.com", List.of(cookies), Map.of(), Map.of(),
+                capturedAt);
+    }
+
+    private static SessionSnapshotCache.SessionSnapshot.CookieData cookie(String name, Long expiry) {
+        return new SessionSnapshotCache.SessionSnapshot.CookieData(name, "value", "example.com", "/", expiry,
+                false, false, null);
+    }
+}
@@ -0,0 +1,42 @@
+package com.saltedfish.framework.support;
+
+import com.saltedfish.framework.config.ConfigManager;
+import com.saltedfish.framework.driver.DriverManager;
+import org.openqa.selenium.WebDriver;
+import org.testng.SkipException;
+
+/**
+ * BrowserFixture 为需要真实浏览器的用例启动无头浏览器。
+ *
+ * 本机没有可用的浏览器（例如构建机未安装 Chrome，或 Selenium Manager 无法下载驱动）时，
+ * 用例被标记为跳过而不是失败；不需要浏览器的逻辑应放在普通单元测试中。
+ */
+public final class BrowserFixture {
+
+    private BrowserFixture() {
+        // 工具类禁止实例化
+    }
+
+    /**
+     * 以无头模式为当前线程启动浏览器，并绑定到 DriverManager。
+     *
+     * @return 当前线程的 WebDriver
+     * @throws SkipException 浏览器启动失败时抛出
+     */
+    public static WebDriver start() {
+        ConfigManager.getConfig().setHeadless(true);
+        try {
+            return DriverManager.initDriver();
+        } catch (RuntimeException e) {
+            String message = String.valueOf(e.getMessage()).lines().findFirst().orElse("");
+            throw new SkipException("本机没有可用的浏览器，跳过浏览器用例：" + message, e);
+        }
+    }
+
+    /**
+     * 退出当前线程的浏览器。
+     */
+    public static void stop() {
+        DriverManager.quitDriver();
+    }
+}
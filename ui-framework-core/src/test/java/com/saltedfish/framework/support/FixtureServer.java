@@ -0,0 +1,118 @@
+package com.saltedfish.framework.support;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * FixtureServer 基于 JDK HttpServer 的本地夹具服务器，为浏览器用例提供固定页面与可控延迟的接口。
+ *
+ * 特点：
+ *  - 只监听本机回环地址，端口随机分配；
+ *  - 每个路径可以指定响应类型、内容与响应延迟，用于模拟慢接口；
+ *  - 记录每个路径被请求的次数，用于断言请求是否真正发出。
+ */
+public final class FixtureServer implements AutoCloseable {
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final Map<String, AtomicInteger> hits = new ConcurrentHashMap<>();
+
+    private FixtureServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    /**
+     * 启动一个新的夹具服务器。
+     *
+     * @return 已启动的服务器
+     * @throws IOException 端口绑定失败时抛出
+     */
+    public static FixtureServer start() throws IOException {
+        return new FixtureServer();
+    }
+
+    /**
+     * 注册一个 HTML 页面。
+     *
+     * @param path 请求路径，例如 "/index.html"
+     * @param html 页面内容
+     * @return 当前服务器，便于链式调用
+     */
+    public FixtureServer page(String path, String html) {
+        return route(path, "text/html; charset=utf-8", html, 0);
+    }
+
+    /**
+     * 注册一个固定响应。
+     *
+     * @param path        请求路径
+     * @param contentType 响应类型
+     * @param body        响应内容
+     * @param delayMillis 响应前的延迟（毫秒），用于模拟慢接口
+     * @return 当前服务器，便于链式调用
+     */
+    public FixtureServer route(String path, String contentType, String body, long delayMillis) {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        hits.putIfAbsent(path, new AtomicInteger());
+        server.createContext(path, exchange -> respond(exchange, path, contentType, bytes, delayMillis));
+        return this;
+    }
+
+    /**
+     * 拼接完整地址。
+     *
+     * @param path 请求路径
+     * @return 形如 http://127.0.0.1:端口/path 的地址
+     */
+    public String url(String path) {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + path;
+    }
+
+    /**
+     * 某个路径被请求的次数。
+     *
+     * @param path 请求路径
+     * @return 请求次数，未注册的路径返回 0
+     */
+    public int hits(String path) {
+        AtomicInteger count = hits.get(path);
+        return count != null ? count.get() : 0;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void respond(HttpExchange exchange, String path, String contentType, byte[] body, long delayMillis)
+            throws IOException {
+        try (exchange) {
+            hits.get(path).incrementAndGet();
+            if (delayMillis > 0) {
+                Thread.sleep(delayMillis);
+            }
+            exchange.getResponseHeaders().set("Content-Type", contentType);
+            exchange.getResponseHeaders().set("Cache-Control", "no-store");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.saltedfish.framework.support;
+
+import com.saltedfish.framework.metrics.TimingStats;
+import com.saltedfish.framework.utils.LogUtil;
+
+/**
+ * MicroBenchmark 是基准测试（groups = "benchmark"）使用的简单计时器。
+ *
+ * 做法：
+ *  1. 先执行若干次预热，让 JIT 编译热点代码；
+ *  2. 每个样本连续执行 opsPerSample 次，记录单次平均耗时（纳秒），降低计时本身的误差；
+ *  3. 输出 p50 / p95 / max，并返回统计结果供用例比较。
+ *
+ * 结果只用于比较同一台机器上两种实现的相对快慢，不适合作为绝对性能指标。
+ */
+public final class MicroBenchmark {
+
+    private MicroBenchmark() {
+        // 工具类禁止实例化
+    }
+
+    /**
+     * 执行一组基准测试。
+     *
+     * @param name         名称，用于日志输出
+     * @param warmup       预热次数
+     * @param samples      样本数
+     * @param opsPerSample 每个样本连续执行的次数
+     * @param body         被测代码
+     * @return 单次耗时统计（纳秒）
+     */
+    public static TimingStats run(String name, int warmup, int samples, int opsPerSample, Runnable body) {
+        for (int i = 0; i < warmup; i++) {
+            body.run();
+        }
+        TimingStats stats = new TimingStats();
+        for (int i = 0; i < samples; i++) {
+            long start = System.nanoTime();
+            for (int op = 0; op < opsPerSample; op++) {
+                body.run();
+            }
+            stats.record((System.nanoTime() - start) / opsPerSample);
+        }
+        LogUtil.info(String.format("[benchmark] %s：n=%d p50=%.1fµs p95=%.1fµs max=%.1fµs", name, stats.count(),
+                stats.percentile(50) / 1000.0, stats.percentile(95) / 1000.0, stats.max() / 1000.0));
+        return stats;
+    }
+}
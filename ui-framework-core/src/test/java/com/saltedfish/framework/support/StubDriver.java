@@ -0,0 +1,79 @@
+package com.saltedfish.framework.support;
+
+import org.openqa.selenium.WebDriver;
+
+import java.lang.reflect.Proxy;
+
+/**
+ * StubDriver 创建一个不连接浏览器的 WebDriver 占位对象，供不需要真实浏览器的单元测试与基准测试使用。
+ * 默认调用任何 WebDriver 方法都会抛出 UnsupportedOperationException；需要模拟浏览器行为时传入 Answer。
+ */
+public final class StubDriver {
+
+    private StubDriver() {
+        // 工具类禁止实例化
+    }
+
+    /**
+     * @return WebDriver 占位对象
+     */
+    public static WebDriver create() {
+        return create(Answer.UNSUPPORTED);
+    }
+
+    /**
+     * 创建按 answer 应答的 WebDriver，可以同时实现 JavascriptExecutor、HasCdp 等附加接口。
+     *
+     * @param answer          方法应答
+     * @param extraInterfaces 附加实现的接口
+     * @return WebDriver 占位对象
+     */
+    public static WebDriver create(Answer answer, Class<?>... extraInterfaces) {
+        return stub(WebDriver.class, answer, extraInterfaces);
+    }
+
+    /**
+     * 创建任意接口的占位对象，例如 WebDriver.TargetLocator、WebDriver.Options。
+     * toString / hashCode / equals 按对象身份处理，其余方法交给 answer。
+     *
+     * @param type            主接口
+     * @param answer          方法应答
+     * @param extraInterfaces 附加实现的接口
+     * @param <T>             主接口类型
+     * @return 占位对象
+     */
+    public static <T> T stub(Class<T> type, Answer answer, Class<?>... extraInterfaces) {
+        Class<?>[] interfaces = new Class<?>[extraInterfaces.length + 1];
+        interfaces[0] = type;
+        System.arraycopy(extraInterfaces, 0, interfaces, 1, extraInterfaces.length);
+        return type.cast(Proxy.newProxyInstance(StubDriver.class.getClassLoader(), interfaces,
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "toString" -> "Stub" + type.getSimpleName();
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> answer.answer(method.getName(), args == null ? new Object[0] : args);
+                }));
+    }
+
+    /**
+     * 占位对象的方法应答。
+     */
+    @FunctionalInterface
+    public interface Answer {
+
+        /**
+         * 对所有方法都抛出 UnsupportedOperationException。
+         */
+        Answer UNSUPPORTED = (method, args) -> {
+            throw new UnsupportedOperationException("StubDriver 不支持 " + method);
+        };
+
+        /**
+         * @param method 方法名
+         * @param args   参数，没有参数时为空数组
+         * @return 方法返回值
+         * @throws Throwable 模拟方法抛出的异常
+         */
+        Object answer(String method, Object[] args) throws Throwable;
+    }
+}
@@ -0,0 +1,67 @@
+package com.saltedfish.framework.wait;
+
+import com.saltedfish.framework.config.ConfigManager;
+import com.saltedfish.framework.driver.DriverManager;
+import com.saltedfish.framework.support.BrowserFixture;
+import com.saltedfish.framework.support.FixtureServer;
+import com.saltedfish.framework.support.MicroBenchmark;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+
+/**
+ * EventWaitBenchmark 比较轮询模式与事件模式等待一个 300ms 后才出现的元素的耗时，需要浏览器。
+ */
+@Test(groups = "benchmark")
+public class EventWaitBenchmark {
+
+    private static final String PAGE = """
+            <html>
+            <body>
+            <script>
+              setTimeout(function () {
+                var late = document.createElement('div');
+                late.id = 'late';
+                late.textContent = 'ready';
+                document.body.appendChild(late);
+              }, 300);
+            </script>
+            </body>
+            </html>
+            """;
+
+    private FixtureServer server;
+    private String originalMode;
+
+    @BeforeClass
+    public void startFixture() throws IOException {
+        server = FixtureServer.start().page("/late.html", PAGE);
+        originalMode = ConfigManager.getConfig().getWaitMode();
+        BrowserFixture.start();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopFixture() {
+        BrowserFixture.stop();
+        ConfigManager.getConfig().setWaitMode(originalMode);
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    @Test(description = "等待 300ms 后出现的元素：轮询模式 vs 事件模式")
+    public void benchmarkLateElement() {
+        WebDriver driver = DriverManager.getDriver();
+        for (WaitMode mode : WaitMode.values()) {
+            ConfigManager.getConfig().setWaitMode(mode.name());
+            MicroBenchmark.run("waitUntilVisible（" + mode + "）", 2, 10, 1, () -> {
+                driver.get(server.url("/late.html"));
+                WaitFactory.waitUntilVisible(By.id("late"));
+            });
+        }
+    }
+}
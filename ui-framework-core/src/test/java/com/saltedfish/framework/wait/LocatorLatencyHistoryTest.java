@@ -0,0 +1,130 @@
+package com.saltedfish.framework.wait;
+
+import com.saltedfish.framework.base.CachingElementLocator;
+import com.saltedfish.framework.config.ConfigManager;
+import com.saltedfish.framework.config.FrameworkConfig;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * LocatorLatencyHistoryTest 验证定位器耗时历史的 key 计算、EWMA 平滑与写回规则，不需要浏览器。
+ */
+public class LocatorLatencyHistoryTest {
+
+    private Boolean originalEnabled;
+    private String originalFile;
+
+    @BeforeMethod
+    public void saveConfig() {
+        FrameworkConfig config = ConfigManager.getConfig();
+        originalEnabled = config.getWaitAdaptivePollingEnabled();
+        originalFile = config.getWaitHistoryFile();
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void restoreConfig() {
+        FrameworkConfig config = ConfigManager.getConfig();
+        config.setWaitAdaptivePollingEnabled(originalEnabled);
+        config.setWaitHistoryFile(originalFile);
+    }
+
+    @Test(description = "未启用时不计算 key，也就不记录历史")
+    public void testDisabledByDefault() {
+        ConfigManager.getConfig().setWaitAdaptivePollingEnabled(null);
+
+        Assert.assertFalse(LocatorLatencyHistory.isEnabled());
+        Assert.assertNull(LocatorLatencyHistory.keyOf(By.id("kw")));
+        Assert.assertNull(LocatorLatencyHistory.keyOf(element("Proxy element for: DefaultElementLocator 'By.id: kw'")));
+    }
+
+    @Test(description = "By 与 PageFactory / 远程元素按定位器计算 key，页面字段的 key 带上所属页面")
+    public void testKeyOfLocatorAndElement() {
+        ConfigManager.getConfig().setWaitAdaptivePollingEnabled(true);
+
+        Assert.assertEquals(LocatorLatencyHistory.keyOf(By.id("kw")), "By.id: kw");
+        Assert.assertEquals(LocatorLatencyHistory.keyOf(
+                element("Proxy element for: CachingElementLocator 'By.xpath: //a[@id='kw']' on LoginPage")),
+                "LoginPage | By.xpath: //a[@id='kw']");
+        Assert.assertNotEquals(LocatorLatencyHistory.keyOf(
+                        element("Proxy element for: " + new CachingElementLocator(null, By.id("kw"), "HomePage"))),
+                LocatorLatencyHistory.keyOf(
+                        element("Proxy element for: " + new CachingElementLocator(null, By.id("kw"), "LoginPage"))));
+        Assert.assertEquals(LocatorLatencyHistory.keyOf(
+                element("Proxy element for: DefaultElementLocator 'By.id: kw'")), "By.id: kw");
+        Assert.assertEquals(LocatorLatencyHistory.keyOf(
+                element("[[ChromeDriver: chrome on linux (abc123)] -> id: kw]")), "id: kw");
+        Assert.assertNull(LocatorLatencyHistory.keyOf(element("no locator here")));
+    }
+
+    @Test(description = "耗时按权重 0.3 的 EWMA 平滑")
+    public void testEwma() {
+        String key = "By.id: ewma-" + System.nanoTime();
+
+        Assert.assertEquals(LocatorLatencyHistory.expectedMillis(key), -1);
+        LocatorLatencyHistory.record(key, 100);
+        Assert.assertEquals(LocatorLatencyHistory.expectedMillis(key), 100);
+        LocatorLatencyHistory.record(key, 200);
+        Assert.assertEquals(LocatorLatencyHistory.expectedMillis(key), 130);
+        LocatorLatencyHistory.record(key, 30);
+        Assert.assertEquals(LocatorLatencyHistory.expectedMillis(key), 100);
+    }
+
+    @Test(description = "null key 不记录也不查询")
+    public void testNullKey() {
+        LocatorLatencyHistory.record(null, 100);
+        Assert.assertEquals(LocatorLatencyHistory.expectedMillis(null), -1);
+    }
+
+    @Test(description = "写回配置的 waitHistoryFile，只覆盖本次更新的条目")
+    public void testFlushToConfiguredFile() throws IOException {
+        Path file = Files.createTempDirectory("wait-history").resolve("wait-history.json");
+        Files.writeString(file, "{\"OtherPage | By.id: kept\":{\"ewmaMillis\":42.0,\"samples\":3,\"updatedAt\":1}}");
+        String key = "LoginPage | By.id: flush-" + System.nanoTime();
+
+        ConfigManager.getConfig().setWaitHistoryFile(file.toString());
+        LocatorLatencyHistory.record(key, 80);
+        LocatorLatencyHistory.flush();
+
+        String content = Files.readString(file);
+        Assert.assertTrue(content.contains(key), "应写回本次更新的条目");
+        Assert.assertTrue(content.contains("OtherPage | By.id: kept"), "其他 JVM 写入的条目应保留");
+        Assert.assertFalse(Files.exists(file.resolveSibling("wait-history.json.tmp")));
+    }
+
+    @Test(description = "未配置 waitHistoryFile 时写入 ${user.home}/.saltedfish/wait-history.json")
+    public void testFlushToDefaultFile() throws IOException {
+        Path home = Files.createTempDirectory("wait-history-home");
+        String originalHome = System.getProperty("user.home");
+        String key = "LoginPage | By.id: default-" + System.nanoTime();
+        try {
+            System.setProperty("user.home", home.toString());
+            ConfigManager.getConfig().setWaitHistoryFile("");
+            LocatorLatencyHistory.record(key, 80);
+            LocatorLatencyHistory.flush();
+        } finally {
+            System.setProperty("user.home", originalHome);
+        }
+
+        Path file = home.resolve(".saltedfish").resolve("wait-history.json");
+        Assert.assertTrue(Files.readString(file).contains(key), "默认位置应持久化历史，供下一次运行复用");
+    }
+
+    private static WebElement element(String description) {
+        return (WebElement) Proxy.newProxyInstance(LocatorLatencyHistoryTest.class.getClassLoader(),
+                new Class<?>[]{WebElement.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("toString")) {
+                        return description;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,72 @@
+package com.saltedfish.framework.wait;
+
+import com.saltedfish.framework.driver.DriverManager;
+import com.saltedfish.framework.support.BrowserFixture;
+import com.saltedfish.framework.support.FixtureServer;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * VisibleLocatorsFixtureTest 用本地夹具页面验证多定位器等待的可见性与 isDisplayed() 一致，需要浏览器：
+ *  - 祖先 opacity 为 0 的元素不算可见；
+ *  - 自身尺寸为 0 但子元素可见的容器算可见。
+ */
+public class VisibleLocatorsFixtureTest {
+
+    private static final String PAGE = """
+            <html>
+            <body>
+              <div style="opacity: 0"><span id="faded">看不见</span></div>
+              <div id="wrapper" style="height: 0"><span style="position: absolute">浮动内容</span></div>
+              <span id="plain">可见</span>
+            </body>
+            </html>
+            """;
+
+    private FixtureServer server;
+
+    @BeforeClass
+    public void startFixture() throws IOException {
+        server = FixtureServer.start().page("/visible.html", PAGE);
+        BrowserFixture.start();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopFixture() {
+        WaitFactory.clearCurrentWait();
+        BrowserFixture.stop();
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    @BeforeMethod
+    public void openPage() {
+        DriverManager.getDriver().get(server.url("/visible.html"));
+    }
+
+    @Test(description = "祖先透明的元素不算可见，waitForFirst 返回真正可见的定位器")
+    public void testAncestorOpacityHidesElement() {
+        LocatorMatch match = WaitFactory.waitForFirst(By.id("faded"), By.id("plain"));
+
+        Assert.assertEquals(match.locator(), By.id("plain"));
+        Assert.assertEquals(List.copyOf(WaitFactory.waitForAny(By.id("faded"), By.id("plain")).keySet()),
+                List.of(By.id("plain")));
+    }
+
+    @Test(description = "尺寸为 0 但子元素可见的容器算可见，与 isDisplayed() 一致")
+    public void testZeroSizeContainerWithVisibleChild() {
+        List<WebElement> found = WaitFactory.waitForAll(By.id("wrapper"), By.id("plain"));
+
+        Assert.assertTrue(found.get(0).isDisplayed());
+        Assert.assertEquals(found.get(1).getText(), "可见");
+    }
+}
@@ -0,0 +1,80 @@
+package com.saltedfish.framework.wait;
+
+import com.saltedfish.framework.support.StubDriver;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * VisibleLocatorsTest 用 StubDriver 模拟浏览器端预筛选的结果，验证候选元素由 isDisplayed() 确认，不需要浏览器。
+ */
+public class VisibleLocatorsTest {
+
+    private final AtomicInteger displayedCalls = new AtomicInteger();
+
+    @BeforeMethod
+    public void resetCalls() {
+        displayedCalls.set(0);
+    }
+
+    @Test(description = "预筛选通过但 isDisplayed() 为 false 的元素被跳过，取下一个确认可见的候选")
+    public void testCandidatesConfirmedWithIsDisplayed() {
+        WebElement hidden = element(false);
+        WebElement shown = element(true);
+        WebDriver driver = driver(List.of(hidden, shown), List.of());
+
+        List<WebElement> found = new VisibleLocators(VisibleLocators.Mode.ANY, By.id("a"), By.id("b")).apply(driver);
+
+        Assert.assertEquals(found, Arrays.asList(shown, null));
+    }
+
+    @Test(description = "ALL 模式下任何一个定位器没有确认可见的元素时继续轮询")
+    public void testAllModeRequiresEveryLocatorConfirmed() {
+        WebDriver driver = driver(List.of(element(true)), List.of(element(false)));
+
+        Assert.assertNull(new VisibleLocators(VisibleLocators.Mode.ALL, By.id("a"), By.id("b")).apply(driver));
+    }
+
+    @Test(description = "预筛选不满足条件的轮询不调用 isDisplayed()")
+    public void testNoConfirmationWhenCandidatesInsufficient() {
+        WebDriver driver = driver(List.of(element(true)), List.of());
+
+        Assert.assertNull(new VisibleLocators(VisibleLocators.Mode.ALL, By.id("a"), By.id("b")).apply(driver));
+        Assert.assertEquals(displayedCalls.get(), 0);
+    }
+
+    @Test(description = "By.id / By.name / By.className 转换为浏览器端的 css selector")
+    public void testRemotableLocatorsConvertedToCss() {
+        Assert.assertEquals(LocatorScripts.argumentsOf(By.id("a\"b")), List.of("css selector", "[id=\"a\\\"b\"]"));
+        Assert.assertEquals(LocatorScripts.argumentsOf(By.name("q")), List.of("css selector", "[name=\"q\"]"));
+        Assert.assertEquals(LocatorScripts.argumentsOf(By.className("btn")), List.of("css selector", "[class~=\"btn\"]"));
+        Assert.assertEquals(LocatorScripts.argumentsOf(By.xpath("//a")), List.of("xpath", "//a"));
+    }
+
+    private WebDriver driver(List<?>... candidates) {
+        return StubDriver.create((method, args) -> {
+            if ("executeScript".equals(method)) {
+                return List.of(candidates);
+            }
+            throw new UnsupportedOperationException(method);
+        }, JavascriptExecutor.class);
+    }
+
+    private WebElement element(boolean displayed) {
+        return StubDriver.stub(WebElement.class, (method, args) -> {
+            if ("isDisplayed".equals(method)) {
+                displayedCalls.incrementAndGet();
+                return displayed;
+            }
+            throw new UnsupportedOperationException(method);
+        });
+    }
+}
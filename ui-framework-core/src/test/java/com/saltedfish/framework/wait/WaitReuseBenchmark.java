@@ -0,0 +1,53 @@
+package com.saltedfish.framework.wait;
+
+import com.saltedfish.framework.metrics.TimingStats;
+import com.saltedfish.framework.support.MicroBenchmark;
+import com.saltedfish.framework.support.StubDriver;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * WaitReuseBenchmark 比较“每次新建 WebDriverWait”与“按线程复用 BackoffWait”的开销，
+ * 以及固定 500ms 轮询与退避轮询发现条件成立的延迟。不需要浏览器。
+ */
+@Test(groups = "benchmark")
+public class WaitReuseBenchmark {
+
+    private static final WaitSettings SETTINGS = new WaitSettings(Duration.ofSeconds(10), 50, 1.5, 500, List.of());
+
+    private final WebDriver driver = StubDriver.create();
+
+    @Test(description = "条件立即成立时：复用等待实例 vs 每次新建")
+    public void benchmarkImmediateCondition() {
+        BackoffWait cached = BackoffWait.create(driver, SETTINGS);
+
+        MicroBenchmark.run("每次新建 WebDriverWait", 10_000, 50, 1_000,
+                () -> new WebDriverWait(driver, Duration.ofSeconds(10)).until(d -> Boolean.TRUE));
+        MicroBenchmark.run("复用 BackoffWait", 10_000, 50, 1_000,
+                () -> cached.until(d -> Boolean.TRUE));
+    }
+
+    @Test(description = "条件在 120ms 后成立时：固定 500ms 轮询 vs 退避轮询的多等时间")
+    public void benchmarkDetectionLatency() {
+        long readyAfterNanos = 120_000_000L;
+        BackoffWait cached = BackoffWait.create(driver, SETTINGS);
+
+        TimingStats fixed = MicroBenchmark.run("固定 500ms 轮询发现耗时", 1, 10, 1,
+                () -> awaitReady(new WebDriverWait(driver, Duration.ofSeconds(10)), readyAfterNanos));
+        TimingStats backoff = MicroBenchmark.run("退避轮询发现耗时", 1, 10, 1,
+                () -> awaitReady(cached, readyAfterNanos));
+
+        Assert.assertTrue(backoff.percentile(50) < fixed.percentile(50),
+                "退避轮询应比固定 500ms 轮询更早发现条件成立");
+    }
+
+    private static void awaitReady(WebDriverWait wait, long readyAfterNanos) {
+        long readyAt = System.nanoTime() + readyAfterNanos;
+        wait.until(d -> System.nanoTime() >= readyAt ? Boolean.TRUE : null);
+    }
+}
@@ -1,50 +1,253 @@
-package com.saltedfish.framework.testng.base;
-
-import com.saltedfish.framework.config.ConfigManager;
-import com.saltedfish.framework.config.FrameworkConfig;
-import com.saltedfish.framework.driver.DriverFactory;
-import com.saltedfish.framework.driver.DriverManager;
-import org.testng.annotations.AfterMethod;
-import org.testng.annotations.BeforeMethod;
-
-/**
- * BaseTest 为所有 TestNG 测试类提供统一的浏览器生命周期管理。
- *
- * 主要职责：
- *  1. 在每个测试方法执行前创建 WebDriver 实例，并根据配置打开基础 URL；
- *  2. 在每个测试方法执行后关闭并清理 WebDriver。
- *
- * 注意：
- *  - 本类位于 TestNG 适配层，强依赖 TestNG 注解；
- *  - 任何基于 TestNG 的业务测试类都可以直接继承本类。
- */
-public abstract class BaseTest {
-
-    /**
-     * 每个测试方法执行前都会回调本方法。
-     * 使用 @BeforeMethod 注解可以保证在 @Test 方法之前执行。
-     */
-    @BeforeMethod(alwaysRun = true)
-    public void setUp() {
-        // 通过 DriverFactory 创建默认配置下的浏览器实例
-        DriverFactory factory = new DriverFactory();
-        DriverManager.setDriver(factory.createDefaultDriver());
-        DriverManager.getDriver().manage().window().maximize();
-        // 如果配置中定义了 baseUrl，则在测试起始时自动打开
-        FrameworkConfig config = ConfigManager.getConfig();
-        String baseUrl = config.getBaseUrl();
-        if (baseUrl != null && !baseUrl.isBlank()) {
-            DriverManager.getDriver().get(baseUrl);
-        }
-    }
-
-    /**
-     * 每个测试方法执行完成后都会回调本方法。
-     * 使用 @AfterMethod 注解保证在 @Test 方法之后执行。
-     */
-    @AfterMethod(alwaysRun = true)
-    public void tearDown() {
-        // 统一关闭并清理当前线程的 WebDriver
-        DriverManager.quitDriver();
-    }
-}
+package com.saltedfish.framework.testng.base;
+
+import com.saltedfish.framework.base.FrameContext;
+import com.saltedfish.framework.config.ConfigManager;
+import com.saltedfish.framework.config.FrameworkConfig;
+import com.saltedfish.framework.driver.DriverFactory;
+import com.saltedfish.framework.driver.DriverManager;
+import com.saltedfish.framework.driver.DriverType;
+import com.saltedfish.framework.driver.LaunchProfile;
+import com.saltedfish.framework.metrics.CommandProfiler;
+import com.saltedfish.framework.metrics.StartupMetrics;
+import com.saltedfish.framework.network.NetworkBlocker;
+import com.saltedfish.framework.prerequisite.Prerequisite;
+import com.saltedfish.framework.prerequisite.PrerequisiteUnavailableException;
+import com.saltedfish.framework.prerequisite.Prerequisites;
+import com.saltedfish.framework.utils.LogUtil;
+import io.qameta.allure.Allure;
+import org.openqa.selenium.WebDriver;
+import org.testng.IConfigurable;
+import org.testng.IConfigureCallBack;
+import org.testng.IHookCallBack;
+import org.testng.IHookable;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+import org.testng.SkipException;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+
+import java.lang.reflect.Method;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * BaseTest 为所有 TestNG 测试类提供统一的浏览器生命周期管理。
+ *
+ * 主要职责：
+ *  1. 在每个测试方法执行前创建（或从会话池租用）WebDriver 实例，并根据配置打开基础 URL；
+ *  2. 在每个测试方法执行后关闭（或归还）并清理 WebDriver；
+ *  3. 用例依赖的前置流程（@Prerequisite 或运行中记住的 Prerequisites.guard）已熔断时，
+ *     不启动浏览器，直接将用例标记为跳过并注明原因；子类的 @BeforeMethod / @AfterMethod 同样不再执行。
+ *
+ * 注意：
+ *  - 本类位于 TestNG 适配层，强依赖 TestNG 注解；
+ *  - 任何基于 TestNG 的业务测试类都可以直接继承本类。
+ */
+public abstract class BaseTest implements IHookable, IConfigurable {
+
+    /**
+     * 当前线程即将执行的用例因前置流程熔断需要跳过时的原因，由 setUp() 设置，tearDown() 清除。
+     */
+    private static final ThreadLocal<String> SKIP_REASON = new ThreadLocal<>();
+
+    /**
+     * 当前线程即将执行的用例方法，由 setUp(Method) 记录、tearDown() 清除，供 setUp() 使用。
+     */
+    private static final ThreadLocal<Method> CURRENT_METHOD = new ThreadLocal<>();
+
+    /**
+     * 每个测试类是否在覆盖的 setUp() 上自行标注了 @BeforeMethod。
+     */
+    private static final ClassValue<Boolean> ANNOTATED_SET_UP = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            for (Class<?> current = type; current != BaseTest.class && current != null;
+                 current = current.getSuperclass()) {
+                try {
+                    if (current.getDeclaredMethod("setUp").isAnnotationPresent(BeforeMethod.class)) {
+                        return true;
+                    }
+                } catch (NoSuchMethodException e) {
+                    // 该层没有覆盖 setUp()，继续检查父类
+                }
+            }
+            return false;
+        }
+    };
+
+    /**
+     * 每个测试方法执行前由 TestNG 回调：记录即将执行的用例方法后调用 setUp()。
+     *
+     * 子类覆盖 setUp() 时若沿用旧写法又标注了 @BeforeMethod，TestNG 会在本方法之后（父类配置方法先执行）
+     * 直接调用该覆盖方法，这里只记录用例方法、不再调用 setUp()，避免同一用例准备两次浏览器。
+     *
+     * @param method 即将执行的测试方法（由 TestNG 注入）
+     */
+    @BeforeMethod(alwaysRun = true)
+    public void setUp(Method method) {
+        CURRENT_METHOD.set(method);
+        if (!ANNOTATED_SET_UP.get(getClass())) {
+            setUp();
+        }
+    }
+
+    /**
+     * 测试方法执行前的浏览器准备。
+     * 获取浏览器、最大化、打开 baseUrl 各阶段的耗时会记录到 StartupMetrics，
+     * 并连同浏览器创建阶段明细一起作为 Allure 附件挂到当前用例上。
+     *
+     * 子类需要追加前置步骤时覆盖本方法并先调用 super.setUp()，无需再标注 @BeforeMethod（标注了也只执行一次）；
+     * 不经 TestNG 直接调用时只检查类上声明的前置流程，用例名按类名记录。
+     */
+    public void setUp() {
+        Method method = CURRENT_METHOD.get();
+        String testName = testKey(getClass(), method);
+        // 前置流程已熔断时不再启动浏览器，由 run() 将用例标记为跳过
+        String skipReason = Prerequisites.beginTest(testName, declaredPrerequisites(method, getClass()));
+        if (skipReason != null) {
+            SKIP_REASON.set(skipReason);
+            LogUtil.warn("跳过用例 " + testName + "：" + skipReason);
+            return;
+        }
+        SKIP_REASON.remove();
+
+        // 命令耗时按用例统计，从获取浏览器开始计入
+        CommandProfiler.startTest(testName);
+        // 复用的会话会重新打开 baseUrl 回到顶层文档，上一个用例记录的 frame 上下文不再有效
+        FrameContext.reset();
+
+        DriverType type = new DriverFactory().resolveDefaultType();
+        Map<String, Long> phases = new LinkedHashMap<>();
+
+        // 通过 DriverManager 获取默认配置下的浏览器实例（启用会话池时为复用的热会话）
+        WebDriver driver = StartupMetrics.time(type, "acquire", phases, DriverManager::initDriver);
+        // FAST 档位启动时已指定固定窗口大小，无需再最大化
+        if (LaunchProfile.current() != LaunchProfile.FAST) {
+            StartupMetrics.time(type, "maximize", phases, () -> {
+                driver.manage().window().maximize();
+                return null;
+            });
+        }
+        // 网络拦截统计按用例计算，在打开页面前清零
+        NetworkBlocker.resetStats(driver);
+
+        // 如果配置中定义了 baseUrl，则在测试起始时自动打开
+        FrameworkConfig config = ConfigManager.getConfig();
+        String baseUrl = config.getBaseUrl();
+        if (baseUrl != null && !baseUrl.isBlank()) {
+            StartupMetrics.time(type, "navigate", phases, () -> {
+                driver.get(baseUrl);
+                return null;
+            });
+        }
+
+        // 新建的浏览器带有创建阶段明细，复用的会话则只有 acquire 之后的阶段
+        Map<String, Long> breakdown = new LinkedHashMap<>(StartupMetrics.takeCreationPhases(driver));
+        breakdown.putAll(phases);
+        Allure.addAttachment("浏览器启动耗时", "text/plain", StartupMetrics.format(type, breakdown), ".txt");
+    }
+
+    /**
+     * 每个测试方法执行完成后都会回调本方法。
+     * 使用 @AfterMethod 注解保证在 @Test 方法之后执行。
+     */
+    @AfterMethod(alwaysRun = true)
+    public void tearDown() {
+        SKIP_REASON.remove();
+        CURRENT_METHOD.remove();
+
+        // 配置了网络拦截规则时，输出本用例的拦截统计
+        WebDriver driver = DriverManager.getDriver();
+        String blockStats = driver != null ? NetworkBlocker.describeStats(driver) : null;
+        if (blockStats != null) {
+            LogUtil.info("网络拦截统计：" + blockStats);
+            Allure.addAttachment("网络拦截统计", "text/plain", blockStats, ".txt");
+        }
+
+        // 开启命令耗时统计时，输出本用例的命令明细
+        String commandStats = CommandProfiler.finishTest();
+        if (commandStats != null) {
+            Allure.addAttachment("WebDriver 命令耗时", "text/plain", commandStats, ".txt");
+        }
+
+        // 统一关闭（或归还会话池）并清理当前线程的 WebDriver
+        DriverManager.quitDriver();
+    }
+
+    /**
+     * 包装配置方法的执行：用例因前置流程熔断而跳过时，子类的 @BeforeMethod / @AfterMethod 不再执行，
+     * 否则它们会在没有浏览器的情况下失败，并按 TestNG 的配置失败策略连带跳过同类中其他用例。
+     * BaseTest 自身的 setUp / tearDown 照常执行。
+     *
+     * @param callBack   TestNG 回调，用于执行真正的配置方法
+     * @param testResult 当前配置方法的结果
+     */
+    @Override
+    public void run(IConfigureCallBack callBack, ITestResult testResult) {
+        ITestNGMethod method = testResult.getMethod();
+        if (SKIP_REASON.get() != null
+                && (method.isBeforeMethodConfiguration() || method.isAfterMethodConfiguration())
+                && method.getConstructorOrMethod().getDeclaringClass() != BaseTest.class) {
+            LogUtil.info("前置流程已熔断，不执行配置方法 " + method.getMethodName());
+            // 不调用回调时 TestNG 会把配置方法记为未执行（ConfigurationNotInvokedException）并跳过用例，
+            // 用例的跳过原因随之丢失，这里显式标记为成功
+            testResult.setStatus(ITestResult.SUCCESS);
+            return;
+        }
+        callBack.runConfigurationMethod(testResult);
+    }
+
+    /**
+     * 包装用例方法的执行：
+     *  - setUp 判定需要跳过时不执行用例方法；
+     *  - 用例执行中遇到已熔断的前置流程时，把失败转换为跳过。
+     *
+     * @param callBack   TestNG 回调，用于执行真正的用例方法
+     * @param testResult 当前用例结果
+     */
+    @Override
+    public void run(IHookCallBack callBack, ITestResult testResult) {
+        String skipReason = SKIP_REASON.get();
+        if (skipReason != null) {
+            testResult.setThrowable(new SkipException(skipReason));
+            testResult.setStatus(ITestResult.SKIP);
+            return;
+        }
+
+        callBack.runTestMethod(testResult);
+        if (testResult.getThrowable() instanceof PrerequisiteUnavailableException unavailable) {
+            testResult.setThrowable(new SkipException(unavailable.getMessage(), unavailable));
+            testResult.setStatus(ITestResult.SKIP);
+        }
+    }
+
+    /**
+     * 用例 key：运行时测试类的全限定名 + 方法名。
+     * 继承自父类的用例方法按各个子类分别记录，不同包中的同名测试类也不会混在一起；method 为 null 时只用类名。
+     */
+    static String testKey(Class<?> testClass, Method method) {
+        return method != null ? testClass.getName() + "." + method.getName() : testClass.getName();
+    }
+
+    /**
+     * 读取用例方法与运行时测试类（含父类）上 @Prerequisite 声明的前置流程，method 为 null 时只读取类上的声明。
+     * 从运行时测试类开始查找，继承来的用例方法同样受子类上的声明约束。
+     */
+    private static Set<String> declaredPrerequisites(Method method, Class<?> testClass) {
+        Set<String> names = new LinkedHashSet<>();
+        Prerequisite onMethod = method != null ? method.getAnnotation(Prerequisite.class) : null;
+        if (onMethod != null) {
+            names.addAll(List.of(onMethod.value()));
+        }
+        for (Class<?> type = testClass; type != null; type = type.getSuperclass()) {
+            Prerequisite onClass = type.getAnnotation(Prerequisite.class);
+            if (onClass != null) {
+                names.addAll(List.of(onClass.value()));
+            }
+        }
+        return names;
+    }
+}
@@ -0,0 +1,55 @@
+package com.saltedfish.framework.testng.scheduling;
+
+import com.saltedfish.framework.config.ConfigManager;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestResult;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * DurationRecorder 记录本次运行每个用例方法的耗时，供 TestSharder 分片与 LongestFirstOrdering 排序使用。
+ *
+ * 写回方式：
+ *  - 非分片模式在套件结束时写回 TestDurationHistory，需开启 testDurationHistoryEnabled，
+ *    避免本地调试等零散运行改写用户目录下的历史文件；
+ *  - 分片模式（-Dshard=i/n）由 SuiteListener 写入分片统计文件，ShardMerger 汇总后统一写回，
+ *    避免各分片分别写回导致同一份历史被多次合并。
+ */
+public class DurationRecorder implements IInvokedMethodListener, ISuiteListener {
+
+    /**
+     * 本次运行每个用例方法的累计耗时（毫秒）。
+     */
+    private static final Map<String, Long> RUN_DURATIONS = new ConcurrentHashMap<>();
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (method.isTestMethod()) {
+            long millis = Math.max(0, testResult.getEndMillis() - testResult.getStartMillis());
+            RUN_DURATIONS.merge(TestDurationHistory.keyOf(testResult.getMethod()), millis, Long::sum);
+        }
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        if (ShardSpec.current() != null
+                || !Boolean.TRUE.equals(ConfigManager.getConfig().getTestDurationHistoryEnabled())) {
+            return;
+        }
+        RUN_DURATIONS.forEach(TestDurationHistory::record);
+        TestDurationHistory.flush();
+    }
+
+    /**
+     * 本次运行每个用例方法的累计耗时，供 SuiteListener 写入分片统计文件。
+     *
+     * @return 用例 key -> 耗时（毫秒）
+     */
+    public static Map<String, Long> runDurations() {
+        return Map.copyOf(RUN_DURATIONS);
+    }
+}
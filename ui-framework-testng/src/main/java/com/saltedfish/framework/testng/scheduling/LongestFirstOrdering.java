@@ -0,0 +1,199 @@
+package com.saltedfish.framework.testng.scheduling;
+
+import com.saltedfish.framework.utils.LogUtil;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestContext;
+import org.testng.ITestNGMethod;
+import org.testng.xml.XmlSuite;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LongestFirstOrdering 按历史耗时调整用例执行顺序，缩短并行执行的总耗时（makespan）。
+ *
+ * 背景：
+ *  - 并行执行时，最后才开始的长用例会让其他线程空等，整体耗时被拉长；
+ *
+ * 排序规则：
+ *  1. 每个用例方法的权重为 TestDurationHistory 中的历史耗时，没有历史的按已知用例的平均耗时估算；
+ *  2. 存在 dependsOnMethods 时按关键路径排序：方法的优先级 = 自身耗时 + 依赖它的后续方法中最长的一条链，
+ *     让长依赖链的起点尽早开始；
+ *  3. parallel=classes / instances 时线程按类分配，先按类的总耗时降序，再在类内按方法优先级降序；
+ *  4. 用例声明的 @Test(priority) 始终优先，上述规则只在 priority 相同的用例之间生效；
+ *  5. 优先级相同的方法保持原有顺序。
+ *
+ * 串行执行（parallel 未开启或线程数不大于 1）时总耗时与顺序无关，用例列表保持不变。
+ *
+ * 每个 &lt;test&gt; 按当前线程数模拟一次贪心调度得到预计 makespan，套件结束时与实际耗时一起输出。
+ * 与 TestSharder 一起使用时，应在 testng.xml 中注册在 TestSharder 之后：先分片，再排序。
+ */
+public class LongestFirstOrdering implements IMethodInterceptor, ISuiteListener {
+
+    private static final Map<String, LongAdder> PREDICTED_MILLIS = new ConcurrentHashMap<>();
+    private static final Map<String, Long> SUITE_STARTS = new ConcurrentHashMap<>();
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        XmlSuite xmlSuite = context.getSuite().getXmlSuite();
+        if (methods.size() < 2 || xmlSuite.getParallel() == XmlSuite.ParallelMode.NONE
+                || xmlSuite.getThreadCount() <= 1) {
+            return methods;
+        }
+        boolean byClass = xmlSuite.getParallel() == XmlSuite.ParallelMode.CLASSES
+                || xmlSuite.getParallel() == XmlSuite.ParallelMode.INSTANCES;
+
+        Map<ITestNGMethod, Long> weights = weights(methods);
+        Map<ITestNGMethod, Long> ranks = criticalPathRanks(methods, weights);
+        Map<Class<?>, Long> classWeights = new HashMap<>();
+        for (IMethodInstance instance : methods) {
+            classWeights.merge(instance.getMethod().getRealClass(), weights.get(instance.getMethod()), Long::sum);
+        }
+
+        Comparator<IMethodInstance> byRank = Comparator.comparingLong(
+                (IMethodInstance instance) -> ranks.get(instance.getMethod())).reversed();
+        Comparator<IMethodInstance> byHistory = byClass
+                ? Comparator.comparingLong(
+                        (IMethodInstance instance) -> classWeights.get(instance.getMethod().getRealClass())).reversed()
+                .thenComparing(instance -> instance.getMethod().getRealClass().getName())
+                .thenComparing(byRank)
+                : byRank;
+        Comparator<IMethodInstance> order = Comparator.comparingInt(
+                (IMethodInstance instance) -> instance.getMethod().getPriority()).thenComparing(byHistory);
+        List<IMethodInstance> ordered = new ArrayList<>(methods);
+        ordered.sort(order);
+
+        int threads = xmlSuite.getThreadCount();
+        long predicted = simulate(ordered, weights, threads, byClass);
+        PREDICTED_MILLIS.computeIfAbsent(context.getSuite().getName(), key -> new LongAdder()).add(predicted);
+        LogUtil.info(String.format("按历史耗时排序 %d 个用例（%s），线程数 %d，预计耗时 %.1fs",
+                ordered.size(), context.getName(), threads, predicted / 1000.0));
+        return ordered;
+    }
+
+    @Override
+    public void onStart(ISuite suite) {
+        SUITE_STARTS.put(suite.getName(), System.currentTimeMillis());
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        Long start = SUITE_STARTS.remove(suite.getName());
+        LongAdder predicted = PREDICTED_MILLIS.remove(suite.getName());
+        if (start == null || predicted == null) {
+            return;
+        }
+        long actual = System.currentTimeMillis() - start;
+        LogUtil.info(String.format("套件 %s 总耗时：预计 %.1fs，实际 %.1fs（预计值只含用例方法耗时，不含浏览器启动等配置方法）",
+                suite.getName(), predicted.sum() / 1000.0, actual / 1000.0));
+    }
+
+    /**
+     * 每个方法的预计耗时，没有历史的方法按已知方法的平均值估算（都没有时记为 1，退化为保持原有顺序）。
+     */
+    private static Map<ITestNGMethod, Long> weights(List<IMethodInstance> methods) {
+        Map<ITestNGMethod, Long> known = new HashMap<>();
+        for (IMethodInstance instance : methods) {
+            long expected = TestDurationHistory.expectedMillis(TestDurationHistory.keyOf(instance.getMethod()));
+            if (expected >= 0) {
+                known.put(instance.getMethod(), expected);
+            }
+        }
+        long average = known.isEmpty() ? 1
+                : known.values().stream().mapToLong(Long::longValue).sum() / known.size();
+
+        Map<ITestNGMethod, Long> weights = new HashMap<>();
+        for (IMethodInstance instance : methods) {
+            weights.put(instance.getMethod(), known.getOrDefault(instance.getMethod(), average));
+        }
+        return weights;
+    }
+
+    /**
+     * 关键路径优先级：自身耗时 + 依赖它的方法中最长的后续链。
+     */
+    static Map<ITestNGMethod, Long> criticalPathRanks(List<IMethodInstance> methods,
+                                                      Map<ITestNGMethod, Long> weights) {
+        Map<String, ITestNGMethod> byName = new HashMap<>();
+        for (IMethodInstance instance : methods) {
+            ITestNGMethod method = instance.getMethod();
+            byName.put(method.getRealClass().getName() + "." + method.getMethodName(), method);
+        }
+
+        // 被依赖方法 -> 依赖它的方法
+        Map<ITestNGMethod, List<ITestNGMethod>> dependents = new HashMap<>();
+        for (IMethodInstance instance : methods) {
+            ITestNGMethod method = instance.getMethod();
+            for (String upstream : method.getMethodsDependedUpon()) {
+                ITestNGMethod dependency = byName.get(upstream);
+                if (dependency != null) {
+                    dependents.computeIfAbsent(dependency, key -> new ArrayList<>()).add(method);
+                }
+            }
+        }
+
+        Map<ITestNGMethod, Long> ranks = new HashMap<>();
+        for (IMethodInstance instance : methods) {
+            rank(instance.getMethod(), weights, dependents, ranks);
+        }
+        return ranks;
+    }
+
+    private static long rank(ITestNGMethod method, Map<ITestNGMethod, Long> weights,
+                             Map<ITestNGMethod, List<ITestNGMethod>> dependents, Map<ITestNGMethod, Long> ranks) {
+        Long cached = ranks.get(method);
+        if (cached != null) {
+            return cached;
+        }
+        // 先放入自身耗时，遇到循环依赖（TestNG 本身会报错）时不会无限递归
+        long own = weights.getOrDefault(method, 0L);
+        ranks.put(method, own);
+        long longestTail = 0;
+        for (ITestNGMethod dependent : dependents.getOrDefault(method, List.of())) {
+            longestTail = Math.max(longestTail, rank(dependent, weights, dependents, ranks));
+        }
+        ranks.put(method, own + longestTail);
+        return own + longestTail;
+    }
+
+    /**
+     * 按给定顺序贪心模拟：每个方法（按类分配时为每个类）交给最早空闲的线程，返回所有线程结束的最晚时间。
+     * 不考虑依赖等待，作为排序效果的估算。
+     */
+    private static long simulate(List<IMethodInstance> ordered, Map<ITestNGMethod, Long> weights,
+                                 int threads, boolean byClass) {
+        List<Long> jobs = new ArrayList<>();
+        Class<?> currentClass = null;
+        for (IMethodInstance instance : ordered) {
+            long weight = weights.get(instance.getMethod());
+            Class<?> type = instance.getMethod().getRealClass();
+            if (byClass && type == currentClass) {
+                jobs.set(jobs.size() - 1, jobs.get(jobs.size() - 1) + weight);
+            } else {
+                jobs.add(weight);
+            }
+            currentClass = type;
+        }
+
+        PriorityQueue<Long> workers = new PriorityQueue<>();
+        for (int i = 0; i < threads; i++) {
+            workers.add(0L);
+        }
+        long makespan = 0;
+        for (long job : jobs) {
+            long finish = workers.poll() + job;
+            makespan = Math.max(makespan, finish);
+            workers.add(finish);
+        }
+        return makespan;
+    }
+}
@@ -0,0 +1,170 @@
+package com.saltedfish.framework.testng.scheduling;
+
+import com.saltedfish.framework.config.ConfigManager;
+import com.saltedfish.framework.config.FrameworkConfig;
+import com.saltedfish.framework.driver.BrowserSlots;
+import com.saltedfish.framework.utils.LogUtil;
+import org.testng.IAlterSuiteListener;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestResult;
+import org.testng.xml.XmlSuite;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * ParallelScheduler 根据机器资源决定套件的并行度，并在套件结束时输出相对串行执行的加速比。
+ *
+ * 工作方式：
+ *  1. alter（IAlterSuiteListener）：配置了 parallelMode 时，改写 testng.xml 中的 parallel 与 thread-count；
+ *     线程数 = min(CPU 核数, (总内存 - memoryReserveMb) / browserMemoryMb, parallelMaxThreads)，至少为 1；
+ *     总内存在容器中为 cgroup 限制；不使用“空闲内存”，它不含可回收的页缓存，会严重低估可容纳的浏览器数；
+ *     methods（parallelMode 或 testng.xml 中的设置）按 classes 执行：TestNG 在 methods 模式下让多个线程共用同一个测试类实例，
+ *     而测试类通常在实例字段中保存用例状态（@BeforeMethod 中创建的 Flow / Page），会被并发的用例相互覆盖；
+ *  2. 浏览器数量另由 BrowserSlots 按 DriverType 限制（配置项 maxBrowsersPerType），
+ *     线程数大于浏览器上限时多出的线程在 DriverManager.initDriver 中等待；
+ *     会话池中的空闲会话与预启动的浏览器不计入该上限；
+ *  3. 执行期间累计每个用例方法与配置方法（@BeforeMethod 等，含浏览器启动）的耗时，
+ *     扣除在 BrowserSlots 中等待浏览器许可的阻塞时间（串行执行时不会发生）后视为串行执行所需时间；
+ *     套件结束时与实际耗时对比得到加速比与并行效率。
+ *
+ * 使用方式：在 testng.xml 的 &lt;listeners&gt; 中注册本类，并在 framework-config.json 中设置 parallelMode。
+ */
+public class ParallelScheduler implements IAlterSuiteListener, ISuiteListener, IInvokedMethodListener {
+
+    private static final long MB = 1024L * 1024L;
+
+    /**
+     * 套件名称 -> 开始时间（毫秒）。
+     */
+    private static final Map<String, Long> SUITE_STARTS = new ConcurrentHashMap<>();
+
+    /**
+     * 套件名称 -> 所有方法的累计耗时（毫秒）。
+     */
+    private static final Map<String, LongAdder> SERIAL_MILLIS = new ConcurrentHashMap<>();
+
+    /**
+     * 套件名称 -> 等待浏览器许可的累计阻塞时间（毫秒）。
+     */
+    private static final Map<String, LongAdder> SLOT_WAIT_MILLIS = new ConcurrentHashMap<>();
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        FrameworkConfig config = ConfigManager.getConfig();
+        String mode = config.getParallelMode();
+        if (mode == null || mode.isBlank()) {
+            // 沿用 testng.xml 中的并行设置，只把 methods 改为 classes
+            for (XmlSuite suite : suites) {
+                suite.setParallel(classLevel(suite.getParallel()));
+            }
+            return;
+        }
+
+        XmlSuite.ParallelMode parallel = classLevel(
+                XmlSuite.ParallelMode.getValidParallel(mode.trim().toLowerCase()));
+        int threads = parallel == XmlSuite.ParallelMode.NONE ? 1 : computeThreads(config);
+        for (XmlSuite suite : suites) {
+            suite.setParallel(parallel);
+            suite.setThreadCount(threads);
+            LogUtil.info("套件 " + suite.getName() + " 并行模式：" + parallel + "，线程数：" + threads);
+        }
+
+        Integer poolSize = config.getDriverPoolMaxSize();
+        if (Boolean.TRUE.equals(config.getDriverPoolEnabled()) && poolSize != null && poolSize < threads) {
+            LogUtil.warn("会话池上限 driverPoolMaxSize=" + poolSize + " 小于并行线程数 " + threads
+                    + "，多出的线程每次都会新建浏览器。");
+        }
+    }
+
+    @Override
+    public void onStart(ISuite suite) {
+        SUITE_STARTS.put(suite.getName(), System.currentTimeMillis());
+        SERIAL_MILLIS.put(suite.getName(), new LongAdder());
+        SLOT_WAIT_MILLIS.put(suite.getName(), new LongAdder());
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        String suiteName = testResult.getTestContext().getSuite().getName();
+        // 浏览器许可在 @BeforeMethod（DriverManager.initDriver）中获取，阻塞时间计入该配置方法，这里扣除
+        long waited = BrowserSlots.takeWaitedMillis();
+        LongAdder total = SERIAL_MILLIS.get(suiteName);
+        if (total != null) {
+            total.add(Math.max(0, testResult.getEndMillis() - testResult.getStartMillis() - waited));
+        }
+        LongAdder slotWait = SLOT_WAIT_MILLIS.get(suiteName);
+        if (slotWait != null) {
+            slotWait.add(waited);
+        }
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        Long start = SUITE_STARTS.remove(suite.getName());
+        LongAdder serial = SERIAL_MILLIS.remove(suite.getName());
+        LongAdder slotWait = SLOT_WAIT_MILLIS.remove(suite.getName());
+        if (start == null || serial == null) {
+            return;
+        }
+        long wallMillis = Math.max(1, System.currentTimeMillis() - start);
+        long serialMillis = serial.sum();
+        int threads = suite.getXmlSuite().getParallel() == XmlSuite.ParallelMode.NONE
+                ? 1 : suite.getXmlSuite().getThreadCount();
+        double speedup = (double) serialMillis / wallMillis;
+
+        LogUtil.info(String.format("并行执行统计：模式 %s，线程数 %d，串行累计耗时 %.1fs，实际耗时 %.1fs，"
+                        + "加速比 %.2f，并行效率 %.0f%%，等待浏览器许可累计 %.1fs",
+                suite.getXmlSuite().getParallel(), threads, serialMillis / 1000.0, wallMillis / 1000.0,
+                speedup, speedup / threads * 100, slotWait != null ? slotWait.sum() / 1000.0 : 0.0));
+    }
+
+    /**
+     * methods 模式下 TestNG 让多个线程共用同一个测试类实例，实例字段中的用例状态会相互覆盖，改为 classes。
+     */
+    private static XmlSuite.ParallelMode classLevel(XmlSuite.ParallelMode parallel) {
+        if (parallel != XmlSuite.ParallelMode.METHODS) {
+            return parallel;
+        }
+        LogUtil.warn("并行模式 methods 会让多个线程共用同一个测试类实例，实例字段中的用例状态会相互覆盖，"
+                + "改为按 classes 并行。");
+        return XmlSuite.ParallelMode.CLASSES;
+    }
+
+    /**
+     * 按 CPU 核数与内存计算线程数：每个线程同一时间驱动一个浏览器，
+     * 浏览器渲染基本占满一个核，内存按 (总内存 - memoryReserveMb) / browserMemoryMb 估算。
+     */
+    private static int computeThreads(FrameworkConfig config) {
+        int cores = Runtime.getRuntime().availableProcessors();
+        int memoryPerBrowser = config.getBrowserMemoryMb() != null && config.getBrowserMemoryMb() > 0
+                ? config.getBrowserMemoryMb() : 600;
+
+        int reserve = config.getMemoryReserveMb() != null && config.getMemoryReserveMb() >= 0
+                ? config.getMemoryReserveMb() : 2048;
+
+        long byMemory = Long.MAX_VALUE;
+        OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        if (os instanceof com.sun.management.OperatingSystemMXBean sunOs) {
+            // JDK 在容器中返回 cgroup 内存限制
+            long usable = sunOs.getTotalMemorySize() - reserve * MB;
+            byMemory = Math.max(0, usable) / (memoryPerBrowser * MB);
+        }
+
+        long threads = Math.min(cores, byMemory);
+        Integer max = config.getParallelMaxThreads();
+        if (max != null && max > 0) {
+            threads = Math.min(threads, max);
+        }
+        LogUtil.info("并行度计算：CPU 核数 " + cores + "，按内存可容纳浏览器数 "
+                + (byMemory == Long.MAX_VALUE ? "未知" : byMemory) + "，上限 " + (max != null && max > 0 ? max : "不限"));
+        return (int) Math.max(1, threads);
+    }
+}
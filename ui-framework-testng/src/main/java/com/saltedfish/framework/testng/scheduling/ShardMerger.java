@@ -0,0 +1,125 @@
+package com.saltedfish.framework.testng.scheduling;
+
+import com.saltedfish.framework.concurrent.FrameworkExecutor;
+import com.saltedfish.framework.notification.Notifiers;
+import com.saltedfish.framework.utils.LogUtil;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+/**
+ * ShardMerger 汇总各分片的执行结果，在所有分片结束后执行一次。
+ *
+ * 用法：
+ * <pre>
+ * java -cp ... com.saltedfish.framework.testng.scheduling.ShardMerger &lt;合并输出目录&gt; &lt;分片 target 目录&gt;...
+ * </pre>
+ * 每个分片 target 目录下应包含 allure-results 与 shard-stats 两个子目录。
+ *
+ * 汇总内容：
+ *  1. allure-results：合并前先清空输出目录，避免上一次构建遗留的结果混入本次报告；
+ *     结果文件以 UUID 命名互不冲突，直接复制到输出目录，environment.properties 等同名文件保留第一个分片的版本；
+ *  2. 分片统计：通过 / 失败 / 跳过合计后发送一次通知，缺少分片时在通知中注明；
+ *  3. 用例耗时：各分片记录的耗时写回 TestDurationHistory，供下一次分片使用。
+ */
+public final class ShardMerger {
+
+    private ShardMerger() {
+        // 工具类禁止实例化
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("用法：ShardMerger <合并输出目录> <分片 target 目录>...");
+            System.exit(2);
+        }
+        Path output = Paths.get(args[0]);
+        cleanDirectory(output);
+
+        List<ShardStats> stats = new ArrayList<>();
+        for (int i = 1; i < args.length; i++) {
+            Path shardDir = Paths.get(args[i]);
+            copyResults(shardDir.resolve("allure-results"), output);
+            stats.addAll(ShardStats.readAll(shardDir.resolve("shard-stats")));
+        }
+        if (stats.isEmpty()) {
+            LogUtil.warn("未找到任何分片统计文件，跳过通知。");
+            return;
+        }
+
+        int passed = 0;
+        int failed = 0;
+        int skipped = 0;
+        int total = 0;
+        Set<Integer> present = new TreeSet<>();
+        for (ShardStats shard : stats) {
+            passed += shard.passed();
+            failed += shard.failed();
+            skipped += shard.skipped();
+            total = Math.max(total, shard.shardTotal());
+            present.add(shard.shardIndex());
+            if (shard.durations() != null) {
+                shard.durations().forEach(TestDurationHistory::record);
+            }
+        }
+        TestDurationHistory.flush();
+
+        List<Integer> missing = new ArrayList<>();
+        for (int i = 1; i <= total; i++) {
+            if (!present.contains(i)) {
+                missing.add(i);
+            }
+        }
+
+        String content = """
+                套件名称：%s
+                分片数：%d%s
+                通过用例数：%d
+                失败用例数：%d
+                跳过用例数：%d
+                """.formatted(stats.get(0).suiteName(), total,
+                missing.isEmpty() ? "" : "（缺少分片 " + missing + "，结果不完整）",
+                passed, failed, skipped);
+        LogUtil.info("分片结果汇总：" + System.lineSeparator() + content);
+
+        Notifiers.sendToConfigured("UI 自动化回归结果", content);
+        FrameworkExecutor.awaitAll();
+    }
+
+    /**
+     * 清空并重建输出目录：同名文件保留第一个分片的版本，输出目录中的旧文件会被误当成“第一个分片”。
+     */
+    private static void cleanDirectory(Path dir) throws IOException {
+        if (Files.isDirectory(dir)) {
+            try (Stream<Path> paths = Files.walk(dir)) {
+                for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                    Files.delete(path);
+                }
+            }
+        }
+        Files.createDirectories(dir);
+    }
+
+    private static void copyResults(Path source, Path output) throws IOException {
+        if (!Files.isDirectory(source)) {
+            LogUtil.warn("分片结果目录不存在：" + source.toAbsolutePath());
+            return;
+        }
+        try (Stream<Path> files = Files.list(source)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Path target = output.resolve(file.getFileName());
+                if (Files.isRegularFile(file) && !Files.exists(target)) {
+                    Files.copy(file, target);
+                }
+            }
+        }
+    }
+}
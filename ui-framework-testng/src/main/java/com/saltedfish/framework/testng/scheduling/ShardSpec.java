@@ -0,0 +1,44 @@
+package com.saltedfish.framework.testng.scheduling;
+
+/**
+ * 分片参数，通过 JVM 参数 -Dshard=i/n 指定，i 从 1 开始。
+ * 例如 -Dshard=2/4 表示共 4 个分片，当前进程执行第 2 个。
+ *
+ * @param index 当前分片序号（1 ~ total）
+ * @param total 分片总数
+ */
+public record ShardSpec(int index, int total) {
+
+    public ShardSpec {
+        if (total < 1 || index < 1 || index > total) {
+            throw new IllegalArgumentException("分片参数无效：" + index + "/" + total);
+        }
+    }
+
+    /**
+     * 读取当前进程的分片参数。
+     * 参数格式错误时直接抛出异常：否则每个分片都会执行全部用例，而不是少执行。
+     *
+     * @return 分片参数；未指定 -Dshard 时返回 null
+     */
+    public static ShardSpec current() {
+        String value = System.getProperty("shard");
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        String[] parts = value.trim().split("/");
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("分片参数格式应为 i/n，例如 -Dshard=1/4，实际为：" + value);
+        }
+        try {
+            return new ShardSpec(Integer.parseInt(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("分片参数格式应为 i/n，例如 -Dshard=1/4，实际为：" + value, e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return index + "/" + total;
+    }
+}
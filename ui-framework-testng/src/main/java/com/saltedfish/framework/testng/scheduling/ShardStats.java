@@ -0,0 +1,72 @@
+package com.saltedfish.framework.testng.scheduling;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.saltedfish.framework.utils.LogUtil;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 单个分片的执行统计，分片模式下由 SuiteListener 写入 target/shard-stats，ShardMerger 汇总。
+ *
+ * @param suiteName  套件名称
+ * @param shardIndex 分片序号（从 1 开始）
+ * @param shardTotal 分片总数
+ * @param passed     通过用例数
+ * @param failed     失败用例数
+ * @param skipped    跳过用例数
+ * @param durations  本分片每个用例方法的耗时（毫秒），用于汇总后写回 TestDurationHistory
+ */
+public record ShardStats(String suiteName, int shardIndex, int shardTotal,
+                         int passed, int failed, int skipped, Map<String, Long> durations) {
+
+    /**
+     * 分片统计文件所在目录（相对于当前工作目录，即执行用例的模块目录）。
+     */
+    public static final Path DEFAULT_DIR = Paths.get("target", "shard-stats");
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /**
+     * 写入统计文件：目录下的 shard-{i}-of-{n}.json。
+     *
+     * @param dir 目标目录
+     */
+    public void write(Path dir) {
+        Path file = dir.resolve("shard-" + shardIndex + "-of-" + shardTotal + ".json");
+        try {
+            Files.createDirectories(dir);
+            MAPPER.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), this);
+            LogUtil.info("分片统计已写入 " + file.toAbsolutePath());
+        } catch (IOException e) {
+            LogUtil.error("写入分片统计失败：" + file.toAbsolutePath(), e);
+        }
+    }
+
+    /**
+     * 读取目录下的全部分片统计文件，目录不存在时返回空列表。
+     *
+     * @param dir 统计文件目录
+     * @return 分片统计列表
+     */
+    public static List<ShardStats> readAll(Path dir) {
+        List<ShardStats> stats = new ArrayList<>();
+        if (!Files.isDirectory(dir)) {
+            return stats;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "shard-*.json")) {
+            for (Path file : files) {
+                stats.add(MAPPER.readValue(file.toFile(), ShardStats.class));
+            }
+        } catch (IOException e) {
+            LogUtil.error("读取分片统计失败：" + dir.toAbsolutePath(), e);
+        }
+        return stats;
+    }
+}
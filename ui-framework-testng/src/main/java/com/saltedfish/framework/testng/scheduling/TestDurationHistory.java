@@ -0,0 +1,166 @@
+package com.saltedfish.framework.testng.scheduling;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.saltedfish.framework.config.ConfigManager;
+import com.saltedfish.framework.utils.LogUtil;
+import org.testng.ITestNGMethod;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * TestDurationHistory 记录每个用例方法的历史耗时，供分片（TestSharder）与排序按耗时分配用例。
+ *
+ * 记录方式：
+ *  - key 为“用例类全名.方法名”，数据驱动用例的多次调用、重试合计为一次样本；
+ *  - 耗时按 EWMA（权重 0.3）平滑；
+ *  - 结果持久化到 -Dshard.history 或 testDurationHistoryFile 指定的文件（默认 ~/.saltedfish/test-durations.json），
+ *    写回方式与 LocatorLatencyHistory 相同：文件锁 + 原子替换，只覆盖本次更新的条目。
+ *
+ * 注意：分片运行时各分片必须读到同一份历史文件，否则分配结果不一致；
+ * 分片模式下各分片不写回历史，由 ShardMerger 汇总各分片耗时后统一写回。
+ */
+public final class TestDurationHistory {
+
+    /**
+     * EWMA 中新样本的权重。
+     */
+    private static final double ALPHA = 0.3;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final Map<String, Timing> HISTORY = new ConcurrentHashMap<>();
+
+    /**
+     * 本次运行中更新过的 key。
+     */
+    private static final Set<String> DIRTY = ConcurrentHashMap.newKeySet();
+
+    private static volatile boolean loaded;
+
+    private TestDurationHistory() {
+        // 工具类禁止实例化
+    }
+
+    /**
+     * 计算用例方法的历史 key。
+     *
+     * @param method TestNG 用例方法
+     * @return 形如 "com.xxx.LoginTest.testLoginSuccess" 的 key
+     */
+    public static String keyOf(ITestNGMethod method) {
+        return method.getRealClass().getName() + "." + method.getMethodName();
+    }
+
+    /**
+     * 查询用例的预期耗时。
+     *
+     * @param key 用例 key
+     * @return 预期耗时（毫秒），没有历史时返回 -1
+     */
+    public static long expectedMillis(String key) {
+        ensureLoaded();
+        Timing timing = HISTORY.get(key);
+        return timing != null ? Math.round(timing.ewmaMillis()) : -1;
+    }
+
+    /**
+     * 记录一次用例耗时。
+     *
+     * @param key    用例 key
+     * @param millis 耗时（毫秒）
+     */
+    public static void record(String key, long millis) {
+        ensureLoaded();
+        HISTORY.merge(key, new Timing(millis, 1, System.currentTimeMillis()),
+                (old, sample) -> new Timing(old.ewmaMillis() + ALPHA * (sample.ewmaMillis() - old.ewmaMillis()),
+                        old.samples() + 1, sample.updatedAt()));
+        DIRTY.add(key);
+    }
+
+    /**
+     * 把本次运行更新过的条目写回历史文件。
+     */
+    public static synchronized void flush() {
+        if (DIRTY.isEmpty()) {
+            return;
+        }
+        Path file = historyFile();
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            try (FileChannel channel = FileChannel.open(file.resolveSibling(file.getFileName() + ".lock"),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                // 通道关闭时文件锁随之释放
+                channel.lock();
+                Map<String, Timing> all = read(file);
+                for (String key : DIRTY) {
+                    all.put(key, HISTORY.get(key));
+                }
+                Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+                MAPPER.writerWithDefaultPrettyPrinter().writeValue(tmp.toFile(), all);
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+            LogUtil.info("用例耗时历史已写入 " + file + "，本次更新 " + DIRTY.size() + " 条。");
+            DIRTY.clear();
+        } catch (IOException e) {
+            LogUtil.warn("写入用例耗时历史失败：" + e.getMessage());
+        }
+    }
+
+    private static void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (TestDurationHistory.class) {
+            if (!loaded) {
+                read(historyFile()).forEach(HISTORY::putIfAbsent);
+                loaded = true;
+            }
+        }
+    }
+
+    private static Map<String, Timing> read(Path file) {
+        if (!Files.exists(file)) {
+            return new HashMap<>();
+        }
+        try {
+            return MAPPER.readValue(file.toFile(), new TypeReference<HashMap<String, Timing>>() {
+            });
+        } catch (IOException e) {
+            LogUtil.warn("用例耗时历史文件已损坏，将重新生成：" + file);
+            return new HashMap<>();
+        }
+    }
+
+    private static Path historyFile() {
+        // CI 中各分片通过 -Dshard.history 指定同一份历史文件（例如上一次构建归档的文件）
+        String configured = System.getProperty("shard.history");
+        if (configured == null || configured.isBlank()) {
+            configured = ConfigManager.getConfig().getTestDurationHistoryFile();
+        }
+        if (configured != null && !configured.isBlank()) {
+            return Paths.get(configured);
+        }
+        return Paths.get(System.getProperty("user.home"), ".saltedfish", "test-durations.json");
+    }
+
+    /**
+     * 一个用例的历史耗时。
+     *
+     * @param ewmaMillis 平滑后的耗时（毫秒）
+     * @param samples    累计样本数
+     * @param updatedAt  最近更新时间（毫秒时间戳）
+     */
+    public record Timing(double ewmaMillis, int samples, long updatedAt) {
+    }
+}
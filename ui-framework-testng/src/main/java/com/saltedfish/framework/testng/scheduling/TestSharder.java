@@ -0,0 +1,216 @@
+package com.saltedfish.framework.testng.scheduling;
+
+import com.saltedfish.framework.utils.LogUtil;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ITestContext;
+import org.testng.ITestNGMethod;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * TestSharder 把用例拆分到多个进程 / 节点执行，通过 -Dshard=i/n 启用。
+ *
+ * 分配规则：
+ *  1. 分配单位默认是用例方法；类中存在 dependsOnMethods / dependsOnGroups 的用例时，整个类作为一个单位；
+ *     依赖跨类时（dependsOnGroups 指向其他类的分组、dependsOnMethods 写了其他类的方法），
+ *     依赖双方所在的类合并为同一个单位，保证依赖关系在同一分片内；
+ *  2. 有历史耗时（TestDurationHistory）时按 LPT 装箱：单位按预计耗时从大到小依次放入当前预计耗时最少的分片，
+ *     没有历史的单位按已知单位的平均耗时估算；
+ *  3. 完全没有历史时退回稳定哈希：单位名的 hashCode 对分片数取模；
+ *  4. 各分片基于相同的用例列表与历史文件独立计算，结果一致，无需协调。
+ *
+ * 用例耗时由 DurationRecorder 记录，未指定 -Dshard 时不改变用例列表。
+ */
+public class TestSharder implements IMethodInterceptor {
+
+    /**
+     * 没有任何历史时，LPT 中未知单位的估算耗时（毫秒）。
+     */
+    private static final long DEFAULT_UNIT_MILLIS = 60_000;
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        ShardSpec spec = ShardSpec.current();
+        if (spec == null || spec.total() == 1) {
+            return methods;
+        }
+
+        Map<String, String> classUnits = dependencyUnits(methods);
+        Map<String, Long> weights = unitWeights(methods, classUnits);
+        Set<String> assigned = weights.values().stream().allMatch(weight -> weight < 0)
+                ? hashAssign(weights.keySet(), spec)
+                : lptAssign(weights, spec);
+
+        List<IMethodInstance> selected = new ArrayList<>();
+        for (IMethodInstance instance : methods) {
+            if (assigned.contains(unitOf(instance.getMethod(), classUnits))) {
+                selected.add(instance);
+            }
+        }
+        LogUtil.info("分片 " + spec + "（" + context.getName() + "）：执行 " + selected.size() + " / "
+                + methods.size() + " 个用例方法。");
+        return selected;
+    }
+
+    /**
+     * 计算每个分配单位的预计耗时，单位内没有任何历史时为 -1。
+     */
+    private static Map<String, Long> unitWeights(List<IMethodInstance> methods, Map<String, String> classUnits) {
+        Map<String, Long> weights = new LinkedHashMap<>();
+        Set<String> counted = new HashSet<>();
+        for (IMethodInstance instance : methods) {
+            ITestNGMethod method = instance.getMethod();
+            String key = TestDurationHistory.keyOf(method);
+            String unit = unitOf(method, classUnits);
+            long expected = counted.add(key) ? TestDurationHistory.expectedMillis(key) : -1;
+            weights.merge(unit, expected, (a, b) -> a < 0 ? b : b < 0 ? a : a + b);
+        }
+        return weights;
+    }
+
+    private static Set<String> hashAssign(Set<String> units, ShardSpec spec) {
+        Set<String> assigned = new HashSet<>();
+        for (String unit : units) {
+            if (Math.floorMod(unit.hashCode(), spec.total()) == spec.index() - 1) {
+                assigned.add(unit);
+            }
+        }
+        LogUtil.info("没有用例耗时历史，分片 " + spec + " 按稳定哈希分配。");
+        return assigned;
+    }
+
+    /**
+     * 按 LPT 装箱，返回分配给当前分片的单位。
+     *
+     * @param weights 单位 → 预计耗时（毫秒），没有历史的单位为 -1，按已知单位的平均耗时估算
+     * @param spec    分片参数
+     * @return 当前分片执行的单位
+     */
+    static Set<String> lptAssign(Map<String, Long> weights, ShardSpec spec) {
+        long known = weights.values().stream().filter(weight -> weight >= 0).count();
+        long average = known == 0 ? DEFAULT_UNIT_MILLIS
+                : weights.values().stream().filter(weight -> weight >= 0).mapToLong(Long::longValue).sum() / known;
+
+        // 耗时相同的单位按名称排序，保证各分片计算出相同的顺序
+        List<Map.Entry<String, Long>> units = new ArrayList<>();
+        weights.forEach((unit, weight) -> units.add(Map.entry(unit, weight >= 0 ? weight : average)));
+        units.sort(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder())
+                .thenComparing(Map.Entry.comparingByKey()));
+
+        long[] loads = new long[spec.total()];
+        Set<String> assigned = new HashSet<>();
+        for (Map.Entry<String, Long> unit : units) {
+            int target = 0;
+            for (int i = 1; i < loads.length; i++) {
+                if (loads[i] < loads[target]) {
+                    target = i;
+                }
+            }
+            loads[target] += unit.getValue();
+            if (target == spec.index() - 1) {
+                assigned.add(unit.getKey());
+            }
+        }
+
+        StringBuilder plan = new StringBuilder();
+        for (int i = 0; i < loads.length; i++) {
+            plan.append(i == 0 ? "" : "，").append(i + 1).append(": ").append(loads[i] / 1000).append("s");
+        }
+        LogUtil.info("按历史耗时分配用例，各分片预计耗时：" + plan);
+        return assigned;
+    }
+
+    /**
+     * 用例所属的分配单位：参与依赖的用例类按合并后的单位分配，否则为单个方法。
+     */
+    private static String unitOf(ITestNGMethod method, Map<String, String> classUnits) {
+        String unit = classUnits.get(method.getRealClass().getName());
+        return unit != null ? unit : TestDurationHistory.keyOf(method);
+    }
+
+    /**
+     * 计算参与依赖的用例类所属的单位。
+     * 存在依赖的类自成一个单位；依赖指向其他类（分组中的方法或限定类名的方法）时，用并查集把双方合并，
+     * 合并后的单位以其中字典序最小的类名命名，各分片计算结果一致。
+     *
+     * @param methods 当前 &lt;test&gt; 的全部用例
+     * @return 用例类全名 → 单位名，不参与依赖的类不在其中
+     */
+    static Map<String, String> dependencyUnits(List<IMethodInstance> methods) {
+        Map<String, ITestNGMethod[]> classes = new LinkedHashMap<>();
+        for (IMethodInstance instance : methods) {
+            ITestNGMethod method = instance.getMethod();
+            classes.putIfAbsent(method.getRealClass().getName(), method.getTestClass().getTestMethods());
+        }
+        Map<String, Set<String>> groupOwners = new HashMap<>();
+        classes.forEach((type, testMethods) -> {
+            for (ITestNGMethod method : testMethods) {
+                for (String group : method.getGroups()) {
+                    groupOwners.computeIfAbsent(group, g -> new TreeSet<>()).add(type);
+                }
+            }
+        });
+
+        Map<String, String> parent = new HashMap<>();
+        classes.forEach((type, testMethods) -> {
+            for (ITestNGMethod method : testMethods) {
+                for (String group : method.getGroupsDependedUpon()) {
+                    union(parent, type, type);
+                    for (String owner : groupOwners.getOrDefault(group, Set.of())) {
+                        union(parent, type, owner);
+                    }
+                }
+                for (String dependency : method.getMethodsDependedUpon()) {
+                    union(parent, type, type);
+                    int dot = dependency.lastIndexOf('.');
+                    String owner = dot > 0 ? dependency.substring(0, dot) : type;
+                    if (classes.containsKey(owner)) {
+                        union(parent, type, owner);
+                    }
+                }
+            }
+        });
+
+        Map<String, String> units = new HashMap<>();
+        for (String type : parent.keySet()) {
+            units.put(type, find(parent, type));
+        }
+        long merged = units.entrySet().stream().filter(entry -> !entry.getKey().equals(entry.getValue())).count();
+        if (merged > 0) {
+            LogUtil.info("存在跨类依赖，" + merged + " 个用例类与其依赖的类合并到同一分片。");
+        }
+        return units;
+    }
+
+    private static String find(Map<String, String> parent, String type) {
+        String root = type;
+        while (!parent.get(root).equals(root)) {
+            root = parent.get(root);
+        }
+        return root;
+    }
+
+    /**
+     * 合并两个类所在的集合，字典序较小的根作为新根。
+     */
+    private static void union(Map<String, String> parent, String a, String b) {
+        parent.putIfAbsent(a, a);
+        parent.putIfAbsent(b, b);
+        String rootA = find(parent, a);
+        String rootB = find(parent, b);
+        if (rootA.compareTo(rootB) < 0) {
+            parent.put(rootB, rootA);
+        } else if (rootB.compareTo(rootA) < 0) {
+            parent.put(rootA, rootB);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.saltedfish.framework.testng.base;
+
+import com.saltedfish.framework.prerequisite.Prerequisite;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * BaseTestTest 使用的样例用例类：沿用旧写法，在覆盖的 setUp() 上标注 @BeforeMethod 并调用 super.setUp()。
+ * 前置流程已熔断，BaseTest.setUp() 不启动浏览器即返回。
+ */
+@Prerequisite(AnnotatedSetUpSample.PREREQUISITE)
+public class AnnotatedSetUpSample extends BaseTest {
+
+    static final String PREREQUISITE = "annotated-set-up-sample";
+
+    static final List<String> CALLS = new CopyOnWriteArrayList<>();
+
+    @BeforeMethod
+    @Override
+    public void setUp() {
+        CALLS.add("setUp");
+        super.setUp();
+    }
+
+    @Test
+    public void first() {
+        CALLS.add("first");
+    }
+
+    @Test
+    public void second() {
+        CALLS.add("second");
+    }
+}
@@ -0,0 +1,84 @@
+package com.saltedfish.framework.testng.base;
+
+import com.saltedfish.framework.prerequisite.Prerequisites;
+import org.testng.Assert;
+import org.testng.TestListenerAdapter;
+import org.testng.TestNG;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+/**
+ * BaseTestTest 验证用例准备与前置流程熔断后的跳过行为，不需要浏览器：熔断的用例在启动浏览器之前即被跳过。
+ */
+public class BaseTestTest {
+
+    @Test(description = "熔断后用例被跳过，子类的 @BeforeMethod / @AfterMethod 不执行，也不记为配置失败")
+    public void testTrippedPrerequisiteSkipsSubclassConfiguration() {
+        trip(PrerequisiteGuardedSample.PREREQUISITE);
+        PrerequisiteGuardedSample.CALLS.clear();
+
+        TestListenerAdapter results = run(PrerequisiteGuardedSample.class);
+
+        Assert.assertEquals(results.getSkippedTests().size(), 2);
+        results.getSkippedTests().forEach(result -> Assert.assertTrue(
+                String.valueOf(result.getThrowable().getMessage()).contains("登录失败"), result.getThrowable().toString()));
+        Assert.assertTrue(results.getFailedTests().isEmpty());
+        Assert.assertTrue(results.getConfigurationFailures().isEmpty());
+        Assert.assertTrue(results.getConfigurationSkips().isEmpty());
+        Assert.assertEquals(PrerequisiteGuardedSample.CALLS, List.of());
+    }
+
+    @Test(description = "子类在覆盖的 setUp() 上标注 @BeforeMethod 时，每个用例只准备一次")
+    public void testAnnotatedSetUpOverrideRunsOnce() {
+        trip(AnnotatedSetUpSample.PREREQUISITE);
+        AnnotatedSetUpSample.CALLS.clear();
+
+        TestListenerAdapter results = run(AnnotatedSetUpSample.class);
+
+        Assert.assertEquals(AnnotatedSetUpSample.CALLS, List.of("setUp", "setUp"));
+        Assert.assertEquals(results.getSkippedTests().size(), 2);
+        Assert.assertTrue(results.getConfigurationFailures().isEmpty());
+    }
+
+    @Test(description = "继承来的用例方法同样受运行时测试类上 @Prerequisite 的约束")
+    public void testInheritedMethodHonoursSubclassPrerequisite() {
+        trip(InheritedPrerequisiteSample.PREREQUISITE);
+        InheritedTestsSample.CALLS.clear();
+
+        TestListenerAdapter results = run(InheritedPrerequisiteSample.class);
+
+        Assert.assertEquals(results.getSkippedTests().size(), 1);
+        Assert.assertTrue(results.getConfigurationFailures().isEmpty());
+        Assert.assertEquals(InheritedTestsSample.CALLS, List.of());
+    }
+
+    @Test(description = "用例 key 按运行时测试类的全限定名区分，继承同一方法的子类互不影响")
+    public void testKeyUsesRuntimeClassName() throws NoSuchMethodException {
+        Method inherited = InheritedTestsSample.class.getMethod("inherited");
+
+        Assert.assertEquals(BaseTest.testKey(InheritedPrerequisiteSample.class, inherited),
+                InheritedPrerequisiteSample.class.getName() + ".inherited");
+        Assert.assertNotEquals(BaseTest.testKey(InheritedPrerequisiteSample.class, inherited),
+                BaseTest.testKey(InheritedTestsSample.class, inherited));
+    }
+
+    private static void trip(String prerequisite) {
+        for (int i = 0; i < 2; i++) {
+            Assert.assertThrows(IllegalStateException.class, () -> Prerequisites.guard(prerequisite, () -> {
+                throw new IllegalStateException("登录失败");
+            }));
+        }
+    }
+
+    private static TestListenerAdapter run(Class<?> testClass) {
+        TestListenerAdapter results = new TestListenerAdapter();
+        TestNG testng = new TestNG(false);
+        testng.setTestClasses(new Class<?>[]{testClass});
+        testng.addListener(results);
+        testng.setVerbose(0);
+        testng.run();
+        return results;
+    }
+}
@@ -0,0 +1,12 @@
+package com.saltedfish.framework.testng.base;
+
+import com.saltedfish.framework.prerequisite.Prerequisite;
+
+/**
+ * BaseTestTest 使用的样例用例类：用例方法继承自父类，前置流程只声明在本类上。
+ */
+@Prerequisite(InheritedPrerequisiteSample.PREREQUISITE)
+public class InheritedPrerequisiteSample extends InheritedTestsSample {
+
+    static final String PREREQUISITE = "inherited-sample";
+}
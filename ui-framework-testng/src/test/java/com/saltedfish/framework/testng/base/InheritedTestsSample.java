@@ -0,0 +1,19 @@
+package com.saltedfish.framework.testng.base;
+
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * BaseTestTest 使用的样例父类：只声明用例方法，不声明前置流程，由子类继承后执行。
+ */
+public abstract class InheritedTestsSample extends BaseTest {
+
+    static final List<String> CALLS = new CopyOnWriteArrayList<>();
+
+    @Test
+    public void inherited() {
+        CALLS.add("inherited");
+    }
+}
@@ -0,0 +1,40 @@
+package com.saltedfish.framework.testng.base;
+
+import com.saltedfish.framework.prerequisite.Prerequisite;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * BaseTestTest 使用的样例用例类，由测试内部通过 TestNG 执行，记录实际被调用的方法。
+ */
+@Prerequisite(PrerequisiteGuardedSample.PREREQUISITE)
+public class PrerequisiteGuardedSample extends BaseTest {
+
+    static final String PREREQUISITE = "base-test-sample";
+
+    static final List<String> CALLS = new CopyOnWriteArrayList<>();
+
+    @BeforeMethod
+    public void openMenu() {
+        CALLS.add("openMenu");
+    }
+
+    @AfterMethod
+    public void closeMenu() {
+        CALLS.add("closeMenu");
+    }
+
+    @Test
+    public void first() {
+        CALLS.add("first");
+    }
+
+    @Test
+    public void second() {
+        CALLS.add("second");
+    }
+}
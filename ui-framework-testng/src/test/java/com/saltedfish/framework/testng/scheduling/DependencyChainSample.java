@@ -0,0 +1,30 @@
+package com.saltedfish.framework.testng.scheduling;
+
+import org.testng.annotations.Test;
+
+/**
+ * LongestFirstOrderingTest 使用的依赖链样例：login → addToCart → checkout，login → viewProfile。
+ * dependsOnMethods 需要顶层类（嵌套类名中的 $ 会被 TestNG 当作正则），只用于构建用例列表，不会被执行。
+ */
+public class DependencyChainSample {
+
+    @Test
+    public void login() {
+    }
+
+    @Test(dependsOnMethods = "login")
+    public void addToCart() {
+    }
+
+    @Test(dependsOnMethods = "addToCart")
+    public void checkout() {
+    }
+
+    @Test(dependsOnMethods = "login")
+    public void viewProfile() {
+    }
+
+    @Test
+    public void standalone() {
+    }
+}
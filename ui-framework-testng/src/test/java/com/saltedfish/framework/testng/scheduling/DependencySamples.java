@@ -0,0 +1,74 @@
+package com.saltedfish.framework.testng.scheduling;
+
+import org.testng.Assert;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.TestNG;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 分片与排序测试使用的依赖样例，只用于构建用例列表，不会被执行。
+ * 单独成文件，避免嵌套在 *Test 类中被 surefire 一并执行。
+ */
+final class DependencySamples {
+
+    private DependencySamples() {
+        // 工具类禁止实例化
+    }
+
+    /**
+     * 通过 TestNG 构建真实的用例列表，拦截后不执行任何用例。
+     */
+    static List<IMethodInstance> collect(Class<?>... classes) {
+        List<IMethodInstance> collected = new ArrayList<>();
+        IMethodInterceptor capture = (methods, context) -> {
+            collected.addAll(methods);
+            return new ArrayList<>();
+        };
+        TestNG testng = new TestNG(false);
+        testng.setTestClasses(classes);
+        testng.addListener(capture);
+        testng.setVerbose(0);
+        testng.run();
+        Set<Class<?>> seen = new HashSet<>();
+        collected.forEach(instance -> seen.add(instance.getMethod().getRealClass()));
+        Assert.assertEquals(seen, Set.of(classes));
+        return collected;
+    }
+
+    public static class Producer {
+        @Test(groups = "login")
+        public void login() {
+        }
+    }
+
+    public static class Consumer {
+        @Test(dependsOnGroups = "login")
+        public void order() {
+        }
+    }
+
+    /**
+     * 类内依赖。TestNG 把 dependsOnMethods 的限定名当作正则匹配，嵌套类名中的 $ 无法匹配，这里用类内分组代替。
+     */
+    public static class Chained {
+        @Test(groups = "chained-first")
+        public void first() {
+        }
+
+        @Test(dependsOnGroups = "chained-first")
+        public void second() {
+        }
+    }
+
+    public static class Independent {
+        @Test
+        public void standalone() {
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.saltedfish.framework.testng.scheduling;
+
+import org.testng.Assert;
+import org.testng.IMethodInstance;
+import org.testng.ITestNGMethod;
+import org.testng.annotations.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * LongestFirstOrderingTest 验证关键路径优先级的计算。
+ */
+public class LongestFirstOrderingTest {
+
+    @Test(description = "优先级 = 自身耗时 + 依赖它的方法中最长的后续链")
+    public void testCriticalPathRanks() {
+        List<IMethodInstance> methods = DependencySamples.collect(DependencyChainSample.class);
+        Map<String, Long> own = Map.of("login", 10L, "addToCart", 20L, "checkout", 30L,
+                "viewProfile", 5L, "standalone", 40L);
+        Map<ITestNGMethod, Long> weights = new HashMap<>();
+        for (IMethodInstance instance : methods) {
+            weights.put(instance.getMethod(), own.get(instance.getMethod().getMethodName()));
+        }
+
+        Map<String, Long> ranks = new HashMap<>();
+        LongestFirstOrdering.criticalPathRanks(methods, weights)
+                .forEach((method, rank) -> ranks.put(method.getMethodName(), rank));
+
+        Assert.assertEquals(ranks, Map.of("login", 60L, "addToCart", 50L, "checkout", 30L,
+                "viewProfile", 5L, "standalone", 40L));
+    }
+}
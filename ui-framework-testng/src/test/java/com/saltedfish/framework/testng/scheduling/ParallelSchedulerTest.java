@@ -0,0 +1,79 @@
+package com.saltedfish.framework.testng.scheduling;
+
+import com.saltedfish.framework.config.ConfigManager;
+import com.saltedfish.framework.config.FrameworkConfig;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.testng.xml.XmlSuite;
+
+import java.util.List;
+
+/**
+ * ParallelSchedulerTest 验证并行模式的改写规则：methods 模式会让多个线程共用同一个测试类实例，一律改为 classes。
+ */
+public class ParallelSchedulerTest {
+
+    private String originalMode;
+    private Integer originalMaxThreads;
+
+    @BeforeMethod
+    public void saveConfig() {
+        FrameworkConfig config = ConfigManager.getConfig();
+        originalMode = config.getParallelMode();
+        originalMaxThreads = config.getParallelMaxThreads();
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void restoreConfig() {
+        FrameworkConfig config = ConfigManager.getConfig();
+        config.setParallelMode(originalMode);
+        config.setParallelMaxThreads(originalMaxThreads);
+    }
+
+    @Test(description = "parallelMode=methods 改为 classes，线程数照常计算")
+    public void testConfiguredMethodsDowngradedToClasses() {
+        ConfigManager.getConfig().setParallelMode("methods");
+        ConfigManager.getConfig().setParallelMaxThreads(1);
+        XmlSuite suite = suite(XmlSuite.ParallelMode.NONE);
+
+        new ParallelScheduler().alter(List.of(suite));
+
+        Assert.assertEquals(suite.getParallel(), XmlSuite.ParallelMode.CLASSES);
+        Assert.assertEquals(suite.getThreadCount(), 1);
+    }
+
+    @Test(description = "未配置 parallelMode 时沿用 testng.xml，其中的 methods 同样改为 classes，线程数不变")
+    public void testXmlMethodsDowngradedToClasses() {
+        ConfigManager.getConfig().setParallelMode("");
+        XmlSuite methods = suite(XmlSuite.ParallelMode.METHODS);
+        XmlSuite tests = suite(XmlSuite.ParallelMode.TESTS);
+
+        new ParallelScheduler().alter(List.of(methods, tests));
+
+        Assert.assertEquals(methods.getParallel(), XmlSuite.ParallelMode.CLASSES);
+        Assert.assertEquals(methods.getThreadCount(), 3);
+        Assert.assertEquals(tests.getParallel(), XmlSuite.ParallelMode.TESTS);
+    }
+
+    @Test(description = "其他并行模式按配置生效")
+    public void testOtherModesKept() {
+        ConfigManager.getConfig().setParallelMode("Tests");
+        ConfigManager.getConfig().setParallelMaxThreads(2);
+        XmlSuite suite = suite(XmlSuite.ParallelMode.NONE);
+
+        new ParallelScheduler().alter(List.of(suite));
+
+        Assert.assertEquals(suite.getParallel(), XmlSuite.ParallelMode.TESTS);
+        Assert.assertTrue(suite.getThreadCount() >= 1 && suite.getThreadCount() <= 2);
+    }
+
+    private static XmlSuite suite(XmlSuite.ParallelMode parallel) {
+        XmlSuite suite = new XmlSuite();
+        suite.setName("parallel-" + parallel);
+        suite.setParallel(parallel);
+        suite.setThreadCount(3);
+        return suite;
+    }
+}
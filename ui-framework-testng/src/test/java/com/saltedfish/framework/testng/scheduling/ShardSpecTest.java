@@ -0,0 +1,42 @@
+package com.saltedfish.framework.testng.scheduling;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+/**
+ * ShardSpecTest 验证 -Dshard 参数的解析与校验。
+ */
+public class ShardSpecTest {
+
+    @AfterMethod(alwaysRun = true)
+    public void clearProperty() {
+        System.clearProperty("shard");
+    }
+
+    @Test(description = "未指定或为空时不分片")
+    public void testAbsentMeansNoSharding() {
+        Assert.assertNull(ShardSpec.current());
+
+        System.setProperty("shard", " ");
+        Assert.assertNull(ShardSpec.current());
+    }
+
+    @Test(description = "i/n 格式解析，允许空白")
+    public void testParse() {
+        System.setProperty("shard", " 2 / 4 ");
+
+        ShardSpec spec = ShardSpec.current();
+
+        Assert.assertEquals(spec, new ShardSpec(2, 4));
+        Assert.assertEquals(spec.toString(), "2/4");
+    }
+
+    @Test(description = "格式错误直接抛出异常，而不是退回执行全部用例")
+    public void testMalformedRejected() {
+        for (String value : new String[]{"2", "a/4", "1/2/3", "0/4", "5/4", "1/0"}) {
+            System.setProperty("shard", value);
+            Assert.assertThrows(IllegalArgumentException.class, ShardSpec::current);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.saltedfish.framework.testng.scheduling;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * TestSharderTest 验证 LPT 装箱与依赖单位的合并，不执行任何浏览器用例。
+ */
+public class TestSharderTest {
+
+    @Test(description = "LPT：单位按耗时从大到小放入当前最空的分片，各分片互不重叠且覆盖全部单位")
+    public void testLptBalancesLoad() {
+        Map<String, Long> weights = new LinkedHashMap<>();
+        weights.put("a", 70L);
+        weights.put("b", 50L);
+        weights.put("c", 40L);
+        weights.put("d", 30L);
+        weights.put("e", 10L);
+
+        Set<String> first = TestSharder.lptAssign(weights, new ShardSpec(1, 2));
+        Set<String> second = TestSharder.lptAssign(weights, new ShardSpec(2, 2));
+
+        // 70 → 1，50 → 2，40 → 2（90），30 → 1（100），10 → 2（100）
+        Assert.assertEquals(first, Set.of("a", "d"));
+        Assert.assertEquals(second, Set.of("b", "c", "e"));
+    }
+
+    @Test(description = "没有历史的单位按已知单位的平均耗时估算")
+    public void testLptEstimatesUnknownUnits() {
+        Map<String, Long> weights = new LinkedHashMap<>();
+        weights.put("known-long", 100L);
+        weights.put("known-short", 20L);
+        weights.put("unknown", -1L);
+
+        // unknown 按平均 60 估算：100 → 1，60 → 2，20 → 2
+        Assert.assertEquals(TestSharder.lptAssign(weights, new ShardSpec(1, 2)), Set.of("known-long"));
+        Assert.assertEquals(TestSharder.lptAssign(weights, new ShardSpec(2, 2)), Set.of("unknown", "known-short"));
+    }
+
+    @Test(description = "dependsOnGroups 指向其他类时，双方合并为同一个单位；无依赖的类按方法分配")
+    public void testCrossClassGroupDependencyMerged() {
+        Map<String, String> units = TestSharder.dependencyUnits(DependencySamples.collect(DependencySamples.Producer.class,
+                DependencySamples.Consumer.class, DependencySamples.Chained.class, DependencySamples.Independent.class));
+
+        Assert.assertEquals(units.get(DependencySamples.Producer.class.getName()), DependencySamples.Consumer.class.getName());
+        Assert.assertEquals(units.get(DependencySamples.Consumer.class.getName()), DependencySamples.Consumer.class.getName());
+        Assert.assertEquals(units.get(DependencySamples.Chained.class.getName()), DependencySamples.Chained.class.getName());
+        Assert.assertFalse(units.containsKey(DependencySamples.Independent.class.getName()));
+    }
+}
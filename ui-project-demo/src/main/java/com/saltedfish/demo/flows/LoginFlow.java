@@ -1,71 +1,119 @@
-package com.saltedfish.demo.flows;
-
-import com.saltedfish.demo.pages.HomePage;
-import com.saltedfish.demo.pages.LoginPage;
-import io.qameta.allure.Step;
-
-/**
- * LoginFlow 封装“登录系统”这一完整业务流程。
- *
- * 设计目的一句话：
- *  - 让测试用例只写一行 loginFlow.loginAs("user", "pwd")，
- *    而不用关心登录页面中要点击哪些按钮、输入哪些字段。
- */
-public class LoginFlow {
-
-    private LoginPage loginPage;
-    private HomePage homePage;
-
-    public LoginFlow() {
-        this.loginPage = new LoginPage();
-    }
-
-    /**
-     * 使用给定的用户名和密码执行一次登录流程。
-     *
-     * @param username 用户名
-     * @param password 密码
-     * @return 登录后首页对象，方便链式调用或断言
-     */
-    @Step("使用账号 {username} 登录系统")
-    public HomePage loginAs(String username, String password) {
-        openLoginPage();
-        inputUsername(username);
-        inputPassword(password);
-        acceptAgreementIfNeeded();
-        clickLoginButton();
-        this.homePage = new HomePage();
-        return homePage;
-    }
-
-
-    @Step("打开登录页面入口")
-    protected void openLoginPage() {
-        // 这里根据你的页面设计，有可能是：
-        //  1）直接 driver.get(baseUrl)，或
-        //  2）在首页点击“登录”按钮进入登录页面
-        loginPage.enterLoginEntry();
-    }
-
-    @Step("输入用户名 [{username}]")
-    protected void inputUsername(String username) {
-        loginPage.enterUsername(username);
-    }
-
-    @Step("输入密码")
-    protected void inputPassword(String password) {
-        loginPage.enterPassword(password);
-    }
-
-    @Step("勾选用户协议（如果需要）")
-    protected void acceptAgreementIfNeeded() {
-        loginPage.clickIsAgree();
-    }
-
-    @Step("点击登录按钮")
-    protected void clickLoginButton() {
-        loginPage.clickLogin();
-    }
-}
-
-
+package com.saltedfish.demo.flows;
+
+import com.saltedfish.demo.pages.HomePage;
+import com.saltedfish.demo.pages.LoginPage;
+import com.saltedfish.framework.prerequisite.Prerequisites;
+import com.saltedfish.framework.session.SessionSnapshotCache;
+import io.qameta.allure.Step;
+
+/**
+ * LoginFlow 封装“登录系统”这一完整业务流程。
+ *
+ * 设计目的一句话：
+ *  - 让测试用例只写一行 loginFlow.loginAs("user", "pwd")，
+ *    而不用关心登录页面中要点击哪些按钮、输入哪些字段。
+ */
+public class LoginFlow {
+
+    /**
+     * 登录流程的前置流程名称，依赖登录的用例可以标注 @Prerequisite(LoginFlow.PREREQUISITE)。
+     */
+    public static final String PREREQUISITE = "login";
+
+    private LoginPage loginPage;
+    private HomePage homePage;
+
+    public LoginFlow() {
+        this.loginPage = new LoginPage();
+    }
+
+    /**
+     * 使用给定的用户名和密码执行一次登录流程。
+     * 登录连续失败达到阈值后熔断，后续依赖登录的用例直接跳过。
+     * 同一账号第一次界面登录成功后缓存会话状态，之后的用例直接注入状态，不再操作登录界面；
+     * 需要验证登录界面本身的用例应使用 loginViaUi。
+     *
+     * @param username 用户名
+     * @param password 密码
+     * @return 登录后首页对象，方便链式调用或断言
+     */
+    @Step("使用账号 {username} 登录系统")
+    public HomePage loginAs(String username, String password) {
+        return Prerequisites.guard(PREREQUISITE, () -> {
+            // 注入快照后立即校验，快照无效时尽快退回界面登录；界面登录本身会等待首页加载
+            SessionSnapshotCache.loginOrRestore(username, () -> submitLoginForm(username, password),
+                    driver -> new HomePage().isLoadedNow());
+            return loggedInHomePage();
+        });
+    }
+
+    /**
+     * 始终通过登录界面登录，不使用也不更新会话快照，用于验证登录功能本身的用例。
+     *
+     * @param username 用户名
+     * @param password 密码
+     * @return 登录后首页对象
+     */
+    @Step("使用账号 {username} 通过登录界面登录系统")
+    public HomePage loginViaUi(String username, String password) {
+        return Prerequisites.guard(PREREQUISITE, () -> {
+            submitLoginForm(username, password);
+            return loggedInHomePage();
+        });
+    }
+
+    /**
+     * 在熔断器内确认登录结果：只点了登录按钮不算成功，首页未处于登录态时抛出异常，由熔断器记为一次失败。
+     * 界面登录已等待过首页、快照注入后已立即校验，这里只确认当前状态，不再等待。
+     */
+    private HomePage loggedInHomePage() {
+        HomePage loaded = new HomePage();
+        if (!loaded.isLoadedNow()) {
+            throw new IllegalStateException("登录后首页未加载");
+        }
+        this.homePage = loaded;
+        return loaded;
+    }
+
+    private void submitLoginForm(String username, String password) {
+        openLoginPage();
+        inputUsername(username);
+        inputPassword(password);
+        acceptAgreementIfNeeded();
+        clickLoginButton();
+        // 首页未加载时直接失败，避免把未登录的会话当作登录成功抓取快照
+        if (!new HomePage().isLoaded()) {
+            throw new IllegalStateException("登录后首页未加载");
+        }
+    }
+
+    @Step("打开登录页面入口")
+    protected void openLoginPage() {
+        // 这里根据你的页面设计，有可能是：
+        //  1）直接 driver.get(baseUrl)，或
+        //  2）在首页点击“登录”按钮进入登录页面
+        loginPage.enterLoginEntry();
+    }
+
+    @Step("输入用户名 [{username}]")
+    protected void inputUsername(String username) {
+        loginPage.enterUsername(username);
+    }
+
+    @Step("输入密码")
+    protected void inputPassword(String password) {
+        loginPage.enterPassword(password);
+    }
+
+    @Step("勾选用户协议（如果需要）")
+    protected void acceptAgreementIfNeeded() {
+        loginPage.clickIsAgree();
+    }
+
+    @Step("点击登录按钮")
+    protected void clickLoginButton() {
+        loginPage.clickLogin();
+    }
+}
+
+
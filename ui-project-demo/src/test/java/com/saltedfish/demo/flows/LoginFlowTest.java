@@ -0,0 +1,141 @@
+package com.saltedfish.demo.flows;
+
+import com.saltedfish.framework.config.ConfigManager;
+import com.saltedfish.framework.config.FrameworkConfig;
+import com.saltedfish.framework.driver.DriverManager;
+import com.saltedfish.framework.prerequisite.Prerequisites;
+import com.saltedfish.framework.wait.WaitFactory;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * LoginFlowTest 使用不连接浏览器的模拟 driver 验证登录结果的判定：
+ * 点击登录后首页未加载时登录失败，且不会把未登录的会话缓存为快照。
+ */
+public class LoginFlowTest {
+
+    private static final String HOME_MARKER = "s-top-username";
+
+    private final List<String> calls = new CopyOnWriteArrayList<>();
+    private boolean homeLoaded;
+    private Integer originalWaitSec;
+    private Boolean originalSnapshotEnabled;
+
+    @BeforeMethod
+    public void bindFakeDriver() {
+        FrameworkConfig config = ConfigManager.getConfig();
+        originalWaitSec = config.getExplicitWaitSec();
+        originalSnapshotEnabled = config.getSessionSnapshotEnabled();
+        config.setExplicitWaitSec(1);
+        config.setSessionSnapshotEnabled(true);
+        calls.clear();
+        WaitFactory.clearCurrentWait();
+        DriverManager.setDriver(fakeDriver());
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void restore() {
+        DriverManager.setDriver(null);
+        WaitFactory.clearCurrentWait();
+        FrameworkConfig config = ConfigManager.getConfig();
+        config.setExplicitWaitSec(originalWaitSec);
+        config.setSessionSnapshotEnabled(originalSnapshotEnabled);
+        // 清零本类记下的登录失败次数，不影响随后执行的 LoginTest
+        Prerequisites.guard(LoginFlow.PREREQUISITE, () -> {
+        });
+    }
+
+    @Test(description = "点击登录后首页未加载时抛出异常，不抓取会话快照")
+    public void testHomeNotLoadedFailsLogin() {
+        homeLoaded = false;
+
+        IllegalStateException e = Assert.expectThrows(IllegalStateException.class,
+                () -> new LoginFlow().loginAs("user-" + UUID.randomUUID(), "pwd"));
+
+        Assert.assertEquals(e.getMessage(), "登录后首页未加载");
+        // 在界面登录内即失败，不再交给快照校验判断
+        Assert.assertTrue(Arrays.stream(e.getStackTrace())
+                .anyMatch(frame -> frame.getMethodName().equals("submitLoginForm")), "应由界面登录抛出");
+        Assert.assertTrue(calls.contains("click"), "应已执行界面登录：" + calls);
+        Assert.assertFalse(calls.contains("getCookies"), "不应抓取会话快照：" + calls);
+    }
+
+    @Test(description = "首页加载后登录成功并缓存会话快照")
+    public void testHomeLoadedCapturesSnapshot() {
+        homeLoaded = true;
+
+        Assert.assertTrue(new LoginFlow().loginAs("user-" + UUID.randomUUID(), "pwd").isLoadedNow());
+        Assert.assertTrue(calls.contains("getCookies"), "应抓取会话快照：" + calls);
+    }
+
+    /**
+     * 除首页登录标识外所有元素都存在且可见、可点击；首页标识只在 homeLoaded 为 true 时存在。
+     */
+    private WebDriver fakeDriver() {
+        return proxy(WebDriver.class, (method, args) -> switch (method) {
+            case "findElement" -> find((By) args[0]);
+            case "findElements" -> {
+                try {
+                    yield List.of(find((By) args[0]));
+                } catch (NoSuchElementException e) {
+                    yield List.of();
+                }
+            }
+            case "executeScript" -> Map.of("origin", "https://example.com", "local", Map.of(), "session", Map.of());
+            case "manage" -> proxy(WebDriver.Options.class, (name, ignored) -> {
+                calls.add(name);
+                return "getCookies".equals(name) ? Set.of() : null;
+            }, new Class<?>[0]);
+            case "switchTo" -> proxy(WebDriver.TargetLocator.class, (name, ignored) -> null, new Class<?>[0]);
+            case "getCurrentUrl" -> "https://example.com/";
+            default -> throw new UnsupportedOperationException(method);
+        }, JavascriptExecutor.class);
+    }
+
+    private WebElement find(By by) {
+        if (by.toString().contains(HOME_MARKER) && !homeLoaded) {
+            throw new NoSuchElementException("no such element: " + by);
+        }
+        return proxy(WebElement.class, (method, args) -> {
+            calls.add(method);
+            return switch (method) {
+                case "isDisplayed", "isEnabled" -> true;
+                case "getTagName" -> "input";
+                default -> null;
+            };
+        }, new Class<?>[0]);
+    }
+
+    private static <T> T proxy(Class<T> type, Answer answer, Class<?>... extraInterfaces) {
+        Class<?>[] interfaces = new Class<?>[extraInterfaces.length + 1];
+        interfaces[0] = type;
+        System.arraycopy(extraInterfaces, 0, interfaces, 1, extraInterfaces.length);
+        return type.cast(Proxy.newProxyInstance(LoginFlowTest.class.getClassLoader(), interfaces,
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "toString" -> "Fake" + type.getSimpleName();
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> answer.answer(method.getName(), args == null ? new Object[0] : args);
+                }));
+    }
+
+    @FunctionalInterface
+    private interface Answer {
+        Object answer(String method, Object[] args) throws Throwable;
+    }
+}